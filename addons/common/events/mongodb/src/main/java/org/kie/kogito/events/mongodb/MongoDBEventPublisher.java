@@ -16,14 +16,19 @@
 
 package org.kie.kogito.events.mongodb;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
 
 import org.bson.codecs.configuration.CodecRegistries;
 import org.bson.codecs.configuration.CodecRegistry;
 import org.bson.codecs.pojo.PojoCodecProvider;
+import org.bson.conversions.Bson;
 import org.kie.kogito.event.DataEvent;
 import org.kie.kogito.event.EventPublisher;
+import org.kie.kogito.event.EventPublisherListeners;
 import org.kie.kogito.event.process.ProcessInstanceDataEvent;
 import org.kie.kogito.event.process.UserTaskInstanceDataEvent;
 import org.kie.kogito.event.process.VariableInstanceDataEvent;
@@ -46,6 +51,8 @@ public abstract class MongoDBEventPublisher implements EventPublisher {
 
     static final String ID = "_id";
 
+    private static final String PUBLISHER = "mongodb";
+
     private MongoCollection<ProcessInstanceDataEvent> processInstanceDataEventCollection;
     private MongoCollection<UserTaskInstanceDataEvent> userTaskInstanceDataEventCollection;
     private MongoCollection<VariableInstanceDataEvent> variableInstanceDataEventCollection;
@@ -77,6 +84,20 @@ public abstract class MongoDBEventPublisher implements EventPublisher {
         variableInstanceDataEventCollection = mongoDatabase.getCollection(variablesEventsCollection(), VariableInstanceDataEvent.class).withCodecRegistry(registry);
     }
 
+    @Override
+    public boolean accept(String type) {
+        switch (type) {
+            case "ProcessInstanceEvent":
+                return processInstancesEvents();
+            case "UserTaskInstanceEvent":
+                return userTasksEvents();
+            case "VariableInstanceEvent":
+                return variablesEvents();
+            default:
+                return false;
+        }
+    }
+
     @Override
     public void publish(DataEvent<?> event) {
         switch (event.getType()) {
@@ -96,6 +117,7 @@ public abstract class MongoDBEventPublisher implements EventPublisher {
 
     private <T extends DataEvent<?>> void publishEvent(MongoCollection<T> collection, T event, BooleanSupplier enabled) {
         if (enabled.getAsBoolean()) {
+            long start = System.nanoTime();
             if (transactionManager().enabled()) {
                 collection.insertOne(transactionManager().getClientSession(), event);
                 // delete the event immediately from the outbox collection
@@ -105,13 +127,59 @@ public abstract class MongoDBEventPublisher implements EventPublisher {
                 // delete the event from the outbox collection
                 collection.deleteOne(Filters.eq(ID, event.getId()));
             }
+            EventPublisherListeners.published(PUBLISHER, event.getType(), System.nanoTime() - start);
+            EventPublisherListeners.batchPublished(PUBLISHER, 1);
         }
     }
 
+    /**
+     * Writes the events of each collection with a single <code>insertMany</code> and removes them with a single <code>deleteMany</code>
+     */
     @Override
     public void publish(Collection<DataEvent<?>> events) {
+        List<ProcessInstanceDataEvent> processInstanceEvents = new ArrayList<>();
+        List<UserTaskInstanceDataEvent> userTaskEvents = new ArrayList<>();
+        List<VariableInstanceDataEvent> variableEvents = new ArrayList<>();
         for (DataEvent<?> event : events) {
-            publish(event);
+            switch (event.getType()) {
+                case "ProcessInstanceEvent":
+                    processInstanceEvents.add((ProcessInstanceDataEvent) event);
+                    break;
+                case "UserTaskInstanceEvent":
+                    userTaskEvents.add((UserTaskInstanceDataEvent) event);
+                    break;
+                case "VariableInstanceEvent":
+                    variableEvents.add((VariableInstanceDataEvent) event);
+                    break;
+                default:
+                    logger.warn("Unknown type of event '{}', ignoring", event.getType());
+            }
+        }
+        publishEvents(processInstanceDataEventCollection, processInstanceEvents, this::processInstancesEvents);
+        publishEvents(userTaskInstanceDataEventCollection, userTaskEvents, this::userTasksEvents);
+        publishEvents(variableInstanceDataEventCollection, variableEvents, this::variablesEvents);
+    }
+
+    private <T extends DataEvent<?>> void publishEvents(MongoCollection<T> collection, List<T> events, BooleanSupplier enabled) {
+        if (events.isEmpty() || !enabled.getAsBoolean()) {
+            return;
+        }
+        if (events.size() == 1) {
+            publishEvent(collection, events.get(0), enabled);
+            return;
+        }
+        long start = System.nanoTime();
+        Bson ids = Filters.in(ID, events.stream().map(DataEvent::getId).collect(Collectors.toList()));
+        if (transactionManager().enabled()) {
+            collection.insertMany(transactionManager().getClientSession(), events);
+            // delete the events immediately from the outbox collection
+            collection.deleteMany(transactionManager().getClientSession(), ids);
+        } else {
+            collection.insertMany(events);
+            // delete the events from the outbox collection
+            collection.deleteMany(ids);
         }
+        EventPublisherListeners.published(PUBLISHER, events.get(0).getType(), System.nanoTime() - start);
+        EventPublisherListeners.batchPublished(PUBLISHER, events.size());
     }
 }
@@ -17,6 +17,7 @@
 package org.kie.kogito.events.mongodb;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import org.bson.codecs.configuration.CodecRegistry;
@@ -39,6 +40,7 @@ import static org.kie.kogito.events.mongodb.MongoDBEventPublisher.ID;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -246,4 +248,38 @@ class MongoDBEventPublisherTest {
         verify(mongoCollection).insertOne(eq(clientSession), eq(variableInstanceDataEvent));
         verify(mongoCollection).deleteOne(eq(clientSession), eq(Filters.eq(ID, "testVariableInstanceEvent")));
     }
+
+    @Test
+    void testPublishEventsBatch() {
+        ProcessInstanceDataEvent otherProcessInstanceDataEvent = mock(ProcessInstanceDataEvent.class);
+        when(otherProcessInstanceDataEvent.getType()).thenReturn("ProcessInstanceEvent");
+        when(otherProcessInstanceDataEvent.getId()).thenReturn("otherProcessInstanceEvent");
+
+        publisher.configure();
+
+        publisher.publish(Arrays.asList(processInstanceDataEvent, userTaskInstanceDataEvent, otherProcessInstanceDataEvent));
+
+        verify(mongoCollection).insertMany(eq(Arrays.asList(processInstanceDataEvent, otherProcessInstanceDataEvent)));
+        verify(mongoCollection).deleteMany(eq(Filters.in(ID, Arrays.asList("testProcessInstanceEvent", "otherProcessInstanceEvent"))));
+        verify(mongoCollection).insertOne(eq(userTaskInstanceDataEvent));
+        verify(mongoCollection).deleteOne(eq(Filters.eq(ID, "testUserTaskInstanceEvent")));
+    }
+
+    @Test
+    void testPublishEventsBatch_withTransaction() {
+        ClientSession clientSession = mock(ClientSession.class);
+        when(transactionManager.getClientSession()).thenReturn(clientSession);
+        when(transactionManager.enabled()).thenReturn(true);
+        VariableInstanceDataEvent otherVariableInstanceDataEvent = mock(VariableInstanceDataEvent.class);
+        when(otherVariableInstanceDataEvent.getType()).thenReturn("VariableInstanceEvent");
+        when(otherVariableInstanceDataEvent.getId()).thenReturn("otherVariableInstanceEvent");
+
+        publisher.configure();
+
+        publisher.publish(Arrays.asList(variableInstanceDataEvent, otherVariableInstanceDataEvent));
+
+        verify(mongoCollection).insertMany(eq(clientSession), eq(Arrays.asList(variableInstanceDataEvent, otherVariableInstanceDataEvent)));
+        verify(mongoCollection).deleteMany(eq(clientSession), eq(Filters.in(ID, Arrays.asList("testVariableInstanceEvent", "otherVariableInstanceEvent"))));
+        verify(mongoCollection, never()).insertOne(eq(clientSession), any());
+    }
 }
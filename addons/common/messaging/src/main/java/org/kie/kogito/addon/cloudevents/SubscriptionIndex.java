@@ -0,0 +1,136 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.addon.cloudevents;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.kie.kogito.event.EventUnmarshaller;
+import org.kie.kogito.event.SubscriptionInfo;
+import org.kie.kogito.services.event.impl.DefaultEventUnmarshaller;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Subscriptions of an event receiver, indexed by the event type they are interested in.
+ * <p>
+ * Incoming messages are parsed once. When the message is a cloud event, only the subscriptions whose type matches the event
+ * type or source, or that do not declare any type, bind the message to their output class. Otherwise, every subscription does.
+ * Subscriptions using a {@link DefaultEventUnmarshaller} bind the already parsed tree, other unmarshallers receive the message as it was received.
+ * The message is parsed with the object mapper of the unmarshaller, so numbers are read as that mapper would read them,
+ * and only parsed again for subscriptions using a different object mapper.
+ */
+public class SubscriptionIndex {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SubscriptionIndex.class);
+
+    private static final String SPEC_VERSION = "specversion";
+    private static final String TYPE = "type";
+    private static final String SOURCE = "source";
+
+    private static final ObjectMapper DEFAULT_PARSER = new ObjectMapper();
+
+    private final Collection<Subscription<Object>> all = new CopyOnWriteArrayList<>();
+    private final Collection<Subscription<Object>> untyped = new CopyOnWriteArrayList<>();
+    private final Map<String, Collection<Subscription<Object>>> byType = new ConcurrentHashMap<>();
+    private final Map<String, Collection<Subscription<Object>>> byOutputClass = new ConcurrentHashMap<>();
+    private volatile ObjectMapper parser = DEFAULT_PARSER;
+
+    public void add(Subscription<Object> subscription) {
+        all.add(subscription);
+        SubscriptionInfo<Object, Object> info = subscription.getInfo();
+        if (parser == DEFAULT_PARSER && info.getConverter() instanceof DefaultEventUnmarshaller) {
+            parser = ((DefaultEventUnmarshaller) info.getConverter()).getObjectMapper();
+        }
+        if (info.getType().isPresent()) {
+            byType.computeIfAbsent(info.getType().get(), k -> new CopyOnWriteArrayList<>()).add(subscription);
+            if (info.getOutputClass() != null) {
+                byOutputClass.computeIfAbsent(info.getOutputClass().getSimpleName(), k -> new CopyOnWriteArrayList<>()).add(subscription);
+            }
+        } else {
+            untyped.add(subscription);
+        }
+    }
+
+    /**
+     * Binds the given message for every subscription interested in it. Subscriptions not able to bind the message are skipped.
+     *
+     * @param message message as received
+     * @return bound object per interested subscription, in no particular order between different types
+     */
+    public Map<Subscription<Object>, Object> bind(Object message) {
+        ObjectMapper routingParser = parser;
+        JsonNode tree = parse(routingParser, message);
+        Map<ObjectMapper, JsonNode> trees = new IdentityHashMap<>();
+        trees.put(routingParser, tree);
+        Map<Subscription<Object>, Object> result = new LinkedHashMap<>();
+        for (Subscription<Object> subscription : matching(tree)) {
+            SubscriptionInfo<Object, Object> info = subscription.getInfo();
+            EventUnmarshaller<Object> converter = info.getConverter();
+            Object input = message;
+            if (tree != null && converter instanceof DefaultEventUnmarshaller) {
+                JsonNode parsed = trees.computeIfAbsent(((DefaultEventUnmarshaller) converter).getObjectMapper(), mapper -> parse(mapper, message));
+                input = parsed != null ? parsed : message;
+            }
+            try {
+                result.put(subscription, converter.unmarshall(input, info.getOutputClass(), info.getParametrizedClasses()));
+            } catch (IOException e) {
+                LOGGER.info("Cannot convert to {} from {}, ignoring type {}, exception message is {}", info.getOutputClass(), message, info.getType(), e.getMessage());
+            }
+        }
+        return result;
+    }
+
+    private Collection<Subscription<Object>> matching(JsonNode tree) {
+        if (tree == null || !tree.isObject() || !tree.hasNonNull(SPEC_VERSION) || !tree.path(TYPE).isTextual()) {
+            return all;
+        }
+        Set<Subscription<Object>> result = new LinkedHashSet<>();
+        result.addAll(byType.getOrDefault(tree.get(TYPE).asText(), Collections.emptyList()));
+        JsonNode source = tree.path(SOURCE);
+        if (source.isTextual()) {
+            // keeps delivering events whose source, rather than type, names the trigger, as the dispatchers accept them
+            result.addAll(byType.getOrDefault(source.asText(), Collections.emptyList()));
+            result.addAll(byOutputClass.getOrDefault(source.asText(), Collections.emptyList()));
+        }
+        result.addAll(untyped);
+        return result;
+    }
+
+    private static JsonNode parse(ObjectMapper mapper, Object message) {
+        try {
+            if (message instanceof byte[]) {
+                return mapper.readTree((byte[]) message);
+            } else if (message instanceof CharSequence) {
+                return mapper.readTree(message.toString());
+            }
+        } catch (IOException e) {
+            LOGGER.debug("Message {} is not JSON, every subscription will convert it on its own", message);
+        }
+        return null;
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.addon.cloudevents;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.Test;
+import org.kie.kogito.event.EventUnmarshaller;
+import org.kie.kogito.event.SubscriptionInfo;
+import org.kie.kogito.services.event.impl.DefaultEventUnmarshaller;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SubscriptionIndexTest {
+
+    private static final String EVENT = "{\"specversion\": \"1.0\", \"id\": \"1\", \"source\": \"/process/travels\", \"type\": \"travellers\", \"data\": {\"name\": \"Jan\"}}";
+
+    private final EventUnmarshaller<Object> unmarshaller = new DefaultEventUnmarshaller(new ObjectMapper());
+
+    @Test
+    void testRoutesByType() {
+        SubscriptionIndex index = new SubscriptionIndex();
+        Subscription<Object> travellers = subscription(unmarshaller, "travellers");
+        Subscription<Object> visas = subscription(unmarshaller, "visas");
+        Subscription<Object> untyped = subscription(unmarshaller, null);
+        index.add(travellers);
+        index.add(visas);
+        index.add(untyped);
+
+        Map<Subscription<Object>, Object> bindings = index.bind(EVENT);
+        assertThat(bindings).containsOnlyKeys(travellers, untyped);
+        assertThat(bindings.get(travellers)).isInstanceOf(JsonNode.class);
+        assertThat(((JsonNode) bindings.get(travellers)).at("/data/name").asText()).isEqualTo("Jan");
+    }
+
+    @Test
+    void testRoutesBySource() {
+        SubscriptionIndex index = new SubscriptionIndex();
+        Subscription<Object> travels = subscription(unmarshaller, "/process/travels");
+        index.add(travels);
+        index.add(subscription(unmarshaller, "visas"));
+
+        assertThat(index.bind(EVENT.getBytes())).containsOnlyKeys(travels);
+    }
+
+    @Test
+    void testNotCloudEventReachesEverySubscription() {
+        SubscriptionIndex index = new SubscriptionIndex();
+        Subscription<Object> travellers = subscription(unmarshaller, "travellers");
+        Subscription<Object> visas = subscription(unmarshaller, "visas");
+        index.add(travellers);
+        index.add(visas);
+
+        assertThat(index.bind("{\"name\": \"Jan\"}")).containsOnlyKeys(travellers, visas);
+    }
+
+    @Test
+    void testFloatsBoundAsTheUnmarshallerReadsThem() {
+        SubscriptionIndex index = new SubscriptionIndex();
+        Subscription<Object> plain = subscription(unmarshaller, "travellers", Map.class);
+        Subscription<Object> exact = subscription(new DefaultEventUnmarshaller(new ObjectMapper().enable(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS)), "travellers",
+                Map.class);
+        index.add(plain);
+        index.add(exact);
+
+        Map<Subscription<Object>, Object> bindings = index.bind("{\"specversion\": \"1.0\", \"id\": \"1\", \"source\": \"/process/travels\", \"type\": \"travellers\", \"data\": {\"price\": 10.5}}");
+        assertThat(((Map<?, ?>) ((Map<?, ?>) bindings.get(plain)).get("data")).get("price")).isEqualTo(10.5d);
+        assertThat(((Map<?, ?>) ((Map<?, ?>) bindings.get(exact)).get("data")).get("price")).isEqualTo(new BigDecimal("10.5"));
+    }
+
+    @Test
+    void testCustomUnmarshallerReceivesMessage() {
+        SubscriptionIndex index = new SubscriptionIndex();
+        Subscription<Object> custom = subscription(new EventUnmarshaller<>() {
+            @Override
+            public <T> T unmarshall(Object input, Class<T> outputClass, Class<?>... parametrizedClasses) {
+                return outputClass.cast(input);
+            }
+        }, "travellers");
+        Subscription<Object> failing = subscription(new EventUnmarshaller<>() {
+            @Override
+            public <T> T unmarshall(Object input, Class<T> outputClass, Class<?>... parametrizedClasses) throws IOException {
+                throw new IOException("cannot convert");
+            }
+        }, "travellers");
+        index.add(custom);
+        index.add(failing);
+
+        Map<Subscription<Object>, Object> bindings = index.bind(EVENT);
+        assertThat(bindings).containsOnlyKeys(custom);
+        assertThat(bindings.get(custom)).isSameAs(EVENT);
+    }
+
+    private static Subscription<Object> subscription(EventUnmarshaller<Object> unmarshaller, String type) {
+        return subscription(unmarshaller, type, Object.class);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Subscription<Object> subscription(EventUnmarshaller<Object> unmarshaller, String type, Class<?> outputClass) {
+        SubscriptionInfo<Object, Object> info = SubscriptionInfo.builder().converter(unmarshaller).outputClass(outputClass).type(type).createSubscriptionInfo();
+        return new Subscription<>(v -> CompletableFuture.completedFuture(null), info);
+    }
+}
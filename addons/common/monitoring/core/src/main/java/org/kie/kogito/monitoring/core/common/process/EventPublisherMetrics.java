@@ -0,0 +1,54 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.monitoring.core.common.process;
+
+import java.util.concurrent.TimeUnit;
+
+import org.kie.kogito.event.EventPublisherListener;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Records the latency of the events published by the event publishers and the size of the batches they publish
+ */
+public class EventPublisherMetrics implements EventPublisherListener {
+
+    private final MeterRegistry registry;
+
+    public EventPublisherMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public void onPublished(String publisher, String eventType, long durationNanos) {
+        Timer.builder("kogito_events_publish")
+                .description("Event publishing latency")
+                .tags("publisher", publisher, "event_type", eventType)
+                .register(registry)
+                .record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void onBatchPublished(String publisher, int size) {
+        DistributionSummary.builder("kogito_events_publish_batch_size")
+                .description("Events published at once")
+                .tag("publisher", publisher)
+                .register(registry)
+                .record(size);
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.monitoring.core.common.process;
+
+import org.kie.kogito.serverless.workflow.utils.BoundedCache;
+import org.kie.kogito.serverless.workflow.utils.CachedExpressionHandler;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Exposes the hits and misses of the cache shared by the workflow {@link CachedExpressionHandler}s
+ */
+public class ExpressionCacheMetrics implements MeterBinder {
+
+    private static final String LOOKUPS = "kogito_expression_cache";
+    private static final String DESCRIPTION = "Lookups of the workflow expression cache";
+
+    private final BoundedCache<?, ?> cache;
+
+    public ExpressionCacheMetrics() {
+        this(CachedExpressionHandler.cache());
+    }
+
+    public ExpressionCacheMetrics(BoundedCache<?, ?> cache) {
+        this.cache = cache;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder(LOOKUPS, cache, BoundedCache::hits).description(DESCRIPTION).tag("result", "hit").register(registry);
+        FunctionCounter.builder(LOOKUPS, cache, BoundedCache::misses).description(DESCRIPTION).tag("result", "miss").register(registry);
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.monitoring.core.common.process;
+
+import org.kie.kogito.services.event.impl.MessageOutbox;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Exposes the counters of the {@link MessageOutbox} relaying the messages produced by processes
+ */
+public class MessageOutboxMetrics implements MeterBinder {
+
+    private static final String MESSAGES = "kogito_message_outbox_messages";
+    private static final String DESCRIPTION = "Messages relayed by the message outbox";
+
+    private final MessageOutbox outbox;
+
+    public MessageOutboxMetrics(MessageOutbox outbox) {
+        this.outbox = outbox;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder(MESSAGES, outbox, MessageOutbox::emitted).description(DESCRIPTION).tag("result", "emitted").register(registry);
+        FunctionCounter.builder(MESSAGES, outbox, MessageOutbox::retried).description(DESCRIPTION).tag("result", "retried").register(registry);
+        FunctionCounter.builder(MESSAGES, outbox, MessageOutbox::failed).description(DESCRIPTION).tag("result", "failed").register(registry);
+        Gauge.builder("kogito_message_outbox_pending", outbox, MessageOutbox::pending).description("Messages claimed by the relay and not emitted yet").register(registry);
+    }
+}
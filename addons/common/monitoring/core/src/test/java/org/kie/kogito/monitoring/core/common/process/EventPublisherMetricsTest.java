@@ -0,0 +1,42 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.monitoring.core.common.process;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class EventPublisherMetricsTest {
+
+    @Test
+    public void testPublishingRecorded() {
+        MeterRegistry registry = new SimpleMeterRegistry();
+        EventPublisherMetrics metrics = new EventPublisherMetrics(registry);
+
+        metrics.onPublished("kafka", "ProcessInstanceEvent", TimeUnit.MILLISECONDS.toNanos(5));
+        metrics.onPublished("kafka", "ProcessInstanceEvent", TimeUnit.MILLISECONDS.toNanos(15));
+        metrics.onBatchPublished("kafka", 2);
+
+        assertEquals(2, registry.find("kogito_events_publish").tags("publisher", "kafka", "event_type", "ProcessInstanceEvent").timer().count());
+        assertEquals(20, registry.find("kogito_events_publish").timer().totalTime(TimeUnit.MILLISECONDS));
+        assertEquals(2, registry.find("kogito_events_publish_batch_size").tag("publisher", "kafka").summary().totalAmount());
+    }
+}
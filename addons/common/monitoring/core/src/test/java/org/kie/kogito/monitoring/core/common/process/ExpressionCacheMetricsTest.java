@@ -0,0 +1,41 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.monitoring.core.common.process;
+
+import org.junit.jupiter.api.Test;
+import org.kie.kogito.serverless.workflow.utils.BoundedCache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ExpressionCacheMetricsTest {
+
+    @Test
+    public void testCountersRegistered() {
+        MeterRegistry registry = new SimpleMeterRegistry();
+        BoundedCache<String, String> cache = new BoundedCache<>(10);
+        cache.get("a", String::toUpperCase);
+        cache.get("a", String::toUpperCase);
+        cache.get("b", String::toUpperCase);
+
+        new ExpressionCacheMetrics(cache).bindTo(registry);
+
+        assertEquals(1, registry.find("kogito_expression_cache").tag("result", "hit").functionCounter().count());
+        assertEquals(2, registry.find("kogito_expression_cache").tag("result", "miss").functionCounter().count());
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.monitoring.core.common.process;
+
+import org.junit.jupiter.api.Test;
+import org.kie.kogito.services.event.impl.MessageOutbox;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class MessageOutboxMetricsTest {
+
+    @Test
+    public void testCountersRegistered() {
+        MeterRegistry registry = new SimpleMeterRegistry();
+        MessageOutbox outbox = mock(MessageOutbox.class);
+        when(outbox.emitted()).thenReturn(5L);
+        when(outbox.retried()).thenReturn(2L);
+        when(outbox.failed()).thenReturn(1L);
+        when(outbox.pending()).thenReturn(3L);
+
+        new MessageOutboxMetrics(outbox).bindTo(registry);
+
+        assertEquals(5, registry.find("kogito_message_outbox_messages").tag("result", "emitted").functionCounter().count());
+        assertEquals(2, registry.find("kogito_message_outbox_messages").tag("result", "retried").functionCounter().count());
+        assertEquals(1, registry.find("kogito_message_outbox_messages").tag("result", "failed").functionCounter().count());
+        assertEquals(3, registry.find("kogito_message_outbox_pending").gauge().value());
+    }
+}
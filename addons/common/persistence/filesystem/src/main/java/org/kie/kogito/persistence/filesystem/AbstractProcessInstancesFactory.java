@@ -23,13 +23,25 @@ import org.kie.kogito.process.ProcessInstancesFactory;
 public abstract class AbstractProcessInstancesFactory implements ProcessInstancesFactory {
 
     private final String path;
+    private final boolean trustedWrite;
+    private final boolean binaryJson;
 
     public AbstractProcessInstancesFactory(String path) {
+        this(path, false);
+    }
+
+    public AbstractProcessInstancesFactory(String path, boolean trustedWrite) {
+        this(path, trustedWrite, false);
+    }
+
+    public AbstractProcessInstancesFactory(String path, boolean trustedWrite, boolean binaryJson) {
         this.path = path;
+        this.trustedWrite = trustedWrite;
+        this.binaryJson = binaryJson;
     }
 
     public FileSystemProcessInstances createProcessInstances(Process<?> process) {
-        return new FileSystemProcessInstances(process, Paths.get(path));
+        return new FileSystemProcessInstances(process, Paths.get(path), trustedWrite, binaryJson);
     }
 
 }
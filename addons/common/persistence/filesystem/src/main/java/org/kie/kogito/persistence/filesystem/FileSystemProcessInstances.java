@@ -47,20 +47,37 @@ public class FileSystemProcessInstances implements MutableProcessInstances {
 
     public static final String PI_DESCRIPTION = "ProcessInstanceDescription";
     public static final String PI_STATUS = "ProcessInstanceStatus";
+    public static final String PI_EVENT_TYPES = "ProcessInstanceEventTypes";
+
+    private static final String EVENT_TYPES_SEPARATOR = "\n";
 
     private Process<?> process;
     private Path storage;
 
     private ProcessInstanceMarshallerService marshaller;
+    private boolean trustedWrite;
 
     public FileSystemProcessInstances(Process<?> process, Path storage) {
-        this(process, storage, ProcessInstanceMarshallerService.newBuilder().withDefaultObjectMarshallerStrategies().build());
+        this(process, storage, false);
+    }
+
+    public FileSystemProcessInstances(Process<?> process, Path storage, boolean trustedWrite) {
+        this(process, storage, trustedWrite, false);
+    }
+
+    public FileSystemProcessInstances(Process<?> process, Path storage, boolean trustedWrite, boolean binaryJson) {
+        this(process, storage, ProcessInstanceMarshallerService.newBuilder().withDefaultObjectMarshallerStrategies().withBinaryJsonNodes(binaryJson).build(), trustedWrite);
     }
 
     public FileSystemProcessInstances(Process<?> process, Path storage, ProcessInstanceMarshallerService marshaller) {
+        this(process, storage, marshaller, false);
+    }
+
+    public FileSystemProcessInstances(Process<?> process, Path storage, ProcessInstanceMarshallerService marshaller, boolean trustedWrite) {
         this.process = process;
         this.storage = Paths.get(storage.toString(), process.id());
         this.marshaller = marshaller;
+        this.trustedWrite = trustedWrite;
 
         try {
             Files.createDirectories(this.storage);
@@ -92,17 +109,65 @@ public class FileSystemProcessInstances implements MutableProcessInstances {
 
     @Override
     public Collection values(ProcessInstanceReadMode mode) {
+        try (Stream<ProcessInstance> stream = stream(mode)) {
+            return stream.collect(Collectors.toList());
+        }
+    }
+
+    @Override
+    public Collection values(ProcessInstanceReadMode mode, int offset, int limit) {
         try (Stream<Path> stream = Files.walk(storage)) {
             return stream
                     .filter(file -> !Files.isDirectory(file))
+                    .sorted()
+                    .skip(offset)
+                    .limit(limit)
                     .map(this::readBytesFromFile)
-                    .map(b -> mode == MUTABLE ? marshaller.unmarshallProcessInstance(b, process) : marshaller.unmarshallReadOnlyProcessInstance(b, process))
+                    .map(b -> unmarshall(b, mode))
                     .collect(Collectors.toList());
         } catch (IOException e) {
             throw new RuntimeException("Unable to read process instances ", e);
         }
     }
 
+    @Override
+    public Stream<ProcessInstance> stream(ProcessInstanceReadMode mode) {
+        try {
+            return Files.walk(storage)
+                    .filter(file -> !Files.isDirectory(file))
+                    .map(this::readBytesFromFile)
+                    .map(b -> unmarshall(b, mode));
+        } catch (IOException e) {
+            throw new RuntimeException("Unable to read process instances ", e);
+        }
+    }
+
+    @Override
+    public Stream<ProcessInstance> waitingForEventType(String eventType, ProcessInstanceReadMode mode) {
+        try {
+            return Files.walk(storage)
+                    .filter(file -> !Files.isDirectory(file))
+                    .filter(file -> isWaitingFor(file, eventType))
+                    .map(this::readBytesFromFile)
+                    .map(b -> unmarshall(b, mode));
+        } catch (IOException e) {
+            throw new RuntimeException("Unable to read process instances ", e);
+        }
+    }
+
+    private boolean isWaitingFor(Path file, String eventType) {
+        String eventTypes = getMetadata(file, PI_EVENT_TYPES);
+        // files without event types metadata (older files or no user defined attributes support) are always candidates
+        if (eventTypes == null) {
+            return true;
+        }
+        return Stream.of(eventTypes.split(EVENT_TYPES_SEPARATOR)).anyMatch(type -> type.equals(eventType) || type.equals(AbstractProcessInstance.ANY_EVENT_TYPE));
+    }
+
+    private ProcessInstance unmarshall(byte[] data, ProcessInstanceReadMode mode) {
+        return mode == MUTABLE ? marshaller.unmarshallProcessInstance(data, process) : marshaller.unmarshallReadOnlyProcessInstance(data, process);
+    }
+
     @Override
     public boolean exists(String id) {
         return Files.exists(Paths.get(storage.toString(), id));
@@ -126,8 +191,12 @@ public class FileSystemProcessInstances implements MutableProcessInstances {
         if (isActive(instance)) {
             Path processInstanceStorage = Paths.get(storage.toString(), id);
             if (Files.exists(processInstanceStorage)) {
-                storeProcessInstance(processInstanceStorage, instance);
-                disconnect(processInstanceStorage, instance);
+                byte[] data = storeProcessInstance(processInstanceStorage, instance);
+                if (trustedWrite) {
+                    disconnect(processInstanceStorage, instance, data);
+                } else {
+                    disconnect(processInstanceStorage, instance);
+                }
             }
         }
     }
@@ -142,12 +211,14 @@ public class FileSystemProcessInstances implements MutableProcessInstances {
         }
     }
 
-    protected void storeProcessInstance(Path processInstanceStorage, ProcessInstance<?> instance) {
+    protected byte[] storeProcessInstance(Path processInstanceStorage, ProcessInstance<?> instance) {
         try {
             byte[] data = marshaller.marshallProcessInstance(instance);
             Files.write(processInstanceStorage, data);
             setMetadata(processInstanceStorage, PI_DESCRIPTION, instance.description());
             setMetadata(processInstanceStorage, PI_STATUS, String.valueOf(instance.status()));
+            setMetadata(processInstanceStorage, PI_EVENT_TYPES, String.join(EVENT_TYPES_SEPARATOR, ((AbstractProcessInstance<?>) instance).listeningEventTypes()));
+            return data;
 
         } catch (IOException e) {
             throw new RuntimeException("Unable to store process instance with id " + instance.id(), e);
@@ -167,6 +238,10 @@ public class FileSystemProcessInstances implements MutableProcessInstances {
         ((AbstractProcessInstance<?>) instance).internalRemoveProcessInstance(marshaller.createdReloadFunction(supplier));
     }
 
+    protected void disconnect(Path processInstanceStorage, ProcessInstance instance, byte[] written) {
+        ((AbstractProcessInstance<?>) instance).internalRemoveProcessInstance(marshaller.createdReloadFunction(written));
+    }
+
     public String getMetadata(Path file, String key) {
 
         if (supportsUserDefinedAttributes(file)) {
@@ -15,7 +15,10 @@
  */
 package org.kie.persistence.filesystem;
 
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.util.Collections;
+import java.util.stream.Stream;
 
 import org.drools.io.ClassPathResource;
 import org.jbpm.process.instance.impl.Action;
@@ -118,6 +121,23 @@ class FileSystemProcessInstancesTest {
         assertThat(instances.size()).isZero();
     }
 
+    @Test
+    void testValuesPageAndStream() {
+        BpmnProcess process = createProcess("BPMN2-UserTask.bpmn2");
+        for (int i = 0; i < 3; i++) {
+            process.createInstance(BpmnVariables.create(Collections.singletonMap("test", "test" + i))).start();
+        }
+
+        ProcessInstances<BpmnVariables> instances = process.instances();
+        assertThat(instances.values(ProcessInstanceReadMode.READ_ONLY, 0, 2)).hasSize(2);
+        assertThat(instances.values(ProcessInstanceReadMode.READ_ONLY, 2, 2)).hasSize(1);
+        assertThat(instances.values(ProcessInstanceReadMode.READ_ONLY, 3, 2)).isEmpty();
+        try (Stream<ProcessInstance<BpmnVariables>> stream = instances.stream(ProcessInstanceReadMode.MUTABLE)) {
+            stream.forEach(ProcessInstance::abort);
+        }
+        assertThat(instances.size()).isZero();
+    }
+
     @Test
     void testBasicFlow() {
         BpmnProcess process = createProcess("BPMN2-UserTask.bpmn2");
@@ -180,6 +200,31 @@ class FileSystemProcessInstancesTest {
         assertThat(fileSystemBasedStorage.size()).isZero();
     }
 
+    @Test
+    void testBasicFlowWithTrustedWrite() throws Exception {
+        BpmnProcess process = BpmnProcess.from(new ClassPathResource("BPMN2-UserTask.bpmn2")).get(0);
+        process.setProcessInstancesFactory(new FileSystemProcessInstancesFactory(true));
+        process.configure();
+        process.instances().values(ProcessInstanceReadMode.MUTABLE).forEach(p -> p.abort());
+
+        ProcessInstance<BpmnVariables> processInstance = process.createInstance(BpmnVariables.create(Collections.singletonMap("test", "test")));
+        processInstance.startFrom("_2");
+
+        assertThat(processInstance.status()).isEqualTo(STATE_ACTIVE);
+        FileSystemProcessInstances fileSystemBasedStorage = (FileSystemProcessInstances) process.instances();
+        verify(fileSystemBasedStorage).update(any(), any());
+
+        // the written payload is reused on reload, so the stored file is not read back
+        Files.write(Paths.get("target", process.id(), processInstance.id()), new byte[0]);
+
+        WorkItem workItem = processInstance.workItems(securityPolicy).get(0);
+        assertThat(workItem).isNotNull();
+        assertThat(processInstance.variables().get("test")).isEqualTo("test");
+        processInstance.completeWorkItem(workItem.getId(), null, securityPolicy);
+        assertThat(processInstance.status()).isEqualTo(STATE_COMPLETED);
+        assertThat(fileSystemBasedStorage.size()).isZero();
+    }
+
     @Test
     void testBasicFlowControlledByUnitOfWork() {
         BpmnProcess process = createProcess("BPMN2-UserTask.bpmn2");
@@ -228,7 +273,11 @@ class FileSystemProcessInstancesTest {
     private class FileSystemProcessInstancesFactory extends AbstractProcessInstancesFactory {
 
         public FileSystemProcessInstancesFactory() {
-            super("target");
+            this(false);
+        }
+
+        public FileSystemProcessInstancesFactory(boolean trustedWrite) {
+            super("target", trustedWrite);
         }
 
         @Override
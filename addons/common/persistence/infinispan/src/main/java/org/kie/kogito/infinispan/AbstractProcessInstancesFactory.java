@@ -24,16 +24,28 @@ public abstract class AbstractProcessInstancesFactory implements ProcessInstance
     private final RemoteCacheManager cacheManager;
     private final Boolean lock;
     private final String template;
+    private final Boolean trustedWrite;
+    private final Boolean binaryJson;
 
     public AbstractProcessInstancesFactory(RemoteCacheManager cacheManager, Boolean lock, String template) {
+        this(cacheManager, lock, template, false);
+    }
+
+    public AbstractProcessInstancesFactory(RemoteCacheManager cacheManager, Boolean lock, String template, Boolean trustedWrite) {
+        this(cacheManager, lock, template, trustedWrite, false);
+    }
+
+    public AbstractProcessInstancesFactory(RemoteCacheManager cacheManager, Boolean lock, String template, Boolean trustedWrite, Boolean binaryJson) {
         this.cacheManager = cacheManager;
         this.lock = lock;
         this.template = template;
+        this.trustedWrite = trustedWrite;
+        this.binaryJson = binaryJson;
     }
 
     @Override
     public CacheProcessInstances createProcessInstances(Process<?> process) {
-        return new CacheProcessInstances(process, cacheManager, template, lock);
+        return new CacheProcessInstances(process, cacheManager, template, lock, Boolean.TRUE.equals(trustedWrite), Boolean.TRUE.equals(binaryJson));
     }
 
 }
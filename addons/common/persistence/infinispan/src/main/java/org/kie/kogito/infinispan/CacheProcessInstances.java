@@ -15,15 +15,25 @@
  */
 package org.kie.kogito.infinispan;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import org.infinispan.client.hotrod.DefaultTemplate;
 import org.infinispan.client.hotrod.MetadataValue;
 import org.infinispan.client.hotrod.RemoteCache;
 import org.infinispan.client.hotrod.RemoteCacheManager;
+import org.infinispan.commons.util.CloseableIterator;
 import org.kie.kogito.process.MutableProcessInstances;
 import org.kie.kogito.process.Process;
 import org.kie.kogito.process.ProcessInstance;
@@ -36,6 +46,11 @@ import org.kie.kogito.serialization.process.ProcessInstanceMarshallerService;
 import static com.google.common.base.Strings.isNullOrEmpty;
 import static org.kie.kogito.process.ProcessInstanceReadMode.MUTABLE;
 
+/**
+ * Process instances stored as opaque payloads in a remote cache keyed by id. The cache offers no secondary index,
+ * so {@link #waitingForEventType(String, ProcessInstanceReadMode)} keeps the default full scan and broadcast signals
+ * still unmarshal every process instance.
+ */
 @SuppressWarnings({ "rawtypes" })
 public class CacheProcessInstances implements MutableProcessInstances {
 
@@ -43,8 +58,25 @@ public class CacheProcessInstances implements MutableProcessInstances {
     private ProcessInstanceMarshallerService marshaller;
     private org.kie.kogito.process.Process<?> process;
     private final boolean lock;
+    private final boolean trustedWrite;
 
     public CacheProcessInstances(Process<?> process, RemoteCacheManager cacheManager, String templateName, boolean lock) {
+        this(process, cacheManager, templateName, lock, false);
+    }
+
+    /**
+     * When <code>trustedWrite</code> is enabled and optimistic locking is disabled, an updated process instance is reloaded
+     * from the payload it was just written with instead of being read back from the cache. With optimistic locking the
+     * cache is still read, because the entry version is assigned by the server and can only be fetched along with the value.
+     */
+    public CacheProcessInstances(Process<?> process, RemoteCacheManager cacheManager, String templateName, boolean lock, boolean trustedWrite) {
+        this(process, cacheManager, templateName, lock, trustedWrite, false);
+    }
+
+    /**
+     * When <code>binaryJson</code> is enabled, json node variables are written as Smile instead of text.
+     */
+    public CacheProcessInstances(Process<?> process, RemoteCacheManager cacheManager, String templateName, boolean lock, boolean trustedWrite, boolean binaryJson) {
         this.process = process;
         String cacheName = process.id() + "_store";
         if (isNullOrEmpty(templateName)) {
@@ -52,8 +84,9 @@ public class CacheProcessInstances implements MutableProcessInstances {
         } else {
             this.cache = cacheManager.administration().getOrCreateCache(cacheName, templateName);
         }
-        this.marshaller = ProcessInstanceMarshallerService.newBuilder().withDefaultObjectMarshallerStrategies().build();
+        this.marshaller = ProcessInstanceMarshallerService.newBuilder().withDefaultObjectMarshallerStrategies().withBinaryJsonNodes(binaryJson).build();
         this.lock = lock;
+        this.trustedWrite = trustedWrite;
     }
 
     @Override
@@ -87,18 +120,50 @@ public class CacheProcessInstances implements MutableProcessInstances {
 
     @Override
     public Collection<? extends ProcessInstance> values(ProcessInstanceReadMode mode) {
-        return cache.values()
-                .parallelStream()
+        try (Stream<? extends ProcessInstance> stream = stream(mode)) {
+            return stream.collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * Remote caches cannot order byte[] entries on the server, so pages follow the iteration order of the server,
+     * which is stable while the cluster topology does not change. Keys are fetched in batches while skipping, so
+     * neither the whole key set nor the skipped values are held by the client.
+     */
+    @Override
+    public Collection<? extends ProcessInstance> values(ProcessInstanceReadMode mode, int offset, int limit) {
+        List<String> ids = new ArrayList<>();
+        try (CloseableIterator<String> keys = cache.keySet().iterator()) {
+            for (int skipped = 0; skipped < offset && keys.hasNext(); skipped++) {
+                keys.next();
+            }
+            while (ids.size() < limit && keys.hasNext()) {
+                ids.add(keys.next());
+            }
+        }
+        Map<String, byte[]> page = cache.getAll(new HashSet<>(ids));
+        return ids.stream()
+                .map(page::get)
+                .filter(Objects::nonNull)
                 .map(data -> mode == MUTABLE ? marshaller.unmarshallProcessInstance(data, process) : marshaller.unmarshallReadOnlyProcessInstance(data, process))
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public Stream<? extends ProcessInstance> stream(ProcessInstanceReadMode mode) {
+        CloseableIterator<byte[]> values = cache.values().iterator();
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(values, Spliterator.NONNULL), false)
+                .map(data -> mode == MUTABLE ? marshaller.unmarshallProcessInstance(data, process) : marshaller.unmarshallReadOnlyProcessInstance(data, process))
+                .onClose(values::close);
+    }
+
     @Override
     public void update(String id, ProcessInstance instance) {
+        byte[] written = null;
         try {
-            updateStorage(id, instance, false);
+            written = updateStorage(id, instance, false);
         } finally {
-            disconnect(id, instance);
+            disconnect(id, instance, written);
         }
     }
 
@@ -113,7 +178,7 @@ public class CacheProcessInstances implements MutableProcessInstances {
     }
 
     @SuppressWarnings("unchecked")
-    protected void updateStorage(String id, ProcessInstance instance, boolean checkDuplicates) {
+    protected byte[] updateStorage(String id, ProcessInstance instance, boolean checkDuplicates) {
         if (isActive(instance)) {
             byte[] data = marshaller.marshallProcessInstance(instance);
             if (checkDuplicates) {
@@ -133,11 +198,15 @@ public class CacheProcessInstances implements MutableProcessInstances {
                     cache.put(id, data);
                 }
             }
+            return data;
         }
+        return null;
     }
 
-    private void disconnect(String id, ProcessInstance instance) {
-        if (this.lock) {
+    private void disconnect(String id, ProcessInstance instance, byte[] written) {
+        if (trustedWrite && !lock && written != null) {
+            ((AbstractProcessInstance<?>) instance).internalRemoveProcessInstance(marshaller.createdReloadFunction(written));
+        } else if (this.lock) {
             reloadWithLock(id, instance);
         } else {
             reload(id, instance);
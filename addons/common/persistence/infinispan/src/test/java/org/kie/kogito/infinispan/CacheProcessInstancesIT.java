@@ -16,7 +16,10 @@
 package org.kie.kogito.infinispan;
 
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
 
 import org.drools.io.ClassPathResource;
 import org.infinispan.client.hotrod.RemoteCacheManager;
@@ -136,6 +139,29 @@ class CacheProcessInstancesIT {
         assertThat(instances.size()).isZero();
     }
 
+    @Test
+    void testValuesPaging() {
+        BpmnProcess process = BpmnProcess.from(new ClassPathResource("BPMN2-UserTask.bpmn2")).get(0);
+        process.setProcessInstancesFactory(new CacheProcessInstancesFactory(cacheManager));
+        process.configure();
+
+        for (int i = 0; i < 5; i++) {
+            process.createInstance(BpmnVariables.create(Collections.singletonMap("test", "test" + i))).start();
+        }
+
+        ProcessInstances<BpmnVariables> instances = process.instances();
+        Set<String> paged = new HashSet<>();
+        for (int offset = 0; offset < 6; offset += 2) {
+            instances.values(ProcessInstanceReadMode.READ_ONLY, offset, 2).forEach(pi -> paged.add(pi.id()));
+        }
+        assertThat(paged).hasSize(5);
+        assertThat(instances.values(ProcessInstanceReadMode.READ_ONLY, 4, 2)).hasSize(1);
+        assertThat(instances.values(ProcessInstanceReadMode.READ_ONLY, 5, 2)).isEmpty();
+        try (Stream<ProcessInstance<BpmnVariables>> stream = instances.stream(ProcessInstanceReadMode.READ_ONLY)) {
+            assertThat(stream.map(ProcessInstance::id)).containsExactlyInAnyOrderElementsOf(paged);
+        }
+    }
+
     @Test
     void testBasicFlow() {
         BpmnProcess process = BpmnProcess.from(new ClassPathResource("BPMN2-UserTask.bpmn2")).get(0);
@@ -53,7 +53,10 @@ import static org.kie.kogito.internal.process.runtime.KogitoProcessInstance.STAT
 import static org.kie.kogito.internal.process.runtime.KogitoProcessInstance.STATE_COMPLETED;
 import static org.kie.kogito.internal.process.runtime.KogitoProcessInstance.STATE_ERROR;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.clearInvocations;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public class MockCacheProcessInstancesTest {
@@ -62,12 +65,14 @@ public class MockCacheProcessInstancesTest {
 
     private RemoteCacheManager cacheManager;
 
+    private RemoteCache<Object, Object> cache;
+
     @BeforeEach
     public void setup() {
         mockCache.clear();
         cacheManager = mock(RemoteCacheManager.class);
         RemoteCacheManagerAdmin admin = mock(RemoteCacheManagerAdmin.class);
-        RemoteCache<Object, Object> cache = mock(RemoteCache.class);
+        cache = mock(RemoteCache.class);
         when(cacheManager.administration()).thenReturn(admin);
         when(admin.getOrCreateCache(any(), (DefaultTemplate) any())).thenReturn(cache);
 
@@ -180,6 +185,29 @@ public class MockCacheProcessInstancesTest {
         assertThat(processInstance.status()).isEqualTo(STATE_COMPLETED);
     }
 
+    @Test
+    public void testBasicFlowWithTrustedWrite() {
+        BpmnProcess process = BpmnProcess.from(new ClassPathResource("BPMN2-UserTask.bpmn2")).get(0);
+        process.setProcessInstancesFactory(new CacheProcessInstancesFactory(cacheManager, true));
+        process.configure();
+
+        ProcessInstance<BpmnVariables> processInstance = process.createInstance(BpmnVariables.create(Collections.singletonMap("test", "test")));
+        processInstance.startFrom("_2");
+        assertThat(processInstance.status()).isEqualTo(STATE_ACTIVE);
+        verify(cache).put(any(), any());
+
+        // the written payload is reused on reload, so the cache is not read back
+        clearInvocations(cache);
+        WorkItem workItem = processInstance.workItems(SecurityPolicy.of(new StaticIdentityProvider("john"))).get(0);
+        assertThat(workItem).isNotNull();
+        assertThat(processInstance.variables().toMap()).containsEntry("test", "test");
+        verify(cache, never()).get(any());
+        verify(cache, never()).getWithMetadata(any());
+
+        processInstance.completeWorkItem(workItem.getId(), null, SecurityPolicy.of(new StaticIdentityProvider("john")));
+        assertThat(processInstance.status()).isEqualTo(STATE_COMPLETED);
+    }
+
     @Test
     public void testProcessInstanceNotFound() {
         BpmnProcess process = BpmnProcess.from(new ClassPathResource("BPMN2-UserTask.bpmn2")).get(0);
@@ -255,5 +283,9 @@ public class MockCacheProcessInstancesTest {
             super(cacheManager, false, null);
         }
 
+        CacheProcessInstancesFactory(RemoteCacheManager cacheManager, boolean trustedWrite) {
+            super(cacheManager, false, null, trustedWrite);
+        }
+
     }
 }
@@ -25,19 +25,62 @@ public abstract class AbstractProcessInstancesFactory implements ProcessInstance
     private final boolean autoDDL;
     private final DataSource dataSource;
     private final Boolean lock;
+    private final Boolean trustedWrite;
+    private final Integer maxDeltas;
+    private final Integer maxDeltasSize;
+    private final Boolean batchWrites;
+    private final Boolean indexEventTypes;
+    private final Boolean binaryJson;
+    private final Long maxDeltaBasesSize;
 
     protected AbstractProcessInstancesFactory() {
         this(null, true, false);
     }
 
     public AbstractProcessInstancesFactory(DataSource dataSource, Boolean autoDDL, Boolean lock) {
+        this(dataSource, autoDDL, lock, false);
+    }
+
+    public AbstractProcessInstancesFactory(DataSource dataSource, Boolean autoDDL, Boolean lock, Boolean trustedWrite) {
+        this(dataSource, autoDDL, lock, trustedWrite, false, 0, 0);
+    }
+
+    public AbstractProcessInstancesFactory(DataSource dataSource, Boolean autoDDL, Boolean lock, Boolean trustedWrite, Boolean deltas, Integer maxDeltas, Integer maxDeltasSize) {
+        this(dataSource, autoDDL, lock, trustedWrite, deltas, maxDeltas, maxDeltasSize, false);
+    }
+
+    public AbstractProcessInstancesFactory(DataSource dataSource, Boolean autoDDL, Boolean lock, Boolean trustedWrite, Boolean deltas, Integer maxDeltas, Integer maxDeltasSize,
+            Boolean batchWrites) {
+        this(dataSource, autoDDL, lock, trustedWrite, deltas, maxDeltas, maxDeltasSize, batchWrites, false);
+    }
+
+    public AbstractProcessInstancesFactory(DataSource dataSource, Boolean autoDDL, Boolean lock, Boolean trustedWrite, Boolean deltas, Integer maxDeltas, Integer maxDeltasSize,
+            Boolean batchWrites, Boolean indexEventTypes) {
+        this(dataSource, autoDDL, lock, trustedWrite, deltas, maxDeltas, maxDeltasSize, batchWrites, indexEventTypes, false);
+    }
+
+    public AbstractProcessInstancesFactory(DataSource dataSource, Boolean autoDDL, Boolean lock, Boolean trustedWrite, Boolean deltas, Integer maxDeltas, Integer maxDeltasSize,
+            Boolean batchWrites, Boolean indexEventTypes, Boolean binaryJson) {
+        this(dataSource, autoDDL, lock, trustedWrite, deltas, maxDeltas, maxDeltasSize, batchWrites, indexEventTypes, binaryJson, JDBCProcessInstances.DEFAULT_MAX_DELTA_BASES_SIZE);
+    }
+
+    public AbstractProcessInstancesFactory(DataSource dataSource, Boolean autoDDL, Boolean lock, Boolean trustedWrite, Boolean deltas, Integer maxDeltas, Integer maxDeltasSize,
+            Boolean batchWrites, Boolean indexEventTypes, Boolean binaryJson, Long maxDeltaBasesSize) {
         this.dataSource = dataSource;
         this.autoDDL = autoDDL;
         this.lock = lock;
+        this.trustedWrite = trustedWrite;
+        this.maxDeltas = Boolean.TRUE.equals(deltas) ? maxDeltas : 0;
+        this.maxDeltasSize = maxDeltasSize;
+        this.batchWrites = batchWrites;
+        this.indexEventTypes = indexEventTypes;
+        this.binaryJson = binaryJson;
+        this.maxDeltaBasesSize = maxDeltaBasesSize;
     }
 
     @Override
     public JDBCProcessInstances createProcessInstances(Process<?> process) {
-        return new JDBCProcessInstances(process, dataSource, autoDDL, lock);
+        return new JDBCProcessInstances(process, dataSource, autoDDL, lock, trustedWrite, maxDeltas, maxDeltasSize, batchWrites, indexEventTypes, Boolean.TRUE.equals(binaryJson),
+                maxDeltaBasesSize);
     }
 }
@@ -23,6 +23,10 @@ public class DDLRunner {
     private static final Logger LOGGER = LoggerFactory.getLogger(DDLRunner.class);
 
     public static void init(Repository repository, boolean autoDDL) {
+        init(repository, autoDDL, false);
+    }
+
+    public static void init(Repository repository, boolean autoDDL, boolean indexEventTypes) {
         if (!autoDDL) {
             LOGGER.debug("Auto DDL is disabled, do not running initializer scripts");
             return;
@@ -32,6 +36,26 @@ public class DDLRunner {
                 LOGGER.info("Dynamically creating process_instances table");
                 repository.createTable();
             }
+            if (indexEventTypes && !repository.eventTypesTableExists()) {
+                LOGGER.info("Dynamically creating process_instance_event_types table");
+                repository.createEventTypesTable();
+            }
+            if (!repository.deltasTableExists()) {
+                LOGGER.info("Dynamically creating process_instance_deltas table");
+                repository.createDeltasTable();
+            }
+            if (!repository.correlationTableExists()) {
+                LOGGER.info("Dynamically creating correlation_instances table");
+                repository.createCorrelationTable();
+            }
+            if (!repository.jobTableExists()) {
+                LOGGER.info("Dynamically creating job_instances table");
+                repository.createJobTable();
+            }
+            if (!repository.outboxTableExists()) {
+                LOGGER.info("Dynamically creating message_outbox table");
+                repository.createOutboxTable();
+            }
         } catch (Exception e) {
             // not break the execution flow in case of any missing permission for db application user, for instance.
             LOGGER.error(e.getMessage(), e);
@@ -23,17 +23,28 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 public enum DatabaseType {
-    ANSI("ansi", "process_instances"),
-    ORACLE("Oracle", "PROCESS_INSTANCES"),
-    POSTGRES("PostgreSQL", "process_instances");
+    ANSI("ansi", "process_instances", "process_instance_event_types", "process_instance_deltas", "correlation_instances", "job_instances", "message_outbox"),
+    ORACLE("Oracle", "PROCESS_INSTANCES", "PROCESS_INSTANCE_EVENT_TYPES", "PROCESS_INSTANCE_DELTAS", "CORRELATION_INSTANCES", "JOB_INSTANCES", "MESSAGE_OUTBOX"),
+    POSTGRES("PostgreSQL", "process_instances", "process_instance_event_types", "process_instance_deltas", "correlation_instances", "job_instances", "message_outbox");
 
     private static final Logger LOGGER = LoggerFactory.getLogger(DatabaseType.class);
     private final String dbIdentifier;
     private final String tableNamePattern;
+    private final String eventTypesTableNamePattern;
+    private final String deltasTableNamePattern;
+    private final String correlationTableNamePattern;
+    private final String jobTableNamePattern;
+    private final String outboxTableNamePattern;
 
-    DatabaseType(final String dbIdentifier, final String tableNamePattern) {
+    DatabaseType(final String dbIdentifier, final String tableNamePattern, final String eventTypesTableNamePattern, final String deltasTableNamePattern,
+            final String correlationTableNamePattern, final String jobTableNamePattern, final String outboxTableNamePattern) {
         this.dbIdentifier = dbIdentifier;
         this.tableNamePattern = tableNamePattern;
+        this.eventTypesTableNamePattern = eventTypesTableNamePattern;
+        this.deltasTableNamePattern = deltasTableNamePattern;
+        this.correlationTableNamePattern = correlationTableNamePattern;
+        this.jobTableNamePattern = jobTableNamePattern;
+        this.outboxTableNamePattern = outboxTableNamePattern;
     }
 
     public String getDbIdentifier() {
@@ -44,6 +55,26 @@ public enum DatabaseType {
         return tableNamePattern;
     }
 
+    public String getEventTypesTableNamePattern() {
+        return eventTypesTableNamePattern;
+    }
+
+    public String getDeltasTableNamePattern() {
+        return deltasTableNamePattern;
+    }
+
+    public String getCorrelationTableNamePattern() {
+        return correlationTableNamePattern;
+    }
+
+    public String getJobTableNamePattern() {
+        return jobTableNamePattern;
+    }
+
+    public String getOutboxTableNamePattern() {
+        return outboxTableNamePattern;
+    }
+
     public static DatabaseType create(final String dbIdentifier) {
         if (ORACLE.getDbIdentifier().equals(dbIdentifier)) {
             return ORACLE;
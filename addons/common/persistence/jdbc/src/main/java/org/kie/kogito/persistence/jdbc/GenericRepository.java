@@ -21,7 +21,10 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -33,12 +36,17 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import static org.kie.kogito.persistence.jdbc.DatabaseType.getDataBaseType;
+import static org.kie.kogito.persistence.jdbc.JDBCProcessInstances.ID;
 import static org.kie.kogito.persistence.jdbc.JDBCProcessInstances.PAYLOAD;
 import static org.kie.kogito.persistence.jdbc.JDBCProcessInstances.VERSION;
+import static org.kie.kogito.process.impl.AbstractProcessInstance.ANY_EVENT_TYPE;
 
 public class GenericRepository extends Repository {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(GenericRepository.class);
+    private static final String PROCESS_INSTANCE_ID = "process_instance_id";
+    // Oracle does not accept more than 1000 expressions in an IN list
+    private static final int MAX_IN_PARAMETERS = 500;
 
     private final DataSource dataSource;
 
@@ -83,7 +91,182 @@ public class GenericRepository extends Repository {
     }
 
     @Override
-    void insertInternal(String processId, String processVersion, UUID id, byte[] payload) {
+    boolean eventTypesTableExists() {
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseType databaseType = getDataBaseType(connection);
+            final DatabaseMetaData metaData = connection.getMetaData();
+            final String[] types = { "TABLE" };
+            try (ResultSet tables = metaData.getTables(null, null, databaseType.getEventTypesTableNamePattern(), types)) {
+                return tables.next();
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to read table metadata", e);
+        }
+    }
+
+    @Override
+    void createEventTypesTable() {
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseType databaseType = getDataBaseType(connection);
+            final List<String> statements = FileLoader.getQueryFromFile(databaseType.getDbIdentifier(), "create_event_types_tables");
+            for (String s : statements) {
+                if (s.isBlank()) {
+                    continue;
+                }
+                try (PreparedStatement prepareStatement = connection.prepareStatement(s.trim())) {
+                    prepareStatement.execute();
+                }
+            }
+            LOGGER.info("DDL successfully done for ProcessInstance event types");
+        } catch (SQLException e) {
+            var msg = "Error creating process_instance_event_types table, the database should be configured properly before starting the application";
+            LOGGER.error(msg, e);
+            throw new RuntimeException(msg);
+        }
+    }
+
+    @Override
+    boolean deltasTableExists() {
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseType databaseType = getDataBaseType(connection);
+            final DatabaseMetaData metaData = connection.getMetaData();
+            final String[] types = { "TABLE" };
+            try (ResultSet tables = metaData.getTables(null, null, databaseType.getDeltasTableNamePattern(), types)) {
+                return tables.next();
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to read table metadata", e);
+        }
+    }
+
+    @Override
+    void createDeltasTable() {
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseType databaseType = getDataBaseType(connection);
+            final List<String> statements = FileLoader.getQueryFromFile(databaseType.getDbIdentifier(), "create_delta_tables");
+            for (String s : statements) {
+                if (s.isBlank()) {
+                    continue;
+                }
+                try (PreparedStatement prepareStatement = connection.prepareStatement(s.trim())) {
+                    prepareStatement.execute();
+                }
+            }
+            LOGGER.info("DDL successfully done for ProcessInstance deltas");
+        } catch (SQLException e) {
+            var msg = "Error creating process_instance_deltas table, the database should be configured properly before starting the application";
+            LOGGER.error(msg, e);
+            throw new RuntimeException(msg);
+        }
+    }
+
+    @Override
+    boolean correlationTableExists() {
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseType databaseType = getDataBaseType(connection);
+            final DatabaseMetaData metaData = connection.getMetaData();
+            final String[] types = { "TABLE" };
+            try (ResultSet tables = metaData.getTables(null, null, databaseType.getCorrelationTableNamePattern(), types)) {
+                return tables.next();
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to read table metadata", e);
+        }
+    }
+
+    @Override
+    void createCorrelationTable() {
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseType databaseType = getDataBaseType(connection);
+            final List<String> statements = FileLoader.getQueryFromFile(databaseType.getDbIdentifier(), "create_correlation_tables");
+            for (String s : statements) {
+                if (s.isBlank()) {
+                    continue;
+                }
+                try (PreparedStatement prepareStatement = connection.prepareStatement(s.trim())) {
+                    prepareStatement.execute();
+                }
+            }
+            LOGGER.info("DDL successfully done for correlations");
+        } catch (SQLException e) {
+            var msg = "Error creating correlation_instances table, the database should be configured properly before starting the application";
+            LOGGER.error(msg, e);
+            throw new RuntimeException(msg);
+        }
+    }
+
+    @Override
+    boolean jobTableExists() {
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseType databaseType = getDataBaseType(connection);
+            final DatabaseMetaData metaData = connection.getMetaData();
+            final String[] types = { "TABLE" };
+            try (ResultSet tables = metaData.getTables(null, null, databaseType.getJobTableNamePattern(), types)) {
+                return tables.next();
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to read table metadata", e);
+        }
+    }
+
+    @Override
+    void createJobTable() {
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseType databaseType = getDataBaseType(connection);
+            final List<String> statements = FileLoader.getQueryFromFile(databaseType.getDbIdentifier(), "create_job_tables");
+            for (String s : statements) {
+                if (s.isBlank()) {
+                    continue;
+                }
+                try (PreparedStatement prepareStatement = connection.prepareStatement(s.trim())) {
+                    prepareStatement.execute();
+                }
+            }
+            LOGGER.info("DDL successfully done for jobs");
+        } catch (SQLException e) {
+            var msg = "Error creating job_instances table, the database should be configured properly before starting the application";
+            LOGGER.error(msg, e);
+            throw new RuntimeException(msg);
+        }
+    }
+
+    @Override
+    boolean outboxTableExists() {
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseType databaseType = getDataBaseType(connection);
+            final DatabaseMetaData metaData = connection.getMetaData();
+            final String[] types = { "TABLE" };
+            try (ResultSet tables = metaData.getTables(null, null, databaseType.getOutboxTableNamePattern(), types)) {
+                return tables.next();
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to read table metadata", e);
+        }
+    }
+
+    @Override
+    void createOutboxTable() {
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseType databaseType = getDataBaseType(connection);
+            final List<String> statements = FileLoader.getQueryFromFile(databaseType.getDbIdentifier(), "create_outbox_tables");
+            for (String s : statements) {
+                if (s.isBlank()) {
+                    continue;
+                }
+                try (PreparedStatement prepareStatement = connection.prepareStatement(s.trim())) {
+                    prepareStatement.execute();
+                }
+            }
+            LOGGER.info("DDL successfully done for the message outbox");
+        } catch (SQLException e) {
+            var msg = "Error creating message_outbox table, the database should be configured properly before starting the application";
+            LOGGER.error(msg, e);
+            throw new RuntimeException(msg);
+        }
+    }
+
+    @Override
+    void insertInternal(String processId, String processVersion, UUID id, byte[] payload, Collection<String> eventTypes) {
         try (Connection connection = dataSource.getConnection();
                 PreparedStatement statement = connection.prepareStatement(INSERT)) {
             statement.setString(1, id.toString());
@@ -91,14 +274,18 @@ public class GenericRepository extends Repository {
             statement.setString(3, processId);
             statement.setString(4, processVersion);
             statement.setLong(5, 0L);
-            statement.executeUpdate();
+            atomically(connection, eventTypes != null, () -> {
+                statement.executeUpdate();
+                replaceEventTypes(connection, id, eventTypes);
+                return null;
+            });
         } catch (Exception e) {
             throw uncheckedException(e, "Error inserting process instance %s", id);
         }
     }
 
     @Override
-    void updateInternal(String processId, String processVersion, UUID id, byte[] payload) {
+    void updateInternal(String processId, String processVersion, UUID id, byte[] payload, Collection<String> eventTypes, boolean deltasStored) {
         try (Connection connection = dataSource.getConnection();
                 PreparedStatement statement = connection.prepareStatement(sqlIncludingVersion(UPDATE, processVersion))) {
             statement.setBytes(1, payload);
@@ -107,14 +294,19 @@ public class GenericRepository extends Repository {
             if (processVersion != null) {
                 statement.setString(4, processVersion);
             }
-            statement.executeUpdate();
+            atomically(connection, eventTypes != null || deltasStored, () -> {
+                statement.executeUpdate();
+                replaceEventTypes(connection, id, eventTypes);
+                deleteDeltas(connection, id, deltasStored);
+                return null;
+            });
         } catch (Exception e) {
             throw uncheckedException(e, "Error updating process instance %s", id);
         }
     }
 
     @Override
-    boolean updateWithLock(String processId, String processVersion, UUID id, byte[] payload, long version) {
+    boolean updateWithLock(String processId, String processVersion, UUID id, byte[] payload, long version, Collection<String> eventTypes, boolean deltasStored) {
         try (Connection connection = dataSource.getConnection();
                 PreparedStatement statement = connection.prepareStatement(sqlIncludingVersion(UPDATE_WITH_LOCK, processVersion))) {
             statement.setBytes(1, payload);
@@ -125,15 +317,21 @@ public class GenericRepository extends Repository {
             if (processVersion != null) {
                 statement.setString(6, processVersion);
             }
-            int count = statement.executeUpdate();
-            return count == 1;
+            return atomically(connection, eventTypes != null || deltasStored, () -> {
+                boolean updated = statement.executeUpdate() == 1;
+                if (updated) {
+                    replaceEventTypes(connection, id, eventTypes);
+                    deleteDeltas(connection, id, deltasStored);
+                }
+                return updated;
+            });
         } catch (Exception e) {
             throw uncheckedException(e, "Error updating with lock process instance %s", id);
         }
     }
 
     @Override
-    boolean deleteInternal(String processId, String processVersion, UUID id) {
+    boolean deleteInternal(String processId, String processVersion, UUID id, boolean eventTypesIndexed, boolean deltasStored) {
         try (Connection connection = dataSource.getConnection();
                 PreparedStatement statement = connection.prepareStatement(sqlIncludingVersion(DELETE, processVersion))) {
             statement.setString(1, processId);
@@ -141,8 +339,14 @@ public class GenericRepository extends Repository {
             if (processVersion != null) {
                 statement.setString(3, processVersion);
             }
-            int count = statement.executeUpdate();
-            return count == 1;
+            return atomically(connection, eventTypesIndexed || deltasStored, () -> {
+                boolean deleted = statement.executeUpdate() == 1;
+                if (deleted) {
+                    replaceEventTypes(connection, id, eventTypesIndexed ? Collections.emptyList() : null);
+                    deleteDeltas(connection, id, deltasStored);
+                }
+                return deleted;
+            });
         } catch (Exception e) {
             throw uncheckedException(e, "Error deleting process instance %s", id);
         }
@@ -174,6 +378,23 @@ public class GenericRepository extends Repository {
         return result;
     }
 
+    @Override
+    boolean existsInternal(String processId, String processVersion, UUID id) {
+        try (Connection connection = dataSource.getConnection();
+                PreparedStatement statement = connection.prepareStatement(sqlIncludingVersion(EXISTS, processVersion))) {
+            statement.setString(1, processId);
+            statement.setString(2, id.toString());
+            if (processVersion != null) {
+                statement.setString(3, processVersion);
+            }
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next();
+            }
+        } catch (Exception e) {
+            throw uncheckedException(e, "Error finding process instance %s", id);
+        }
+    }
+
     @Override
     List<byte[]> findAllInternal(String processId, String processVersion) {
         List<byte[]> result = new ArrayList<>();
@@ -194,6 +415,221 @@ public class GenericRepository extends Repository {
         }
     }
 
+    @Override
+    Map<String, byte[]> findAllInternal(String processId, String processVersion, int offset, int limit) {
+        Map<String, byte[]> result = new LinkedHashMap<>();
+        try (Connection connection = dataSource.getConnection();
+                PreparedStatement statement = connection.prepareStatement(sqlIncludingVersion(FIND_FIRST_KEYS, processVersion) + ORDER_BY_ID_OFFSET_LIMIT)) {
+            int idx = 1;
+            statement.setString(idx++, processId);
+            if (processVersion != null) {
+                statement.setString(idx++, processVersion);
+            }
+            statement.setInt(idx++, offset);
+            statement.setInt(idx, limit);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    result.put(resultSet.getString(ID), resultSet.getBytes(PAYLOAD));
+                }
+            }
+            return result;
+        } catch (Exception e) {
+            throw uncheckedException(e, "Error finding process instances page, for processId %s", processId);
+        }
+    }
+
+    @Override
+    Map<String, byte[]> findNextInternal(String processId, String processVersion, String lastId, int limit) {
+        Map<String, byte[]> result = new LinkedHashMap<>();
+        String sql = sqlIncludingVersion(lastId == null ? FIND_FIRST_KEYS : FIND_NEXT_KEYS, processVersion) + ORDER_BY_ID_LIMIT;
+        try (Connection connection = dataSource.getConnection();
+                PreparedStatement statement = connection.prepareStatement(sql)) {
+            int idx = 1;
+            statement.setString(idx++, processId);
+            if (lastId != null) {
+                statement.setString(idx++, lastId);
+            }
+            if (processVersion != null) {
+                statement.setString(idx++, processVersion);
+            }
+            statement.setInt(idx, limit);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    result.put(resultSet.getString(ID), resultSet.getBytes(PAYLOAD));
+                }
+            }
+            return result;
+        } catch (Exception e) {
+            throw uncheckedException(e, "Error finding process instances after %s, for processId %s", lastId, processId);
+        }
+    }
+
+    @Override
+    Map<String, byte[]> findNextWaitingInternal(String processId, String processVersion, String eventType, String lastId, int limit) {
+        Map<String, byte[]> result = new LinkedHashMap<>();
+        String sql = sqlIncludingVersion(lastId == null ? FIND_FIRST_WAITING : FIND_NEXT_WAITING, processVersion) + ORDER_BY_ID_LIMIT;
+        try (Connection connection = dataSource.getConnection();
+                PreparedStatement statement = connection.prepareStatement(sql)) {
+            int idx = 1;
+            statement.setString(idx++, processId);
+            statement.setString(idx++, eventType);
+            statement.setString(idx++, ANY_EVENT_TYPE);
+            if (lastId != null) {
+                statement.setString(idx++, lastId);
+            }
+            if (processVersion != null) {
+                statement.setString(idx++, processVersion);
+            }
+            statement.setInt(idx, limit);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    result.put(resultSet.getString(ID), resultSet.getBytes(PAYLOAD));
+                }
+            }
+            return result;
+        } catch (Exception e) {
+            throw uncheckedException(e, "Error finding process instances waiting for %s, for processId %s", eventType, processId);
+        }
+    }
+
+    @Override
+    List<byte[]> findDeltasInternal(UUID id) {
+        List<byte[]> result = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection();
+                PreparedStatement statement = connection.prepareStatement(FIND_DELTAS)) {
+            statement.setString(1, id.toString());
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    result.add(resultSet.getBytes(PAYLOAD));
+                }
+            }
+            return result;
+        } catch (Exception e) {
+            throw uncheckedException(e, "Error finding deltas of process instance %s", id);
+        }
+    }
+
+    @Override
+    Map<String, List<byte[]>> findDeltasInternal(Collection<String> ids) {
+        Map<String, List<byte[]>> result = new HashMap<>();
+        List<String> pending = new ArrayList<>(ids);
+        try (Connection connection = dataSource.getConnection()) {
+            for (int start = 0; start < pending.size(); start += MAX_IN_PARAMETERS) {
+                List<String> chunk = pending.subList(start, Math.min(start + MAX_IN_PARAMETERS, pending.size()));
+                String sql = String.format(FIND_DELTAS_OF, String.join(", ", Collections.nCopies(chunk.size(), "?")));
+                try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                    for (int i = 0; i < chunk.size(); i++) {
+                        statement.setString(i + 1, chunk.get(i));
+                    }
+                    try (ResultSet resultSet = statement.executeQuery()) {
+                        while (resultSet.next()) {
+                            result.computeIfAbsent(resultSet.getString(PROCESS_INSTANCE_ID).trim(), k -> new ArrayList<>()).add(resultSet.getBytes(PAYLOAD));
+                        }
+                    }
+                }
+            }
+            return result;
+        } catch (Exception e) {
+            throw uncheckedException(e, "Error finding deltas of %d process instances", pending.size());
+        }
+    }
+
+    @Override
+    boolean appendDeltaInternal(String processId, String processVersion, UUID id, int sequence, byte[] delta, Long version, Collection<String> eventTypes) {
+        try (Connection connection = dataSource.getConnection()) {
+            return atomically(connection, () -> {
+                if (version != null) {
+                    try (PreparedStatement statement = connection.prepareStatement(sqlIncludingVersion(UPDATE_VERSION_WITH_LOCK, processVersion))) {
+                        statement.setLong(1, version + 1);
+                        statement.setString(2, processId);
+                        statement.setString(3, id.toString());
+                        statement.setLong(4, version);
+                        if (processVersion != null) {
+                            statement.setString(5, processVersion);
+                        }
+                        if (statement.executeUpdate() != 1) {
+                            return false;
+                        }
+                    }
+                }
+                try (PreparedStatement statement = connection.prepareStatement(INSERT_DELTA)) {
+                    statement.setString(1, id.toString());
+                    statement.setInt(2, sequence);
+                    statement.setBytes(3, delta);
+                    statement.executeUpdate();
+                }
+                replaceEventTypes(connection, id, eventTypes);
+                return true;
+            });
+        } catch (Exception e) {
+            throw uncheckedException(e, "Error appending delta to process instance %s", id);
+        }
+    }
+
+    /**
+     * Runs <code>work</code> in a local transaction, so the process instance row and its event types (or deltas) are
+     * always written together. Connections already taking part in a transaction managed by the caller are left as is.
+     */
+    static <R> R atomically(Connection connection, SQLWork<R> work) throws SQLException {
+        if (!connection.getAutoCommit()) {
+            return work.execute();
+        }
+        connection.setAutoCommit(false);
+        try {
+            R result = work.execute();
+            connection.commit();
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(true);
+        }
+    }
+
+    /*
+     * Single statement writes do not need a local transaction
+     */
+    private static <R> R atomically(Connection connection, boolean severalStatements, SQLWork<R> work) throws SQLException {
+        return severalStatements ? atomically(connection, work) : work.execute();
+    }
+
+    @FunctionalInterface
+    interface SQLWork<R> {
+        R execute() throws SQLException;
+    }
+
+    private void deleteDeltas(Connection connection, UUID id, boolean deltasStored) throws SQLException {
+        if (!deltasStored) {
+            return;
+        }
+        try (PreparedStatement statement = connection.prepareStatement(DELETE_DELTAS)) {
+            statement.setString(1, id.toString());
+            statement.executeUpdate();
+        }
+    }
+
+    private void replaceEventTypes(Connection connection, UUID id, Collection<String> eventTypes) throws SQLException {
+        if (eventTypes == null) {
+            return;
+        }
+        try (PreparedStatement statement = connection.prepareStatement(DELETE_EVENT_TYPES)) {
+            statement.setString(1, id.toString());
+            statement.executeUpdate();
+        }
+        if (eventTypes.isEmpty()) {
+            return;
+        }
+        try (PreparedStatement statement = connection.prepareStatement(INSERT_EVENT_TYPE)) {
+            for (String eventType : eventTypes) {
+                statement.setString(1, id.toString());
+                statement.setString(2, eventType);
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+    }
+
     @Override
     Long countInternal(String processId, String processVersion) {
         try (Connection connection = dataSource.getConnection();
@@ -213,7 +649,7 @@ public class GenericRepository extends Repository {
         return 0l;
     }
 
-    private static String sqlIncludingVersion(String statement, String processVersion) {
+    static String sqlIncludingVersion(String statement, String processVersion) {
         return statement + (processVersion == null ? PROCESS_VERSION_IS_NULL : PROCESS_VERSION_EQUALS_TO);
     }
 }
@@ -15,12 +15,24 @@
  */
 package org.kie.kogito.persistence.jdbc;
 
+import java.lang.ref.WeakReference;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.UUID;
+import java.util.function.BiFunction;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import javax.sql.DataSource;
 
@@ -31,6 +43,7 @@ import org.kie.kogito.process.ProcessInstanceOptimisticLockingException;
 import org.kie.kogito.process.ProcessInstanceReadMode;
 import org.kie.kogito.process.impl.AbstractProcessInstance;
 import org.kie.kogito.serialization.process.ProcessInstanceMarshallerService;
+import org.kie.kogito.uow.WorkUnitBatch;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -38,27 +51,104 @@ import static org.kie.kogito.process.ProcessInstanceReadMode.MUTABLE;
 
 public class JDBCProcessInstances implements MutableProcessInstances {
 
+    static final String ID = "id";
     static final String PAYLOAD = "payload";
     static final String VERSION = "version";
+    static final int PAGE_SIZE = 100;
+    static final long DEFAULT_MAX_DELTA_BASES_SIZE = 16 * 1024 * 1024;
+    static final int MAX_STORED_EVENT_TYPES = 1000;
 
     private static final Logger LOGGER = LoggerFactory.getLogger(JDBCProcessInstances.class);
 
     private final Process<?> process;
     private final ProcessInstanceMarshallerService marshaller;
     private final boolean lock;
+    private final boolean trustedWrite;
     private final Repository repository;
+    private final boolean indexEventTypes;
+    private final boolean deltas;
+    private final int maxDeltas;
+    private final int maxDeltasSize;
+    private final DataSource dataSource;
+    private final boolean batchWrites;
+    private final DeltaBases deltaBases;
+    private final Map<String, StoredEventTypes> storedEventTypes = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, StoredEventTypes> eldest) {
+            return size() > MAX_STORED_EVENT_TYPES;
+        }
+    });
 
     public JDBCProcessInstances(Process<?> process, DataSource dataSource, boolean autoDDL, boolean lock) {
+        this(process, dataSource, autoDDL, lock, false);
+    }
+
+    public JDBCProcessInstances(Process<?> process, DataSource dataSource, boolean autoDDL, boolean lock, boolean trustedWrite) {
+        this(process, dataSource, autoDDL, lock, trustedWrite, 0, 0, false);
+    }
+
+    /**
+     * When <code>maxDeltas</code> is greater than zero, updates are stored as deltas appended to the last full payload
+     * written. Deltas are compacted into a new full payload once there are <code>maxDeltas</code> of them or they
+     * take <code>maxDeltasSize</code> bytes. Deltas are computed against the state the process instance was loaded from
+     * or last written with, so the stored state is only read when it is not known anymore.
+     * <p>
+     * When <code>batchWrites</code> is enabled, writes done while a unit of work is ending are deferred into the
+     * {@link WorkUnitBatch} of the unit of work, so they are flushed together in a single transaction.
+     */
+    public JDBCProcessInstances(Process<?> process, DataSource dataSource, boolean autoDDL, boolean lock, boolean trustedWrite, int maxDeltas, int maxDeltasSize,
+            boolean batchWrites) {
+        this(process, dataSource, autoDDL, lock, trustedWrite, maxDeltas, maxDeltasSize, batchWrites, false);
+    }
+
+    public JDBCProcessInstances(Process<?> process, DataSource dataSource, boolean autoDDL, boolean lock, boolean trustedWrite, int maxDeltas, int maxDeltasSize,
+            boolean batchWrites, boolean indexEventTypes) {
+        this(process, dataSource, autoDDL, lock, trustedWrite, maxDeltas, maxDeltasSize, batchWrites, indexEventTypes, false);
+    }
+
+    public JDBCProcessInstances(Process<?> process, DataSource dataSource, boolean autoDDL, boolean lock, boolean trustedWrite, int maxDeltas, int maxDeltasSize,
+            boolean batchWrites, boolean indexEventTypes, boolean binaryJson) {
+        this(process, dataSource, autoDDL, lock, trustedWrite, maxDeltas, maxDeltasSize, batchWrites, indexEventTypes, binaryJson, DEFAULT_MAX_DELTA_BASES_SIZE);
+    }
+
+    /**
+     * When <code>indexEventTypes</code> is enabled, the event types each process instance is listening on are stored in the
+     * process_instance_event_types table, so broadcast signals only load the instances that may accept them. The index
+     * is rewritten only when the event types of the instance changed since it was read or written.
+     * The table is seeded with a wildcard for the existing instances when created, so it should be dropped before
+     * enabling the index again after running without it.
+     * <p>
+     * When <code>binaryJson</code> is enabled, json node variables are written as Smile instead of text.
+     * <p>
+     * The payloads deltas are computed against are kept for the most recently used process instances, up to
+     * <code>maxDeltaBasesSize</code> bytes in total. The stored state is read back for the others.
+     */
+    public JDBCProcessInstances(Process<?> process, DataSource dataSource, boolean autoDDL, boolean lock, boolean trustedWrite, int maxDeltas, int maxDeltasSize,
+            boolean batchWrites, boolean indexEventTypes, boolean binaryJson, long maxDeltaBasesSize) {
         this.process = process;
+        this.dataSource = dataSource;
+        this.batchWrites = batchWrites;
         this.lock = lock;
-        this.marshaller = ProcessInstanceMarshallerService.newBuilder().withDefaultObjectMarshallerStrategies().build();
+        this.trustedWrite = trustedWrite;
+        this.maxDeltas = maxDeltas;
+        this.maxDeltasSize = maxDeltasSize;
+        this.deltaBases = new DeltaBases(maxDeltaBasesSize);
+        this.marshaller = ProcessInstanceMarshallerService.newBuilder().withDefaultObjectMarshallerStrategies().withDirectWrite().withBinaryJsonNodes(binaryJson).build();
         this.repository = new GenericRepository(dataSource);
-        DDLRunner.init(repository, autoDDL);
+        DDLRunner.init(repository, autoDDL, indexEventTypes);
+        this.indexEventTypes = indexEventTypes && repository.eventTypesTableExists();
+        if (indexEventTypes && !this.indexEventTypes) {
+            LOGGER.warn("Table process_instance_event_types not found, broadcast signals to {} load every process instance", process.id());
+        }
+        this.deltas = maxDeltas > 0 && repository.deltasTableExists();
+        if (maxDeltas > 0 && !deltas) {
+            LOGGER.warn("Table process_instance_deltas not found, process instances of {} are stored as full payloads", process.id());
+        }
     }
 
     @Override
     public boolean exists(String id) {
-        return findById(id).isPresent();
+        return repository.existsInternal(process.id(), process.version(), UUID.fromString(id));
     }
 
     @SuppressWarnings("unchecked")
@@ -66,7 +156,16 @@ public class JDBCProcessInstances implements MutableProcessInstances {
     public void create(String id, ProcessInstance instance) {
         LOGGER.debug("Creating process instance id: {}, processId: {}, processVersion: {}", id, process.id(), process.version());
         if (isActive(instance)) {
-            repository.insertInternal(process.id(), process.version(), UUID.fromString(id), marshaller.marshallProcessInstance(instance));
+            byte[] payload = marshaller.marshallProcessInstance(instance);
+            Collection<String> eventTypes = indexEventTypes ? listeningEventTypes(instance) : null;
+            Optional<JDBCWriteBatch> batch = writeBatch();
+            if (batch.isPresent()) {
+                batch.get().insert(process.id(), process.version(), UUID.fromString(id), payload, eventTypes);
+            } else {
+                repository.insertInternal(process.id(), process.version(), UUID.fromString(id), payload, eventTypes);
+                rememberEventTypes(id, instance, eventTypes);
+            }
+            rememberDeltaBase(id, new DeltaBase(payload, 0, 0, instance.version()));
         } else {
             LOGGER.warn("Skipping create of process instance id: {}, state: {}", id, instance.status());
         }
@@ -76,28 +175,110 @@ public class JDBCProcessInstances implements MutableProcessInstances {
     @Override
     public void update(String id, ProcessInstance instance) {
         LOGGER.debug("Updating process instance id: {}, processId: {}, processVersion: {}", id, process.id(), process.version());
+        byte[] written = null;
+        boolean deferred = false;
         try {
             if (isActive(instance)) {
-                if (lock) {
-                    boolean isUpdated = repository.updateWithLock(process.id(), process.version(), UUID.fromString(id), marshaller.marshallProcessInstance(instance), instance.version());
+                byte[] payload = marshaller.marshallProcessInstance(instance);
+                Collection<String> eventTypes = changedEventTypes(id, instance);
+                Optional<JDBCWriteBatch> batch = deltas ? Optional.empty() : writeBatch();
+                if (batch.isPresent()) {
+                    // the outcome of the write is only known once the batch is flushed
+                    storedEventTypes.remove(id);
+                    if (lock) {
+                        batch.get().updateWithLock(process.id(), process.version(), UUID.fromString(id), payload, instance.version(), eventTypes);
+                        ((AbstractProcessInstance<?>) instance).setVersion(instance.version() + 1);
+                    } else {
+                        batch.get().update(process.id(), process.version(), UUID.fromString(id), payload, eventTypes);
+                    }
+                    deferred = true;
+                } else if (deltas && appendDelta(id, instance, payload, eventTypes)) {
+                    LOGGER.debug("Process instance id: {} updated through a delta", id);
+                } else if (lock) {
+                    boolean isUpdated = repository.updateWithLock(process.id(), process.version(), UUID.fromString(id), payload, instance.version(), eventTypes, deltas);
                     if (!isUpdated) {
+                        deltaBases.remove(id);
+                        storedEventTypes.remove(id);
                         throw new ProcessInstanceOptimisticLockingException(id);
                     }
+                    ((AbstractProcessInstance<?>) instance).setVersion(instance.version() + 1);
+                    rememberDeltaBase(id, new DeltaBase(payload, 0, 0, instance.version()));
+                    rememberEventTypes(id, instance, eventTypes);
                 } else {
-                    repository.updateInternal(process.id(), process.version(), UUID.fromString(id), marshaller.marshallProcessInstance(instance));
+                    repository.updateInternal(process.id(), process.version(), UUID.fromString(id), payload, eventTypes, deltas);
+                    rememberDeltaBase(id, new DeltaBase(payload, 0, 0, instance.version()));
+                    rememberEventTypes(id, instance, eventTypes);
                 }
+                written = payload;
             } else {
                 LOGGER.warn("Process instance id: {}, state: {} is not active, skipping update", id, instance.status());
             }
         } finally {
-            disconnect(instance);
+            disconnect(instance, written, deferred);
+        }
+    }
+
+    /*
+     * Appends the difference between the known state of the process instance and the given payload, returns false when
+     * a full payload should be written instead, that is when the deltas need to be compacted or the delta is not worth it
+     */
+    private boolean appendDelta(String id, ProcessInstance<?> instance, byte[] payload, Collection<String> eventTypes) {
+        UUID uuid = UUID.fromString(id);
+        DeltaBase base = deltaBases.get(id);
+        if (base == null || base.version != instance.version()) {
+            base = loadDeltaBase(uuid);
+            if (base == null) {
+                return false;
+            }
+        }
+        if (base.deltas >= maxDeltas) {
+            return false;
+        }
+        byte[] delta = marshaller.diffProcessInstance(base.payload, payload);
+        if (delta.length >= payload.length || base.deltasSize + delta.length > maxDeltasSize) {
+            return false;
+        }
+        boolean isAppended = repository.appendDeltaInternal(process.id(), process.version(), uuid, base.deltas, delta, lock ? instance.version() : null, eventTypes);
+        if (!isAppended) {
+            deltaBases.remove(id);
+            storedEventTypes.remove(id);
+            throw new ProcessInstanceOptimisticLockingException(id);
+        }
+        if (lock) {
+            ((AbstractProcessInstance<?>) instance).setVersion(instance.version() + 1);
+        }
+        rememberDeltaBase(id, new DeltaBase(payload, base.deltas + 1, base.deltasSize + delta.length, instance.version()));
+        rememberEventTypes(id, instance, eventTypes);
+        return true;
+    }
+
+    private DeltaBase loadDeltaBase(UUID id) {
+        Map<String, Object> stored = repository.findByIdInternal(process.id(), process.version(), id);
+        if (!stored.containsKey(PAYLOAD)) {
+            return null;
+        }
+        List<byte[]> storedDeltas = repository.findDeltasInternal(id);
+        return new DeltaBase(marshaller.applyProcessInstanceDeltas((byte[]) stored.get(PAYLOAD), storedDeltas), storedDeltas.size(),
+                storedDeltas.stream().mapToInt(d -> d.length).sum(), (Long) stored.get(VERSION));
+    }
+
+    private void rememberDeltaBase(String id, DeltaBase base) {
+        if (deltas) {
+            deltaBases.put(id, base);
         }
     }
 
     @Override
     public void remove(String id) {
         LOGGER.debug("Removing process instance id: {}, processId: {}", id, process.id());
-        boolean isDeleted = repository.deleteInternal(process.id(), process.version(), UUID.fromString(id));
+        deltaBases.remove(id);
+        storedEventTypes.remove(id);
+        Optional<JDBCWriteBatch> batch = writeBatch();
+        if (batch.isPresent()) {
+            batch.get().delete(process.id(), process.version(), UUID.fromString(id), indexEventTypes, deltas);
+            return;
+        }
+        boolean isDeleted = repository.deleteInternal(process.id(), process.version(), UUID.fromString(id), indexEventTypes, deltas);
         LOGGER.debug("Deleted: {}", isDeleted);
     }
 
@@ -107,9 +288,19 @@ public class JDBCProcessInstances implements MutableProcessInstances {
         Map<String, Object> map = repository.findByIdInternal(process.id(), process.version(), UUID.fromString(id));
         if (map.containsKey(PAYLOAD)) {
             byte[] b = (byte[]) map.get(PAYLOAD);
+            if (deltas) {
+                List<byte[]> storedDeltas = repository.findDeltasInternal(UUID.fromString(id));
+                b = marshaller.applyProcessInstanceDeltas(b, storedDeltas);
+                if (mode == MUTABLE) {
+                    rememberDeltaBase(id, new DeltaBase(b, storedDeltas.size(), storedDeltas.stream().mapToInt(d -> d.length).sum(), (Long) map.get(VERSION)));
+                }
+            }
             ProcessInstance<?> instance = mode == MUTABLE ? marshaller.unmarshallProcessInstance(b, process)
                     : marshaller.unmarshallReadOnlyProcessInstance(b, process);
             ((AbstractProcessInstance<?>) instance).setVersion((Long) map.get(VERSION));
+            if (mode == MUTABLE) {
+                rememberLoadedEventTypes(instance);
+            }
             return Optional.of(instance);
         }
         return Optional.empty();
@@ -118,11 +309,91 @@ public class JDBCProcessInstances implements MutableProcessInstances {
     @Override
     public Collection<ProcessInstance> values(ProcessInstanceReadMode mode) {
         LOGGER.debug("Find process instance values using mode: {}", mode);
-        return repository.findAllInternal(process.id(), process.version()).stream()
-                .map(b -> mode == MUTABLE ? marshaller.unmarshallProcessInstance(b, process) : marshaller.unmarshallReadOnlyProcessInstance(b, process))
+        try (Stream<ProcessInstance> stream = stream(mode)) {
+            return stream.collect(Collectors.toList());
+        }
+    }
+
+    @Override
+    public Collection<ProcessInstance> values(ProcessInstanceReadMode mode, int offset, int limit) {
+        LOGGER.debug("Find process instance values using mode: {}, offset: {}, limit: {}", mode, offset, limit);
+        return materialize(repository.findAllInternal(process.id(), process.version(), offset, limit)).values().stream()
+                .map(b -> unmarshall(b, mode))
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public Stream<ProcessInstance> stream(ProcessInstanceReadMode mode) {
+        LOGGER.debug("Stream process instance values using mode: {}", mode);
+        return stream(new PayloadIterator((lastId, limit) -> materialize(repository.findNextInternal(process.id(), process.version(), lastId, limit))), mode);
+    }
+
+    @Override
+    public Stream<ProcessInstance> waitingForEventType(String eventType, ProcessInstanceReadMode mode) {
+        if (!indexEventTypes) {
+            return stream(mode);
+        }
+        LOGGER.debug("Stream process instance values waiting for event type: {}, using mode: {}", eventType, mode);
+        return stream(new PayloadIterator((lastId, limit) -> materialize(repository.findNextWaitingInternal(process.id(), process.version(), eventType, lastId, limit))), mode);
+    }
+
+    private Stream<ProcessInstance> stream(PayloadIterator iterator, ProcessInstanceReadMode mode) {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .map(b -> unmarshall(b, mode));
+    }
+
+    private static Set<String> listeningEventTypes(ProcessInstance<?> instance) {
+        return ((AbstractProcessInstance<?>) instance).listeningEventTypes();
+    }
+
+    /*
+     * Event types to write for the process instance, null when the index is disabled or already up to date
+     */
+    private Collection<String> changedEventTypes(String id, ProcessInstance<?> instance) {
+        if (!indexEventTypes) {
+            return null;
+        }
+        Set<String> eventTypes = listeningEventTypes(instance);
+        StoredEventTypes stored = storedEventTypes.get(id);
+        return stored != null && stored.isOf(instance) && stored.eventTypes.equals(eventTypes) ? null : eventTypes;
+    }
+
+    private void rememberEventTypes(String id, ProcessInstance<?> instance, Collection<String> eventTypes) {
+        if (eventTypes != null) {
+            storedEventTypes.put(id, new StoredEventTypes(instance, eventTypes));
+        }
+    }
+
+    /*
+     * The stored event types were computed from the stored state, so they match the ones of the instance just read
+     */
+    private void rememberLoadedEventTypes(ProcessInstance<?> instance) {
+        if (indexEventTypes) {
+            rememberEventTypes(instance.id(), instance, listeningEventTypes(instance));
+        }
+    }
+
+    private byte[] materialize(String id, byte[] payload) {
+        return deltas ? marshaller.applyProcessInstanceDeltas(payload, repository.findDeltasInternal(UUID.fromString(id))) : payload;
+    }
+
+    private Map<String, byte[]> materialize(Map<String, byte[]> payloads) {
+        if (deltas && !payloads.isEmpty()) {
+            Map<String, List<byte[]>> storedDeltas = repository.findDeltasInternal(payloads.keySet());
+            payloads.replaceAll((id, payload) -> marshaller.applyProcessInstanceDeltas(payload, storedDeltas.getOrDefault(id, Collections.emptyList())));
+        }
+        return payloads;
+    }
+
+    private ProcessInstance unmarshall(byte[] payload, ProcessInstanceReadMode mode) {
+        if (mode != MUTABLE) {
+            return marshaller.unmarshallReadOnlyProcessInstance(payload, process);
+        }
+        ProcessInstance<?> instance = marshaller.unmarshallProcessInstance(payload, process);
+        rememberLoadedEventTypes(instance);
+        return instance;
+    }
+
     @Override
     public Integer size() {
         return repository.countInternal(process.id(), process.version()).intValue();
@@ -133,12 +404,136 @@ public class JDBCProcessInstances implements MutableProcessInstances {
         return this.lock;
     }
 
-    private void disconnect(ProcessInstance instance) {
+    private Optional<JDBCWriteBatch> writeBatch() {
+        return batchWrites ? JDBCWriteBatch.current(dataSource) : Optional.empty();
+    }
+
+    /*
+     * Deferred writes are not in the storage yet, so the instance can only be reloaded from the written payload
+     */
+    private void disconnect(ProcessInstance instance, byte[] written, boolean deferred) {
         Supplier<byte[]> supplier = () -> {
             Map<String, Object> map = repository.findByIdInternal(process.id(), process.version(), UUID.fromString(instance.id()));
             ((AbstractProcessInstance<?>) instance).setVersion((Long) map.get(VERSION));
-            return (byte[]) map.get(PAYLOAD);
+            return map.containsKey(PAYLOAD) ? materialize(instance.id(), (byte[]) map.get(PAYLOAD)) : null;
         };
-        ((AbstractProcessInstance<?>) instance).internalRemoveProcessInstance(marshaller.createdReloadFunction(supplier));
+        if ((trustedWrite || deferred) && written != null) {
+            ((AbstractProcessInstance<?>) instance).internalRemoveProcessInstance(marshaller.createdReloadFunction(written));
+        } else {
+            ((AbstractProcessInstance<?>) instance).internalRemoveProcessInstance(marshaller.createdReloadFunction(supplier));
+        }
+    }
+
+    /**
+     * Materialized payload a process instance was last read or written with, along with the deltas stored on top of its
+     * full payload, so the next delta is computed without reading the storage.
+     */
+    /**
+     * Least recently used delta bases, bounded by the total size of their payloads. A payload larger than the bound
+     * is not kept at all.
+     */
+    private static class DeltaBases {
+
+        private final long maxSize;
+        private final LinkedHashMap<String, DeltaBase> bases = new LinkedHashMap<>(16, 0.75f, true);
+        private long size;
+
+        DeltaBases(long maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        synchronized DeltaBase get(String id) {
+            return bases.get(id);
+        }
+
+        synchronized void put(String id, DeltaBase base) {
+            remove(id);
+            if (base.payload.length > maxSize) {
+                return;
+            }
+            bases.put(id, base);
+            size += base.payload.length;
+            Iterator<DeltaBase> iter = bases.values().iterator();
+            while (size > maxSize && iter.hasNext()) {
+                size -= iter.next().payload.length;
+                iter.remove();
+            }
+        }
+
+        synchronized void remove(String id) {
+            DeltaBase removed = bases.remove(id);
+            if (removed != null) {
+                size -= removed.payload.length;
+            }
+        }
+    }
+
+    private static class DeltaBase {
+
+        private final byte[] payload;
+        private final int deltas;
+        private final int deltasSize;
+        private final long version;
+
+        DeltaBase(byte[] payload, int deltas, int deltasSize, long version) {
+            this.payload = payload;
+            this.deltas = deltas;
+            this.deltasSize = deltasSize;
+            this.version = version;
+        }
+    }
+
+    /**
+     * Event types stored for a process instance, only trusted for the process instance object they were read or written
+     * with, since other nodes may have updated the instance since.
+     */
+    private static class StoredEventTypes {
+
+        private final WeakReference<ProcessInstance<?>> instance;
+        private final Collection<String> eventTypes;
+
+        StoredEventTypes(ProcessInstance<?> instance, Collection<String> eventTypes) {
+            this.instance = new WeakReference<>(instance);
+            this.eventTypes = eventTypes;
+        }
+
+        boolean isOf(ProcessInstance<?> instance) {
+            return this.instance.get() == instance;
+        }
+    }
+
+    /**
+     * Iterates over the stored payloads fetching them in pages of {@link #PAGE_SIZE}, so only one page is kept in memory.
+     */
+    private static class PayloadIterator implements Iterator<byte[]> {
+
+        private final BiFunction<String, Integer, Map<String, byte[]>> pageLoader;
+        private String lastId;
+        private Iterator<Map.Entry<String, byte[]>> page = Collections.emptyIterator();
+        private boolean exhausted;
+
+        PayloadIterator(BiFunction<String, Integer, Map<String, byte[]>> pageLoader) {
+            this.pageLoader = pageLoader;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (!page.hasNext() && !exhausted) {
+                Map<String, byte[]> next = pageLoader.apply(lastId, PAGE_SIZE);
+                exhausted = next.size() < PAGE_SIZE;
+                page = next.entrySet().iterator();
+            }
+            return page.hasNext();
+        }
+
+        @Override
+        public byte[] next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Map.Entry<String, byte[]> entry = page.next();
+            lastId = entry.getKey();
+            return entry.getValue();
+        }
     }
 }
@@ -0,0 +1,253 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.persistence.jdbc;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import javax.sql.DataSource;
+
+import org.kie.kogito.process.ProcessInstanceOptimisticLockingException;
+import org.kie.kogito.uow.WorkUnitBatch;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static org.kie.kogito.persistence.jdbc.GenericRepository.sqlIncludingVersion;
+import static org.kie.kogito.persistence.jdbc.Repository.DELETE;
+import static org.kie.kogito.persistence.jdbc.Repository.DELETE_DELTAS;
+import static org.kie.kogito.persistence.jdbc.Repository.DELETE_EVENT_TYPES;
+import static org.kie.kogito.persistence.jdbc.Repository.INSERT;
+import static org.kie.kogito.persistence.jdbc.Repository.INSERT_EVENT_TYPE;
+import static org.kie.kogito.persistence.jdbc.Repository.UPDATE;
+import static org.kie.kogito.persistence.jdbc.Repository.UPDATE_WITH_LOCK;
+
+/**
+ * Process instance writes deferred until the unit of work flushes them. Writes are executed in a single transaction,
+ * statements of the same kind being sent as one JDBC batch. Writes are grouped by kind when every process instance
+ * is written once, otherwise they are executed in the order they were collected, grouping only consecutive ones.
+ * <p>
+ * There is a single batch per data source, so writes of other storages sharing the data source, like correlations,
+ * are flushed along with the process instance ones.
+ */
+public class JDBCWriteBatch implements WorkUnitBatch.Participant {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(JDBCWriteBatch.class);
+
+    private final DataSource dataSource;
+    private final List<Write> writes = new ArrayList<>();
+    private final Set<String> ids = new HashSet<>();
+    private boolean groupByKind = true;
+
+    JDBCWriteBatch(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    /**
+     * Returns the batch writes to the given data source are deferred into, if the current unit of work collects its writes
+     *
+     * @param dataSource data source written
+     * @return the batch or empty if writes should be done straight away
+     */
+    public static Optional<JDBCWriteBatch> current(DataSource dataSource) {
+        return WorkUnitBatch.current().map(b -> b.participant(dataSource, () -> new JDBCWriteBatch(dataSource)));
+    }
+
+    /**
+     * Defers a write of a row other than a process instance
+     *
+     * @param key identifies the row written, writes of the same row are executed in the order they were deferred
+     * @param sql statement to execute
+     * @param parameters string, long or byte array parameters of the statement
+     */
+    public void add(String key, String sql, Object... parameters) {
+        written(key);
+        writes.add(new Write(sql, null, parameters));
+    }
+
+    void insert(String processId, String processVersion, UUID id, byte[] payload, Collection<String> eventTypes) {
+        written(id.toString());
+        writes.add(new Write(INSERT, null, id.toString(), payload, processId, processVersion, 0L));
+        replaceEventTypes(id, eventTypes);
+    }
+
+    void update(String processId, String processVersion, UUID id, byte[] payload, Collection<String> eventTypes) {
+        written(id.toString());
+        writes.add(new Write(sqlIncludingVersion(UPDATE, processVersion), null, withVersion(processVersion, payload, processId, id.toString())));
+        replaceEventTypes(id, eventTypes);
+    }
+
+    void updateWithLock(String processId, String processVersion, UUID id, byte[] payload, long version, Collection<String> eventTypes) {
+        written(id.toString());
+        writes.add(new Write(sqlIncludingVersion(UPDATE_WITH_LOCK, processVersion), id.toString(), withVersion(processVersion, payload, version + 1, processId, id.toString(), version)));
+        replaceEventTypes(id, eventTypes);
+    }
+
+    void delete(String processId, String processVersion, UUID id, boolean eventTypesIndexed, boolean deltasStored) {
+        written(id.toString());
+        writes.add(new Write(sqlIncludingVersion(DELETE, processVersion), null, withVersion(processVersion, processId, id.toString())));
+        if (eventTypesIndexed) {
+            writes.add(new Write(DELETE_EVENT_TYPES, null, id.toString()));
+        }
+        if (deltasStored) {
+            writes.add(new Write(DELETE_DELTAS, null, id.toString()));
+        }
+    }
+
+    private void written(String id) {
+        if (!ids.add(id)) {
+            groupByKind = false;
+        }
+    }
+
+    private void replaceEventTypes(UUID id, Collection<String> eventTypes) {
+        if (eventTypes == null) {
+            return;
+        }
+        writes.add(new Write(DELETE_EVENT_TYPES, null, id.toString()));
+        for (String eventType : eventTypes) {
+            writes.add(new Write(INSERT_EVENT_TYPE, null, id.toString(), eventType));
+        }
+    }
+
+    private static Object[] withVersion(String processVersion, Object... parameters) {
+        if (processVersion == null) {
+            return parameters;
+        }
+        Object[] result = new Object[parameters.length + 1];
+        System.arraycopy(parameters, 0, result, 0, parameters.length);
+        result[parameters.length] = processVersion;
+        return result;
+    }
+
+    @Override
+    public void flush() {
+        LOGGER.debug("Flushing {} process instance writes", writes.size());
+        if (groupByKind) {
+            Map<String, Integer> kinds = new HashMap<>();
+            writes.forEach(w -> kinds.putIfAbsent(w.sql, kinds.size()));
+            writes.sort(Comparator.comparing(w -> kinds.get(w.sql)));
+        }
+        try (Connection connection = dataSource.getConnection()) {
+            // a lock conflict rolls back every write of the unit of work
+            GenericRepository.atomically(connection, () -> {
+                List<String> notUpdated = execute(connection);
+                if (!notUpdated.isEmpty()) {
+                    ProcessInstanceOptimisticLockingException exception = new ProcessInstanceOptimisticLockingException(notUpdated.get(0));
+                    notUpdated.stream().skip(1).map(ProcessInstanceOptimisticLockingException::new).forEach(exception::addSuppressed);
+                    throw exception;
+                }
+                return null;
+            });
+        } catch (SQLException e) {
+            throw new RuntimeException("Error flushing process instance writes", e);
+        } finally {
+            writes.clear();
+            ids.clear();
+            groupByKind = true;
+        }
+    }
+
+    private List<String> execute(Connection connection) throws SQLException {
+        List<String> notUpdated = new ArrayList<>();
+        int start = 0;
+        while (start < writes.size()) {
+            String sql = writes.get(start).sql;
+            int end = start;
+            while (end < writes.size() && writes.get(end).sql.equals(sql)) {
+                end++;
+            }
+            List<Write> group = writes.subList(start, end);
+            int[] counts = execute(connection, sql, group);
+            for (int i = 0; i < group.size(); i++) {
+                if (group.get(i).lockedId != null && counts[i] == 0) {
+                    notUpdated.add(group.get(i).lockedId);
+                }
+            }
+            start = end;
+        }
+        return notUpdated;
+    }
+
+    /*
+     * Drivers are allowed to report SUCCESS_NO_INFO instead of the update count of batched statements, the version check
+     * of locked writes then needs them to be executed one by one
+     */
+    private static int[] execute(Connection connection, String sql, List<Write> group) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            if (group.size() == 1) {
+                group.get(0).bind(statement);
+                return new int[] { statement.executeUpdate() };
+            }
+            Savepoint savepoint = group.stream().anyMatch(w -> w.lockedId != null) ? connection.setSavepoint() : null;
+            for (Write write : group) {
+                write.bind(statement);
+                statement.addBatch();
+            }
+            int[] counts = statement.executeBatch();
+            if (savepoint == null || Arrays.stream(counts).noneMatch(c -> c == Statement.SUCCESS_NO_INFO)) {
+                return counts;
+            }
+            LOGGER.debug("Update counts not reported by the driver, executing locked writes one by one");
+            connection.rollback(savepoint);
+            for (int i = 0; i < group.size(); i++) {
+                statement.clearParameters();
+                group.get(i).bind(statement);
+                counts[i] = statement.executeUpdate();
+            }
+            return counts;
+        }
+    }
+
+    private static class Write {
+
+        private final String sql;
+        private final String lockedId;
+        private final Object[] parameters;
+
+        Write(String sql, String lockedId, Object... parameters) {
+            this.sql = sql;
+            this.lockedId = lockedId;
+            this.parameters = parameters;
+        }
+
+        void bind(PreparedStatement statement) throws SQLException {
+            for (int i = 0; i < parameters.length; i++) {
+                Object parameter = parameters[i];
+                if (parameter instanceof byte[]) {
+                    statement.setBytes(i + 1, (byte[]) parameter);
+                } else if (parameter instanceof Long) {
+                    statement.setLong(i + 1, (Long) parameter);
+                } else {
+                    statement.setString(i + 1, (String) parameter);
+                }
+            }
+        }
+    }
+}
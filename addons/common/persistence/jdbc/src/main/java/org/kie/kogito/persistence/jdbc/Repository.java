@@ -15,6 +15,7 @@
  */
 package org.kie.kogito.persistence.jdbc;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -23,32 +24,117 @@ abstract class Repository {
 
     static final String INSERT = "INSERT INTO process_instances (id, payload, process_id, process_version, version) VALUES (?, ?, ?, ?, ?)";
     static final String FIND_ALL = "SELECT payload FROM process_instances WHERE process_id = ?";
+    static final String FIND_FIRST_KEYS = "SELECT id, payload FROM process_instances WHERE process_id = ?";
+    static final String FIND_NEXT_KEYS = "SELECT id, payload FROM process_instances WHERE process_id = ? and id > ?";
     static final String FIND_BY_ID = "SELECT payload, version FROM process_instances WHERE process_id = ? and id = ?";
+    static final String EXISTS = "SELECT 1 FROM process_instances WHERE process_id = ? and id = ?";
     static final String UPDATE = "UPDATE process_instances SET payload = ? WHERE process_id = ? and id = ?";
     static final String UPDATE_WITH_LOCK = "UPDATE process_instances SET payload = ?, version = ? WHERE process_id = ? and id = ? and version = ?";
     static final String DELETE = "DELETE FROM process_instances WHERE process_id = ? and id = ?";
     static final String COUNT = "SELECT COUNT(id) as count FROM process_instances WHERE process_id = ?";
     static final String PROCESS_VERSION_EQUALS_TO = "and process_version = ?";
     static final String PROCESS_VERSION_IS_NULL = "and process_version is null";
+    static final String DELETE_EVENT_TYPES = "DELETE FROM process_instance_event_types WHERE process_instance_id = ?";
+    static final String INSERT_EVENT_TYPE = "INSERT INTO process_instance_event_types (process_instance_id, event_type) VALUES (?, ?)";
+    static final String FIND_FIRST_WAITING = "SELECT id, payload FROM process_instances WHERE process_id = ? " +
+            "and id IN (SELECT process_instance_id FROM process_instance_event_types WHERE event_type = ? or event_type = ?) ";
+    static final String FIND_NEXT_WAITING = FIND_FIRST_WAITING + "and id > ? ";
+    static final String UPDATE_VERSION_WITH_LOCK = "UPDATE process_instances SET version = ? WHERE process_id = ? and id = ? and version = ?";
+    static final String FIND_DELTAS = "SELECT payload FROM process_instance_deltas WHERE process_instance_id = ? ORDER BY sequence_number";
+    static final String FIND_DELTAS_OF = "SELECT process_instance_id, payload FROM process_instance_deltas WHERE process_instance_id IN (%s) " +
+            "ORDER BY process_instance_id, sequence_number";
+    static final String INSERT_DELTA = "INSERT INTO process_instance_deltas (process_instance_id, sequence_number, payload) VALUES (?, ?, ?)";
+    static final String DELETE_DELTAS = "DELETE FROM process_instance_deltas WHERE process_instance_id = ?";
+    static final String ORDER_BY_ID_OFFSET_LIMIT = " ORDER BY id OFFSET ? ROWS FETCH NEXT ? ROWS ONLY";
+    static final String ORDER_BY_ID_LIMIT = " ORDER BY id FETCH FIRST ? ROWS ONLY";
 
     abstract boolean tableExists();
 
     abstract void createTable();
 
-    abstract void insertInternal(String processId, String processVersion, UUID id, byte[] payload);
+    abstract boolean eventTypesTableExists();
 
-    abstract void updateInternal(String processId, String processVersion, UUID id, byte[] payload);
+    abstract void createEventTypesTable();
 
-    abstract boolean updateWithLock(String processId, String processVersion, UUID id, byte[] payload, long version);
+    abstract boolean deltasTableExists();
 
-    abstract boolean deleteInternal(String processId, String processVersion, UUID id);
+    abstract void createDeltasTable();
+
+    abstract boolean correlationTableExists();
+
+    abstract void createCorrelationTable();
+
+    abstract boolean jobTableExists();
+
+    abstract void createJobTable();
+
+    abstract boolean outboxTableExists();
+
+    abstract void createOutboxTable();
+
+    /**
+     * Write operations also replace the event types the process instance is listening on,
+     * unless <code>eventTypes</code> is null, which means the event types are not indexed or did not change.
+     * Full writes and deletes also remove the deltas of the process instance when <code>deltasStored</code> is true,
+     * in the same transaction.
+     */
+    abstract void insertInternal(String processId, String processVersion, UUID id, byte[] payload, Collection<String> eventTypes);
+
+    abstract void updateInternal(String processId, String processVersion, UUID id, byte[] payload, Collection<String> eventTypes, boolean deltasStored);
+
+    abstract boolean updateWithLock(String processId, String processVersion, UUID id, byte[] payload, long version, Collection<String> eventTypes, boolean deltasStored);
+
+    abstract boolean deleteInternal(String processId, String processVersion, UUID id, boolean eventTypesIndexed, boolean deltasStored);
 
     abstract Map<String, Object> findByIdInternal(String processId, String processVersion, UUID id);
 
+    /**
+     * Checks the process instance is stored without reading its payload
+     */
+    abstract boolean existsInternal(String processId, String processVersion, UUID id);
+
     abstract List<byte[]> findAllInternal(String processId, String processVersion);
 
+    /**
+     * Offset based paging, returns at most <code>limit</code> payloads, keyed and ordered by id.
+     */
+    abstract Map<String, byte[]> findAllInternal(String processId, String processVersion, int offset, int limit);
+
+    /**
+     * Keyset based paging, returns at most <code>limit</code> payloads, keyed and ordered by id, whose id is greater
+     * than <code>lastId</code> (or from the beginning if <code>lastId</code> is null).
+     */
+    abstract Map<String, byte[]> findNextInternal(String processId, String processVersion, String lastId, int limit);
+
+    /**
+     * Keyset based paging over the process instances listening on <code>eventType</code> (or on any event type),
+     * same contract as {@link #findNextInternal(String, String, String, int)}.
+     */
+    abstract Map<String, byte[]> findNextWaitingInternal(String processId, String processVersion, String eventType, String lastId, int limit);
+
     abstract Long countInternal(String processId, String processVersion);
 
+    /**
+     * Returns the deltas appended to the stored payload of the process instance, in the order they were appended.
+     */
+    abstract List<byte[]> findDeltasInternal(UUID id);
+
+    /**
+     * Returns the deltas of all the given process instances with a bounded number of queries, in the same order as
+     * {@link #findDeltasInternal(UUID)}. Process instances without deltas are not included in the result.
+     */
+    abstract Map<String, List<byte[]>> findDeltasInternal(Collection<String> ids);
+
+    /**
+     * Appends a delta to the stored payload of the process instance, with the same event types contract as
+     * {@link #updateInternal(String, String, UUID, byte[], Collection, boolean)}. When <code>version</code> is not null the
+     * version of the process instance is checked and bumped as in
+     * {@link #updateWithLock(String, String, UUID, byte[], long, Collection, boolean)}.
+     *
+     * @return false if the version of the process instance did not match
+     */
+    abstract boolean appendDeltaInternal(String processId, String processVersion, UUID id, int sequence, byte[] delta, Long version, Collection<String> eventTypes);
+
     protected RuntimeException uncheckedException(Exception ex, String message, Object... param) {
         return new RuntimeException(String.format(message, param), ex);
     }
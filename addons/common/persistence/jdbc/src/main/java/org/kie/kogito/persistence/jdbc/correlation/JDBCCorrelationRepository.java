@@ -18,6 +18,7 @@ package org.kie.kogito.persistence.jdbc.correlation;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
+import java.util.Optional;
 import java.util.UUID;
 
 import javax.sql.DataSource;
@@ -27,22 +28,32 @@ import org.kie.kogito.correlation.Correlation;
 import org.kie.kogito.correlation.CorrelationInstance;
 import org.kie.kogito.correlation.SimpleCorrelation;
 import org.kie.kogito.jackson.utils.ObjectMapperFactory;
+import org.kie.kogito.persistence.jdbc.DatabaseType;
+import org.kie.kogito.persistence.jdbc.JDBCWriteBatch;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.module.SimpleModule;
 
-public class PostgreSQLCorrelationRepository {
+/**
+ * Stores correlations in the <code>correlation_instances</code> table of any of the supported {@link DatabaseType}s,
+ * the correlation being kept as JSON text.
+ */
+public class JDBCCorrelationRepository {
 
-    static final String INSERT = "INSERT INTO correlation_instances (id, encoded_correlation_id, correlated_id, correlation) VALUES (?, ?, ?, ?::json)";
+    static final String INSERT = "INSERT INTO correlation_instances (id, encoded_correlation_id, correlated_id, correlation) VALUES (?, ?, ?, ?)";
+    static final String INSERT_JSON = "INSERT INTO correlation_instances (id, encoded_correlation_id, correlated_id, correlation) VALUES (?, ?, ?, ?::json)";
     static final String DELETE = "DELETE FROM correlation_instances WHERE encoded_correlation_id = ?";
     private static final String FIND_BY_ENCODED_ID = "SELECT correlated_id, correlation FROM correlation_instances WHERE encoded_correlation_id = ?";
     private static final String FIND_BY_CORRELATED_ID = "SELECT encoded_correlation_id, correlation FROM correlation_instances WHERE correlated_id = ?";
 
-    private DataSource dataSource;
-    private ObjectMapper objectMapper;
+    private final DataSource dataSource;
+    private final ObjectMapper objectMapper;
+    private final String insert;
 
-    public PostgreSQLCorrelationRepository(DataSource dataSource) {
+    public JDBCCorrelationRepository(DataSource dataSource, DatabaseType databaseType) {
         this.dataSource = dataSource;
+        this.insert = databaseType == DatabaseType.POSTGRES ? INSERT_JSON : INSERT;
         this.objectMapper = ObjectMapperFactory.get().copy();
 
         SimpleModule module = new SimpleModule();
@@ -52,13 +63,11 @@ public class PostgreSQLCorrelationRepository {
 
     public CorrelationInstance insert(String encodedCorrelationId, String correlatedId, Correlation correlation) {
         try (Connection connection = dataSource.getConnection();
-                PreparedStatement statement = connection.prepareStatement(INSERT)) {
-            String correlationJson = objectMapper.writeValueAsString(correlation);
-            String id = UUID.randomUUID().toString();
-            statement.setString(1, id);
-            statement.setString(2, encodedCorrelationId);
-            statement.setString(3, correlatedId);
-            statement.setString(4, correlationJson);
+                PreparedStatement statement = connection.prepareStatement(insert)) {
+            Object[] parameters = insertParameters(encodedCorrelationId, correlatedId, correlation);
+            for (int i = 0; i < parameters.length; i++) {
+                statement.setString(i + 1, (String) parameters[i]);
+            }
             int executed = statement.executeUpdate();
             if (executed > 0) {
                 return new CorrelationInstance(encodedCorrelationId, correlatedId, correlation);
@@ -70,6 +79,33 @@ public class PostgreSQLCorrelationRepository {
         }
     }
 
+    /**
+     * Defers the insert into the given batch, so it is flushed along with the process instance writes
+     */
+    public CorrelationInstance insert(JDBCWriteBatch batch, String encodedCorrelationId, String correlatedId, Correlation correlation) {
+        try {
+            batch.add(encodedCorrelationId, insert, insertParameters(encodedCorrelationId, correlatedId, correlation));
+            return new CorrelationInstance(encodedCorrelationId, correlatedId, correlation);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private Object[] insertParameters(String encodedCorrelationId, String correlatedId, Correlation correlation) throws JsonProcessingException {
+        return new Object[] { UUID.randomUUID().toString(), encodedCorrelationId, correlatedId, objectMapper.writeValueAsString(correlation) };
+    }
+
+    /**
+     * Deletes the correlation, deferring it into the given batch if any
+     */
+    public void delete(Optional<JDBCWriteBatch> batch, String encodedCorrelationId) {
+        if (batch.isPresent()) {
+            batch.get().add(encodedCorrelationId, DELETE, encodedCorrelationId);
+        } else {
+            delete(encodedCorrelationId);
+        }
+    }
+
     public CorrelationInstance findByEncodedCorrelationId(String encodedCorrelationId) {
         try (Connection connection = dataSource.getConnection();
                 PreparedStatement statement = connection.prepareStatement(FIND_BY_ENCODED_ID)) {
@@ -26,32 +26,52 @@ import org.kie.kogito.correlation.CorrelationEncoder;
 import org.kie.kogito.correlation.CorrelationInstance;
 import org.kie.kogito.correlation.CorrelationService;
 import org.kie.kogito.persistence.jdbc.DatabaseType;
+import org.kie.kogito.persistence.jdbc.JDBCWriteBatch;
 import org.kie.kogito.services.event.correlation.MD5CorrelationEncoder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Correlations stored in the same database as the process instances. When <code>batchWrites</code> is enabled,
+ * correlations created or deleted while a unit of work is ending are deferred into its {@link JDBCWriteBatch},
+ * so they are written along with the process instance.
+ */
 public class JDBCCorrelationService implements CorrelationService {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(JDBCCorrelationService.class);
 
-    private PostgreSQLCorrelationRepository repository;
-    private CorrelationEncoder correlationEncoder;
+    private final DataSource dataSource;
+    private final JDBCCorrelationRepository repository;
+    private final CorrelationEncoder correlationEncoder;
+    private final boolean batchWrites;
 
     public JDBCCorrelationService(DataSource dataSource) {
+        this(dataSource, false);
+    }
+
+    public JDBCCorrelationService(DataSource dataSource, boolean batchWrites) {
+        this.dataSource = dataSource;
+        this.batchWrites = batchWrites;
+        this.repository = new JDBCCorrelationRepository(dataSource, databaseType(dataSource));
+        this.correlationEncoder = new MD5CorrelationEncoder();
+    }
+
+    private static DatabaseType databaseType(DataSource dataSource) {
         try (Connection connection = dataSource.getConnection()) {
-            if (!DatabaseType.POSTGRES.equals(DatabaseType.getDataBaseType(connection))) {
-                throw new IllegalArgumentException("Only PostgreSQL is supported for correlation");
-            }
+            return DatabaseType.getDataBaseType(connection);
         } catch (SQLException e) {
             LOGGER.error("Error getting connection for {}", dataSource);
+            return DatabaseType.ANSI;
         }
-        this.repository = new PostgreSQLCorrelationRepository(dataSource);
-        this.correlationEncoder = new MD5CorrelationEncoder();
     }
 
     @Override
     public CorrelationInstance create(Correlation correlation, String correlatedId) {
         String encodedCorrelationId = correlationEncoder.encode(correlation);
+        Optional<JDBCWriteBatch> batch = writeBatch();
+        if (batch.isPresent()) {
+            return repository.insert(batch.get(), encodedCorrelationId, correlatedId, correlation);
+        }
         return repository.insert(encodedCorrelationId, correlatedId, correlation);
     }
 
@@ -69,6 +89,10 @@ public class JDBCCorrelationService implements CorrelationService {
     @Override
     public void delete(Correlation correlation) {
         String encoded = correlationEncoder.encode(correlation);
-        repository.delete(encoded);
+        repository.delete(writeBatch(), encoded);
+    }
+
+    private Optional<JDBCWriteBatch> writeBatch() {
+        return batchWrites ? JDBCWriteBatch.current(dataSource) : Optional.empty();
     }
 }
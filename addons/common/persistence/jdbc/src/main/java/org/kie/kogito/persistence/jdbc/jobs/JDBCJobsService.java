@@ -0,0 +1,418 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.persistence.jdbc.jobs;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import javax.sql.DataSource;
+
+import org.kie.kogito.Application;
+import org.kie.kogito.Model;
+import org.kie.kogito.event.KogitoThreadPoolFactory;
+import org.kie.kogito.jobs.ExpirationTime;
+import org.kie.kogito.jobs.JobsService;
+import org.kie.kogito.jobs.ProcessInstanceJobDescription;
+import org.kie.kogito.jobs.ProcessJobDescription;
+import org.kie.kogito.persistence.jdbc.DatabaseType;
+import org.kie.kogito.process.Process;
+import org.kie.kogito.process.ProcessInstance;
+import org.kie.kogito.process.ProcessInstanceOptimisticLockingException;
+import org.kie.kogito.process.Processes;
+import org.kie.kogito.services.jobs.impl.TriggerJobCommand;
+import org.kie.kogito.services.uow.UnitOfWorkExecutor;
+import org.kie.kogito.uow.UnitOfWorkManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Jobs stored in the <code>job_instances</code> table of the database holding the process instances, so pending timers
+ * survive restarts.
+ * <p>
+ * Every node polls the due jobs in batches and claims them by setting a lease on their row, so a job is fired by a single
+ * node. On databases supporting it, due rows are also selected with <code>FOR UPDATE SKIP LOCKED</code> so concurrent
+ * pollers do not wait on each other. The lease of a job being fired is renewed until it completes, and a job whose lease
+ * expired, because the node firing it stopped, is claimed again. Delivery is therefore at-least-once: a node stopping after
+ * firing a job but before removing it lets another node fire it again.
+ * <p>
+ * Jobs are fired in process, through {@link TriggerJobCommand} for process instance jobs. A job failing with an error is
+ * released and fired again later, waiting twice as long after every failure. A process has a single start job, enforced
+ * by a unique key on its row.
+ */
+public class JDBCJobsService implements JobsService, AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(JDBCJobsService.class);
+
+    static final String INSERT = "INSERT INTO job_instances (id, process_id, process_instance_id, fire_time, repeat_interval, repeat_limit, start_key, retries) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, 0)";
+    static final String ON_START_KEY_CONFLICT = " ON CONFLICT (start_key) DO NOTHING";
+    static final String DELETE = "DELETE FROM job_instances WHERE id = ?";
+    static final String FIND_PROCESS_JOB = "SELECT id FROM job_instances WHERE start_key = ?";
+    static final String FIND_DUE = "SELECT id, process_id, process_instance_id, fire_time, repeat_interval, repeat_limit, retries FROM job_instances " +
+            "WHERE fire_time <= ? and (lease_expiration is null or lease_expiration < ?) ORDER BY fire_time";
+    static final String SKIP_LOCKED = " FOR UPDATE SKIP LOCKED";
+    static final String CLAIM = "UPDATE job_instances SET owner = ?, lease_expiration = ? WHERE id = ? and (lease_expiration is null or lease_expiration < ?)";
+    static final String RENEW = "UPDATE job_instances SET lease_expiration = ? WHERE id = ? and owner = ?";
+    static final String RESCHEDULE = "UPDATE job_instances SET fire_time = ?, repeat_limit = ?, retries = 0, owner = null, lease_expiration = null WHERE id = ? and owner = ?";
+    static final String RETRY = "UPDATE job_instances SET fire_time = ?, retries = retries + 1, owner = null, lease_expiration = null WHERE id = ? and owner = ?";
+    static final String RELEASE = "UPDATE job_instances SET owner = null, lease_expiration = null WHERE id = ? and owner = ?";
+    static final String DELETE_OWNED = "DELETE FROM job_instances WHERE id = ? and owner = ?";
+
+    static final long MAX_RETRY_DELAY = TimeUnit.HOURS.toMillis(1);
+
+    private static final String TRIGGER = "timer";
+    // class of the SQL states reporting an integrity constraint violation
+    private static final String INTEGRITY_VIOLATION = "23";
+
+    private final DataSource dataSource;
+    private final Supplier<Application> application;
+    private final String insert;
+    private final String findDue;
+    private final long pollInterval;
+    private final int batchSize;
+    private final long leaseTime;
+    private final String owner = UUID.randomUUID().toString();
+    private final ScheduledExecutorService poller;
+    private final ExecutorService workers;
+    private final Set<String> firing = ConcurrentHashMap.newKeySet();
+
+    /**
+     * @param dataSource data source of the process instances
+     * @param application supplies the application whose processes are triggered, looked up when the first job fires
+     * @param pollInterval milliseconds between two polls of the due jobs
+     * @param batchSize maximum number of jobs claimed by a poll
+     * @param leaseTime milliseconds a claimed job is reserved to this node before other nodes can claim it again
+     * @param poolSize number of threads firing jobs
+     */
+    public JDBCJobsService(DataSource dataSource, Supplier<Application> application, long pollInterval, int batchSize, long leaseTime, int poolSize) {
+        this.dataSource = dataSource;
+        this.application = application;
+        this.pollInterval = pollInterval;
+        this.batchSize = batchSize;
+        this.leaseTime = leaseTime;
+        DatabaseType databaseType = databaseType(dataSource);
+        this.insert = databaseType == DatabaseType.POSTGRES ? INSERT + ON_START_KEY_CONFLICT : INSERT;
+        this.findDue = databaseType == DatabaseType.ANSI ? FIND_DUE : FIND_DUE + SKIP_LOCKED;
+        this.poller = Executors.newSingleThreadScheduledExecutor(new KogitoThreadPoolFactory("kogito-jobs-poller"));
+        this.workers = Executors.newFixedThreadPool(poolSize, new KogitoThreadPoolFactory("kogito-jobs"));
+    }
+
+    private static DatabaseType databaseType(DataSource dataSource) {
+        try (Connection connection = dataSource.getConnection()) {
+            return DatabaseType.getDataBaseType(connection);
+        } catch (SQLException e) {
+            LOGGER.error("Error getting connection for {}", dataSource);
+            return DatabaseType.ANSI;
+        }
+    }
+
+    /**
+     * Starts polling the due jobs, including the ones scheduled before a restart, and renewing the leases of the jobs being fired
+     */
+    public void start() {
+        poller.scheduleWithFixedDelay(this::poll, pollInterval, pollInterval, TimeUnit.MILLISECONDS);
+        long renewInterval = Math.max(leaseTime / 2, 1);
+        poller.scheduleWithFixedDelay(this::renewLeases, renewInterval, renewInterval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Schedules the start of the process, unless a start job already exists for it because it was scheduled by
+     * another node or before a restart. Start jobs are keyed by process id, so concurrent schedules store a single job.
+     */
+    @Override
+    public String scheduleProcessJob(ProcessJobDescription description) {
+        LOGGER.debug("ScheduleProcessJob: {}", description);
+        String processId = description.process() != null ? description.process().id() : description.processId();
+        if (insert(description.id(), processId, null, processId, description.expirationTime())) {
+            return description.id();
+        }
+        Optional<String> existing = findProcessJob(processId);
+        LOGGER.debug("Process {} is already scheduled by job {}", processId, existing);
+        // the existing job might have been fired and removed meanwhile
+        return existing.orElse(description.id());
+    }
+
+    @Override
+    public String scheduleProcessInstanceJob(ProcessInstanceJobDescription description) {
+        LOGGER.debug("ScheduleProcessInstanceJob: {}", description);
+        insert(description.id(), description.processId(), description.processInstanceId(), description.id(), description.expirationTime());
+        return description.id();
+    }
+
+    @Override
+    public boolean cancelJob(String id) {
+        LOGGER.debug("Cancel Job: {}", id);
+        return executeUpdate(DELETE, id) > 0;
+    }
+
+    /**
+     * @param startKey process id of start jobs, the job id otherwise
+     * @return false if a start job with the same key already exists
+     */
+    private boolean insert(String id, String processId, String processInstanceId, String startKey, ExpirationTime expirationTime) {
+        long repeatInterval = expirationTime.repeatInterval() == null ? 0 : expirationTime.repeatInterval();
+        int repeatLimit = repeatInterval == 0 ? 1 : Optional.ofNullable(expirationTime.repeatLimit()).orElse(-1);
+        try (Connection connection = dataSource.getConnection();
+                PreparedStatement statement = connection.prepareStatement(insert)) {
+            statement.setString(1, id);
+            statement.setString(2, processId);
+            statement.setString(3, processInstanceId);
+            statement.setLong(4, expirationTime.get().toInstant().toEpochMilli());
+            statement.setLong(5, repeatInterval);
+            statement.setInt(6, repeatLimit);
+            statement.setString(7, startKey);
+            return statement.executeUpdate() > 0;
+        } catch (SQLException e) {
+            if (processInstanceId == null && e.getSQLState() != null && e.getSQLState().startsWith(INTEGRITY_VIOLATION)) {
+                return false;
+            }
+            throw new RuntimeException("Error scheduling job " + id, e);
+        }
+    }
+
+    private Optional<String> findProcessJob(String processId) {
+        try (Connection connection = dataSource.getConnection();
+                PreparedStatement statement = connection.prepareStatement(FIND_PROCESS_JOB)) {
+            statement.setString(1, processId);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() ? Optional.of(resultSet.getString(1)) : Optional.empty();
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error finding job of process " + processId, e);
+        }
+    }
+
+    private int executeUpdate(String sql, String... parameters) {
+        try (Connection connection = dataSource.getConnection();
+                PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (int i = 0; i < parameters.length; i++) {
+                statement.setString(i + 1, parameters[i]);
+            }
+            return statement.executeUpdate();
+        } catch (SQLException e) {
+            throw new RuntimeException("Error updating job " + parameters[0], e);
+        }
+    }
+
+    private void poll() {
+        try {
+            List<Job> jobs = claim();
+            LOGGER.debug("Claimed {} due jobs", jobs.size());
+            for (Job job : jobs) {
+                firing.add(job.id);
+                workers.execute(() -> fire(job));
+            }
+        } catch (Exception e) {
+            LOGGER.error("Error polling due jobs", e);
+        }
+    }
+
+    private List<Job> claim() throws SQLException {
+        long now = System.currentTimeMillis();
+        List<Job> claimed = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                List<Job> due = new ArrayList<>();
+                try (PreparedStatement statement = connection.prepareStatement(findDue)) {
+                    statement.setMaxRows(batchSize);
+                    statement.setLong(1, now);
+                    statement.setLong(2, now);
+                    try (ResultSet resultSet = statement.executeQuery()) {
+                        while (resultSet.next()) {
+                            due.add(new Job(resultSet.getString(1), resultSet.getString(2), resultSet.getString(3), resultSet.getLong(4), resultSet.getLong(5),
+                                    resultSet.getInt(6), resultSet.getInt(7)));
+                        }
+                    }
+                }
+                if (!due.isEmpty()) {
+                    try (PreparedStatement statement = connection.prepareStatement(CLAIM)) {
+                        for (Job job : due) {
+                            statement.setString(1, owner);
+                            statement.setLong(2, now + leaseTime);
+                            statement.setString(3, job.id);
+                            statement.setLong(4, now);
+                            statement.addBatch();
+                        }
+                        int[] counts = statement.executeBatch();
+                        for (int i = 0; i < counts.length; i++) {
+                            // rows claimed meanwhile by another node are not updated
+                            if (counts[i] > 0 || counts[i] == Statement.SUCCESS_NO_INFO) {
+                                claimed.add(due.get(i));
+                            }
+                        }
+                    }
+                }
+                connection.commit();
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        }
+        return claimed;
+    }
+
+    private void renewLeases() {
+        if (firing.isEmpty()) {
+            return;
+        }
+        List<String> ids = new ArrayList<>(firing);
+        long leaseExpiration = System.currentTimeMillis() + leaseTime;
+        try (Connection connection = dataSource.getConnection();
+                PreparedStatement statement = connection.prepareStatement(RENEW)) {
+            for (String id : ids) {
+                statement.setLong(1, leaseExpiration);
+                statement.setString(2, id);
+                statement.setString(3, owner);
+                statement.addBatch();
+            }
+            int[] counts = statement.executeBatch();
+            for (int i = 0; i < counts.length; i++) {
+                if (counts[i] == 0 && firing.contains(ids.get(i))) {
+                    LOGGER.warn("Lease of job {} was lost, it might be fired again by another node", ids.get(i));
+                }
+            }
+        } catch (Exception e) {
+            LOGGER.error("Error renewing the leases of the jobs being fired", e);
+        }
+    }
+
+    private void fire(Job job) {
+        try {
+            doFire(job);
+        } catch (RuntimeException e) {
+            // the lease is left to expire, so the job is claimed again
+            LOGGER.error("Error updating job {} after firing it", job.id, e);
+        } finally {
+            firing.remove(job.id);
+        }
+    }
+
+    private void doFire(Job job) {
+        LOGGER.debug("Job {} started", job.id);
+        int limit = job.limit - 1;
+        try {
+            Application app = application.get();
+            Process<? extends Model> process = app.get(Processes.class).processById(job.processId);
+            if (process == null) {
+                LOGGER.warn("Process {} of job {} not found, removing the job", job.processId, job.id);
+                executeUpdate(DELETE_OWNED, job.id, owner);
+                return;
+            }
+            boolean executed = job.processInstanceId == null ? startProcess(process, app.unitOfWorkManager())
+                    : new TriggerJobCommand(job.processInstanceId, job.id, limit, process, app.unitOfWorkManager()).execute();
+            if (executed && job.repeatInterval > 0 && limit != 0) {
+                reschedule(job, limit);
+            } else {
+                executeUpdate(DELETE_OWNED, job.id, owner);
+            }
+            LOGGER.debug("Job {} completed", job.id);
+        } catch (ProcessInstanceOptimisticLockingException ex) {
+            // released rather than retried straight away, so it is fired again on a later poll, possibly by another node
+            LOGGER.info("Retrying Job {} due to: {}", job.id, ex.getMessage());
+            executeUpdate(RELEASE, job.id, owner);
+        } catch (RuntimeException ex) {
+            long delay = retryDelay(job.retries);
+            LOGGER.error("Error firing job {}, retrying in {} ms", job.id, delay, ex);
+            retry(job, System.currentTimeMillis() + delay);
+        }
+    }
+
+    private long retryDelay(int retries) {
+        long delay = pollInterval << Math.min(retries, 30);
+        return delay <= 0 || delay > MAX_RETRY_DELAY ? MAX_RETRY_DELAY : delay;
+    }
+
+    private void retry(Job job, long fireTime) {
+        try (Connection connection = dataSource.getConnection();
+                PreparedStatement statement = connection.prepareStatement(RETRY)) {
+            statement.setLong(1, fireTime);
+            statement.setString(2, job.id);
+            statement.setString(3, owner);
+            statement.executeUpdate();
+        } catch (SQLException e) {
+            throw new RuntimeException("Error releasing job " + job.id, e);
+        }
+    }
+
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    private static boolean startProcess(Process process, UnitOfWorkManager unitOfWorkManager) {
+        return UnitOfWorkExecutor.executeInUnitOfWork(unitOfWorkManager, () -> {
+            ProcessInstance<?> pi = process.createInstance(process.createModel());
+            if (pi != null) {
+                pi.start(TRIGGER, null);
+            }
+            return true;
+        });
+    }
+
+    private void reschedule(Job job, int limit) {
+        try (Connection connection = dataSource.getConnection();
+                PreparedStatement statement = connection.prepareStatement(RESCHEDULE)) {
+            statement.setLong(1, job.fireTime + job.repeatInterval);
+            statement.setInt(2, limit);
+            statement.setString(3, job.id);
+            statement.setString(4, owner);
+            statement.executeUpdate();
+        } catch (SQLException e) {
+            throw new RuntimeException("Error rescheduling job " + job.id, e);
+        }
+    }
+
+    @Override
+    public void close() {
+        poller.shutdownNow();
+        workers.shutdown();
+    }
+
+    private static class Job {
+
+        private final String id;
+        private final String processId;
+        private final String processInstanceId;
+        private final long fireTime;
+        private final long repeatInterval;
+        private final int limit;
+        private final int retries;
+
+        Job(String id, String processId, String processInstanceId, long fireTime, long repeatInterval, int limit, int retries) {
+            this.id = id;
+            this.processId = processId;
+            this.processInstanceId = processInstanceId;
+            this.fireTime = fireTime;
+            this.repeatInterval = repeatInterval;
+            this.limit = limit;
+            this.retries = retries;
+        }
+    }
+}
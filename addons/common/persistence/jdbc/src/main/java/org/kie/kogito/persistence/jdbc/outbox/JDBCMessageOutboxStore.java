@@ -0,0 +1,176 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.persistence.jdbc.outbox;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import javax.sql.DataSource;
+
+import org.kie.kogito.event.MessageOutboxStore;
+import org.kie.kogito.persistence.jdbc.DatabaseType;
+import org.kie.kogito.persistence.jdbc.JDBCWriteBatch;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Messages stored in the <code>message_outbox</code> table of the database holding the process instances.
+ * <p>
+ * Messages stored while a unit of work is ending are deferred into its {@link JDBCWriteBatch}. When
+ * <code>kogito.persistence.batch.writes</code> is enabled they are therefore written in the same transaction as the process
+ * instances, otherwise they are written once the process instances were, so a process instance write failing stores
+ * no message. Due rows are selected with <code>FOR UPDATE SKIP LOCKED</code> on databases supporting it, so concurrent
+ * relays do not wait on each other.
+ */
+public class JDBCMessageOutboxStore implements MessageOutboxStore {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(JDBCMessageOutboxStore.class);
+
+    static final String INSERT = "INSERT INTO message_outbox (id, trigger_name, payload, created, attempts) VALUES (?, ?, ?, ?, 0)";
+    static final String FIND_AVAILABLE = "SELECT id, trigger_name, payload, attempts FROM message_outbox " +
+            "WHERE trigger_name IN (%s) and (lease_expiration is null or lease_expiration < ?) ORDER BY created";
+    static final String SKIP_LOCKED = " FOR UPDATE SKIP LOCKED";
+    static final String CLAIM = "UPDATE message_outbox SET lease_expiration = ? WHERE id = ? and (lease_expiration is null or lease_expiration < ?)";
+    static final String RETRY = "UPDATE message_outbox SET attempts = attempts + 1, lease_expiration = ? WHERE id = ?";
+    static final String DELETE = "DELETE FROM message_outbox WHERE id = ?";
+
+    private final DataSource dataSource;
+    private final boolean skipLocked;
+
+    public JDBCMessageOutboxStore(DataSource dataSource) {
+        this.dataSource = dataSource;
+        this.skipLocked = databaseType(dataSource) != DatabaseType.ANSI;
+    }
+
+    private static DatabaseType databaseType(DataSource dataSource) {
+        try (Connection connection = dataSource.getConnection()) {
+            return DatabaseType.getDataBaseType(connection);
+        } catch (SQLException e) {
+            LOGGER.error("Error getting connection for {}", dataSource);
+            return DatabaseType.ANSI;
+        }
+    }
+
+    @Override
+    public void store(String id, String trigger, byte[] payload) {
+        long created = System.currentTimeMillis();
+        Optional<JDBCWriteBatch> batch = JDBCWriteBatch.current(dataSource);
+        if (batch.isPresent()) {
+            batch.get().add(id, INSERT, id, trigger, payload, created);
+            return;
+        }
+        try (Connection connection = dataSource.getConnection();
+                PreparedStatement statement = connection.prepareStatement(INSERT)) {
+            statement.setString(1, id);
+            statement.setString(2, trigger);
+            statement.setBytes(3, payload);
+            statement.setLong(4, created);
+            statement.executeUpdate();
+        } catch (SQLException e) {
+            throw new RuntimeException("Error storing message " + trigger, e);
+        }
+    }
+
+    @Override
+    public List<StoredMessage> claim(Collection<String> triggers, int limit, long leaseTime) {
+        if (triggers.isEmpty()) {
+            return Collections.emptyList();
+        }
+        long now = System.currentTimeMillis();
+        List<String> names = new ArrayList<>(triggers);
+        String findAvailable = String.format(FIND_AVAILABLE, String.join(", ", Collections.nCopies(names.size(), "?"))) + (skipLocked ? SKIP_LOCKED : "");
+        List<StoredMessage> claimed = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                List<StoredMessage> available = new ArrayList<>();
+                try (PreparedStatement statement = connection.prepareStatement(findAvailable)) {
+                    statement.setMaxRows(limit);
+                    for (int i = 0; i < names.size(); i++) {
+                        statement.setString(i + 1, names.get(i));
+                    }
+                    statement.setLong(names.size() + 1, now);
+                    try (ResultSet resultSet = statement.executeQuery()) {
+                        while (resultSet.next()) {
+                            available.add(new StoredMessage(resultSet.getString(1), resultSet.getString(2), resultSet.getBytes(3), resultSet.getInt(4)));
+                        }
+                    }
+                }
+                if (!available.isEmpty()) {
+                    try (PreparedStatement statement = connection.prepareStatement(CLAIM)) {
+                        for (StoredMessage message : available) {
+                            statement.setLong(1, now + leaseTime);
+                            statement.setString(2, message.getId());
+                            statement.setLong(3, now);
+                            statement.addBatch();
+                        }
+                        int[] counts = statement.executeBatch();
+                        for (int i = 0; i < counts.length; i++) {
+                            // rows claimed meanwhile by another node are not updated
+                            if (counts[i] > 0 || counts[i] == Statement.SUCCESS_NO_INFO) {
+                                claimed.add(available.get(i));
+                            }
+                        }
+                    }
+                }
+                connection.commit();
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error claiming stored messages", e);
+        }
+        return claimed;
+    }
+
+    @Override
+    public void retry(String id, long delay) {
+        try (Connection connection = dataSource.getConnection();
+                PreparedStatement statement = connection.prepareStatement(RETRY)) {
+            statement.setLong(1, System.currentTimeMillis() + delay);
+            statement.setString(2, id);
+            statement.executeUpdate();
+        } catch (SQLException e) {
+            throw new RuntimeException("Error releasing message " + id, e);
+        }
+    }
+
+    @Override
+    public void delete(Collection<String> ids) {
+        try (Connection connection = dataSource.getConnection();
+                PreparedStatement statement = connection.prepareStatement(DELETE)) {
+            for (String id : ids) {
+                statement.setString(1, id);
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        } catch (SQLException e) {
+            throw new RuntimeException("Error deleting " + ids.size() + " messages", e);
+        }
+    }
+}
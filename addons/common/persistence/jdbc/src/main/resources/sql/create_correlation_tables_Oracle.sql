@@ -0,0 +1,10 @@
+CREATE TABLE correlation_instances
+(
+    id                     char(36)     NOT NULL,
+    encoded_correlation_id varchar2(36) NOT NULL UNIQUE,
+    correlated_id          varchar2(36) NOT NULL,
+    correlation            clob         NOT NULL,
+    version                number(19),
+    CONSTRAINT correlation_instances_pkey PRIMARY KEY (id)
+);
+CREATE INDEX idx_correlation_inst_corr_id ON correlation_instances (correlated_id);
@@ -0,0 +1,10 @@
+CREATE TABLE correlation_instances
+(
+    id                     CHAR(36)    NOT NULL,
+    encoded_correlation_id VARCHAR(36) NOT NULL UNIQUE,
+    correlated_id          VARCHAR(36) NOT NULL,
+    correlation            CLOB        NOT NULL,
+    version                BIGINT,
+    CONSTRAINT correlation_instances_pkey PRIMARY KEY (id)
+);
+CREATE INDEX idx_correlation_instances_correlated_id ON correlation_instances (correlated_id);
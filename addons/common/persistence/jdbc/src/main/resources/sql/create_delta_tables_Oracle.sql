@@ -0,0 +1,7 @@
+CREATE TABLE process_instance_deltas
+(
+    process_instance_id char(36)   NOT NULL,
+    sequence_number     number(10) NOT NULL,
+    payload             blob       NOT NULL,
+    CONSTRAINT process_instance_deltas_pkey PRIMARY KEY (process_instance_id, sequence_number)
+);
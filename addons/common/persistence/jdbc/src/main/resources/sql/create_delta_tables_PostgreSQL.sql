@@ -0,0 +1,8 @@
+-- To be used with kogito-addons-quarkus-persistence-jdbc for Quarkus or kogito-addons-springboot-persistence-jdbc for SpringBoot
+CREATE TABLE process_instance_deltas
+(
+    process_instance_id character(36) NOT NULL,
+    sequence_number     integer       NOT NULL,
+    payload             bytea         NOT NULL,
+    CONSTRAINT process_instance_deltas_pkey PRIMARY KEY (process_instance_id, sequence_number)
+);
@@ -0,0 +1,7 @@
+CREATE TABLE process_instance_deltas
+(
+    process_instance_id CHAR(36) NOT NULL,
+    sequence_number     INTEGER  NOT NULL,
+    payload             BLOB     NOT NULL,
+    CONSTRAINT process_instance_deltas_pkey PRIMARY KEY (process_instance_id, sequence_number)
+);
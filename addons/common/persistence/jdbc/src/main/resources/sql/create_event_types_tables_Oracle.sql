@@ -0,0 +1,8 @@
+CREATE TABLE process_instance_event_types
+(
+    process_instance_id char(36)      NOT NULL,
+    event_type          varchar2(255) NOT NULL
+);
+CREATE INDEX idx_pi_event_types_type ON process_instance_event_types (event_type, process_instance_id);
+CREATE INDEX idx_pi_event_types_id ON process_instance_event_types (process_instance_id);
+INSERT INTO process_instance_event_types (process_instance_id, event_type) SELECT id, '*' FROM process_instances;
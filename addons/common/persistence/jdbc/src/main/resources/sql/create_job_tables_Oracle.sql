@@ -0,0 +1,16 @@
+CREATE TABLE job_instances
+(
+    id                  varchar2(255) NOT NULL,
+    process_id          varchar2(255) NOT NULL,
+    process_instance_id varchar2(36),
+    fire_time           number(19)    NOT NULL,
+    repeat_interval     number(19)    NOT NULL,
+    repeat_limit        number(10)    NOT NULL,
+    owner               varchar2(36),
+    lease_expiration    number(19),
+    start_key           varchar2(255) NOT NULL,
+    retries             number(10)    NOT NULL,
+    CONSTRAINT job_instances_pkey PRIMARY KEY (id),
+    CONSTRAINT job_instances_start_key UNIQUE (start_key)
+);
+CREATE INDEX idx_job_instances_fire_time ON job_instances (fire_time);
@@ -0,0 +1,17 @@
+-- To be used with kogito-addons-quarkus-persistence-jdbc for Quarkus or kogito-addons-springboot-persistence-jdbc for SpringBoot
+CREATE TABLE job_instances
+(
+    id                  character varying(255) NOT NULL,
+    process_id          character varying(255) NOT NULL,
+    process_instance_id character varying(36),
+    fire_time           bigint                 NOT NULL,
+    repeat_interval     bigint                 NOT NULL,
+    repeat_limit        integer                NOT NULL,
+    owner               character varying(36),
+    lease_expiration    bigint,
+    start_key           character varying(255) NOT NULL,
+    retries             integer                NOT NULL,
+    CONSTRAINT job_instances_pkey PRIMARY KEY (id),
+    CONSTRAINT job_instances_start_key UNIQUE (start_key)
+);
+CREATE INDEX idx_job_instances_fire_time ON job_instances (fire_time);
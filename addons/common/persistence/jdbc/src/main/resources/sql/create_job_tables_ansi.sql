@@ -0,0 +1,16 @@
+CREATE TABLE job_instances
+(
+    id                  VARCHAR(255) NOT NULL,
+    process_id          VARCHAR(255) NOT NULL,
+    process_instance_id VARCHAR(36),
+    fire_time           BIGINT       NOT NULL,
+    repeat_interval     BIGINT       NOT NULL,
+    repeat_limit        INTEGER      NOT NULL,
+    owner               VARCHAR(36),
+    lease_expiration    BIGINT,
+    start_key           VARCHAR(255) NOT NULL,
+    retries             INTEGER      NOT NULL,
+    CONSTRAINT job_instances_pkey PRIMARY KEY (id),
+    CONSTRAINT job_instances_start_key UNIQUE (start_key)
+);
+CREATE INDEX idx_job_instances_fire_time ON job_instances (fire_time);
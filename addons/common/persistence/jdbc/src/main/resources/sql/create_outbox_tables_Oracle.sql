@@ -0,0 +1,11 @@
+CREATE TABLE message_outbox
+(
+    id               char(36)      NOT NULL,
+    trigger_name     varchar2(255) NOT NULL,
+    payload          blob          NOT NULL,
+    created          number(19)    NOT NULL,
+    attempts         number(10)    NOT NULL,
+    lease_expiration number(19),
+    CONSTRAINT message_outbox_pkey PRIMARY KEY (id)
+);
+CREATE INDEX idx_message_outbox_created ON message_outbox (created);
@@ -0,0 +1,12 @@
+-- To be used with kogito-addons-quarkus-persistence-jdbc for Quarkus or kogito-addons-springboot-persistence-jdbc for SpringBoot
+CREATE TABLE message_outbox
+(
+    id               character(36)          NOT NULL,
+    trigger_name     character varying(255) NOT NULL,
+    payload          bytea                  NOT NULL,
+    created          bigint                 NOT NULL,
+    attempts         integer                NOT NULL,
+    lease_expiration bigint,
+    CONSTRAINT message_outbox_pkey PRIMARY KEY (id)
+);
+CREATE INDEX idx_message_outbox_created ON message_outbox (created);
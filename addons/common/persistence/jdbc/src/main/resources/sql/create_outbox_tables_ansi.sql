@@ -0,0 +1,11 @@
+CREATE TABLE message_outbox
+(
+    id               CHAR(36)     NOT NULL,
+    trigger_name     VARCHAR(255) NOT NULL,
+    payload          BLOB         NOT NULL,
+    created          BIGINT       NOT NULL,
+    attempts         INTEGER      NOT NULL,
+    lease_expiration BIGINT,
+    CONSTRAINT message_outbox_pkey PRIMARY KEY (id)
+);
+CREATE INDEX idx_message_outbox_created ON message_outbox (created);
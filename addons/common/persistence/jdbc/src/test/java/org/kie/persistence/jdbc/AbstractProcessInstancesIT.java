@@ -15,7 +15,11 @@
  */
 package org.kie.persistence.jdbc;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import javax.sql.DataSource;
 
@@ -27,6 +31,7 @@ import org.kie.kogito.persistence.jdbc.JDBCProcessInstances;
 import org.kie.kogito.process.ProcessInstance;
 import org.kie.kogito.process.ProcessInstanceReadMode;
 import org.kie.kogito.process.WorkItem;
+import org.kie.kogito.process.impl.Sig;
 import org.kie.kogito.process.bpmn2.BpmnProcess;
 import org.kie.kogito.process.bpmn2.BpmnProcessInstance;
 import org.kie.kogito.process.bpmn2.BpmnVariables;
@@ -66,11 +71,23 @@ abstract class AbstractProcessInstancesIT {
         return false;
     }
 
+    boolean deltas() {
+        return false;
+    }
+
+    boolean batchWrites() {
+        return false;
+    }
+
+    TestProcessInstancesFactory factory() {
+        return new TestProcessInstancesFactory(getDataSource(), lock(), deltas(), false, batchWrites(), true);
+    }
+
     abstract DataSource getDataSource();
 
     @Test
     void testBasicTaskFlow() {
-        var factory = new TestProcessInstancesFactory(getDataSource(), lock());
+        var factory = factory();
         BpmnProcess process = createProcess(factory, "BPMN2-UserTask.bpmn2");
         ProcessInstance<BpmnVariables> processInstance = process.createInstance(BpmnVariables.create(singletonMap("test", "test")));
         processInstance.start();
@@ -104,7 +121,7 @@ abstract class AbstractProcessInstancesIT {
 
     @Test
     void testMultipleProcesses() {
-        var factory = new TestProcessInstancesFactory(getDataSource(), lock());
+        var factory = factory();
         BpmnProcess utProcess = createProcess(factory, "BPMN2-UserTask.bpmn2");
         ProcessInstance<BpmnVariables> utProcessInstance = utProcess.createInstance(BpmnVariables.create());
         utProcessInstance.start();
@@ -142,7 +159,7 @@ abstract class AbstractProcessInstancesIT {
 
     @Test
     void testBasicFlow() {
-        var factory = new TestProcessInstancesFactory(getDataSource(), lock());
+        var factory = factory();
         BpmnProcess process = createProcess(factory, "BPMN2-UserTask.bpmn2");
         ProcessInstance<BpmnVariables> processInstance = process.createInstance(BpmnVariables.create(singletonMap("test",
                 "test")));
@@ -174,7 +191,7 @@ abstract class AbstractProcessInstancesIT {
 
     @Test
     public void testUpdate() {
-        var factory = new TestProcessInstancesFactory(getDataSource(), lock());
+        var factory = factory();
         BpmnProcess process = createProcess(factory, "BPMN2-UserTask.bpmn2");
         ProcessInstance<BpmnVariables> processInstance = process.createInstance(BpmnVariables.create(singletonMap("test", "test")));
         processInstance.start();
@@ -208,7 +225,7 @@ abstract class AbstractProcessInstancesIT {
 
     @Test
     public void testRemove() {
-        var factory = new TestProcessInstancesFactory(getDataSource(), lock());
+        var factory = factory();
         BpmnProcess process = createProcess(factory, "BPMN2-UserTask.bpmn2");
         ProcessInstance<BpmnVariables> processInstance = process.createInstance(BpmnVariables.create(singletonMap("test", "test")));
         processInstance.start();
@@ -227,9 +244,73 @@ abstract class AbstractProcessInstancesIT {
         assertThat(processInstances.size()).isZero();
     }
 
+    @Test
+    void testValuesPaging() {
+        var factory = factory();
+        BpmnProcess process = createProcess(factory, "BPMN2-UserTask.bpmn2");
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            ProcessInstance<BpmnVariables> processInstance = process.createInstance(BpmnVariables.create(singletonMap("test", "test")));
+            processInstance.start();
+            processInstance.updateVariables(BpmnVariables.create(singletonMap("test", "updated" + i)));
+            ids.add(processInstance.id());
+        }
+        Collections.sort(ids);
+
+        JDBCProcessInstances processInstances = (JDBCProcessInstances) process.instances();
+        assertThat(processInstances.values(ProcessInstanceReadMode.READ_ONLY, 0, 2)).extracting(ProcessInstance::id).containsExactlyElementsOf(ids.subList(0, 2));
+        assertThat(processInstances.values(ProcessInstanceReadMode.READ_ONLY, 2, 2)).extracting(ProcessInstance::id).containsExactlyElementsOf(ids.subList(2, 4));
+        assertThat(processInstances.values(ProcessInstanceReadMode.READ_ONLY, 4, 2)).extracting(ProcessInstance::id).containsExactly(ids.get(4));
+        assertThat(processInstances.values(ProcessInstanceReadMode.READ_ONLY, 0, 5))
+                .extracting(pi -> ((ProcessInstance<BpmnVariables>) pi).variables().get("test"))
+                .containsExactlyInAnyOrder("updated0", "updated1", "updated2", "updated3", "updated4");
+        try (Stream<ProcessInstance> stream = processInstances.stream(ProcessInstanceReadMode.READ_ONLY)) {
+            assertThat(stream.map(ProcessInstance::id)).containsExactlyElementsOf(ids);
+        }
+        processInstances.values(ProcessInstanceReadMode.MUTABLE).forEach(ProcessInstance::abort);
+    }
+
+    @Test
+    void testWaitingForEventType() {
+        var factory = factory();
+        BpmnProcess process = createProcess(factory, "BPMN2-IntermediateCatchEventSignal.bpmn2");
+        ProcessInstance<BpmnVariables> busy = process.createInstance(BpmnVariables.create());
+        busy.start();
+        ProcessInstance<BpmnVariables> waiting = process.createInstance(BpmnVariables.create());
+        waiting.start();
+        waiting.completeWorkItem(waiting.workItems(securityPolicy).get(0).getId(), null, securityPolicy);
+
+        JDBCProcessInstances processInstances = (JDBCProcessInstances) process.instances();
+        try (Stream<ProcessInstance> candidates = processInstances.waitingForEventType("MyMessage", ProcessInstanceReadMode.READ_ONLY)) {
+            assertThat(candidates.map(ProcessInstance::id)).containsExactly(waiting.id());
+        }
+        try (Stream<ProcessInstance> candidates = processInstances.waitingForEventType("NotMyMessage", ProcessInstanceReadMode.READ_ONLY)) {
+            assertThat(candidates).isEmpty();
+        }
+
+        process.send(Sig.of("MyMessage", "value"));
+        assertThat(processInstances.findById(waiting.id())).isEmpty();
+        assertThat(processInstances.findById(busy.id())).isPresent();
+        busy.abort();
+    }
+
+    @Test
+    void testWaitingForEventTypeWithoutIndex() {
+        var factory = new TestProcessInstancesFactory(getDataSource(), lock(), deltas(), false, batchWrites(), false);
+        BpmnProcess process = createProcess(factory, "BPMN2-IntermediateCatchEventSignal.bpmn2");
+        ProcessInstance<BpmnVariables> busy = process.createInstance(BpmnVariables.create());
+        busy.start();
+
+        JDBCProcessInstances processInstances = (JDBCProcessInstances) process.instances();
+        try (Stream<ProcessInstance> candidates = processInstances.waitingForEventType("NotMyMessage", ProcessInstanceReadMode.READ_ONLY)) {
+            assertThat(candidates.map(ProcessInstance::id)).containsExactly(busy.id());
+        }
+        busy.abort();
+    }
+
     @Test
     void testProcessWithDifferentVersion() {
-        var factory = new TestProcessInstancesFactory(getDataSource(), lock());
+        var factory = factory();
         BpmnProcess processV1 = createProcess(factory, "BPMN2-UserTask.bpmn2");
         BpmnProcess processV2 = createProcess(factory, "BPMN2-UserTask-v2.bpmn2");
 
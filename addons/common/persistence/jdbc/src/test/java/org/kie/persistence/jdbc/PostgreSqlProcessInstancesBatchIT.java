@@ -0,0 +1,83 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.persistence.jdbc;
+
+import org.junit.jupiter.api.Test;
+import org.kie.kogito.persistence.jdbc.JDBCProcessInstances;
+import org.kie.kogito.process.ProcessInstance;
+import org.kie.kogito.process.ProcessInstanceOptimisticLockingException;
+import org.kie.kogito.process.bpmn2.BpmnProcess;
+import org.kie.kogito.process.bpmn2.BpmnVariables;
+import org.kie.kogito.uow.WorkUnitBatch;
+
+import static java.util.Collections.singletonMap;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+public class PostgreSqlProcessInstancesBatchIT extends PostgreSqlProcessInstancesLockIT {
+
+    @Override
+    boolean batchWrites() {
+        return true;
+    }
+
+    @Test
+    void testWritesDeferredUntilFlush() {
+        BpmnProcess process = createProcess(factory(), "BPMN2-UserTask.bpmn2");
+        ProcessInstance<BpmnVariables> processInstance = process.createInstance(BpmnVariables.create(singletonMap("test", "test")));
+        processInstance.start();
+
+        JDBCProcessInstances processInstances = (JDBCProcessInstances) process.instances();
+        ProcessInstance<?> found = processInstances.findById(processInstance.id()).orElseThrow();
+        long version = found.version();
+        try (WorkUnitBatch batch = WorkUnitBatch.open()) {
+            processInstances.update(found.id(), found);
+            assertThat(processInstances.findById(found.id()).orElseThrow().version()).isEqualTo(version);
+            batch.flush();
+        }
+        assertThat(processInstances.findById(found.id()).orElseThrow().version()).isEqualTo(version + 1);
+        processInstance.abort();
+        assertThat(processInstances.size()).isZero();
+    }
+
+    @Test
+    void testLockConflictRollsBackUnitOfWork() {
+        BpmnProcess process = createProcess(factory(), "BPMN2-UserTask.bpmn2");
+        ProcessInstance<BpmnVariables> first = process.createInstance(BpmnVariables.create(singletonMap("test", "test")));
+        first.start();
+        ProcessInstance<BpmnVariables> second = process.createInstance(BpmnVariables.create(singletonMap("test", "test")));
+        second.start();
+
+        JDBCProcessInstances processInstances = (JDBCProcessInstances) process.instances();
+        ProcessInstance<?> firstFound = processInstances.findById(first.id()).orElseThrow();
+        ProcessInstance<?> staleSecond = processInstances.findById(second.id()).orElseThrow();
+        second.updateVariables(BpmnVariables.create(singletonMap("test", "updated")));
+        long firstVersion = firstFound.version();
+
+        try (WorkUnitBatch batch = WorkUnitBatch.open()) {
+            processInstances.update(firstFound.id(), firstFound);
+            processInstances.update(staleSecond.id(), staleSecond);
+            assertThatExceptionOfType(ProcessInstanceOptimisticLockingException.class).isThrownBy(batch::flush);
+        }
+        // the write of the first process instance is rolled back along with the conflicting one
+        assertThat(processInstances.findById(first.id()).orElseThrow().version()).isEqualTo(firstVersion);
+        assertThat(((BpmnVariables) processInstances.findById(second.id()).orElseThrow().variables()).get("test")).isEqualTo("updated");
+
+        first.abort();
+        second.abort();
+        assertThat(processInstances.size()).isZero();
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.persistence.jdbc;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import org.junit.jupiter.api.Test;
+import org.kie.kogito.process.ProcessInstance;
+import org.kie.kogito.process.bpmn2.BpmnProcess;
+import org.kie.kogito.process.bpmn2.BpmnVariables;
+
+import static java.util.Collections.singletonMap;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PostgreSqlProcessInstancesDeltaIT extends PostgreSqlProcessInstancesIT {
+
+    @Override
+    boolean deltas() {
+        return true;
+    }
+
+    @Test
+    void testDeltasCompactedAndRemoved() throws Exception {
+        var factory = factory();
+        BpmnProcess process = createProcess(factory, "BPMN2-UserTask.bpmn2");
+        ProcessInstance<BpmnVariables> processInstance = process.createInstance(BpmnVariables.create(singletonMap("test", "test")));
+        processInstance.start();
+
+        processInstance.updateVariables(BpmnVariables.create(singletonMap("test", "one")));
+        processInstance.updateVariables(BpmnVariables.create(singletonMap("test", "two")));
+        assertThat(countDeltas(processInstance.id())).isEqualTo(2);
+
+        // the third update compacts the deltas into a full payload
+        processInstance.updateVariables(BpmnVariables.create(singletonMap("test", "three")));
+        assertThat(countDeltas(processInstance.id())).isZero();
+
+        processInstance.updateVariables(BpmnVariables.create(singletonMap("test", "four")));
+        assertThat(countDeltas(processInstance.id())).isOne();
+        assertThat(process.instances().findById(processInstance.id()).orElseThrow().variables().toMap()).containsEntry("test", "four");
+
+        processInstance.abort();
+        assertThat(process.instances().size()).isZero();
+        assertThat(countDeltas(processInstance.id())).isZero();
+    }
+
+    private int countDeltas(String id) throws SQLException {
+        try (Connection connection = getDataSource().getConnection();
+                PreparedStatement statement = connection.prepareStatement("SELECT COUNT(*) FROM process_instance_deltas WHERE process_instance_id = ?")) {
+            statement.setString(1, id);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                return resultSet.getInt(1);
+            }
+        }
+    }
+}
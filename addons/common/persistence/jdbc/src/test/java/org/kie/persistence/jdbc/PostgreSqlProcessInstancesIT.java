@@ -16,14 +16,27 @@
 
 package org.kie.persistence.jdbc;
 
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.UUID;
+
 import javax.sql.DataSource;
 
 import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.kie.kogito.process.ProcessInstance;
+import org.kie.kogito.process.WorkItem;
+import org.kie.kogito.process.bpmn2.BpmnProcess;
+import org.kie.kogito.process.bpmn2.BpmnVariables;
 import org.kie.kogito.testcontainers.KogitoPostgreSqlContainer;
 import org.postgresql.ds.PGSimpleDataSource;
 import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
+import static java.util.Collections.singletonMap;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.kie.kogito.internal.process.runtime.KogitoProcessInstance.STATE_COMPLETED;
+
 @Testcontainers
 public class PostgreSqlProcessInstancesIT extends AbstractProcessInstancesIT {
 
@@ -42,4 +55,27 @@ public class PostgreSqlProcessInstancesIT extends AbstractProcessInstancesIT {
     protected DataSource getDataSource() {
         return PG_DATA_SOURCE;
     }
+
+    @Test
+    void testTrustedWriteReloadsWrittenPayload() throws Exception {
+        var factory = new TestProcessInstancesFactory(getDataSource(), lock(), deltas(), true, batchWrites());
+        BpmnProcess process = createProcess(factory, "BPMN2-UserTask.bpmn2");
+        ProcessInstance<BpmnVariables> processInstance = process.createInstance(BpmnVariables.create(singletonMap("test", "test")));
+        processInstance.start();
+        processInstance.updateVariables(BpmnVariables.create(singletonMap("test", "updated")));
+
+        // the written payload is reused on reload, so a broken stored payload is not read back
+        try (Connection connection = getDataSource().getConnection();
+                PreparedStatement statement = connection.prepareStatement("UPDATE process_instances SET payload = ? WHERE id = ?")) {
+            statement.setBytes(1, new byte[0]);
+            statement.setObject(2, UUID.fromString(processInstance.id()));
+            assertThat(statement.executeUpdate()).isOne();
+        }
+
+        assertThat(processInstance.variables().get("test")).isEqualTo("updated");
+        WorkItem workItem = processInstance.workItems(securityPolicy).get(0);
+        processInstance.completeWorkItem(workItem.getId(), null, securityPolicy);
+        assertThat(processInstance.status()).isEqualTo(STATE_COMPLETED);
+        assertThat(process.instances().size()).isZero();
+    }
 }
@@ -29,6 +29,22 @@ public class TestProcessInstancesFactory extends AbstractProcessInstancesFactory
         super(dataSource, true, lock);
     }
 
+    public TestProcessInstancesFactory(DataSource dataSource, boolean lock, boolean deltas) {
+        super(dataSource, true, lock, false, deltas, 2, 65536);
+    }
+
+    public TestProcessInstancesFactory(DataSource dataSource, boolean lock, boolean deltas, boolean trustedWrite) {
+        super(dataSource, true, lock, trustedWrite, deltas, 2, 65536);
+    }
+
+    public TestProcessInstancesFactory(DataSource dataSource, boolean lock, boolean deltas, boolean trustedWrite, boolean batchWrites) {
+        super(dataSource, true, lock, trustedWrite, deltas, 2, 65536, batchWrites);
+    }
+
+    public TestProcessInstancesFactory(DataSource dataSource, boolean lock, boolean deltas, boolean trustedWrite, boolean batchWrites, boolean indexEventTypes) {
+        super(dataSource, true, lock, trustedWrite, deltas, 2, 65536, batchWrites, indexEventTypes);
+    }
+
     @Override
     public JDBCProcessInstances createProcessInstances(Process<?> process) {
         return spy(super.createProcessInstances(process));
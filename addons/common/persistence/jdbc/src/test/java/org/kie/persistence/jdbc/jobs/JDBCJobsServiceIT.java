@@ -0,0 +1,191 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.persistence.jdbc.jobs;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.kie.kogito.Application;
+import org.kie.kogito.jobs.DurationExpirationTime;
+import org.kie.kogito.jobs.ProcessInstanceJobDescription;
+import org.kie.kogito.jobs.ProcessJobDescription;
+import org.kie.kogito.jobs.TimerJobId;
+import org.kie.kogito.persistence.jdbc.DDLRunner;
+import org.kie.kogito.persistence.jdbc.GenericRepository;
+import org.kie.kogito.persistence.jdbc.jobs.JDBCJobsService;
+import org.kie.kogito.process.Process;
+import org.kie.kogito.process.ProcessInstance;
+import org.kie.kogito.process.ProcessInstances;
+import org.kie.kogito.process.Processes;
+import org.kie.kogito.services.uow.CollectingUnitOfWorkFactory;
+import org.kie.kogito.services.uow.DefaultUnitOfWorkManager;
+import org.kie.kogito.testcontainers.KogitoPostgreSqlContainer;
+import org.postgresql.ds.PGSimpleDataSource;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@Testcontainers
+public class JDBCJobsServiceIT {
+
+    private static final String PROCESS_ID = "process";
+    private static final String PROCESS_INSTANCE_ID = "processInstance";
+    private static final String FAILING_PROCESS_INSTANCE_ID = "failingProcessInstance";
+    private static final String SLOW_PROCESS_INSTANCE_ID = "slowProcessInstance";
+    private static final long LEASE_TIME = 500;
+
+    @Container
+    private static final KogitoPostgreSqlContainer PG_CONTAINER = new KogitoPostgreSqlContainer();
+    private static ProcessInstance<?> processInstance;
+    private static ProcessInstance<?> failingProcessInstance;
+    private static ProcessInstance<?> slowProcessInstance;
+    private static PGSimpleDataSource dataSource;
+    private static JDBCJobsService jobsService;
+
+    @BeforeAll
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    public static void setUp() {
+        dataSource = new PGSimpleDataSource();
+        dataSource.setUrl(PG_CONTAINER.getJdbcUrl());
+        dataSource.setUser(PG_CONTAINER.getUsername());
+        dataSource.setPassword(PG_CONTAINER.getPassword());
+        //create table
+        DDLRunner.init(new GenericRepository(dataSource), true);
+
+        processInstance = mock(ProcessInstance.class);
+        ProcessInstances instances = mock(ProcessInstances.class);
+        when(instances.findById(PROCESS_INSTANCE_ID)).thenReturn(Optional.of(processInstance));
+        failingProcessInstance = mock(ProcessInstance.class);
+        doThrow(new IllegalStateException("Signal failed")).doNothing().when(failingProcessInstance).send(any());
+        when(instances.findById(FAILING_PROCESS_INSTANCE_ID)).thenReturn(Optional.of(failingProcessInstance));
+        slowProcessInstance = mock(ProcessInstance.class);
+        doAnswer(invocation -> {
+            Thread.sleep(LEASE_TIME * 3);
+            return null;
+        }).when(slowProcessInstance).send(any());
+        when(instances.findById(SLOW_PROCESS_INSTANCE_ID)).thenReturn(Optional.of(slowProcessInstance));
+        Process process = mock(Process.class);
+        when(process.instances()).thenReturn(instances);
+        Processes processes = mock(Processes.class);
+        when(processes.processById(PROCESS_ID)).thenReturn(process);
+        Application application = mock(Application.class);
+        when(application.get(Processes.class)).thenReturn(processes);
+        when(application.unitOfWorkManager()).thenReturn(new DefaultUnitOfWorkManager(new CollectingUnitOfWorkFactory()));
+
+        jobsService = new JDBCJobsService(dataSource, () -> application, 100, 10, LEASE_TIME, 2);
+        jobsService.start();
+    }
+
+    @AfterAll
+    public static void tearDown() {
+        jobsService.close();
+    }
+
+    @Test
+    public void testProcessInstanceJobFired() {
+        jobsService.scheduleProcessInstanceJob(ProcessInstanceJobDescription.of(new TimerJobId(1L), DurationExpirationTime.now(), PROCESS_INSTANCE_ID, PROCESS_ID));
+        verify(processInstance, timeout(TimeUnit.SECONDS.toMillis(10))).send(any());
+    }
+
+    @Test
+    public void testCancelJob() {
+        String id = jobsService.scheduleProcessInstanceJob(ProcessInstanceJobDescription.of(new TimerJobId(2L), DurationExpirationTime.after(60000), PROCESS_INSTANCE_ID, PROCESS_ID));
+        assertThat(jobsService.cancelJob(id)).isTrue();
+        assertThat(jobsService.cancelJob(id)).isFalse();
+    }
+
+    @Test
+    public void testProcessJobScheduledOnce() {
+        String id = jobsService.scheduleProcessJob(ProcessJobDescription.of(DurationExpirationTime.after(60000), "startProcess"));
+        assertThat(jobsService.scheduleProcessJob(ProcessJobDescription.of(DurationExpirationTime.after(60000), "startProcess"))).isEqualTo(id);
+        assertThat(jobsService.cancelJob(id)).isTrue();
+    }
+
+    @Test
+    public void testProcessJobScheduledOnceConcurrently() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Callable<String>> schedules = IntStream.range(0, 8)
+                    .mapToObj(i -> (Callable<String>) () -> jobsService.scheduleProcessJob(ProcessJobDescription.of(DurationExpirationTime.after(60000), "concurrentStartProcess")))
+                    .collect(Collectors.toList());
+            List<String> ids = executor.invokeAll(schedules).stream().map(JDBCJobsServiceIT::get).distinct().collect(Collectors.toList());
+            assertThat(ids).hasSize(1);
+            assertThat(countJobs("concurrentStartProcess")).isEqualTo(1);
+            assertThat(jobsService.cancelJob(ids.get(0))).isTrue();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testFailingJobRetried() throws SQLException {
+        String id = jobsService.scheduleProcessInstanceJob(ProcessInstanceJobDescription.of(new TimerJobId(3L), DurationExpirationTime.now(), FAILING_PROCESS_INSTANCE_ID,
+                PROCESS_ID));
+        verify(failingProcessInstance, timeout(TimeUnit.SECONDS.toMillis(10)).times(2)).send(any());
+        verify(failingProcessInstance, after(500).times(2)).send(any());
+        assertThat(countJobs(id)).isZero();
+    }
+
+    @Test
+    public void testLeaseRenewedWhileFiring() {
+        jobsService.scheduleProcessInstanceJob(ProcessInstanceJobDescription.of(new TimerJobId(4L), DurationExpirationTime.now(), SLOW_PROCESS_INSTANCE_ID, PROCESS_ID));
+        verify(slowProcessInstance, timeout(TimeUnit.SECONDS.toMillis(10))).send(any());
+        // the job outlives its lease, it is not claimed again while being fired
+        verify(slowProcessInstance, after(LEASE_TIME * 4).times(1)).send(any());
+    }
+
+    private static String get(Future<String> future) {
+        try {
+            return future.get();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static int countJobs(String startKey) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+                PreparedStatement statement = connection.prepareStatement("SELECT count(*) FROM job_instances WHERE start_key = ?")) {
+            statement.setString(1, startKey);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                return resultSet.getInt(1);
+            }
+        }
+    }
+}
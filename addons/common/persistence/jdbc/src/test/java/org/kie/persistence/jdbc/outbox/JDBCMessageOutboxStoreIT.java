@@ -0,0 +1,101 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.persistence.jdbc.outbox;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.kie.kogito.event.MessageOutboxStore.StoredMessage;
+import org.kie.kogito.persistence.jdbc.DDLRunner;
+import org.kie.kogito.persistence.jdbc.GenericRepository;
+import org.kie.kogito.persistence.jdbc.outbox.JDBCMessageOutboxStore;
+import org.kie.kogito.testcontainers.KogitoPostgreSqlContainer;
+import org.kie.kogito.uow.WorkUnitBatch;
+import org.postgresql.ds.PGSimpleDataSource;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Testcontainers
+public class JDBCMessageOutboxStoreIT {
+
+    @Container
+    private static final KogitoPostgreSqlContainer PG_CONTAINER = new KogitoPostgreSqlContainer();
+    private static PGSimpleDataSource dataSource;
+    private static JDBCMessageOutboxStore store;
+
+    @BeforeAll
+    public static void setUp() {
+        dataSource = new PGSimpleDataSource();
+        dataSource.setUrl(PG_CONTAINER.getJdbcUrl());
+        dataSource.setUser(PG_CONTAINER.getUsername());
+        dataSource.setPassword(PG_CONTAINER.getPassword());
+        //create table
+        DDLRunner.init(new GenericRepository(dataSource), true);
+        store = new JDBCMessageOutboxStore(dataSource);
+    }
+
+    @Test
+    public void testClaimRetryAndDelete() throws InterruptedException {
+        store.store("message-1", "claimed", "payload".getBytes());
+
+        List<StoredMessage> claimed = store.claim(Collections.singleton("claimed"), 10, 60000);
+        assertThat(claimed).hasSize(1);
+        assertThat(claimed.get(0).getId()).isEqualTo("message-1");
+        assertThat(claimed.get(0).getPayload()).isEqualTo("payload".getBytes());
+        assertThat(claimed.get(0).getAttempts()).isZero();
+        assertThat(store.claim(Collections.singleton("claimed"), 10, 60000)).isEmpty();
+
+        store.retry("message-1", 10);
+        Thread.sleep(50);
+        claimed = store.claim(Collections.singleton("claimed"), 10, 60000);
+        assertThat(claimed).hasSize(1);
+        assertThat(claimed.get(0).getAttempts()).isEqualTo(1);
+
+        store.delete(Collections.singleton("message-1"));
+        store.retry("message-1", 0);
+        assertThat(store.claim(Collections.singleton("claimed"), 10, 0)).isEmpty();
+    }
+
+    @Test
+    public void testStoreDeferredUntilBatchFlushed() throws InterruptedException {
+        try (WorkUnitBatch batch = WorkUnitBatch.open()) {
+            store.store("message-2", "deferred", "payload".getBytes());
+            assertThat(store.claim(Collections.singleton("deferred"), 10, 0)).isEmpty();
+            batch.flush();
+        }
+        assertThat(store.claim(Collections.singleton("deferred"), 10, 0)).extracting(StoredMessage::getId).containsExactly("message-2");
+
+        try (WorkUnitBatch batch = WorkUnitBatch.open()) {
+            store.store("message-3", "deferred", "payload".getBytes());
+        }
+        // lets the lease of the first claim expire
+        Thread.sleep(10);
+        assertThat(store.claim(Collections.singleton("deferred"), 10, 0)).extracting(StoredMessage::getId).containsExactly("message-2");
+    }
+
+    @Test
+    public void testLeaseExpires() throws InterruptedException {
+        store.store("message-4", "expiring", "payload".getBytes());
+
+        assertThat(store.claim(Collections.singleton("expiring"), 10, 10)).hasSize(1);
+        Thread.sleep(50);
+        assertThat(store.claim(Collections.singleton("expiring"), 10, 60000)).hasSize(1);
+    }
+}
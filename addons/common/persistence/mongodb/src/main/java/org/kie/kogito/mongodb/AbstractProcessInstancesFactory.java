@@ -26,18 +26,24 @@ public abstract class AbstractProcessInstancesFactory implements ProcessInstance
     private final MongoClient mongoClient;
     private final String dbName;
     private final Boolean lock;
+    private final Boolean trustedWrite;
     private final AbstractTransactionManager transactionManager;
 
     public AbstractProcessInstancesFactory(MongoClient mongoClient, String dbName, Boolean lock, AbstractTransactionManager transactionManager) {
+        this(mongoClient, dbName, lock, false, transactionManager);
+    }
+
+    public AbstractProcessInstancesFactory(MongoClient mongoClient, String dbName, Boolean lock, Boolean trustedWrite, AbstractTransactionManager transactionManager) {
         this.mongoClient = mongoClient;
         this.dbName = dbName;
         this.lock = lock;
+        this.trustedWrite = trustedWrite;
         this.transactionManager = transactionManager;
     }
 
     @Override
     public MongoDBProcessInstances<?> createProcessInstances(Process<?> process) {
-        return new MongoDBProcessInstances<>(mongoClient, process, dbName, transactionManager, lock);
+        return new MongoDBProcessInstances<>(mongoClient, process, dbName, transactionManager, lock, Boolean.TRUE.equals(trustedWrite));
     }
 
 }
\ No newline at end of file
@@ -19,6 +19,11 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import org.bson.Document;
 import org.bson.codecs.configuration.CodecRegistries;
@@ -45,12 +50,16 @@ import com.mongodb.client.MongoDatabase;
 import com.mongodb.client.model.Filters;
 import com.mongodb.client.model.IndexOptions;
 import com.mongodb.client.model.Indexes;
+import com.mongodb.client.model.Sorts;
 import com.mongodb.client.result.UpdateResult;
 
 import static java.util.Collections.singletonMap;
+import static org.kie.kogito.mongodb.utils.DocumentConstants.EVENT_TYPES;
+import static org.kie.kogito.mongodb.utils.DocumentConstants.EVENT_TYPES_INDEX;
 import static org.kie.kogito.mongodb.utils.DocumentConstants.PROCESS_INSTANCE_ID;
 import static org.kie.kogito.mongodb.utils.DocumentConstants.PROCESS_INSTANCE_ID_INDEX;
 import static org.kie.kogito.process.ProcessInstanceReadMode.MUTABLE;
+import static org.kie.kogito.process.impl.AbstractProcessInstance.ANY_EVENT_TYPE;
 
 public class MongoDBProcessInstances<T extends Model> implements MutableProcessInstances<T> {
 
@@ -60,8 +69,14 @@ public class MongoDBProcessInstances<T extends Model> implements MutableProcessI
     private final MongoCollection<Document> collection;
     private AbstractTransactionManager transactionManager;
     private final boolean lock;
+    private final boolean trustedWrite;
 
     public MongoDBProcessInstances(MongoClient mongoClient, org.kie.kogito.process.Process<?> process, String dbName, AbstractTransactionManager transactionManager, boolean lock) {
+        this(mongoClient, process, dbName, transactionManager, lock, false);
+    }
+
+    public MongoDBProcessInstances(MongoClient mongoClient, org.kie.kogito.process.Process<?> process, String dbName, AbstractTransactionManager transactionManager, boolean lock,
+            boolean trustedWrite) {
         this.process = process;
         this.collection = getCollection(mongoClient, process.id(), dbName);
         this.marshaller = ProcessInstanceMarshallerService.newBuilder()
@@ -70,6 +85,7 @@ public class MongoDBProcessInstances<T extends Model> implements MutableProcessI
                 .build();
         this.transactionManager = transactionManager;
         this.lock = lock;
+        this.trustedWrite = trustedWrite;
     }
 
     @Override
@@ -85,9 +101,42 @@ public class MongoDBProcessInstances<T extends Model> implements MutableProcessI
 
     @Override
     public Collection<ProcessInstance<T>> values(ProcessInstanceReadMode mode) {
-        FindIterable<Document> docs = Optional.ofNullable(transactionManager.getClientSession())
+        return toList(findAll(), mode);
+    }
+
+    @Override
+    public Collection<ProcessInstance<T>> values(ProcessInstanceReadMode mode, int offset, int limit) {
+        return toList(findAll().sort(Sorts.ascending(PROCESS_INSTANCE_ID)).skip(offset).limit(limit), mode);
+    }
+
+    @Override
+    public Stream<ProcessInstance<T>> stream(ProcessInstanceReadMode mode) {
+        MongoCursor<Document> cursor = findAll().iterator();
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(cursor, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .map(doc -> unmarshall(doc, mode))
+                .onClose(cursor::close);
+    }
+
+    @Override
+    public Stream<ProcessInstance<T>> waitingForEventType(String eventType, ProcessInstanceReadMode mode) {
+        // documents written before event types were indexed do not have the field and are always candidates
+        Bson filter = Filters.or(Filters.in(EVENT_TYPES, eventType, ANY_EVENT_TYPE), Filters.exists(EVENT_TYPES, false));
+        MongoCursor<Document> cursor = Optional.ofNullable(transactionManager.getClientSession())
+                .map(r -> collection.find(r, filter))
+                .orElseGet(() -> collection.find(filter))
+                .iterator();
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(cursor, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .map(doc -> unmarshall(doc, mode))
+                .onClose(cursor::close);
+    }
+
+    private FindIterable<Document> findAll() {
+        return Optional.ofNullable(transactionManager.getClientSession())
                 .map(collection::find)
                 .orElseGet(collection::find);
+    }
+
+    private List<ProcessInstance<T>> toList(FindIterable<Document> docs, ProcessInstanceReadMode mode) {
         List<ProcessInstance<T>> list = new ArrayList<>();
         try (MongoCursor<Document> cursor = docs.iterator()) {
             while (cursor.hasNext()) {
@@ -109,20 +158,24 @@ public class MongoDBProcessInstances<T extends Model> implements MutableProcessI
 
     @Override
     public void update(String id, ProcessInstance<T> instance) {
+        byte[] written = null;
         if (isActive(instance)) {
-            updateStorage(id, instance, false);
+            written = updateStorage(id, instance, false);
         }
-        reloadProcessInstance(instance, id);
+        reloadProcessInstance(instance, id, written);
     }
 
-    protected void updateStorage(String id, ProcessInstance<T> instance, boolean checkDuplicates) {
+    protected byte[] updateStorage(String id, ProcessInstance<T> instance, boolean checkDuplicates) {
         ClientSession clientSession = transactionManager.getClientSession();
-        Document doc = Document.parse(new String(marshaller.marshallProcessInstance(instance)));
+        byte[] data = marshaller.marshallProcessInstance(instance);
+        Document doc = Document.parse(new String(data));
+        doc.put(EVENT_TYPES, new ArrayList<>(((AbstractProcessInstance<?>) instance).listeningEventTypes()));
         if (checkDuplicates) {
             createInternal(id, clientSession, doc);
         } else {
             updateInternal(id, instance, clientSession, doc);
         }
+        return data;
     }
 
     private void createInternal(String id, ClientSession clientSession, Document doc) {
@@ -150,8 +203,11 @@ public class MongoDBProcessInstances<T extends Model> implements MutableProcessI
         } else {
             result = collection.replaceOne(filters, doc);
         }
-        if (lock && result.getModifiedCount() != 1) {
-            throw new ProcessInstanceOptimisticLockingException(id);
+        if (lock) {
+            if (result.getModifiedCount() != 1) {
+                throw new ProcessInstanceOptimisticLockingException(id);
+            }
+            setVersion(instance, instance.version() + 1);
         }
     }
 
@@ -180,8 +236,8 @@ public class MongoDBProcessInstances<T extends Model> implements MutableProcessI
         }
     }
 
-    private void reloadProcessInstance(ProcessInstance<T> instance, String id) {
-        ((AbstractProcessInstance<?>) instance).internalRemoveProcessInstance(marshaller.createdReloadFunction(() -> {
+    private void reloadProcessInstance(ProcessInstance<T> instance, String id, byte[] written) {
+        Supplier<byte[]> supplier = () -> {
             Document reloaded = find(id);
             if (reloaded != null) {
                 setVersion(instance, reloaded.getLong(VERSION));
@@ -189,7 +245,12 @@ public class MongoDBProcessInstances<T extends Model> implements MutableProcessI
             } else {
                 throw new IllegalArgumentException("process instance id " + id + " does not exists in mongodb");
             }
-        }));
+        };
+        if (trustedWrite && written != null) {
+            ((AbstractProcessInstance<?>) instance).internalRemoveProcessInstance(marshaller.createdReloadFunction(written));
+        } else {
+            ((AbstractProcessInstance<?>) instance).internalRemoveProcessInstance(marshaller.createdReloadFunction(supplier));
+        }
     }
 
     private static void setVersion(ProcessInstance<?> instance, Long version) {
@@ -219,6 +280,8 @@ public class MongoDBProcessInstances<T extends Model> implements MutableProcessI
         //Index creation (if the index already exists it is a no-op)
         collection.createIndex(Indexes.ascending(PROCESS_INSTANCE_ID),
                 new IndexOptions().unique(true).name(PROCESS_INSTANCE_ID_INDEX).background(true));
+        collection.createIndex(Indexes.ascending(EVENT_TYPES),
+                new IndexOptions().name(EVENT_TYPES_INDEX).background(true));
         return collection;
     }
 }
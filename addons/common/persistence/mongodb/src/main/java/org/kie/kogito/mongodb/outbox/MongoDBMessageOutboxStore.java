@@ -0,0 +1,132 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.mongodb.outbox;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.bson.Document;
+import org.bson.types.Binary;
+import org.kie.kogito.event.MessageOutboxStore;
+import org.kie.kogito.mongodb.transaction.AbstractTransactionManager;
+import org.kie.kogito.uow.WorkUnitBatch;
+
+import com.mongodb.client.ClientSession;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.IndexOptions;
+import com.mongodb.client.model.Indexes;
+import com.mongodb.client.model.Sorts;
+import com.mongodb.client.model.Updates;
+
+/**
+ * Messages stored in the <code>message_outbox</code> collection of the database holding the process instances.
+ * <p>
+ * When transactions are enabled, messages are inserted in the client session of the unit of work, so they are committed
+ * along with the process instances. Otherwise messages stored while a unit of work is ending are inserted once the
+ * process instances were written, so a process instance write failing stores no message.
+ */
+public class MongoDBMessageOutboxStore implements MessageOutboxStore {
+
+    static final String COLLECTION = "message_outbox";
+    static final String ID = "_id";
+    static final String TRIGGER = "trigger";
+    static final String PAYLOAD = "payload";
+    static final String CREATED = "created";
+    static final String ATTEMPTS = "attempts";
+    static final String LEASE_EXPIRATION = "leaseExpiration";
+
+    private final MongoCollection<Document> collection;
+    private final AbstractTransactionManager transactionManager;
+
+    public MongoDBMessageOutboxStore(MongoClient mongoClient, String dbName, AbstractTransactionManager transactionManager) {
+        this.collection = mongoClient.getDatabase(dbName).getCollection(COLLECTION);
+        this.transactionManager = transactionManager;
+        //Index creation (if the index already exists it is a no-op)
+        collection.createIndex(Indexes.ascending(CREATED), new IndexOptions().name("index_message_outbox_created").background(true));
+    }
+
+    @Override
+    public void store(String id, String trigger, byte[] payload) {
+        Document document = new Document(ID, id)
+                .append(TRIGGER, trigger)
+                .append(PAYLOAD, payload)
+                .append(CREATED, System.currentTimeMillis())
+                .append(ATTEMPTS, 0)
+                .append(LEASE_EXPIRATION, 0L);
+        ClientSession clientSession = transactionManager.getClientSession();
+        if (clientSession != null) {
+            collection.insertOne(clientSession, document);
+            return;
+        }
+        Optional<WorkUnitBatch> batch = WorkUnitBatch.current();
+        if (batch.isPresent()) {
+            batch.get().participant(collection, () -> new Inserts(collection)).documents.add(document);
+        } else {
+            collection.insertOne(document);
+        }
+    }
+
+    @Override
+    public List<StoredMessage> claim(Collection<String> triggers, int limit, long leaseTime) {
+        long now = System.currentTimeMillis();
+        List<StoredMessage> claimed = new ArrayList<>();
+        try (MongoCursor<Document> cursor = collection.find(Filters.and(Filters.in(TRIGGER, triggers), Filters.lt(LEASE_EXPIRATION, now)))
+                .sort(Sorts.ascending(CREATED))
+                .limit(limit)
+                .iterator()) {
+            while (cursor.hasNext()) {
+                Document document = cursor.next();
+                String id = document.getString(ID);
+                // documents claimed meanwhile by another node are not updated
+                if (collection.updateOne(Filters.and(Filters.eq(ID, id), Filters.lt(LEASE_EXPIRATION, now)), Updates.set(LEASE_EXPIRATION, now + leaseTime))
+                        .getModifiedCount() > 0) {
+                    claimed.add(new StoredMessage(id, document.getString(TRIGGER), document.get(PAYLOAD, Binary.class).getData(), document.getInteger(ATTEMPTS)));
+                }
+            }
+        }
+        return claimed;
+    }
+
+    @Override
+    public void retry(String id, long delay) {
+        collection.updateOne(Filters.eq(ID, id), Updates.combine(Updates.inc(ATTEMPTS, 1), Updates.set(LEASE_EXPIRATION, System.currentTimeMillis() + delay)));
+    }
+
+    @Override
+    public void delete(Collection<String> ids) {
+        collection.deleteMany(Filters.in(ID, ids));
+    }
+
+    private static class Inserts implements WorkUnitBatch.Participant {
+
+        private final MongoCollection<Document> collection;
+        private final List<Document> documents = new ArrayList<>();
+
+        Inserts(MongoCollection<Document> collection) {
+            this.collection = collection;
+        }
+
+        @Override
+        public void flush() {
+            collection.insertMany(documents);
+        }
+    }
+}
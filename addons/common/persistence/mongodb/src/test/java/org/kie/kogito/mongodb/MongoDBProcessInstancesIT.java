@@ -52,6 +52,8 @@ import org.testcontainers.junit.jupiter.Testcontainers;
 import com.mongodb.client.MongoClient;
 import com.mongodb.client.MongoClients;
 import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Updates;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
@@ -107,6 +109,30 @@ class MongoDBProcessInstancesIT {
         transactionManager.onAfterEndEvent(new UnitOfWorkEndEvent(null));
     }
 
+    @Test
+    void testTrustedWriteReloadsWrittenPayload() {
+        AbstractTransactionManager transactionManager = new AbstractTransactionManager(mongoClient, false) {
+        };
+        BpmnProcess process = BpmnProcess.from(new ClassPathResource("BPMN2-UserTask.bpmn2")).get(0);
+        process.setProcessInstancesFactory(new MongoDBProcessInstancesFactory(mongoClient, transactionManager, true));
+        process.configure();
+
+        ProcessInstance<BpmnVariables> processInstance = process.createInstance(BpmnVariables.create(Collections.singletonMap("test", "test")));
+        processInstance.start();
+        processInstance.updateVariables(BpmnVariables.create(Collections.singletonMap("test", "updated")));
+
+        // the written payload is reused on reload, so a broken stored document is not read back
+        MongoCollection<Document> collection = mongoClient.getDatabase(DB_NAME).getCollection(process.id());
+        assertThat(collection.updateOne(Filters.eq(DocumentConstants.PROCESS_INSTANCE_ID, processInstance.id()),
+                Updates.set(DocumentConstants.PROCESS_INSTANCE, new Document())).getModifiedCount()).isOne();
+
+        assertThat(processInstance.variables().toMap()).containsEntry("test", "updated");
+        WorkItem workItem = processInstance.workItems(securityPolicy).get(0);
+        processInstance.completeWorkItem(workItem.getId(), null, securityPolicy);
+        assertThat(processInstance.status()).isEqualTo(STATE_COMPLETED);
+        assertThat(process.instances().size()).isZero();
+    }
+
     private void test(AbstractTransactionManager transactionManager) {
         BpmnProcess process = BpmnProcess.from(new ClassPathResource("BPMN2-UserTask.bpmn2")).get(0);
         process.setProcessInstancesFactory(new MongoDBProcessInstancesFactory(mongoClient, transactionManager));
@@ -279,5 +305,9 @@ class MongoDBProcessInstancesIT {
             super(mongoClient, DB_NAME, false, transactionManager);
         }
 
+        public MongoDBProcessInstancesFactory(MongoClient mongoClient, AbstractTransactionManager transactionManager, boolean trustedWrite) {
+            super(mongoClient, DB_NAME, false, trustedWrite, transactionManager);
+        }
+
     }
 }
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.mongodb.outbox;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.kie.kogito.event.MessageOutboxStore.StoredMessage;
+import org.kie.kogito.mongodb.transaction.AbstractTransactionManager;
+import org.kie.kogito.testcontainers.KogitoMongoDBContainer;
+import org.kie.kogito.uow.events.UnitOfWorkAbortEvent;
+import org.kie.kogito.uow.events.UnitOfWorkEndEvent;
+import org.kie.kogito.uow.events.UnitOfWorkStartEvent;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Testcontainers
+public class MongoDBMessageOutboxStoreIT {
+
+    static class TestTransactionManager extends AbstractTransactionManager {
+
+        public TestTransactionManager(MongoClient mongoClient) {
+            super(mongoClient, true);
+        }
+    }
+
+    @Container
+    private static KogitoMongoDBContainer mongoDBContainer = new KogitoMongoDBContainer();
+    private static MongoClient mongoClient;
+    private static AbstractTransactionManager transactionManager;
+    private static MongoDBMessageOutboxStore store;
+
+    @BeforeAll
+    public static void setUp() {
+        mongoDBContainer.start();
+        mongoClient = MongoClients.create(mongoDBContainer.getReplicaSetUrl());
+        transactionManager = new TestTransactionManager(mongoClient);
+        store = new MongoDBMessageOutboxStore(mongoClient, "testdb", transactionManager);
+    }
+
+    @AfterAll
+    public static void tearDown() {
+        mongoDBContainer.stop();
+    }
+
+    @Test
+    public void testStoredWithTransaction() {
+        transactionManager.onBeforeStartEvent(new UnitOfWorkStartEvent(null));
+        store.store("message-1", "committed", "payload".getBytes());
+        assertThat(store.claim(Collections.singleton("committed"), 10, 60000)).isEmpty();
+        transactionManager.onAfterEndEvent(new UnitOfWorkEndEvent(null));
+
+        transactionManager.onBeforeStartEvent(new UnitOfWorkStartEvent(null));
+        store.store("message-2", "committed", "payload".getBytes());
+        transactionManager.onAfterAbortEvent(new UnitOfWorkAbortEvent(null));
+
+        assertThat(store.claim(Collections.singleton("committed"), 10, 60000)).extracting(StoredMessage::getId).containsExactly("message-1");
+    }
+
+    @Test
+    public void testClaimRetryAndDelete() throws InterruptedException {
+        store.store("message-3", "claimed", "payload".getBytes());
+
+        List<StoredMessage> claimed = store.claim(Collections.singleton("claimed"), 10, 60000);
+        assertThat(claimed).hasSize(1);
+        assertThat(claimed.get(0).getPayload()).isEqualTo("payload".getBytes());
+        assertThat(claimed.get(0).getAttempts()).isZero();
+        assertThat(store.claim(Collections.singleton("claimed"), 10, 60000)).isEmpty();
+
+        store.retry("message-3", 10);
+        Thread.sleep(50);
+        claimed = store.claim(Collections.singleton("claimed"), 10, 60000);
+        assertThat(claimed).hasSize(1);
+        assertThat(claimed.get(0).getAttempts()).isEqualTo(1);
+
+        store.delete(Collections.singleton("message-3"));
+        Thread.sleep(10);
+        assertThat(store.claim(Collections.singleton("claimed"), 10, 60000)).isEmpty();
+    }
+}
@@ -26,6 +26,10 @@ public abstract class AbstractProcessInstancesFactory implements ProcessInstance
     private final PgPool client;
     private final Boolean autoDDL;
     private final Boolean lock;
+    private final Boolean batchWrites;
+    private final Boolean trustedWrite;
+    private final Boolean indexEventTypes;
+    private final Boolean binaryJson;
 
     // Constructor for DI
     protected AbstractProcessInstancesFactory() {
@@ -33,10 +37,31 @@ public abstract class AbstractProcessInstancesFactory implements ProcessInstance
     }
 
     public AbstractProcessInstancesFactory(PgPool client, Boolean autoDDL, Long queryTimeout, Boolean lock) {
+        this(client, autoDDL, queryTimeout, lock, false);
+    }
+
+    public AbstractProcessInstancesFactory(PgPool client, Boolean autoDDL, Long queryTimeout, Boolean lock, Boolean batchWrites) {
+        this(client, autoDDL, queryTimeout, lock, batchWrites, false);
+    }
+
+    public AbstractProcessInstancesFactory(PgPool client, Boolean autoDDL, Long queryTimeout, Boolean lock, Boolean batchWrites, Boolean trustedWrite) {
+        this(client, autoDDL, queryTimeout, lock, batchWrites, trustedWrite, false);
+    }
+
+    public AbstractProcessInstancesFactory(PgPool client, Boolean autoDDL, Long queryTimeout, Boolean lock, Boolean batchWrites, Boolean trustedWrite, Boolean indexEventTypes) {
+        this(client, autoDDL, queryTimeout, lock, batchWrites, trustedWrite, indexEventTypes, false);
+    }
+
+    public AbstractProcessInstancesFactory(PgPool client, Boolean autoDDL, Long queryTimeout, Boolean lock, Boolean batchWrites, Boolean trustedWrite, Boolean indexEventTypes,
+            Boolean binaryJson) {
         this.client = client;
         this.autoDDL = autoDDL;
         this.queryTimeout = queryTimeout;
         this.lock = lock;
+        this.batchWrites = batchWrites;
+        this.trustedWrite = trustedWrite;
+        this.indexEventTypes = indexEventTypes;
+        this.binaryJson = binaryJson;
     }
 
     public PgPool client() {
@@ -49,6 +74,7 @@ public abstract class AbstractProcessInstancesFactory implements ProcessInstance
 
     @Override
     public PostgresqlProcessInstances createProcessInstances(Process<?> process) {
-        return new PostgresqlProcessInstances(process, client(), autoDDL, queryTimeout, lock());
+        return new PostgresqlProcessInstances(process, client(), autoDDL, queryTimeout, lock(), batchWrites, Boolean.TRUE.equals(trustedWrite),
+                Boolean.TRUE.equals(indexEventTypes), Boolean.TRUE.equals(binaryJson));
     }
 }
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.persistence.postgresql;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Supplier;
+
+import org.kie.kogito.uow.WorkUnitBatch;
+
+/**
+ * Process instance writes deferred until the asynchronous batch they were done in is flushed, each one performed
+ * through the non blocking operations of the storage once the previous one completed. Only the last write of a
+ * process instance is kept, as it carries the state the process instance ended up with.
+ */
+class PostgresqlAsyncWrites implements WorkUnitBatch.Participant {
+
+    private final Map<String, Supplier<CompletionStage<Void>>> writes = new LinkedHashMap<>();
+
+    void add(String id, Supplier<CompletionStage<Void>> write) {
+        writes.remove(id);
+        writes.put(id, write);
+    }
+
+    @Override
+    public void flush() {
+        flushAsync().toCompletableFuture().join();
+    }
+
+    @Override
+    public CompletionStage<Void> flushAsync() {
+        List<Supplier<CompletionStage<Void>>> toWrite = new ArrayList<>(writes.values());
+        writes.clear();
+        CompletionStage<Void> written = CompletableFuture.completedFuture(null);
+        for (Supplier<CompletionStage<Void>> write : toWrite) {
+            written = written.thenCompose(v -> write.get());
+        }
+        return written;
+    }
+}
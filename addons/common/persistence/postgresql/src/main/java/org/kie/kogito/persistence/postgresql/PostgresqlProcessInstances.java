@@ -16,19 +16,31 @@
 package org.kie.kogito.persistence.postgresql;
 
 import java.io.InputStream;
+import java.lang.ref.WeakReference;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
+import org.kie.kogito.process.AsyncMutableProcessInstances;
 import org.kie.kogito.process.MutableProcessInstances;
 import org.kie.kogito.process.Process;
 import org.kie.kogito.process.ProcessInstance;
@@ -36,6 +48,7 @@ import org.kie.kogito.process.ProcessInstanceOptimisticLockingException;
 import org.kie.kogito.process.ProcessInstanceReadMode;
 import org.kie.kogito.process.impl.AbstractProcessInstance;
 import org.kie.kogito.serialization.process.ProcessInstanceMarshallerService;
+import org.kie.kogito.uow.WorkUnitBatch;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -45,12 +58,18 @@ import io.vertx.pgclient.PgPool;
 import io.vertx.sqlclient.Row;
 import io.vertx.sqlclient.RowIterator;
 import io.vertx.sqlclient.RowSet;
+import io.vertx.sqlclient.SqlClient;
 import io.vertx.sqlclient.Tuple;
 
 import static org.kie.kogito.process.ProcessInstanceReadMode.MUTABLE;
 
+/**
+ * Process instances stored in PostgreSQL through the reactive client. Besides the blocking {@link MutableProcessInstances}
+ * operations, which wait for the query to complete at most <code>queryTimeoutMillis</code>, the storage provides the
+ * non-blocking {@link AsyncMutableProcessInstances} ones, completed on the client event loop.
+ */
 @SuppressWarnings({ "rawtypes" })
-public class PostgresqlProcessInstances implements MutableProcessInstances {
+public class PostgresqlProcessInstances implements AsyncMutableProcessInstances {
 
     private static final String VERSION = "version";
 
@@ -62,9 +81,18 @@ public class PostgresqlProcessInstances implements MutableProcessInstances {
     private static final String UPDATE = "UPDATE process_instances SET payload = $1 WHERE process_id = $2 and id = $3 and process_version ";
     private static final String DELETE = "DELETE FROM process_instances WHERE process_id = $1 and id = $2 and process_version ";
     private static final String FIND_BY_ID = "SELECT payload, version FROM process_instances WHERE process_id = $1 and id = $2 and process_version ";
+    private static final String EXISTS = "SELECT 1 FROM process_instances WHERE process_id = $1 and id = $2 and process_version ";
     private static final String FIND_ALL = "SELECT payload FROM process_instances WHERE process_id = $1 and process_version ";
+    private static final String FIND_NEXT_KEYS = "SELECT id, payload FROM process_instances WHERE process_id = $1 and id > $2 and process_version ";
+    private static final UUID FIRST_KEY = new UUID(0L, 0L);
+    private static final int PAGE_SIZE = 100;
     private static final String COUNT = "SELECT COUNT(id) FROM process_instances WHERE process_id = $1 and process_version ";
     private static final String UPDATE_WITH_LOCK = "UPDATE process_instances SET payload = $1, version = $2 WHERE process_id = $3 and id = $4 and version = $5 and process_version ";
+    private static final String DELETE_EVENT_TYPES = "DELETE FROM process_instance_event_types WHERE process_instance_id = $1";
+    private static final String INSERT_EVENT_TYPE = "INSERT INTO process_instance_event_types (process_instance_id, event_type) VALUES ($1, $2)";
+    private static final String FIND_NEXT_WAITING_KEYS = "SELECT id, payload FROM process_instances WHERE process_id = $1 and id > $2 " +
+            "and id IN (SELECT process_instance_id FROM process_instance_event_types WHERE event_type = $3 or event_type = '*') and process_version ";
+    private static final int MAX_STORED_EVENT_TYPES = 1000;
 
     private final Process<?> process;
     private final PgPool client;
@@ -72,20 +100,71 @@ public class PostgresqlProcessInstances implements MutableProcessInstances {
     private final boolean autoDDL;
     private final Long queryTimeoutMillis;
     private final boolean lock;
+    private final boolean batchWrites;
+    private final boolean trustedWrite;
+    private final boolean indexEventTypes;
+    private final Map<String, StoredEventTypes> storedEventTypes = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, StoredEventTypes> eldest) {
+            return size() > MAX_STORED_EVENT_TYPES;
+        }
+    });
 
     public PostgresqlProcessInstances(Process<?> process, PgPool client, boolean autoDDL, Long queryTimeoutMillis, boolean lock) {
+        this(process, client, autoDDL, queryTimeoutMillis, lock, false);
+    }
+
+    /**
+     * When <code>batchWrites</code> is enabled, writes done while a unit of work is ending are deferred into the
+     * {@link WorkUnitBatch} of the unit of work, so they are flushed together as pipelined queries in a single transaction.
+     */
+    public PostgresqlProcessInstances(Process<?> process, PgPool client, boolean autoDDL, Long queryTimeoutMillis, boolean lock, boolean batchWrites) {
+        this(process, client, autoDDL, queryTimeoutMillis, lock, batchWrites, false);
+    }
+
+    /**
+     * When <code>trustedWrite</code> is enabled, an updated process instance is reloaded from the payload it was just
+     * written with instead of being read back from the storage.
+     */
+    public PostgresqlProcessInstances(Process<?> process, PgPool client, boolean autoDDL, Long queryTimeoutMillis, boolean lock, boolean batchWrites, boolean trustedWrite) {
+        this(process, client, autoDDL, queryTimeoutMillis, lock, batchWrites, trustedWrite, false);
+    }
+
+    public PostgresqlProcessInstances(Process<?> process, PgPool client, boolean autoDDL, Long queryTimeoutMillis, boolean lock, boolean batchWrites, boolean trustedWrite,
+            boolean indexEventTypes) {
+        this(process, client, autoDDL, queryTimeoutMillis, lock, batchWrites, trustedWrite, indexEventTypes, false);
+    }
+
+    /**
+     * When <code>indexEventTypes</code> is enabled, the event types each process instance is listening on are written
+     * to the process_instance_event_types table in the same transaction as the process instance, so broadcast signals
+     * only load the instances that may accept them. The rows are only replaced when the event types changed since the
+     * process instance was read or written. Existing process instances are indexed with a wildcard when the table is
+     * created, so the table should be dropped before enabling the index again after running without it.
+     * <p>
+     * When <code>binaryJson</code> is enabled, json node variables are written as Smile instead of text.
+     */
+    public PostgresqlProcessInstances(Process<?> process, PgPool client, boolean autoDDL, Long queryTimeoutMillis, boolean lock, boolean batchWrites, boolean trustedWrite,
+            boolean indexEventTypes, boolean binaryJson) {
         this.process = process;
+        this.indexEventTypes = indexEventTypes;
+        this.batchWrites = batchWrites;
+        this.trustedWrite = trustedWrite;
         this.client = client;
         this.autoDDL = autoDDL;
         this.queryTimeoutMillis = queryTimeoutMillis;
-        this.marshaller = ProcessInstanceMarshallerService.newBuilder().withDefaultObjectMarshallerStrategies().build();
+        this.marshaller = ProcessInstanceMarshallerService.newBuilder().withDefaultObjectMarshallerStrategies().withDirectWrite().withBinaryJsonNodes(binaryJson).build();
         this.lock = lock;
         init();
     }
 
     @Override
     public boolean exists(String id) {
-        return findById(id).isPresent();
+        UUID uuid = UUID.fromString(id);
+        return await(withError(client.preparedQuery(EXISTS + (process.version() == null ? IS_NULL : "= $3"))
+                .execute(tuple(process.id(), uuid))
+                .map(rows -> rows.size() > 0),
+                "Error finding process instance %s", uuid));
     }
 
     @SuppressWarnings("unchecked")
@@ -95,7 +174,21 @@ public class PostgresqlProcessInstances implements MutableProcessInstances {
             disconnect(instance);
             return;
         }
-        insertInternal(UUID.fromString(id), marshaller.marshallProcessInstance(instance));
+        Optional<PostgresqlAsyncWrites> asyncWrites = asyncWrites();
+        if (asyncWrites.isPresent()) {
+            asyncWrites.get().add(id, () -> createAsync(id, instance));
+            return;
+        }
+        byte[] payload = marshaller.marshallProcessInstance(instance);
+        Collection<String> eventTypes = indexEventTypes ? listeningEventTypes(instance) : null;
+        Optional<PostgresqlWriteBatch> batch = writeBatch();
+        if (batch.isPresent()) {
+            batch.get().add(INSERT, Tuple.of(UUID.fromString(id), Buffer.buffer(payload), process.id(), process.version(), 0L), id, false);
+            replaceEventTypes(batch.get(), UUID.fromString(id), eventTypes);
+        } else {
+            await(insertQuery(UUID.fromString(id), payload, eventTypes));
+            rememberEventTypes(id, instance, eventTypes);
+        }
     }
 
     @SuppressWarnings("unchecked")
@@ -105,41 +198,236 @@ public class PostgresqlProcessInstances implements MutableProcessInstances {
             disconnect(instance);
             return;
         }
-        try {
+        Optional<PostgresqlAsyncWrites> asyncWrites = asyncWrites();
+        if (asyncWrites.isPresent()) {
+            asyncWrites.get().add(id, () -> updateAsync(id, instance));
+            return;
+        }
+        Collection<String> eventTypes = changedEventTypes(id, instance);
+        Optional<PostgresqlWriteBatch> batch = writeBatch();
+        if (batch.isPresent()) {
+            byte[] payload = marshaller.marshallProcessInstance(instance);
+            // the outcome of the write is only known once the batch is flushed
+            storedEventTypes.remove(id);
             if (lock) {
-                updateWithLock(UUID.fromString(id), marshaller.marshallProcessInstance(instance), instance.version());
+                batch.get().add(UPDATE_WITH_LOCK + (process.version() == null ? IS_NULL : "= $6"),
+                        tuple(Buffer.buffer(payload), instance.version() + 1, process.id(), UUID.fromString(id), instance.version()), id, true);
+                ((AbstractProcessInstance<?>) instance).setVersion(instance.version() + 1);
             } else {
-                updateInternal(UUID.fromString(id), marshaller.marshallProcessInstance(instance));
+                batch.get().add(UPDATE + (process.version() == null ? IS_NULL : "= $4"), tuple(Buffer.buffer(payload), process.id(), UUID.fromString(id)), id, false);
             }
+            replaceEventTypes(batch.get(), UUID.fromString(id), eventTypes);
+            // the write is not in the storage yet, so the instance can only be reloaded from the written payload
+            disconnect(instance, payload);
+            return;
+        }
+        byte[] payload = marshaller.marshallProcessInstance(instance);
+        boolean updated = false;
+        try {
+            await(updateInstanceQuery(UUID.fromString(id), instance, payload, eventTypes));
+            updated = true;
+            rememberEventTypes(id, instance, eventTypes);
+        } catch (RuntimeException e) {
+            storedEventTypes.remove(id);
+            throw e;
         } finally {
+            disconnectUpdated(instance, updated ? payload : null);
+        }
+    }
+
+    private Future<Void> updateInstanceQuery(UUID id, ProcessInstance instance, byte[] payload, Collection<String> eventTypes) {
+        return lock ? updateWithLockQuery(id, payload, instance.version(), eventTypes) : updateQuery(id, payload, eventTypes);
+    }
+
+    private void disconnectUpdated(ProcessInstance instance, byte[] written) {
+        if (trustedWrite && written != null) {
+            if (lock) {
+                ((AbstractProcessInstance<?>) instance).setVersion(instance.version() + 1);
+            }
+            disconnect(instance, written);
+        } else {
             disconnect(instance);
         }
     }
 
     @Override
     public void remove(String id) {
-        deleteInternal(UUID.fromString(id));
+        Optional<PostgresqlAsyncWrites> asyncWrites = asyncWrites();
+        if (asyncWrites.isPresent()) {
+            asyncWrites.get().add(id, () -> removeAsync(id));
+            return;
+        }
+        storedEventTypes.remove(id);
+        Optional<PostgresqlWriteBatch> batch = writeBatch();
+        if (batch.isPresent()) {
+            batch.get().add(DELETE + (process.version() == null ? IS_NULL : "= $3"), tuple(process.id(), UUID.fromString(id)), id, false);
+            replaceEventTypes(batch.get(), UUID.fromString(id), removedEventTypes());
+        } else {
+            await(deleteQuery(UUID.fromString(id)));
+        }
+    }
+
+    private Optional<PostgresqlWriteBatch> writeBatch() {
+        return batchWrites ? WorkUnitBatch.current().map(b -> b.participant(client, () -> new PostgresqlWriteBatch(client, queryTimeoutMillis))) : Optional.empty();
+    }
+
+    /*
+     * Writes done within an asynchronous batch are performed through the non blocking operations once it is flushed,
+     * unless writes are batched, the write batch being flushed without blocking as well
+     */
+    private Optional<PostgresqlAsyncWrites> asyncWrites() {
+        return batchWrites ? Optional.empty() : WorkUnitBatch.current().filter(WorkUnitBatch::isAsync).map(b -> b.participant(this, PostgresqlAsyncWrites::new));
     }
 
+    @SuppressWarnings("unchecked")
     @Override
-    public Optional<ProcessInstance> findById(String id, ProcessInstanceReadMode mode) {
-        Optional<Row> row = findByIdInternal(UUID.fromString(id));
-
-        if (row.isPresent()) {
-            Optional<byte[]> payload = row.map(r -> r.getBuffer(PAYLOAD)).map(Buffer::getBytes);
-            if (payload.isPresent()) {
-                ProcessInstance<?> instance = mode == MUTABLE ? marshaller.unmarshallProcessInstance(payload.get(), process) : marshaller.unmarshallReadOnlyProcessInstance(payload.get(), process);
-                ((AbstractProcessInstance) instance).setVersion(row.get().getLong(VERSION));
-                return Optional.of(instance);
-            }
+    public CompletionStage<Void> createAsync(String id, ProcessInstance instance) {
+        if (!isActive(instance)) {
+            disconnect(instance);
+            return CompletableFuture.completedFuture(null);
         }
-        return Optional.empty();
+        Collection<String> eventTypes = indexEventTypes ? listeningEventTypes(instance) : null;
+        return async(insertQuery(UUID.fromString(id), marshaller.marshallProcessInstance(instance), eventTypes).onSuccess(v -> rememberEventTypes(id, instance, eventTypes)));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public CompletionStage<Void> updateAsync(String id, ProcessInstance instance) {
+        if (!isActive(instance)) {
+            disconnect(instance);
+            return CompletableFuture.completedFuture(null);
+        }
+        byte[] payload = marshaller.marshallProcessInstance(instance);
+        Collection<String> eventTypes = changedEventTypes(id, instance);
+        return async(updateInstanceQuery(UUID.fromString(id), instance, payload, eventTypes).onComplete(r -> {
+            if (r.succeeded()) {
+                rememberEventTypes(id, instance, eventTypes);
+            } else {
+                storedEventTypes.remove(id);
+            }
+            disconnectUpdated(instance, r.succeeded() ? payload : null);
+        }));
+    }
+
+    @Override
+    public CompletionStage<Void> removeAsync(String id) {
+        storedEventTypes.remove(id);
+        return async(deleteQuery(UUID.fromString(id)));
+    }
+
+    @Override
+    public Optional<ProcessInstance> findById(String id, ProcessInstanceReadMode mode) {
+        return findByIdInternal(UUID.fromString(id)).map(row -> unmarshall(row, mode));
+    }
+
+    @Override
+    public CompletionStage<Optional<ProcessInstance>> findByIdAsync(String id, ProcessInstanceReadMode mode) {
+        return async(findByIdQuery(UUID.fromString(id)).map(row -> row.map(r -> unmarshall(r, mode))));
+    }
+
+    private ProcessInstance unmarshall(Row row, ProcessInstanceReadMode mode) {
+        ProcessInstance instance = unmarshall(row.getBuffer(PAYLOAD).getBytes(), mode);
+        ((AbstractProcessInstance) instance).setVersion(row.getLong(VERSION));
+        return instance;
     }
 
     @Override
     public Collection<ProcessInstance> values(ProcessInstanceReadMode mode) {
-        return findAllInternal().stream().map(b -> mode == MUTABLE ? marshaller.unmarshallProcessInstance(b, process) : marshaller.unmarshallReadOnlyProcessInstance(b, process))
-                .collect(Collectors.toList());
+        try (Stream<ProcessInstance> stream = stream(mode)) {
+            return stream.collect(Collectors.toList());
+        }
+    }
+
+    @Override
+    public Collection<ProcessInstance> values(ProcessInstanceReadMode mode, int offset, int limit) {
+        return findAllInternal(offset, limit).stream().map(b -> unmarshall(b, mode)).collect(Collectors.toList());
+    }
+
+    @Override
+    public CompletionStage<Collection<ProcessInstance>> valuesAsync(ProcessInstanceReadMode mode, int offset, int limit) {
+        return async(findAllQuery(offset, limit).<Collection<ProcessInstance>> map(payloads -> payloads.stream().map(b -> unmarshall(b, mode)).collect(Collectors.toList())));
+    }
+
+    @Override
+    public Stream<ProcessInstance> stream(ProcessInstanceReadMode mode) {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(new PayloadIterator(), Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .map(b -> unmarshall(b, mode));
+    }
+
+    @Override
+    public Stream<ProcessInstance> waitingForEventType(String eventType, ProcessInstanceReadMode mode) {
+        if (!indexEventTypes) {
+            return stream(mode);
+        }
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(new PayloadIterator(eventType), Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .map(b -> unmarshall(b, mode));
+    }
+
+    private ProcessInstance unmarshall(byte[] payload, ProcessInstanceReadMode mode) {
+        if (mode != MUTABLE) {
+            return marshaller.unmarshallReadOnlyProcessInstance(payload, process);
+        }
+        ProcessInstance<?> instance = marshaller.unmarshallProcessInstance(payload, process);
+        if (indexEventTypes) {
+            // the stored event types were computed from the stored state, so they match the ones of the instance just read
+            rememberEventTypes(instance.id(), instance, listeningEventTypes(instance));
+        }
+        return instance;
+    }
+
+    private static Set<String> listeningEventTypes(ProcessInstance<?> instance) {
+        return ((AbstractProcessInstance<?>) instance).listeningEventTypes();
+    }
+
+    /*
+     * Event types to write for the process instance, null when the index is disabled or already up to date
+     */
+    private Collection<String> changedEventTypes(String id, ProcessInstance<?> instance) {
+        if (!indexEventTypes) {
+            return null;
+        }
+        Set<String> eventTypes = listeningEventTypes(instance);
+        StoredEventTypes stored = storedEventTypes.get(id);
+        return stored != null && stored.isOf(instance) && stored.eventTypes.equals(eventTypes) ? null : eventTypes;
+    }
+
+    private void rememberEventTypes(String id, ProcessInstance<?> instance, Collection<String> eventTypes) {
+        if (eventTypes != null) {
+            storedEventTypes.put(id, new StoredEventTypes(instance, eventTypes));
+        }
+    }
+
+    private Collection<String> removedEventTypes() {
+        return indexEventTypes ? Collections.emptyList() : null;
+    }
+
+    private static void replaceEventTypes(PostgresqlWriteBatch batch, UUID id, Collection<String> eventTypes) {
+        if (eventTypes == null) {
+            return;
+        }
+        batch.addRelated(DELETE_EVENT_TYPES, Tuple.of(id));
+        for (String eventType : eventTypes) {
+            batch.addRelated(INSERT_EVENT_TYPE, Tuple.of(id, eventType));
+        }
+    }
+
+    /**
+     * Executes the given write along with the replacement of the event types of the process instance in one transaction,
+     * or alone when there are no event types to write
+     */
+    private Future<Void> withEventTypes(UUID id, Collection<String> eventTypes, Function<SqlClient, Future<Void>> write) {
+        if (eventTypes == null) {
+            return write.apply(client);
+        }
+        return client.withTransaction(connection -> write.apply(connection).compose(v -> {
+            Future<Void> deleted = connection.preparedQuery(DELETE_EVENT_TYPES).execute(Tuple.of(id)).mapEmpty();
+            if (eventTypes.isEmpty()) {
+                return deleted;
+            }
+            return deleted.compose(d -> connection.preparedQuery(INSERT_EVENT_TYPE)
+                    .executeBatch(eventTypes.stream().map(eventType -> Tuple.of(id, eventType)).collect(Collectors.toList()))
+                    .mapEmpty());
+        }));
     }
 
     @Override
@@ -153,101 +441,182 @@ public class PostgresqlProcessInstances implements MutableProcessInstances {
     }
 
     private void disconnect(ProcessInstance instance) {
-        Supplier<byte[]> supplier = () -> {
+        ((AbstractProcessInstance<?>) instance).internalRemoveProcessInstance(marshaller.createdReloadFunction(reloadSupplier(instance)));
+    }
+
+    private void disconnect(ProcessInstance instance, byte[] written) {
+        ((AbstractProcessInstance<?>) instance).internalRemoveProcessInstance(marshaller.createdReloadFunction(written));
+    }
+
+    private Supplier<byte[]> reloadSupplier(ProcessInstance instance) {
+        return () -> {
             Optional<Row> row = findByIdInternal(UUID.fromString(instance.id()));
             ((AbstractProcessInstance) instance).setVersion(row.get().getLong(VERSION));
             return row.map(r -> r.getBuffer(PAYLOAD)).map(Buffer::getBytes).get();
         };
-        ((AbstractProcessInstance<?>) instance).internalRemoveProcessInstance(marshaller.createdReloadFunction(supplier));
     }
 
-    private boolean insertInternal(UUID id, byte[] payload) {
-        try {
-            Future<RowSet<Row>> future = client.preparedQuery(INSERT)
-                    .execute(Tuple.of(id, Buffer.buffer(payload), process.id(), process.version(), 0L));
-            return getExecutedResult(future);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw uncheckedException(e, "Error inserting process instance %s", id);
-        } catch (Exception e) {
-            throw uncheckedException(e, "Error inserting process instance %s", id);
-        }
+    private Future<Void> insertQuery(UUID id, byte[] payload, Collection<String> eventTypes) {
+        return withError(withEventTypes(id, eventTypes, c -> c.preparedQuery(INSERT)
+                .execute(Tuple.of(id, Buffer.buffer(payload), process.id(), process.version(), 0L)).mapEmpty()), "Error inserting process instance %s", id);
     }
 
-    private RuntimeException uncheckedException(Exception ex, String message, Object... param) {
+    private RuntimeException uncheckedException(Throwable ex, String message, Object... param) {
         return new RuntimeException(String.format(message, param), ex);
     }
 
-    private boolean updateInternal(UUID id, byte[] payload) {
-        try {
-            Future<RowSet<Row>> future =
-                    client.preparedQuery(UPDATE + (process.version() == null ? IS_NULL : "= $4"))
-                            .execute(tuple(Buffer.buffer(payload), process.id(), id));
-            return getExecutedResult(future);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw uncheckedException(e, "Error updating process instance %s", id);
-        } catch (Exception e) {
-            throw uncheckedException(e, "Error updating process instance %s", id);
-        }
+    private Future<Void> updateQuery(UUID id, byte[] payload, Collection<String> eventTypes) {
+        return withError(withEventTypes(id, eventTypes, c -> c.preparedQuery(UPDATE + (process.version() == null ? IS_NULL : "= $4"))
+                .execute(tuple(Buffer.buffer(payload), process.id(), id)).mapEmpty()), "Error updating process instance %s", id);
     }
 
-    private boolean deleteInternal(UUID id) {
-        try {
-            Future<RowSet<Row>> future = client.preparedQuery(DELETE + (process.version() == null ? IS_NULL : "= $3"))
-                    .execute(tuple(process.id(), id));
-            return getExecutedResult(future);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw uncheckedException(e, "Error deleting process instance %s", id);
-        } catch (Exception e) {
-            throw uncheckedException(e, "Error deleting process instance %s", id);
-        }
+    private Future<Void> updateWithLockQuery(UUID id, byte[] payload, long version, Collection<String> eventTypes) {
+        return withError(withEventTypes(id, eventTypes, c -> c.preparedQuery(UPDATE_WITH_LOCK + (process.version() == null ? IS_NULL : "= $6"))
+                .execute(tuple(Buffer.buffer(payload), version + 1, process.id(), id, version))
+                .compose(rows -> rows.rowCount() == 1 ? Future.<Void> succeededFuture() : Future.<Void> failedFuture(new ProcessInstanceOptimisticLockingException(id.toString())))),
+                "Error updating process instance %s", id);
+    }
+
+    private Future<Void> deleteQuery(UUID id) {
+        return withError(withEventTypes(id, removedEventTypes(), c -> c.preparedQuery(DELETE + (process.version() == null ? IS_NULL : "= $3"))
+                .execute(tuple(process.id(), id)).mapEmpty()), "Error deleting process instance %s", id);
     }
 
-    private Boolean getExecutedResult(Future<RowSet<Row>> future) throws ExecutionException, TimeoutException, InterruptedException {
+    private Future<Optional<Row>> findByIdQuery(UUID id) {
+        return withError(client.preparedQuery(FIND_BY_ID + (process.version() == null ? IS_NULL : "= $3"))
+                .execute(tuple(process.id(), id))
+                .map(rows -> Optional.ofNullable(rows).map(RowSet::iterator).filter(Iterator::hasNext).map(Iterator::next)),
+                "Error finding process instance %s", id);
+    }
+
+    private Optional<Row> findByIdInternal(UUID id) {
+        return await(findByIdQuery(id));
+    }
+
+    private Future<List<byte[]>> findAllQuery(int offset, int limit) {
+        return withError(client.preparedQuery(FIND_ALL + (process.version() == null ? IS_NULL + " ORDER BY id LIMIT $2 OFFSET $3" : "= $2 ORDER BY id LIMIT $3 OFFSET $4"))
+                .execute(pageTuple(Tuple.of(process.id()), limit, offset))
+                .map(rows -> StreamSupport.stream(rows.spliterator(), false).map(row -> row.getBuffer(PAYLOAD)).map(Buffer::getBytes).collect(Collectors.toList())),
+                "Error finding process instances page, for processId %s", process.id());
+    }
+
+    private List<byte[]> findAllInternal(int offset, int limit) {
+        return await(findAllQuery(offset, limit));
+    }
+
+    /**
+     * Wraps the failure of the given query, if any, into an unchecked exception carrying the given message.
+     * Optimistic locking failures are kept as they are.
+     */
+    private <R> Future<R> withError(Future<R> query, String message, Object... params) {
+        return query.recover(e -> Future.failedFuture(e instanceof ProcessInstanceOptimisticLockingException ? e : uncheckedException(e, message, params)));
+    }
+
+    private <R> CompletionStage<R> async(Future<R> query) {
+        return query.toCompletionStage().toCompletableFuture().orTimeout(queryTimeoutMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Blocks the calling thread until the given query completes, at most {@link #queryTimeoutMillis}
+     */
+    private <R> R await(Future<R> query) {
         try {
-            return getResultFromFuture(future).map(RowSet::rowCount).map(count -> count == 1).orElse(false);
+            return query.toCompletionStage().toCompletableFuture().get(queryTimeoutMillis, TimeUnit.MILLISECONDS);
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
-            throw e;
+            throw uncheckedException(e, "Interrupted while waiting for query on process instances, for processId %s", process.id());
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw uncheckedException(e.getCause(), "Error executing query on process instances, for processId %s", process.id());
+        } catch (TimeoutException e) {
+            throw uncheckedException(e, "Timeout executing query on process instances, for processId %s", process.id());
         }
     }
 
-    private Optional<RowSet<Row>> getResultFromFuture(Future<RowSet<Row>> future) throws ExecutionException, TimeoutException, InterruptedException {
-        try {
-            return Optional.ofNullable(future.toCompletionStage().toCompletableFuture().get(queryTimeoutMillis, TimeUnit.MILLISECONDS));
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw e;
+    private List<Row> findNextWaitingInternal(String eventType, UUID lastId, int limit) {
+        return await(withError(client.preparedQuery(FIND_NEXT_WAITING_KEYS + (process.version() == null ? IS_NULL + " ORDER BY id LIMIT $4" : "= $4 ORDER BY id LIMIT $5"))
+                .execute(pageTuple(Tuple.of(process.id(), lastId, eventType), limit))
+                .map(rows -> StreamSupport.stream(rows.spliterator(), false).collect(Collectors.toList())),
+                "Error finding process instances waiting for %s after %s, for processId %s", eventType, lastId, process.id()));
+    }
+
+    private List<Row> findNextInternal(UUID lastId, int limit) {
+        return await(withError(client.preparedQuery(FIND_NEXT_KEYS + (process.version() == null ? IS_NULL + " ORDER BY id LIMIT $3" : "= $3 ORDER BY id LIMIT $4"))
+                .execute(pageTuple(Tuple.of(process.id(), lastId), limit))
+                .map(rows -> StreamSupport.stream(rows.spliterator(), false).collect(Collectors.toList())),
+                "Error finding process instances after %s, for processId %s", lastId, process.id()));
+    }
+
+    private Tuple pageTuple(Tuple tuple, Object... pageParameters) {
+        if (process.version() != null) {
+            tuple.addValue(process.version());
         }
+        for (Object parameter : pageParameters) {
+            tuple.addValue(parameter);
+        }
+        return tuple;
     }
 
-    private Optional<Row> findByIdInternal(UUID id) {
-        try {
-            Future<RowSet<Row>> future =
-                    client.preparedQuery(FIND_BY_ID + (process.version() == null ? IS_NULL : "= $3"))
-                            .execute(tuple(process.id(), id));
-            return getResultFromFuture(future).map(RowSet::iterator).filter(Iterator::hasNext).map(Iterator::next);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw uncheckedException(e, "Error finding process instance %s", id);
-        } catch (Exception e) {
-            throw uncheckedException(e, "Error finding process instance %s", id);
+    /**
+     * Iterates over the stored payloads fetching them in pages of {@link #PAGE_SIZE}, so only one page is kept in memory.
+     */
+    private class PayloadIterator implements Iterator<byte[]> {
+
+        private final String eventType;
+        private UUID lastId = FIRST_KEY;
+        private Iterator<Row> page = Collections.emptyIterator();
+        private boolean exhausted;
+
+        PayloadIterator() {
+            this(null);
+        }
+
+        /**
+         * @param eventType when not null, only the process instances indexed as listening on it are iterated
+         */
+        PayloadIterator(String eventType) {
+            this.eventType = eventType;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (!page.hasNext() && !exhausted) {
+                List<Row> next = eventType == null ? findNextInternal(lastId, PAGE_SIZE) : findNextWaitingInternal(eventType, lastId, PAGE_SIZE);
+                exhausted = next.size() < PAGE_SIZE;
+                page = next.iterator();
+            }
+            return page.hasNext();
+        }
+
+        @Override
+        public byte[] next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Row row = page.next();
+            lastId = row.getUUID("id");
+            return row.getBuffer(PAYLOAD).getBytes();
         }
     }
 
-    private List<byte[]> findAllInternal() {
-        try {
-            Future<RowSet<Row>> future = client.preparedQuery(FIND_ALL + (process.version() == null ? IS_NULL : "= $2"))
-                    .execute(tuple(process.id()));
-            return getResultFromFuture(future).map(r -> StreamSupport.stream(r.spliterator(), false).map(row -> row.getBuffer(PAYLOAD)).map(Buffer::getBytes).collect(Collectors.toList()))
-                    .orElseGet(Collections::emptyList);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw uncheckedException(e, "Error finding all process instances, for processId %s", process.id());
-        } catch (Exception e) {
-            throw uncheckedException(e, "Error finding all process instances, for processId %s", process.id());
+    /**
+     * Event types stored for a process instance, only trusted for the process instance object they were read or written
+     * with, since other nodes may have updated the instance since.
+     */
+    private static class StoredEventTypes {
+
+        private final WeakReference<ProcessInstance<?>> instance;
+        private final Collection<String> eventTypes;
+
+        StoredEventTypes(ProcessInstance<?> instance, Collection<String> eventTypes) {
+            this.instance = new WeakReference<>(instance);
+            this.eventTypes = eventTypes;
+        }
+
+        boolean isOf(ProcessInstance<?> instance) {
+            return this.instance.get() == instance;
         }
     }
 
@@ -260,16 +629,10 @@ public class PostgresqlProcessInstances implements MutableProcessInstances {
     }
 
     private Long countInternal() {
-        try {
-            Future<RowSet<Row>> future = client.preparedQuery(COUNT + (process.version() == null ? IS_NULL : "= $2"))
-                    .execute(tuple(process.id()));
-            return getResultFromFuture(future).map(RowSet::iterator).map(RowIterator::next).map(row -> row.getLong("count")).orElse(0l);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw uncheckedException(e, "Error counting process instances, for processId %s", process.id());
-        } catch (Exception e) {
-            throw uncheckedException(e, "Error counting process instances, for processId %s", process.id());
-        }
+        return await(withError(client.preparedQuery(COUNT + (process.version() == null ? IS_NULL : "= $2"))
+                .execute(tuple(process.id()))
+                .map(rows -> Optional.ofNullable(rows).map(RowSet::iterator).map(RowIterator::next).map(row -> row.getLong("count")).orElse(0l)),
+                "Error counting process instances, for processId %s", process.id()));
     }
 
     /**
@@ -298,20 +661,37 @@ public class PostgresqlProcessInstances implements MutableProcessInstances {
                                 LOGGER.info("Table process_instances already exists.");
                                 return Future.succeededFuture(null);
                             }));
-            getResultFromFuture(futureCompose).map(RowSet::rowCount).ifPresent(count -> {
+            Optional.ofNullable(await(futureCompose)).map(RowSet::rowCount).ifPresent(count -> {
                 if (count > 0) {
                     LOGGER.info("DDL successfully done for ProcessInstance");
                 } else {
                     LOGGER.info("DDL executed with no changes for ProcessInstance");
                 }
             });
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            LOGGER.error("Error creating process_instances table, the database should be configured properly before " + "starting the application", e);
         } catch (Exception e) {
             //not break the execution flow in case of any missing permission for db application user, for instance.
             LOGGER.error("Error creating process_instances table, the database should be configured properly before " + "starting the application", e);
         }
+        if (indexEventTypes) {
+            initEventTypes();
+        }
+    }
+
+    private void initEventTypes() {
+        try {
+            await(client.query(getQueryFromFile("exists_event_types_table")).execute()
+                    .map(rows -> Optional.ofNullable(rows.iterator()).filter(Iterator::hasNext).map(Iterator::next).map(row -> row.getBoolean("exists")).orElse(true))
+                    .compose(exists -> {
+                        if (Boolean.TRUE.equals(exists)) {
+                            LOGGER.info("Table process_instance_event_types already exists.");
+                            return Future.<Void> succeededFuture();
+                        }
+                        LOGGER.info("Creating process_instance_event_types table.");
+                        return client.query(getQueryFromFile("event_types_create")).execute().<Void> mapEmpty();
+                    }));
+        } catch (Exception e) {
+            LOGGER.error("Error creating process_instance_event_types table, the database should be configured properly before starting the application", e);
+        }
     }
 
     private String getQueryFromFile(String scriptName) {
@@ -322,23 +702,4 @@ public class PostgresqlProcessInstances implements MutableProcessInstances {
             throw uncheckedException(e, "Error reading query script file %s", scriptName);
         }
     }
-
-    private boolean updateWithLock(UUID id, byte[] payload, long version) {
-        try {
-            Future<RowSet<Row>> future = client.preparedQuery(UPDATE_WITH_LOCK + (process.version() == null ? IS_NULL : "= $6"))
-                    .execute(tuple(Buffer.buffer(payload), version + 1, process.id(), id, version));
-            boolean result = getExecutedResult(future);
-            if (!result) {
-                throw new ProcessInstanceOptimisticLockingException(id.toString());
-            }
-            return result;
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        } catch (ProcessInstanceOptimisticLockingException e) {
-            throw e;
-        } catch (Exception e) {
-            throw uncheckedException(e, "Error updating process instance %s", id);
-        }
-        return false;
-    }
 }
@@ -0,0 +1,187 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.persistence.postgresql;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.kie.kogito.process.ProcessInstanceOptimisticLockingException;
+import org.kie.kogito.uow.WorkUnitBatch;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.vertx.core.CompositeFuture;
+import io.vertx.core.Future;
+import io.vertx.pgclient.PgPool;
+import io.vertx.sqlclient.Row;
+import io.vertx.sqlclient.RowSet;
+import io.vertx.sqlclient.SqlConnection;
+import io.vertx.sqlclient.Tuple;
+
+/**
+ * Process instance writes deferred until the unit of work flushes them. Writes of the same kind are sent as one
+ * batch, the batches being pipelined on a single connection in a single transaction. Writes are grouped by kind when
+ * every process instance is written once, otherwise only consecutive writes of the same kind are grouped.
+ */
+class PostgresqlWriteBatch implements WorkUnitBatch.Participant {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PostgresqlWriteBatch.class);
+
+    private final PgPool client;
+    private final Long queryTimeoutMillis;
+    private final List<Write> writes = new ArrayList<>();
+    private final Set<String> ids = new HashSet<>();
+    private boolean groupByKind = true;
+
+    PostgresqlWriteBatch(PgPool client, Long queryTimeoutMillis) {
+        this.client = client;
+        this.queryTimeoutMillis = queryTimeoutMillis;
+    }
+
+    /**
+     * Defers a write of the given process instance
+     *
+     * @param sql statement to execute
+     * @param parameters parameters of the statement
+     * @param id process instance written
+     * @param lockChecked whether not updating any row means the process instance version did not match
+     */
+    void add(String sql, Tuple parameters, String id, boolean lockChecked) {
+        if (!ids.add(id)) {
+            groupByKind = false;
+        }
+        writes.add(new Write(sql, parameters, id, lockChecked));
+    }
+
+    /**
+     * Defers a write of a row belonging to a process instance already written in this batch, like its event types
+     *
+     * @param sql statement to execute
+     * @param parameters parameters of the statement
+     */
+    void addRelated(String sql, Tuple parameters) {
+        writes.add(new Write(sql, parameters, null, false));
+    }
+
+    @Override
+    public void flush() {
+        List<List<Write>> groups = drain();
+        try {
+            // failing the transaction on a lock conflict rolls back every write of the unit of work
+            client.withTransaction(connection -> execute(connection, groups))
+                    .toCompletionStage().toCompletableFuture().get(queryTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Error flushing process instance writes", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof ProcessInstanceOptimisticLockingException) {
+                throw (ProcessInstanceOptimisticLockingException) e.getCause();
+            }
+            throw new RuntimeException("Error flushing process instance writes", e.getCause());
+        } catch (Exception e) {
+            throw new RuntimeException("Error flushing process instance writes", e);
+        }
+    }
+
+    @Override
+    public CompletionStage<Void> flushAsync() {
+        List<List<Write>> groups = drain();
+        return client.withTransaction(connection -> execute(connection, groups)).toCompletionStage().toCompletableFuture()
+                .orTimeout(queryTimeoutMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private List<List<Write>> drain() {
+        LOGGER.debug("Flushing {} process instance writes", writes.size());
+        List<List<Write>> groups = groups();
+        writes.clear();
+        ids.clear();
+        groupByKind = true;
+        return groups;
+    }
+
+    private List<List<Write>> groups() {
+        List<List<Write>> groups = new ArrayList<>();
+        if (groupByKind) {
+            Map<String, List<Write>> byKind = new LinkedHashMap<>();
+            writes.forEach(w -> byKind.computeIfAbsent(w.sql, k -> new ArrayList<>()).add(w));
+            groups.addAll(byKind.values());
+        } else {
+            for (Write write : writes) {
+                if (groups.isEmpty() || !groups.get(groups.size() - 1).get(0).sql.equals(write.sql)) {
+                    groups.add(new ArrayList<>());
+                }
+                groups.get(groups.size() - 1).add(write);
+            }
+        }
+        return groups;
+    }
+
+    /*
+     * Every batch is sent without waiting for the previous one to complete, the connection pipelines them and the
+     * server still executes them in order
+     */
+    @SuppressWarnings("rawtypes")
+    private static Future<Void> execute(SqlConnection connection, List<List<Write>> groups) {
+        List<String> notUpdated = new ArrayList<>();
+        List<Future> results = new ArrayList<>();
+        for (List<Write> group : groups) {
+            results.add(connection.preparedQuery(group.get(0).sql)
+                    .executeBatch(group.stream().map(w -> w.parameters).collect(Collectors.toList()))
+                    .onSuccess(rows -> collectNotUpdated(rows, group, notUpdated)));
+        }
+        return CompositeFuture.all(results).compose(v -> {
+            if (notUpdated.isEmpty()) {
+                return Future.succeededFuture();
+            }
+            ProcessInstanceOptimisticLockingException exception = new ProcessInstanceOptimisticLockingException(notUpdated.get(0));
+            notUpdated.stream().skip(1).map(ProcessInstanceOptimisticLockingException::new).forEach(exception::addSuppressed);
+            return Future.failedFuture(exception);
+        });
+    }
+
+    private static void collectNotUpdated(RowSet<Row> rows, List<Write> group, List<String> notUpdated) {
+        RowSet<Row> current = rows;
+        for (Write write : group) {
+            if (write.lockChecked && current.rowCount() == 0) {
+                notUpdated.add(write.id);
+            }
+            current = current.next();
+        }
+    }
+
+    private static class Write {
+
+        private final String sql;
+        private final Tuple parameters;
+        private final String id;
+        private final boolean lockChecked;
+
+        Write(String sql, Tuple parameters, String id, boolean lockChecked) {
+            this.sql = sql;
+            this.parameters = parameters;
+            this.id = id;
+            this.lockChecked = lockChecked;
+        }
+    }
+}
@@ -0,0 +1,9 @@
+-- To be used with kogito-addons-quarkus-persistence-postgresql for Quarkus or kogito-addons-springboot-persistence-postgresql for SpringBoot
+CREATE TABLE process_instance_event_types
+(
+    process_instance_id uuid              NOT NULL,
+    event_type          character varying NOT NULL
+);
+CREATE INDEX idx_process_instance_event_types_type ON process_instance_event_types (event_type, process_instance_id);
+CREATE INDEX idx_process_instance_event_types_id ON process_instance_event_types (process_instance_id);
+INSERT INTO process_instance_event_types (process_instance_id, event_type) SELECT id, '*' FROM process_instances;
\ No newline at end of file
@@ -0,0 +1 @@
+SELECT EXISTS(SELECT FROM pg_tables WHERE tablename = 'process_instance_event_types');
\ No newline at end of file
@@ -17,6 +17,8 @@ package org.kie.persistence.postgresql;
 
 import java.util.Collections;
 import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
 
 import org.drools.io.ClassPathResource;
 import org.junit.jupiter.api.AfterAll;
@@ -33,6 +35,7 @@ import org.kie.kogito.process.WorkItem;
 import org.kie.kogito.process.bpmn2.BpmnProcess;
 import org.kie.kogito.process.bpmn2.BpmnProcessInstance;
 import org.kie.kogito.process.bpmn2.BpmnVariables;
+import org.kie.kogito.process.impl.Sig;
 import org.kie.kogito.testcontainers.KogitoPostgreSqlContainer;
 import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
@@ -74,9 +77,13 @@ class PostgresqlProcessInstancesIT {
         return false;
     }
 
-    private BpmnProcess createProcess(String fileName) {
+    boolean batchWrites() {
+        return false;
+    }
+
+    BpmnProcess createProcess(String fileName) {
         BpmnProcess process = BpmnProcess.from(new ClassPathResource(fileName)).get(0);
-        process.setProcessInstancesFactory(new PostgreProcessInstancesFactory(client, lock()));
+        process.setProcessInstancesFactory(new PostgreProcessInstancesFactory(client, lock(), batchWrites()));
         process.configure();
         process.instances().values(ProcessInstanceReadMode.MUTABLE).forEach(p -> p.abort());
         return process;
@@ -217,6 +224,47 @@ class PostgresqlProcessInstancesIT {
         assertThat(processInstances.size()).isZero();
     }
 
+    @Test
+    void testAsync() throws Exception {
+        BpmnProcess process = createProcess("BPMN2-UserTask.bpmn2");
+        ProcessInstance<BpmnVariables> processInstance = process.createInstance(BpmnVariables.create(Collections.singletonMap("test", "test")));
+        processInstance.start();
+
+        PostgresqlProcessInstances processInstances = (PostgresqlProcessInstances) process.instances();
+        Optional<ProcessInstance> found = processInstances.findByIdAsync(processInstance.id(), ProcessInstanceReadMode.READ_ONLY).toCompletableFuture().get();
+        assertThat(found).isPresent();
+        assertThat(found.get().status()).isEqualTo(STATE_ACTIVE);
+        assertThat(processInstances.valuesAsync(ProcessInstanceReadMode.READ_ONLY, 0, 10).toCompletableFuture().get()).hasSize(1);
+        assertThat(processInstances.findByIdAsync(UUID.randomUUID().toString()).toCompletableFuture().get()).isEmpty();
+
+        processInstances.removeAsync(processInstance.id()).toCompletableFuture().get();
+        assertThat(processInstances.findByIdAsync(processInstance.id()).toCompletableFuture().get()).isEmpty();
+        assertThat(processInstances.size()).isZero();
+    }
+
+    @Test
+    void testWaitingForEventType() {
+        BpmnProcess process = createProcess("BPMN2-IntermediateCatchEventSignal.bpmn2");
+        ProcessInstance<BpmnVariables> busy = process.createInstance(BpmnVariables.create());
+        busy.start();
+        ProcessInstance<BpmnVariables> waiting = process.createInstance(BpmnVariables.create());
+        waiting.start();
+        waiting.completeWorkItem(waiting.workItems(securityPolicy).get(0).getId(), null, securityPolicy);
+
+        PostgresqlProcessInstances processInstances = (PostgresqlProcessInstances) process.instances();
+        try (Stream<ProcessInstance> candidates = processInstances.waitingForEventType("MyMessage", ProcessInstanceReadMode.READ_ONLY)) {
+            assertThat(candidates.map(ProcessInstance::id)).containsExactly(waiting.id());
+        }
+        try (Stream<ProcessInstance> candidates = processInstances.waitingForEventType("NotMyMessage", ProcessInstanceReadMode.READ_ONLY)) {
+            assertThat(candidates).isEmpty();
+        }
+
+        process.send(Sig.of("MyMessage", "value"));
+        assertThat(processInstances.findById(waiting.id())).isEmpty();
+        assertThat(processInstances.findById(busy.id())).isPresent();
+        busy.abort();
+    }
+
     @Test
     void testProcessWithDifferentVersion() {
         BpmnProcess processV1 = createProcess("BPMN2-UserTask.bpmn2");
@@ -252,8 +300,8 @@ class PostgresqlProcessInstancesIT {
 
     private class PostgreProcessInstancesFactory extends AbstractProcessInstancesFactory {
 
-        public PostgreProcessInstancesFactory(PgPool client, boolean lock) {
-            super(client, true, 10000l, lock);
+        public PostgreProcessInstancesFactory(PgPool client, boolean lock, boolean batchWrites) {
+            super(client, true, 10000l, lock, batchWrites, false, true);
         }
 
         @Override
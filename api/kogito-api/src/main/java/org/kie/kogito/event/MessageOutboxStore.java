@@ -0,0 +1,97 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.event;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Stores the messages produced by processes in the storage of the process instances, so a message is written along with
+ * the process instance state producing it and survives restarts until it is emitted.
+ * <p>
+ * Messages are claimed for a lease time before being emitted, so a message is relayed by a single node at once. A message
+ * whose lease expired, because the node relaying it stopped, is claimed again.
+ */
+public interface MessageOutboxStore {
+
+    /**
+     * Stores a message, deferring the write into the writes of the current unit of work when the storage supports it
+     *
+     * @param id unique message id
+     * @param trigger message name, identifying the emitter sending it
+     * @param payload serialized message
+     */
+    void store(String id, String trigger, byte[] payload);
+
+    /**
+     * Claims the oldest messages of the given triggers that are not claimed yet or whose lease expired
+     *
+     * @param triggers names of the messages to claim
+     * @param limit maximum number of messages claimed
+     * @param leaseTime milliseconds the messages are reserved to the caller
+     * @return claimed messages
+     */
+    List<StoredMessage> claim(Collection<String> triggers, int limit, long leaseTime);
+
+    /**
+     * Releases a message after a failed attempt, so it is claimed again once the given delay elapsed
+     *
+     * @param id message id
+     * @param delay milliseconds before the message can be claimed again
+     */
+    void retry(String id, long delay);
+
+    /**
+     * Deletes emitted or given up messages
+     *
+     * @param ids message ids
+     */
+    void delete(Collection<String> ids);
+
+    final class StoredMessage {
+
+        private final String id;
+        private final String trigger;
+        private final byte[] payload;
+        private final int attempts;
+
+        public StoredMessage(String id, String trigger, byte[] payload, int attempts) {
+            this.id = id;
+            this.trigger = trigger;
+            this.payload = payload;
+            this.attempts = attempts;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public String getTrigger() {
+            return trigger;
+        }
+
+        public byte[] getPayload() {
+            return payload;
+        }
+
+        /**
+         * @return number of failed attempts to emit the message
+         */
+        public int getAttempts() {
+            return attempts;
+        }
+    }
+}
@@ -17,6 +17,8 @@ package org.kie.kogito.process;
 
 import java.util.Collection;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 public interface ProcessInstances<T> {
 
@@ -32,5 +34,44 @@ public interface ProcessInstances<T> {
 
     Collection<ProcessInstance<T>> values(ProcessInstanceReadMode mode);
 
+    /**
+     * Returns a page of process instances. Storage implementations push the paging down to the storage
+     * and keep a stable order, by identifier where the storage can sort on it, so consecutive pages do not overlap.
+     *
+     * @param mode read mode used to load the instances
+     * @param offset number of instances to skip
+     * @param limit maximum number of instances to return
+     * @return process instances of the requested page
+     */
+    default Collection<ProcessInstance<T>> values(ProcessInstanceReadMode mode, int offset, int limit) {
+        try (Stream<ProcessInstance<T>> stream = stream(mode)) {
+            return stream.skip(offset).limit(limit).collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * Returns a stream over all process instances. Implementations are expected to load and unmarshall
+     * instances lazily, while the stream is being consumed, so the stream must be closed once consumed.
+     *
+     * @param mode read mode used to load the instances
+     * @return stream of process instances
+     */
+    default Stream<ProcessInstance<T>> stream(ProcessInstanceReadMode mode) {
+        return values(mode).stream();
+    }
+
+    /**
+     * Returns the process instances that might be waiting for the given event type. Storages keeping an index of
+     * the event types each process instance is listening on only load the subscribed instances, otherwise every
+     * process instance is returned. The stream must be closed once consumed.
+     *
+     * @param eventType event type to look for
+     * @param mode read mode used to load the instances
+     * @return stream of candidate process instances
+     */
+    default Stream<ProcessInstance<T>> waitingForEventType(String eventType, ProcessInstanceReadMode mode) {
+        return stream(mode);
+    }
+
     Integer size();
 }
@@ -20,6 +20,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletionStage;
 import java.util.function.Function;
 
 import org.kie.kogito.MapOutput;
@@ -51,6 +52,8 @@ public interface ProcessService {
 
     <T extends MappableToModel<R>, R> List<R> getProcessInstanceOutput(Process<T> process);
 
+    <T extends MappableToModel<R>, R> List<R> getProcessInstanceOutput(Process<T> process, int page, int size);
+
     <T extends MappableToModel<R>, R> Optional<R> findById(Process<T> process, String id);
 
     <T extends MappableToModel<R>, R> Optional<R> delete(Process<T> process, String id);
@@ -61,6 +64,18 @@ public interface ProcessService {
 
     <T extends Model> Optional<List<WorkItem>> getTasks(Process<T> process, String id, SecurityPolicy policy);
 
+    //Async, loading process instances without blocking when the storage is an AsyncMutableProcessInstances
+
+    <T extends MappableToModel<R>, R> CompletionStage<List<R>> getProcessInstanceOutputAsync(Process<T> process, int page, int size);
+
+    <T extends MappableToModel<R>, R> CompletionStage<Optional<R>> findByIdAsync(Process<T> process, String id);
+
+    <T extends MappableToModel<R>, R> CompletionStage<Optional<R>> deleteAsync(Process<T> process, String id);
+
+    <T extends MappableToModel<R>, R> CompletionStage<Optional<R>> updateAsync(Process<T> process, String id, T resource);
+
+    <T extends Model> CompletionStage<Optional<List<WorkItem>>> getTasksAsync(Process<T> process, String id, SecurityPolicy policy);
+
     <T extends Model> Optional<WorkItem> signalTask(Process<T> process, String id, String taskNodeName);
 
     <T extends Model, R extends MapOutput> Optional<R> saveTask(Process<T> process,
@@ -146,6 +161,13 @@ public interface ProcessService {
 
     <T extends MappableToModel<R>, R> Optional<R> signalProcessInstance(Process<T> process, String id, Object data, String signalName);
 
+    /**
+     * Loads the process instance and sends it the signal within the same unit of work, so the instance is loaded once
+     *
+     * @return the signalled process instance or empty if there is no process instance with the given id
+     */
+    <T extends Model> Optional<ProcessInstance<T>> signalProcessInstanceIfPresent(Process<T> process, String id, Object data, String signalName);
+
     //Schema
     <T extends Model> Map<String, Object> getSchemaAndPhases(Process<T> process,
             String id,
@@ -0,0 +1,184 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.uow;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+/**
+ * Collects the writes done by the work units of a unit of work, so storages can flush them at once
+ * instead of writing each of them on its own.
+ * <p>
+ * Units of work open the batch on the current thread before performing their work units and flush it
+ * once the work units that write are performed. Storages willing to defer their writes enlist a participant,
+ * keyed by the resource the writes go to, while the batch is open.
+ * <p>
+ * Callers able to wait for the writes without blocking open an asynchronous batch around the unit of work instead.
+ * Units of work join it rather than opening their own, and the caller flushes it through {@link #flushAsync(Executor)}
+ * once the unit of work ended, so storages supporting it write without blocking the calling thread.
+ */
+public final class WorkUnitBatch implements AutoCloseable {
+
+    /**
+     * Deferred writes of a storage, performed when the batch is flushed
+     */
+    public interface Participant {
+
+        void flush();
+
+        /**
+         * Performs the deferred writes without blocking, by default they are performed by {@link #flush()}
+         *
+         * @return stage completed once the writes are done
+         */
+        default CompletionStage<Void> flushAsync() {
+            flush();
+            return CompletableFuture.completedFuture(null);
+        }
+    }
+
+    private static final ThreadLocal<WorkUnitBatch> CURRENT = new ThreadLocal<>();
+
+    private final Map<Object, Participant> participants = new LinkedHashMap<>();
+    private final List<Runnable> afterFlush = new ArrayList<>();
+    private final WorkUnitBatch outer;
+    private final boolean async;
+
+    private WorkUnitBatch(WorkUnitBatch outer, boolean async) {
+        this.outer = outer;
+        this.async = async;
+    }
+
+    /**
+     * Opens a new batch bound to the current thread, the batch already open (if any) is restored once the new one is closed
+     *
+     * @return the opened batch
+     */
+    public static WorkUnitBatch open() {
+        return open(false);
+    }
+
+    /**
+     * Opens a new asynchronous batch bound to the current thread, to be flushed through {@link #flushAsync(Executor)}
+     *
+     * @return the opened batch
+     */
+    public static WorkUnitBatch openAsync() {
+        return open(true);
+    }
+
+    private static WorkUnitBatch open(boolean async) {
+        WorkUnitBatch batch = new WorkUnitBatch(CURRENT.get(), async);
+        CURRENT.set(batch);
+        return batch;
+    }
+
+    /**
+     * Returns whether the batch is flushed asynchronously by whoever opened it, rather than by the unit of work
+     *
+     * @return true for batches opened through {@link #openAsync()}
+     */
+    public boolean isAsync() {
+        return async;
+    }
+
+    /**
+     * Returns the batch open on the current thread, if any
+     *
+     * @return the open batch or empty if writes should be done straight away
+     */
+    public static Optional<WorkUnitBatch> current() {
+        return Optional.ofNullable(CURRENT.get());
+    }
+
+    /**
+     * Returns the participant enlisted for the given key, enlisting the one created by <code>factory</code> if none
+     *
+     * @param key resource the writes go to
+     * @param factory creates the participant
+     * @return participant to defer the writes into
+     */
+    @SuppressWarnings("unchecked")
+    public <P extends Participant> P participant(Object key, Supplier<P> factory) {
+        return (P) participants.computeIfAbsent(key, k -> factory.get());
+    }
+
+    /**
+     * Registers an action to perform once every participant has been flushed, such as caching what was written.
+     * Actions are discarded when the batch is closed without flushing or a participant fails to flush.
+     *
+     * @param action performed after the flush
+     */
+    public void afterFlush(Runnable action) {
+        afterFlush.add(action);
+    }
+
+    /**
+     * Closes the batch and flushes the participants in the order they were enlisted, then performs the actions
+     * registered through {@link #afterFlush(Runnable)}. Writes done afterwards are no longer deferred.
+     */
+    public void flush() {
+        List<Participant> toFlush = new ArrayList<>(participants.values());
+        List<Runnable> actions = new ArrayList<>(afterFlush);
+        close();
+        for (Participant participant : toFlush) {
+            participant.flush();
+        }
+        actions.forEach(Runnable::run);
+    }
+
+    /**
+     * Closes the batch and flushes the participants in the order they were enlisted without blocking, each one once
+     * the previous one completed. The actions registered through {@link #afterFlush(Runnable)} are then performed
+     * on the given executor.
+     *
+     * @param executor performs the actions registered through {@link #afterFlush(Runnable)}
+     * @return stage completed once the actions are performed
+     */
+    public CompletionStage<Void> flushAsync(Executor executor) {
+        List<Participant> toFlush = new ArrayList<>(participants.values());
+        List<Runnable> actions = new ArrayList<>(afterFlush);
+        close();
+        CompletionStage<Void> flushed = CompletableFuture.completedFuture(null);
+        for (Participant participant : toFlush) {
+            flushed = flushed.thenCompose(v -> participant.flushAsync());
+        }
+        return flushed.thenRunAsync(() -> actions.forEach(Runnable::run), executor);
+    }
+
+    /**
+     * Closes the batch discarding the writes not flushed yet
+     */
+    @Override
+    public void close() {
+        if (CURRENT.get() == this) {
+            if (outer == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(outer);
+            }
+        }
+        participants.clear();
+        afterFlush.clear();
+    }
+}
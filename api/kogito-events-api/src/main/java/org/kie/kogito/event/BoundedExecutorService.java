@@ -0,0 +1,182 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.event;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Executor running at most <code>maxRunning</code> tasks at once on a delegate executor that does not bound them itself,
+ * such as an executor starting a virtual thread per task.
+ * <p>
+ * Tasks submitted while <code>maxRunning</code> tasks are running are kept in an overflow buffer and run in submission order
+ * as running tasks complete. <code>onFull</code> is invoked when the executor starts overflowing and <code>onAvailable</code>
+ * once the buffer is drained, so the caller can stop and resume feeding the executor. Callers submitting while the buffer
+ * already holds <code>maxOverflow</code> tasks are blocked until a running task completes, therefore tasks must not submit
+ * other tasks to the executor they run on.
+ */
+public class BoundedExecutorService extends AbstractExecutorService {
+
+    private final ExecutorService delegate;
+    private final int maxRunning;
+    private final int maxOverflow;
+    private final Runnable onFull;
+    private final Runnable onAvailable;
+    private final Deque<Runnable> overflow = new ArrayDeque<>();
+    private int running;
+    private boolean shutdown;
+
+    public BoundedExecutorService(ExecutorService delegate, int maxRunning, int maxOverflow, Runnable onFull, Runnable onAvailable) {
+        this.delegate = delegate;
+        this.maxRunning = maxRunning;
+        this.maxOverflow = maxOverflow;
+        this.onFull = onFull;
+        this.onAvailable = onAvailable;
+    }
+
+    /**
+     * Runs the task once fewer than <code>maxRunning</code> tasks are running, waiting for a running task to complete
+     * when the overflow buffer is full
+     *
+     * @throws RejectedExecutionException if the executor is shut down or the caller is interrupted while waiting
+     */
+    @Override
+    public void execute(Runnable task) {
+        boolean full = false;
+        synchronized (overflow) {
+            while (overflow.size() >= maxOverflow && !shutdown) {
+                try {
+                    overflow.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new RejectedExecutionException("Interrupted while waiting for running tasks to complete", e);
+                }
+            }
+            if (shutdown) {
+                throw new RejectedExecutionException("Executor is shut down");
+            }
+            if (running >= maxRunning) {
+                overflow.addLast(task);
+                full = overflow.size() == 1;
+                task = null;
+            } else {
+                running++;
+            }
+        }
+        if (full) {
+            onFull.run();
+        }
+        if (task != null) {
+            start(task);
+        }
+    }
+
+    private void start(Runnable task) {
+        try {
+            delegate.execute(() -> {
+                try {
+                    task.run();
+                } finally {
+                    completed();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            synchronized (overflow) {
+                running--;
+                overflow.notifyAll();
+            }
+            throw e;
+        }
+    }
+
+    private void completed() {
+        Runnable next;
+        boolean drained = false;
+        synchronized (overflow) {
+            next = overflow.pollFirst();
+            if (next == null) {
+                running--;
+                if (running == 0 && shutdown) {
+                    delegate.shutdown();
+                }
+            } else {
+                // the completed task hands its slot over to the oldest buffered one
+                drained = overflow.isEmpty();
+                overflow.notifyAll();
+            }
+        }
+        if (drained) {
+            onAvailable.run();
+        }
+        if (next != null) {
+            try {
+                start(next);
+            } catch (RejectedExecutionException e) {
+                // the delegate was shut down by shutdownNow
+            }
+        }
+    }
+
+    /**
+     * Rejects new tasks, the running and buffered ones still run before the delegate is shut down
+     */
+    @Override
+    public void shutdown() {
+        synchronized (overflow) {
+            shutdown = true;
+            overflow.notifyAll();
+            if (running == 0) {
+                delegate.shutdown();
+            }
+        }
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        List<Runnable> pending;
+        synchronized (overflow) {
+            shutdown = true;
+            pending = new ArrayList<>(overflow);
+            overflow.clear();
+            overflow.notifyAll();
+        }
+        pending.addAll(delegate.shutdownNow());
+        return pending;
+    }
+
+    @Override
+    public boolean isShutdown() {
+        synchronized (overflow) {
+            return shutdown;
+        }
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return isShutdown() && delegate.isTerminated();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return delegate.awaitTermination(timeout, unit);
+    }
+}
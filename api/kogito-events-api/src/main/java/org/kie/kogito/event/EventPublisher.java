@@ -42,4 +42,15 @@ public interface EventPublisher {
      * @param events events to be published
      */
     void publish(Collection<DataEvent<?>> events);
+
+    /**
+     * Returns whether events of given type are published by this publisher. Events of types no publisher
+     * accepts are not even built.
+     * 
+     * @param type type of the event, as returned by <code>DataEvent.getType</code>
+     * @return true if events of given type should be given to this publisher, by default any type is accepted
+     */
+    default boolean accept(String type) {
+        return true;
+    }
 }
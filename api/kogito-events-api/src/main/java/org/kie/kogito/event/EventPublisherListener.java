@@ -0,0 +1,41 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.event;
+
+/**
+ * Notified by {@link EventPublisher} implementations of the events they publish, so monitoring addons can record
+ * metrics about them without publishers depending on a metrics library. Listeners are registered through
+ * {@link EventPublisherListeners#register(EventPublisherListener)}.
+ */
+public interface EventPublisherListener {
+
+    /**
+     * Called once an event is published, successfully or not
+     *
+     * @param publisher name of the publisher
+     * @param eventType type of the event
+     * @param durationNanos time taken to publish the event
+     */
+    void onPublished(String publisher, String eventType, long durationNanos);
+
+    /**
+     * Called once the events of a batch are handed over to the underlying client
+     *
+     * @param publisher name of the publisher
+     * @param size number of events published out of the batch
+     */
+    void onBatchPublished(String publisher, int size);
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.event;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Listeners notified of the events published by every {@link EventPublisher}
+ */
+public final class EventPublisherListeners {
+
+    private static final List<EventPublisherListener> LISTENERS = new CopyOnWriteArrayList<>();
+
+    private EventPublisherListeners() {
+    }
+
+    public static void register(EventPublisherListener listener) {
+        LISTENERS.add(listener);
+    }
+
+    public static void unregister(EventPublisherListener listener) {
+        LISTENERS.remove(listener);
+    }
+
+    public static void published(String publisher, String eventType, long durationNanos) {
+        for (EventPublisherListener listener : LISTENERS) {
+            listener.onPublished(publisher, eventType, durationNanos);
+        }
+    }
+
+    public static void batchPublished(String publisher, int size) {
+        for (EventPublisherListener listener : LISTENERS) {
+            listener.onBatchPublished(publisher, size);
+        }
+    }
+}
@@ -0,0 +1,202 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.event;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executor running tasks on a fixed number of serial lanes. Tasks submitted with the same key always run on the same lane,
+ * one after the other and in submission order, while tasks with different keys might run in parallel. Tasks without key
+ * are spread over the lanes.
+ * <p>
+ * Tasks submitted to a lane whose queue is full are kept in an overflow buffer of the lane. <code>onFull</code> is invoked
+ * when a lane starts overflowing and <code>onAvailable</code> once no lane is overflowing anymore, so the caller can stop
+ * and resume feeding the executor. Callers submitting to a lane whose buffer already holds <code>maxOverflow</code> tasks
+ * are blocked until the lane catches up, therefore tasks must not submit other tasks to the executor they run on.
+ */
+public class KeyedExecutorService extends AbstractExecutorService {
+
+    public static final int DEFAULT_MAX_OVERFLOW = 1000;
+
+    private final Lane[] lanes;
+    private final Runnable onFull;
+    private final Runnable onAvailable;
+    private final AtomicInteger overflowing = new AtomicInteger();
+    private final AtomicInteger next = new AtomicInteger();
+
+    public KeyedExecutorService(int numLanes, int queueSize, ThreadFactory threadFactory) {
+        this(numLanes, queueSize, threadFactory, () -> {
+        }, () -> {
+        });
+    }
+
+    public KeyedExecutorService(int numLanes, int queueSize, ThreadFactory threadFactory, Runnable onFull, Runnable onAvailable) {
+        this(numLanes, queueSize, DEFAULT_MAX_OVERFLOW, threadFactory, onFull, onAvailable);
+    }
+
+    public KeyedExecutorService(int numLanes, int queueSize, int maxOverflow, ThreadFactory threadFactory, Runnable onFull, Runnable onAvailable) {
+        this.lanes = new Lane[numLanes];
+        for (int i = 0; i < numLanes; i++) {
+            lanes[i] = new Lane(queueSize, maxOverflow, threadFactory);
+        }
+        this.onFull = onFull;
+        this.onAvailable = onAvailable;
+    }
+
+    /**
+     * Executes the task after the tasks previously submitted with the same key, waiting for the lane to catch up
+     * when its overflow buffer is full
+     *
+     * @param key key of the task, tasks without key can run on any lane
+     * @param task task to run
+     * @throws RejectedExecutionException if the executor is shut down or the caller is interrupted while waiting
+     */
+    public void execute(Object key, Runnable task) {
+        lane(key).enqueue(task);
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        execute(null, task);
+    }
+
+    private Lane lane(Object key) {
+        int hash = key == null ? next.getAndIncrement() : key.hashCode() ^ (key.hashCode() >>> 16);
+        return lanes[Math.floorMod(hash, lanes.length)];
+    }
+
+    @Override
+    public void shutdown() {
+        for (Lane lane : lanes) {
+            lane.shutdown();
+        }
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        List<Runnable> pending = new ArrayList<>();
+        for (Lane lane : lanes) {
+            pending.addAll(lane.shutdownNow());
+            synchronized (lane.overflow) {
+                pending.addAll(lane.overflow);
+                lane.overflow.clear();
+            }
+        }
+        return pending;
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return lanes[0].isShutdown();
+    }
+
+    @Override
+    public boolean isTerminated() {
+        for (Lane lane : lanes) {
+            if (!lane.isTerminated()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        for (Lane lane : lanes) {
+            if (!lane.awaitTermination(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private class Lane extends ThreadPoolExecutor {
+
+        private final Deque<Runnable> overflow = new ArrayDeque<>();
+        private final int maxOverflow;
+
+        Lane(int queueSize, int maxOverflow, ThreadFactory threadFactory) {
+            super(1, 1, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueSize), threadFactory);
+            this.maxOverflow = maxOverflow;
+            setRejectedExecutionHandler((r, executor) -> {
+                if (!executor.isShutdown()) {
+                    // invoked from enqueue, so the overflow lock is already held
+                    overflow.addLast(r);
+                    if (overflow.size() == 1 && overflowing.getAndIncrement() == 0) {
+                        onFull.run();
+                    }
+                }
+            });
+        }
+
+        void enqueue(Runnable task) {
+            synchronized (overflow) {
+                while (overflow.size() >= maxOverflow && !isShutdown()) {
+                    try {
+                        overflow.wait();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new RejectedExecutionException("Interrupted while waiting for the lane to catch up", e);
+                    }
+                }
+                if (isShutdown()) {
+                    throw new RejectedExecutionException("Executor is shut down");
+                }
+                if (overflow.isEmpty()) {
+                    super.execute(task);
+                } else {
+                    // keep submission order, the task cannot overtake the ones waiting in the buffer
+                    overflow.addLast(task);
+                }
+            }
+        }
+
+        @Override
+        protected void terminated() {
+            synchronized (overflow) {
+                overflow.notifyAll();
+            }
+        }
+
+        @Override
+        protected void afterExecute(Runnable r, Throwable t) {
+            boolean drained = false;
+            synchronized (overflow) {
+                if (!overflow.isEmpty()) {
+                    while (!overflow.isEmpty() && getQueue().offer(overflow.peekFirst())) {
+                        overflow.pollFirst();
+                    }
+                    drained = overflow.isEmpty();
+                    overflow.notifyAll();
+                }
+            }
+            if (drained && overflowing.decrementAndGet() == 0) {
+                onAvailable.run();
+            }
+        }
+    }
+}
@@ -22,6 +22,14 @@ public class KogitoEventStreams {
     public static final String QUEUE_SIZE_PROPERTY = "kogito.quarkus.events.threads.queueSize";
     public static final String DEFAULT_MAX_THREADS = "10";
     public static final String DEFAULT_QUEUE_SIZE = "1";
+    public static final String KEYED_PROPERTY = "kogito.quarkus.events.threads.keyed";
+    public static final String DEFAULT_KEYED = "false";
+    public static final String MAX_OVERFLOW_PROPERTY = "kogito.quarkus.events.threads.maxOverflow";
+    public static final String DEFAULT_MAX_OVERFLOW = "1000";
+    public static final String VIRTUAL_PROPERTY = "kogito.quarkus.events.threads.virtual";
+    public static final String DEFAULT_VIRTUAL = "false";
+    public static final String TRACE_PINNED_PROPERTY = "kogito.quarkus.events.threads.virtual.tracePinned";
+    public static final String DEFAULT_TRACE_PINNED = "false";
     public static final String THREAD_NAME = "kogito-event-executor";
 
     private KogitoEventStreams() {
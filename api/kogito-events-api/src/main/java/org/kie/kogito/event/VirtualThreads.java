@@ -0,0 +1,115 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.event;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Access to virtual threads for executors that spend most of their time waiting on I/O.
+ * <p>
+ * Kogito is compiled for Java 11, so virtual threads are looked up by reflection and are only used when the running JVM
+ * supports them. Otherwise platform threads created by {@link KogitoThreadPoolFactory} are used.
+ */
+public final class VirtualThreads {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreads.class);
+
+    private static final String TRACE_PINNED_THREADS = "jdk.tracePinnedThreads";
+
+    private static final Method OF_VIRTUAL;
+    private static final Method NAME;
+    private static final Method FACTORY;
+    private static final Method THREAD_PER_TASK;
+
+    static {
+        Method ofVirtual = null;
+        Method name = null;
+        Method factory = null;
+        Method threadPerTask = null;
+        try {
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            ofVirtual = Thread.class.getMethod("ofVirtual");
+            name = builderClass.getMethod("name", String.class, long.class);
+            factory = builderClass.getMethod("factory");
+            threadPerTask = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+            // preview releases expose the methods but fail when invoked
+            ofVirtual.invoke(null);
+        } catch (ReflectiveOperationException | LinkageError e) {
+            ofVirtual = null;
+        }
+        OF_VIRTUAL = ofVirtual;
+        NAME = name;
+        FACTORY = factory;
+        THREAD_PER_TASK = threadPerTask;
+    }
+
+    private VirtualThreads() {
+    }
+
+    public static boolean isSupported() {
+        return OF_VIRTUAL != null;
+    }
+
+    /**
+     * Returns a factory of virtual threads named after the given prefix or, when virtual threads are not supported,
+     * a {@link KogitoThreadPoolFactory}
+     */
+    public static ThreadFactory threadFactory(String threadNamePrefix) {
+        if (!isSupported()) {
+            logger.warn("Virtual threads are not supported by this JVM, using platform threads for {}", threadNamePrefix);
+            return new KogitoThreadPoolFactory(threadNamePrefix);
+        }
+        try {
+            return (ThreadFactory) FACTORY.invoke(NAME.invoke(OF_VIRTUAL.invoke(null), threadNamePrefix + "-", 1L));
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            throw new IllegalStateException("Cannot create virtual thread factory", e);
+        }
+    }
+
+    /**
+     * Returns an executor starting a new virtual thread for every task or, when virtual threads are not supported,
+     * <code>null</code>
+     */
+    public static ExecutorService newThreadPerTaskExecutor(String threadNamePrefix) {
+        if (!isSupported()) {
+            return null;
+        }
+        try {
+            return (ExecutorService) THREAD_PER_TASK.invoke(null, threadFactory(threadNamePrefix));
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            throw new IllegalStateException("Cannot create virtual thread executor", e);
+        }
+    }
+
+    /**
+     * Asks the JVM to print the stack of virtual threads blocking while pinned to their carrier thread, typically
+     * because they wait inside a synchronized block. The JVM reads the setting when it starts its first virtual thread,
+     * so it has no effect if virtual threads were already used, in that case pass -Djdk.tracePinnedThreads=short instead.
+     */
+    public static void tracePinnedThreads() {
+        if (isSupported() && System.getProperty(TRACE_PINNED_THREADS) == null) {
+            System.setProperty(TRACE_PINNED_THREADS, "short");
+            logger.info("Stacks of pinned virtual threads will be printed to the standard output");
+        }
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.event;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class KeyedExecutorServiceTest {
+
+    @Test
+    void testTasksWithSameKeyRunInOrder() throws InterruptedException {
+        KeyedExecutorService executor = new KeyedExecutorService(4, 2, Executors.defaultThreadFactory());
+        Map<String, List<Integer>> results = new ConcurrentHashMap<>();
+        try {
+            for (int i = 0; i < 100; i++) {
+                for (String key : new String[] { "a", "b", "c" }) {
+                    int value = i;
+                    executor.execute(key, () -> results.computeIfAbsent(key, k -> Collections.synchronizedList(new ArrayList<>())).add(value));
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertThat(executor.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+        for (List<Integer> values : results.values()) {
+            assertThat(values).hasSize(100).isSorted();
+        }
+    }
+
+    @Test
+    void testBackpressureCallbacks() throws InterruptedException {
+        AtomicInteger full = new AtomicInteger();
+        AtomicInteger available = new AtomicInteger();
+        CountDownLatch blocker = new CountDownLatch(1);
+        KeyedExecutorService executor = new KeyedExecutorService(1, 1, Executors.defaultThreadFactory(), full::incrementAndGet, available::incrementAndGet);
+        try {
+            executor.execute("key", () -> {
+                try {
+                    blocker.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            executor.execute("key", () -> {
+            });
+            executor.execute("key", () -> {
+            });
+            executor.execute("key", () -> {
+            });
+            assertThat(full).hasValue(1);
+            assertThat(available).hasValue(0);
+            blocker.countDown();
+        } finally {
+            executor.shutdown();
+        }
+        assertThat(executor.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(full).hasValue(1);
+        assertThat(available).hasValue(1);
+    }
+
+    @Test
+    void testCallerBlockedWhenOverflowFull() throws Exception {
+        CountDownLatch blocker = new CountDownLatch(1);
+        KeyedExecutorService executor = new KeyedExecutorService(1, 1, 1, Executors.defaultThreadFactory(), () -> {
+        }, () -> {
+        });
+        AtomicInteger executed = new AtomicInteger();
+        try {
+            executor.execute("key", () -> {
+                try {
+                    blocker.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            executor.execute("key", executed::incrementAndGet);
+            executor.execute("key", executed::incrementAndGet);
+            CompletableFuture<Void> blocked = CompletableFuture.runAsync(() -> executor.execute("key", executed::incrementAndGet));
+            Thread.sleep(100);
+            assertThat(blocked).isNotDone();
+            blocker.countDown();
+            blocked.get(5, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdown();
+        }
+        assertThat(executor.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(executed).hasValue(3);
+    }
+}
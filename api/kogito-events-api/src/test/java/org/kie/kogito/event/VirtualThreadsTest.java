@@ -0,0 +1,47 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.event;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VirtualThreadsTest {
+
+    @Test
+    void testThreadFactory() {
+        Thread thread = VirtualThreads.threadFactory("kogito-test").newThread(() -> {
+        });
+        assertThat(thread.getName()).isEqualTo("kogito-test-1");
+    }
+
+    @Test
+    void testThreadPerTaskExecutor() throws InterruptedException, ExecutionException {
+        ExecutorService executor = VirtualThreads.newThreadPerTaskExecutor("kogito-test");
+        if (VirtualThreads.isSupported()) {
+            try {
+                assertThat(executor.submit(() -> Thread.currentThread().getName()).get()).startsWith("kogito-test-");
+            } finally {
+                executor.shutdown();
+            }
+        } else {
+            assertThat(executor).isNull();
+        }
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.services.event.correlation;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.kie.kogito.event.AbstractDataEvent;
+import org.kie.kogito.event.cloudevents.CloudEventExtensionConstants;
+import org.kie.kogito.jackson.utils.ObjectMapperFactory;
+
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.introspect.AnnotatedMember;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+
+/**
+ * Reads the attributes correlations are resolved from, by the name they have once the object is serialized as JSON.
+ * <p>
+ * Properties are introspected once per class and then read through their getter or field, so the object is not
+ * converted into a JSON tree for every attribute read. Extension attributes of events are read straight from the event.
+ */
+final class AttributeAccessors {
+
+    private static final ObjectMapper MAPPER = ObjectMapperFactory.get();
+
+    private static final ClassValue<Map<String, AnnotatedMember>> PROPERTIES = new ClassValue<>() {
+        @Override
+        protected Map<String, AnnotatedMember> computeValue(Class<?> type) {
+            SerializationConfig config = MAPPER.getSerializationConfig();
+            BeanDescription description = config.introspect(MAPPER.constructType(type));
+            Map<String, AnnotatedMember> properties = new HashMap<>();
+            for (BeanPropertyDefinition property : description.findProperties()) {
+                AnnotatedMember accessor = property.getAccessor();
+                if (accessor != null) {
+                    accessor.fixAccess(config.isEnabled(MapperFeature.OVERRIDE_PUBLIC_ACCESS_MODIFIERS));
+                    properties.put(property.getName(), accessor);
+                }
+            }
+            return properties;
+        }
+    };
+
+    private AttributeAccessors() {
+    }
+
+    /**
+     * Returns the value of the given attribute, looking for it in the extension attributes when the object has no such property
+     *
+     * @param data object to read the attribute from, might be null
+     * @param name name of the attribute once serialized
+     * @return the attribute value or null if not present
+     */
+    static Object get(Object data, String name) {
+        if (data == null) {
+            return null;
+        }
+        if (data instanceof JsonNode) {
+            JsonNode node = (JsonNode) data;
+            JsonNode value = node.get(name);
+            if (value == null) {
+                JsonNode extensions = node.get(CloudEventExtensionConstants.EXTENSION_ATTRIBUTES);
+                value = extensions == null ? null : extensions.get(name);
+            }
+            return value;
+        }
+        if (data instanceof Map) {
+            Map<?, ?> map = (Map<?, ?>) data;
+            Object value = map.get(name);
+            if (value == null) {
+                value = fromExtensions(map.get(CloudEventExtensionConstants.EXTENSION_ATTRIBUTES), name);
+            }
+            return value;
+        }
+
+        Map<String, AnnotatedMember> properties = PROPERTIES.get(data.getClass());
+        AnnotatedMember accessor = properties.get(name);
+        Object value = accessor == null ? null : accessor.getValue(data);
+        if (value == null) {
+            if (data instanceof AbstractDataEvent) {
+                value = ((AbstractDataEvent<?>) data).getExtension(name);
+            } else {
+                AnnotatedMember extensions = properties.get(CloudEventExtensionConstants.EXTENSION_ATTRIBUTES);
+                value = extensions == null ? null : fromExtensions(extensions.getValue(data), name);
+            }
+        }
+        return value;
+    }
+
+    private static Object fromExtensions(Object extensions, String name) {
+        if (extensions instanceof Map) {
+            return ((Map<?, ?>) extensions).get(name);
+        }
+        if (extensions instanceof JsonNode) {
+            return ((JsonNode) extensions).get(name);
+        }
+        return null;
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.services.event.correlation;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.LongSupplier;
+
+import org.kie.kogito.correlation.Correlation;
+import org.kie.kogito.correlation.CorrelationInstance;
+import org.kie.kogito.correlation.CorrelationService;
+import org.kie.kogito.uow.WorkUnitBatch;
+
+/**
+ * Write-through near-cache in front of a {@link CorrelationService} backed by a remote store.
+ * <p>
+ * Correlation instances are kept in a bounded least recently used cache, entries expiring after the given time to live
+ * so correlations changed by other nodes are eventually seen. Correlations not found are not cached, as they might be
+ * created by other nodes at any time. Created correlations are only cached once the {@link WorkUnitBatch} open while
+ * creating them is flushed, so a unit of work failing to write them does not leave them in the cache. Deleting a
+ * correlation invalidates its entries.
+ * <p>
+ * A cached correlation may still point to a process instance other nodes completed or correlated differently until
+ * its entry expires, so persistence addons only enable the cache when its maximum size is configured.
+ */
+public class CachedCorrelationService implements CorrelationService {
+
+    public static final int DEFAULT_MAX_SIZE = 1000;
+    public static final long DEFAULT_TIME_TO_LIVE_MILLIS = 60000L;
+
+    private final CorrelationService delegate;
+    private final long timeToLiveNanos;
+    private final LongSupplier clock;
+    private final Map<Correlation<?>, Entry> byCorrelation;
+    private final Map<String, Entry> byCorrelatedId;
+
+    public CachedCorrelationService(CorrelationService delegate) {
+        this(delegate, DEFAULT_MAX_SIZE, DEFAULT_TIME_TO_LIVE_MILLIS);
+    }
+
+    public CachedCorrelationService(CorrelationService delegate, int maxSize, long timeToLiveMillis) {
+        this(delegate, maxSize, timeToLiveMillis, System::nanoTime);
+    }
+
+    CachedCorrelationService(CorrelationService delegate, int maxSize, long timeToLiveMillis, LongSupplier clock) {
+        this.delegate = Objects.requireNonNull(delegate, "delegate should not be null");
+        this.timeToLiveNanos = timeToLiveMillis * 1_000_000L;
+        this.clock = clock;
+        this.byCorrelation = lru(maxSize);
+        this.byCorrelatedId = lru(maxSize);
+    }
+
+    private static <K> Map<K, Entry> lru(int maxSize) {
+        return new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    @Override
+    public CorrelationInstance create(Correlation correlation, String correlatedId) {
+        CorrelationInstance instance = delegate.create(correlation, correlatedId);
+        if (instance != null) {
+            Optional<WorkUnitBatch> batch = WorkUnitBatch.current();
+            if (batch.isPresent()) {
+                batch.get().afterFlush(() -> put(correlation, correlatedId, instance));
+            } else {
+                put(correlation, correlatedId, instance);
+            }
+        }
+        return instance;
+    }
+
+    private synchronized void put(Correlation<?> correlation, String correlatedId, CorrelationInstance instance) {
+        Entry entry = new Entry(instance, clock.getAsLong());
+        byCorrelation.put(correlation, entry);
+        byCorrelatedId.put(correlatedId, entry);
+    }
+
+    @Override
+    public Optional<CorrelationInstance> find(Correlation correlation) {
+        Entry cached = get(byCorrelation, correlation);
+        if (cached != null) {
+            return Optional.of(cached.instance);
+        }
+        Optional<CorrelationInstance> found = delegate.find(correlation);
+        found.ifPresent(instance -> {
+            synchronized (this) {
+                byCorrelation.put(correlation, new Entry(instance, clock.getAsLong()));
+            }
+        });
+        return found;
+    }
+
+    @Override
+    public Optional<CorrelationInstance> findByCorrelatedId(String correlatedId) {
+        Entry cached = get(byCorrelatedId, correlatedId);
+        if (cached != null) {
+            return Optional.of(cached.instance);
+        }
+        Optional<CorrelationInstance> found = delegate.findByCorrelatedId(correlatedId);
+        found.ifPresent(instance -> {
+            synchronized (this) {
+                byCorrelatedId.put(correlatedId, new Entry(instance, clock.getAsLong()));
+            }
+        });
+        return found;
+    }
+
+    @Override
+    public void delete(Correlation correlation) {
+        synchronized (this) {
+            Entry removed = byCorrelation.remove(correlation);
+            if (removed != null) {
+                byCorrelatedId.remove(removed.instance.getCorrelatedId());
+            }
+            byCorrelatedId.values().removeIf(e -> correlation.equals(e.instance.getCorrelation()));
+        }
+        delegate.delete(correlation);
+    }
+
+    private synchronized <K> Entry get(Map<K, Entry> cache, K key) {
+        Entry entry = cache.get(key);
+        if (entry != null && clock.getAsLong() - entry.created > timeToLiveNanos) {
+            cache.remove(key);
+            return null;
+        }
+        return entry;
+    }
+
+    private static class Entry {
+
+        private final CorrelationInstance instance;
+        private final long created;
+
+        Entry(CorrelationInstance instance, long created) {
+            this.instance = instance;
+            this.created = created;
+        }
+    }
+}
@@ -35,7 +35,10 @@ public class DefaultCorrelationService implements CorrelationService {
     public CorrelationInstance create(Correlation correlation, String correlatedId) {
         String encodedCorrelationId = correlationEncoder.encode(correlation);
         CorrelationInstance correlationInstance = new CorrelationInstance(encodedCorrelationId, correlatedId, correlation);
-        correlationRepository.put(encodedCorrelationId, correlationInstance);
+        CorrelationInstance replaced = correlationRepository.put(encodedCorrelationId, correlationInstance);
+        if (replaced != null && !replaced.getCorrelatedId().equals(correlatedId)) {
+            correlatedRepository.remove(replaced.getCorrelatedId(), replaced);
+        }
         correlatedRepository.put(correlatedId, correlationInstance);
         return correlationInstance;
     }
@@ -53,7 +56,9 @@ public class DefaultCorrelationService implements CorrelationService {
     @Override
     public void delete(Correlation correlation) {
         CorrelationInstance removed = correlationRepository.remove(correlationEncoder.encode(correlation));
-        correlatedRepository.remove(removed.getCorrelatedId());
+        if (removed != null) {
+            correlatedRepository.remove(removed.getCorrelatedId(), removed);
+        }
     }
 
     public final void clear() {
@@ -27,17 +27,37 @@ import static java.util.stream.Collectors.joining;
 
 public class MD5CorrelationEncoder implements CorrelationEncoder {
 
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final MessageDigest prototype;
+
+    public MD5CorrelationEncoder() {
+        try {
+            this.prototype = MessageDigest.getInstance("MD5");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("MD5 is not available for encoding correlations", e);
+        }
+    }
+
     @Override
     public String encode(Correlation correlation) {
+        String rawCorrelationString = encodeCorrelation(correlation);
+        return bytesToHex(digest().digest(rawCorrelationString.getBytes()));
+    }
+
+    /**
+     * Message digests are not thread safe, so each encoding uses its own copy of the prototype, which is cheaper
+     * than looking up the algorithm providers again
+     */
+    private MessageDigest digest() {
         try {
-            String rawCorrelationString = encodeCorrelation(correlation);
-            MessageDigest md = MessageDigest.getInstance("MD5");
-            md.update(rawCorrelationString.getBytes());
-            byte[] digest = md.digest();
-            String myHash = bytesToHex(digest);
-            return myHash;
-        } catch (NoSuchAlgorithmException e) {
-            throw new RuntimeException("Error generating MD5 hash for correlation " + correlation);
+            return (MessageDigest) prototype.clone();
+        } catch (CloneNotSupportedException e) {
+            try {
+                return MessageDigest.getInstance(prototype.getAlgorithm());
+            } catch (NoSuchAlgorithmException ex) {
+                throw new IllegalStateException("MD5 is not available for encoding correlations", ex);
+            }
         }
     }
 
@@ -50,10 +70,11 @@ public class MD5CorrelationEncoder implements CorrelationEncoder {
     }
 
     private static String bytesToHex(byte[] bytes) {
-        StringBuilder sb = new StringBuilder();
-        for (byte b : bytes) {
-            sb.append(String.format("%02x", b));
+        char[] hex = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            hex[i * 2] = HEX[(bytes[i] >> 4) & 0xF];
+            hex[i * 2 + 1] = HEX[bytes[i] & 0xF];
         }
-        return sb.toString();
+        return new String(hex);
     }
 }
@@ -21,7 +21,6 @@ import java.util.Optional;
 import org.kie.kogito.correlation.Correlation;
 import org.kie.kogito.correlation.CorrelationResolver;
 import org.kie.kogito.correlation.SimpleCorrelation;
-import org.kie.kogito.event.cloudevents.CloudEventExtensionConstants;
 import org.kie.kogito.jackson.utils.ObjectMapperFactory;
 
 import com.fasterxml.jackson.databind.JsonNode;
@@ -44,16 +43,18 @@ public class SimpleAttributeCorrelationResolver implements CorrelationResolver {
 
     @Override
     public Correlation<?> resolve(Object data) {
-        final JsonNode jsonNode = objectMapper.valueToTree(data);
-        final JsonNode correlationValue = Optional.ofNullable(jsonNode.get(referenceKey))
-                .orElseGet(() -> Optional.ofNullable(jsonNode.get(CloudEventExtensionConstants.EXTENSION_ATTRIBUTES))
-                        .map(node -> node.get(referenceKey))
-                        .orElse(null));
+        final Object value = AttributeAccessors.get(data, referenceKey);
 
-        if (correlationValue == null) {
+        if (value == null) {
             return new SimpleCorrelation(referenceKey, null);
         }
 
+        if (value instanceof String || (type.isPresent() && type.get().isInstance(value))) {
+            return new SimpleCorrelation(referenceKey, value);
+        }
+
+        final JsonNode correlationValue = value instanceof JsonNode ? (JsonNode) value : objectMapper.valueToTree(value);
+
         if (correlationValue.isTextual()) {
             return new SimpleCorrelation(referenceKey, correlationValue.textValue());
         }
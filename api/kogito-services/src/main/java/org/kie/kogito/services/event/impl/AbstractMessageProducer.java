@@ -23,6 +23,9 @@ import org.kie.kogito.correlation.CompositeCorrelation;
 import org.kie.kogito.event.EventEmitter;
 import org.kie.kogito.event.process.ProcessDataEvent;
 import org.kie.kogito.internal.process.runtime.KogitoProcessInstance;
+import org.kie.kogito.services.uow.BaseWorkUnit;
+import org.kie.kogito.uow.UnitOfWork;
+import org.kie.kogito.uow.WorkUnit;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -32,6 +35,7 @@ public abstract class AbstractMessageProducer<D> {
 
     private String trigger;
     private EventEmitter emitter;
+    private MessageOutbox outbox;
 
     // in general, we should favor the non-empty constructor
     // but there is an issue with Quarkus https://github.com/quarkusio/quarkus/issues/2949#issuecomment-513017781
@@ -43,11 +47,42 @@ public abstract class AbstractMessageProducer<D> {
         setParams(emitter, trigger);
     }
 
+    public AbstractMessageProducer(EventEmitter emitter, String trigger, MessageOutbox outbox) {
+        setParams(emitter, trigger, outbox);
+    }
+
     protected void setParams(EventEmitter emitter, String trigger) {
         this.emitter = emitter;
         this.trigger = trigger;
     }
 
+    /**
+     * @param outbox outbox storing the messages until they are emitted, null to emit them straight away
+     */
+    protected void setParams(EventEmitter emitter, String trigger, MessageOutbox outbox) {
+        setParams(emitter, trigger);
+        this.outbox = outbox;
+        if (outbox != null) {
+            outbox.register(trigger, emitter);
+        }
+    }
+
+    /**
+     * Produces a message on behalf of the given unit of work. In outbox mode, the message is stored in the outbox along
+     * with the process instance writes of the unit of work and discarded if the unit of work aborts, the outbox relay
+     * being woken up once the unit of work completed. Otherwise, it is emitted straight away.
+     */
+    public void produce(KogitoProcessInstance pi, D eventData, UnitOfWork unitOfWork) {
+        if (outbox != null) {
+            ProcessDataEvent<D> event = dataEventTypeConstructor(eventData, pi, trigger);
+            // high priority work is performed before the unit of work flushes its writes
+            unitOfWork.intercept(new BaseWorkUnit<>(eventData, d -> outbox.store(trigger, event), null, WorkUnit.HIGH_PRIORITY));
+            unitOfWork.intercept(new BaseWorkUnit<>(eventData, d -> outbox.relay(), null, WorkUnit.LOW_PRIORITY));
+        } else {
+            produce(pi, eventData);
+        }
+    }
+
     public void produce(KogitoProcessInstance pi, D eventData) {
         emitter.emit(eventData, trigger, Optional.of(e -> dataEventTypeConstructor(e, pi, trigger)))
                 .exceptionally(ex -> {
@@ -33,7 +33,7 @@ public class BaseEventManager implements EventManager {
 
     @Override
     public EventBatch newBatch() {
-        return new ProcessInstanceEventBatch(service, addons);
+        return new ProcessInstanceEventBatch(service, addons, this::accept);
     }
 
     @Override
@@ -47,6 +47,10 @@ public class BaseEventManager implements EventManager {
         publishers.forEach(p -> p.publish(events));
     }
 
+    private boolean accept(String type) {
+        return publishers.stream().anyMatch(p -> p.accept(type));
+    }
+
     @Override
     public void addPublisher(EventPublisher publisher) {
         this.publishers.add(publisher);
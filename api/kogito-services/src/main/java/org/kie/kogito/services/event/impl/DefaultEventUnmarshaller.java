@@ -23,6 +23,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 public class DefaultEventUnmarshaller implements EventUnmarshaller<Object> {
@@ -34,6 +35,10 @@ public class DefaultEventUnmarshaller implements EventUnmarshaller<Object> {
         this.objectMapper = objectMapper;
     }
 
+    public ObjectMapper getObjectMapper() {
+        return objectMapper;
+    }
+
     @Override
     public <T> T unmarshall(Object value, Class<T> clazz, Class<?>... parametrizedClasses) throws IOException {
         logger.debug("Converting event with payload {} to class {} ", value, clazz);
@@ -42,7 +47,9 @@ public class DefaultEventUnmarshaller implements EventUnmarshaller<Object> {
         }
         final JavaType type = Objects.isNull(parametrizedClasses) ? objectMapper.getTypeFactory().constructType(clazz)
                 : objectMapper.getTypeFactory().constructParametricType(clazz, parametrizedClasses);
-        if (value instanceof byte[]) {
+        if (value instanceof JsonNode) {
+            return objectMapper.readerFor(type).readValue((JsonNode) value);
+        } else if (value instanceof byte[]) {
             return objectMapper.readValue((byte[]) value, type);
         } else {
             return objectMapper.readValue(value.toString(), type);
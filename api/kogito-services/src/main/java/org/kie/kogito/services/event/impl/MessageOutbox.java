@@ -0,0 +1,261 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.services.event.impl;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.kie.kogito.event.EventEmitter;
+import org.kie.kogito.event.KogitoThreadPoolFactory;
+import org.kie.kogito.event.MessageOutboxStore;
+import org.kie.kogito.event.MessageOutboxStore.StoredMessage;
+import org.kie.kogito.event.process.ProcessDataEvent;
+import org.kie.kogito.jackson.utils.ObjectMapperFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Messages produced by processes waiting to be emitted. Messages are written to the {@link MessageOutboxStore} of the
+ * process instance storage while the unit of work producing them ends, in the same transaction as the process instance
+ * state when the storage batches its writes, and are emitted by a relay thread. Neither an aborted unit of work emits them
+ * nor a slow broker blocks the thread executing the process, and messages not emitted yet survive restarts.
+ * <p>
+ * The relay polls the store every <code>pollIntervalMillis</code>, and straight away once a unit of work stored messages.
+ * It claims up to <code>batchSize</code> messages of the triggers registered by the message producers, emits them and deletes
+ * the emitted ones. A failed message is released and claimed again after <code>retryDelayMillis</code>, until it was attempted
+ * <code>maxAttempts</code> times. An attempt not completed within <code>emitTimeoutMillis</code> is considered failed.
+ * Delivery is at-least-once: a node stopping after emitting a message but before deleting it lets the message be
+ * emitted again once its lease expired.
+ */
+public class MessageOutbox implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(MessageOutbox.class);
+
+    public static final int DEFAULT_BATCH_SIZE = 100;
+    public static final int DEFAULT_MAX_ATTEMPTS = 10;
+    public static final long DEFAULT_RETRY_DELAY_MILLIS = 1000L;
+    public static final long DEFAULT_EMIT_TIMEOUT_MILLIS = 30000L;
+    public static final long DEFAULT_POLL_INTERVAL_MILLIS = 1000L;
+
+    private static final TypeReference<ProcessDataEvent<JsonNode>> EVENT_TYPE = new TypeReference<>() {
+    };
+
+    private final MessageOutboxStore store;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long retryDelayMillis;
+    private final long emitTimeoutMillis;
+    private final long pollIntervalMillis;
+    private final Map<String, EventEmitter> emitters = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService relay = Executors.newSingleThreadScheduledExecutor(new KogitoThreadPoolFactory("kogito-message-outbox"));
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final AtomicLong inFlight = new AtomicLong();
+    private final AtomicLong emitted = new AtomicLong();
+    private final AtomicLong retried = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    public MessageOutbox(MessageOutboxStore store) {
+        this(store, DEFAULT_BATCH_SIZE, DEFAULT_MAX_ATTEMPTS, DEFAULT_RETRY_DELAY_MILLIS, DEFAULT_EMIT_TIMEOUT_MILLIS, DEFAULT_POLL_INTERVAL_MILLIS);
+    }
+
+    public MessageOutbox(MessageOutboxStore store, int batchSize, int maxAttempts, long retryDelayMillis, long emitTimeoutMillis, long pollIntervalMillis) {
+        this.store = store;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.retryDelayMillis = retryDelayMillis;
+        this.emitTimeoutMillis = emitTimeoutMillis;
+        this.pollIntervalMillis = pollIntervalMillis;
+    }
+
+    /**
+     * Starts polling the stored messages, including the ones stored before a restart or by other nodes
+     */
+    public void start() {
+        relay.scheduleWithFixedDelay(this::relay, pollIntervalMillis, pollIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Registers the emitter sending the messages of the given trigger, messages of triggers without emitter are left in the store
+     *
+     * @param trigger message name
+     * @param emitter emitter sending the message
+     */
+    public void register(String trigger, EventEmitter emitter) {
+        emitters.put(trigger, emitter);
+    }
+
+    /**
+     * Stores a message to be emitted by the relay thread, along with the writes of the current unit of work
+     *
+     * @param trigger message name
+     * @param event event sent, built when the message was produced
+     */
+    public void store(String trigger, Object event) {
+        try {
+            store.store(UUID.randomUUID().toString(), trigger, ObjectMapperFactory.get().writeValueAsBytes(event));
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Error serializing message " + trigger, e);
+        }
+    }
+
+    /**
+     * Relays the stored messages without waiting for the next poll
+     */
+    public void relay() {
+        if (draining.compareAndSet(false, true)) {
+            relay.execute(this::emitBatch);
+        }
+    }
+
+    private void emitBatch() {
+        List<StoredMessage> batch;
+        try {
+            // an attempt lasts at most the emit timeout, the lease outlives it so the message is not claimed meanwhile
+            batch = emitters.isEmpty() ? Collections.emptyList() : store.claim(emitters.keySet(), batchSize, 2 * emitTimeoutMillis);
+        } catch (RuntimeException e) {
+            logger.error("Error claiming the stored messages", e);
+            batch = Collections.emptyList();
+        }
+        if (batch.isEmpty()) {
+            draining.set(false);
+            return;
+        }
+        boolean full = batch.size() == batchSize;
+        inFlight.addAndGet(batch.size());
+        List<String> done = Collections.synchronizedList(new ArrayList<>());
+        CompletableFuture<?>[] sent = batch.stream().map(m -> emit(m, done)).toArray(CompletableFuture[]::new);
+        CompletableFuture.allOf(sent).whenCompleteAsync((v, e) -> {
+            inFlight.addAndGet(-sent.length);
+            delete(done);
+            draining.set(false);
+            if (full) {
+                relay();
+            }
+        }, relay);
+    }
+
+    private CompletableFuture<Void> emit(StoredMessage message, List<String> done) {
+        ProcessDataEvent<JsonNode> event;
+        try {
+            event = ObjectMapperFactory.get().readValue(message.getPayload(), EVENT_TYPE);
+        } catch (IOException e) {
+            logger.error("Giving up message {} with id {}, it cannot be read", message.getTrigger(), message.getId(), e);
+            failed.incrementAndGet();
+            done.add(message.getId());
+            return CompletableFuture.completedFuture(null);
+        }
+        CompletableFuture<Void> attempt = new CompletableFuture<>();
+        try {
+            emitters.get(message.getTrigger()).emit(event.getData(), message.getTrigger(), Optional.of(d -> event)).whenComplete((v, e) -> {
+                if (e == null) {
+                    attempt.complete(null);
+                } else {
+                    attempt.completeExceptionally(e);
+                }
+            });
+        } catch (RuntimeException e) {
+            attempt.completeExceptionally(e);
+        }
+        // a stage never completed by the emitter must not keep the relay draining forever
+        return attempt.orTimeout(emitTimeoutMillis, TimeUnit.MILLISECONDS).handleAsync((v, e) -> {
+            if (e == null) {
+                emitted.incrementAndGet();
+                done.add(message.getId());
+            } else {
+                retry(message, e, done);
+            }
+            return null;
+        }, relay);
+    }
+
+    private void retry(StoredMessage message, Throwable cause, List<String> done) {
+        int attempts = message.getAttempts() + 1;
+        if (attempts < maxAttempts) {
+            logger.warn("Error emitting message {}, attempt {} of {}", message.getTrigger(), attempts, maxAttempts, cause);
+            retried.incrementAndGet();
+            try {
+                store.retry(message.getId(), retryDelayMillis);
+            } catch (RuntimeException e) {
+                // the message is claimed again once its lease expired
+                logger.error("Error releasing message {} with id {}", message.getTrigger(), message.getId(), e);
+            }
+        } else {
+            logger.error("Giving up emitting message {} with payload {} after {} attempts", message.getTrigger(), new String(message.getPayload()), attempts, cause);
+            failed.incrementAndGet();
+            done.add(message.getId());
+        }
+    }
+
+    private void delete(List<String> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        try {
+            store.delete(ids);
+        } catch (RuntimeException e) {
+            logger.error("Error deleting {} relayed messages, they will be emitted again", ids.size(), e);
+        }
+    }
+
+    /**
+     * @return number of messages claimed by the relay and not emitted yet
+     */
+    public long pending() {
+        return inFlight.get();
+    }
+
+    /**
+     * @return number of messages successfully emitted
+     */
+    public long emitted() {
+        return emitted.get();
+    }
+
+    /**
+     * @return number of failed attempts that were retried
+     */
+    public long retried() {
+        return retried.get();
+    }
+
+    /**
+     * @return number of messages given up after failing every attempt
+     */
+    public long failed() {
+        return failed.get();
+    }
+
+    @Override
+    public void close() {
+        relay.shutdownNow();
+    }
+}
@@ -21,6 +21,7 @@ import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.function.UnaryOperator;
 
 import org.apache.commons.lang3.StringUtils;
@@ -29,6 +30,7 @@ import org.kie.kogito.correlation.CompositeCorrelation;
 import org.kie.kogito.correlation.CorrelationInstance;
 import org.kie.kogito.correlation.CorrelationResolver;
 import org.kie.kogito.event.EventDispatcher;
+import org.kie.kogito.event.KeyedExecutorService;
 import org.kie.kogito.process.Process;
 import org.kie.kogito.process.ProcessInstance;
 import org.kie.kogito.process.ProcessService;
@@ -85,51 +87,68 @@ public class ProcessEventDispatcher<M extends Model> implements EventDispatcher<
             return CompletableFuture.completedFuture(null);
         }
 
-        final String kogitoReferenceId = resolveCorrelationId(event);
+        //extract if any, instance correlation
+        final Optional<CompositeCorrelation> correlation = instanceCorrelationResolver.map(r -> r.resolve(event));
+        final String eventReferenceId = kogitoReferenceCorrelationResolver.resolve(event).asString();
+        if (correlation.isEmpty() && StringUtils.isEmpty(eventReferenceId) && modelConverter == null) {
+            LOGGER.info("No matches found for trigger {} in process {}. Skipping consumed message {}", trigger, process.id(), event);
+            return CompletableFuture.completedFuture(null);
+        }
+        // the instance is looked up once the message gets its turn, so it sees the instances started by previous messages with the same key
+        final Object key = correlation.isPresent() ? correlation.get() : StringUtils.defaultIfEmpty(eventReferenceId, null);
+        return supplyAsync(key, () -> handleMessage(trigger, event, correlation, eventReferenceId));
+    }
+
+    private ProcessInstance<M> handleMessage(String trigger, Object event, Optional<CompositeCorrelation> correlation, String eventReferenceId) {
+        final String kogitoReferenceId = resolveCorrelationId(correlation, eventReferenceId);
         if (StringUtils.isNotEmpty(kogitoReferenceId)) {
-            return CompletableFuture.supplyAsync(() -> handleMessageWithReference(trigger, event, kogitoReferenceId), executor);
+            return handleMessageWithReference(trigger, event, kogitoReferenceId);
         }
 
         //if the trigger is for a start event (model converter is set only for start node)
         if (modelConverter != null) {
-            return CompletableFuture.supplyAsync(() -> startNewInstance(trigger, event), executor);
+            return startNewInstance(trigger, event);
         }
 
         LOGGER.info("No matches found for trigger {} in process {}. Skipping consumed message {}", trigger, process.id(), event);
-        return CompletableFuture.completedFuture(null);
+        return null;
     }
 
-    private String resolveCorrelationId(Object event) {
-        //extract if any, instance correlation
-        final Optional<CompositeCorrelation> correlation = instanceCorrelationResolver.map(r -> r.resolve(event));
+    /**
+     * Runs the message handling on the executor. When the executor is keyed, messages for the same
+     * process instance or correlation are handled one after the other, in the order they were received.
+     */
+    private <T> CompletableFuture<T> supplyAsync(Object key, Supplier<T> supplier) {
+        if (key != null && executor instanceof KeyedExecutorService) {
+            KeyedExecutorService keyedExecutor = (KeyedExecutorService) executor;
+            return CompletableFuture.supplyAsync(supplier, task -> keyedExecutor.execute(key, task));
+        }
+        return CompletableFuture.supplyAsync(supplier, executor);
+    }
 
+    private String resolveCorrelationId(Optional<CompositeCorrelation> correlation, String eventReferenceId) {
         //if exists call service to find the workflow instance id aka referenceId
         final Optional<CorrelationInstance> correlationInstance = correlation.flatMap(process.correlations()::find);
 
         //if not found the default is kogitoReferenceId
         return correlationInstance
                 .map(CorrelationInstance::getCorrelatedId)
-                .orElseGet(() -> kogitoReferenceCorrelationResolver.resolve(event).asString());
+                .orElse(eventReferenceId);
     }
 
     private ProcessInstance<M> handleMessageWithReference(String trigger, Object event, String instanceId) {
         LOGGER.debug("Received message with reference id '{}' going to use it to send signal '{}'",
                 instanceId,
                 trigger);
-        return process.instances()
-                .findById(instanceId)
-                .map(instance -> {
-                    signalProcessInstance(trigger, instance.id(), event);
-                    return instance;
-                })
+        return signalProcessInstance(trigger, instanceId, event)
                 .orElseGet(() -> {
                     LOGGER.info("Process instance with id '{}' not found for triggering signal '{}'", instanceId, trigger);
                     return startNewInstance(trigger, event);
                 });
     }
 
-    private Optional<M> signalProcessInstance(String trigger, String id, Object event) {
-        return processService.signalProcessInstance((Process) process, id, dataResolver.apply(event), "Message-" + trigger);
+    private Optional<ProcessInstance<M>> signalProcessInstance(String trigger, String id, Object event) {
+        return processService.signalProcessInstanceIfPresent(process, id, dataResolver.apply(event), "Message-" + trigger);
     }
 
     private ProcessInstance<M> startNewInstance(String trigger, Object event) {
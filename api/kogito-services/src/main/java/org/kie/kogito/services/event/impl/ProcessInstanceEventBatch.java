@@ -23,6 +23,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 import org.kie.api.event.process.ProcessCompletedEvent;
@@ -62,49 +63,97 @@ import static java.util.stream.Collectors.toList;
 
 public class ProcessInstanceEventBatch implements EventBatch {
 
+    private static final String PROCESS_INSTANCE_EVENT = "ProcessInstanceEvent";
+    private static final String USER_TASK_INSTANCE_EVENT = "UserTaskInstanceEvent";
+    private static final String VARIABLE_INSTANCE_EVENT = "VariableInstanceEvent";
+    private static final String USER_TASK_DEADLINE_EVENT = "UserTaskDeadline";
+
     private final String service;
     private Addons addons;
     private List<ProcessEvent> rawEvents = new ArrayList<>();
+    private final Predicate<String> accepted;
+    private final boolean processInstances;
+    private final boolean userTasks;
+    private final boolean variables;
 
     public ProcessInstanceEventBatch(String service, Addons addons) {
+        this(service, addons, type -> true);
+    }
+
+    /**
+     * Creates a batch that only captures and builds the events of accepted types
+     *
+     * @param service service attached to events as source
+     * @param addons addons available in the service
+     * @param accepted tells whether events of given type are published
+     */
+    public ProcessInstanceEventBatch(String service, Addons addons, Predicate<String> accepted) {
         this.service = service;
         this.addons = addons;
+        this.accepted = accepted;
+        this.processInstances = accepted.test(PROCESS_INSTANCE_EVENT);
+        this.userTasks = accepted.test(USER_TASK_INSTANCE_EVENT);
+        this.variables = accepted.test(VARIABLE_INSTANCE_EVENT);
     }
 
     @Override
     public void append(Object rawEvent) {
-        if (rawEvent instanceof ProcessEvent) {
+        if (rawEvent instanceof ProcessEvent && (processInstances || accepted((ProcessEvent) rawEvent))) {
             rawEvents.add((ProcessEvent) rawEvent);
         }
     }
 
+    private boolean accepted(ProcessEvent event) {
+        if (event instanceof ProcessWorkItemTransitionEvent) {
+            return userTasks;
+        } else if (event instanceof ProcessVariableChangedEvent) {
+            return variables;
+        } else if (event instanceof HumanTaskDeadlineEvent) {
+            return accepted.test(USER_TASK_DEADLINE_EVENT + ((HumanTaskDeadlineEvent) event).getType());
+        }
+        return false;
+    }
+
     @Override
     public Collection<DataEvent<?>> events() {
-        Map<String, ProcessInstanceEventBody> processInstances = new LinkedHashMap<>();
+        Map<String, ProcessInstanceEventBody> processInstanceBodies = new LinkedHashMap<>();
         Map<String, UserTaskInstanceEventBody> userTaskInstances = new LinkedHashMap<>();
-        Set<VariableInstanceEventBody> variables = new LinkedHashSet<>();
+        Set<VariableInstanceEventBody> variableBodies = new LinkedHashSet<>();
 
         Collection<DataEvent<?>> processedEvents = new ArrayList<>();
         for (ProcessEvent event : rawEvents) {
-            ProcessInstanceEventBody body = processInstances.computeIfAbsent(((KogitoProcessInstance) event.getProcessInstance()).getStringId(), key -> create(event));
+            ProcessInstanceEventBody body = processInstances
+                    ? processInstanceBodies.computeIfAbsent(((KogitoProcessInstance) event.getProcessInstance()).getStringId(), key -> create(event))
+                    : null;
 
             if (event instanceof ProcessNodeTriggeredEvent) {
-                handleProcessNodeTriggeredEvent((ProcessNodeTriggeredEvent) event, body);
+                if (body != null) {
+                    handleProcessNodeTriggeredEvent((ProcessNodeTriggeredEvent) event, body);
+                }
             } else if (event instanceof ProcessNodeLeftEvent) {
-                handleProcessNodeLeftEvent((ProcessNodeLeftEvent) event, body);
+                if (body != null) {
+                    handleProcessNodeLeftEvent((ProcessNodeLeftEvent) event, body);
+                }
             } else if (event instanceof ProcessCompletedEvent) {
-                handleProcessCompletedEvent((ProcessCompletedEvent) event, body);
+                if (body != null) {
+                    handleProcessCompletedEvent((ProcessCompletedEvent) event, body);
+                }
             } else if (event instanceof ProcessWorkItemTransitionEvent) {
-                handleProcessWorkItemTransitionEvent((ProcessWorkItemTransitionEvent) event, userTaskInstances);
+                if (userTasks) {
+                    handleProcessWorkItemTransitionEvent((ProcessWorkItemTransitionEvent) event, userTaskInstances);
+                }
             } else if (event instanceof ProcessVariableChangedEvent) {
-                handleProcessVariableChangedEvent((KogitoProcessVariableChangedEvent) event, variables);
-            } else if (event instanceof HumanTaskDeadlineEvent) {
+                if (variables) {
+                    handleProcessVariableChangedEvent((KogitoProcessVariableChangedEvent) event, variableBodies);
+                }
+            } else if (event instanceof HumanTaskDeadlineEvent && accepted(event)) {
                 processedEvents.add(buildUserTaskDeadlineEvent((HumanTaskDeadlineEvent) event));
             }
         }
-        processInstances.values().stream().map(pi -> new ProcessInstanceDataEvent(extractRuntimeSource(pi.metaData()), addons.toString(), pi.metaData(), pi)).forEach(processedEvents::add);
+        processInstanceBodies.values().stream().map(pi -> new ProcessInstanceDataEvent(extractRuntimeSource(pi.metaData()), addons.toString(), pi.metaData(), pi))
+                .forEach(processedEvents::add);
         userTaskInstances.values().stream().map(pi -> new UserTaskInstanceDataEvent(extractRuntimeSource(pi.metaData()), addons.toString(), pi.metaData(), pi)).forEach(processedEvents::add);
-        variables.stream().map(pi -> new VariableInstanceDataEvent(extractRuntimeSource(pi.metaData()), addons.toString(), pi.metaData(), pi)).forEach(processedEvents::add);
+        variableBodies.stream().map(pi -> new VariableInstanceDataEvent(extractRuntimeSource(pi.metaData()), addons.toString(), pi.metaData(), pi)).forEach(processedEvents::add);
         return processedEvents;
     }
 
@@ -127,7 +176,7 @@ public class ProcessInstanceEventBatch implements EventBatch {
                 .rootProcessId(pi.getRootProcessId())
                 .inputs(workItem.getParameters())
                 .outputs(workItem.getResults()).build();
-        return new UserTaskDeadlineDataEvent("UserTaskDeadline" + event.getType(), buildSource(pi.getProcessId()),
+        return new UserTaskDeadlineDataEvent(USER_TASK_DEADLINE_EVENT + event.getType(), buildSource(pi.getProcessId()),
                 addons.toString(), body, pi.getStringId(), pi.getRootProcessInstanceId(), pi.getProcessId(), pi
                         .getRootProcessId());
     }
@@ -20,12 +20,14 @@ import java.util.Collection;
 import java.util.Comparator;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 
 import org.kie.kogito.event.EventBatch;
 import org.kie.kogito.event.EventManager;
 import org.kie.kogito.uow.UnitOfWork;
 import org.kie.kogito.uow.WorkUnit;
+import org.kie.kogito.uow.WorkUnitBatch;
 
 /**
  * Simple unit of work that collects work elements
@@ -58,9 +60,28 @@ public class CollectingUnitOfWork implements UnitOfWork {
         checkStarted();
         EventBatch batch = eventManager.newBatch();
 
-        for (WorkUnit<?> work : sorted()) {
-            batch.append(work.data());
-            work.perform();
+        Optional<WorkUnitBatch> asyncWrites = WorkUnitBatch.current().filter(WorkUnitBatch::isAsync);
+        if (asyncWrites.isPresent()) {
+            // the writes are flushed by whoever opened the batch, events are only published once they are done
+            for (WorkUnit<?> work : sorted()) {
+                batch.append(work.data());
+                work.perform();
+            }
+            asyncWrites.get().afterFlush(() -> eventManager.publish(batch));
+            done();
+            return;
+        }
+
+        try (WorkUnitBatch writes = WorkUnitBatch.open()) {
+            for (WorkUnit<?> work : sorted()) {
+                if (work.priority() > WorkUnit.HIGH_PRIORITY) {
+                    // process instances are written by high priority work, make them visible to the rest
+                    writes.flush();
+                }
+                batch.append(work.data());
+                work.perform();
+            }
+            writes.flush();
         }
         eventManager.publish(batch);
         done();
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.services.event.correlation;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.kie.kogito.correlation.Correlation;
+import org.kie.kogito.correlation.CorrelationInstance;
+import org.kie.kogito.correlation.CorrelationService;
+import org.kie.kogito.correlation.SimpleCorrelation;
+import org.kie.kogito.uow.WorkUnitBatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CachedCorrelationServiceTest {
+
+    private final Correlation<String> correlation = new SimpleCorrelation<>("key", "value");
+    private final CorrelationInstance instance = new CorrelationInstance("encoded", "correlated", correlation);
+    private final AtomicLong clock = new AtomicLong();
+    private CorrelationService delegate;
+    private CachedCorrelationService cached;
+
+    @BeforeEach
+    void setup() {
+        delegate = mock(CorrelationService.class);
+        when(delegate.create(correlation, "correlated")).thenReturn(instance);
+        when(delegate.find(correlation)).thenReturn(Optional.of(instance));
+        when(delegate.findByCorrelatedId("correlated")).thenReturn(Optional.of(instance));
+        cached = new CachedCorrelationService(delegate, 2, 1000L, clock::get);
+    }
+
+    @Test
+    void testCreateWritesThrough() {
+        assertThat(cached.create(correlation, "correlated")).isSameAs(instance);
+        assertThat(cached.find(correlation)).contains(instance);
+        assertThat(cached.findByCorrelatedId("correlated")).contains(instance);
+        verify(delegate, times(0)).find(correlation);
+        verify(delegate, times(0)).findByCorrelatedId("correlated");
+    }
+
+    @Test
+    void testCreateCachedAfterBatchFlushed() {
+        WorkUnitBatch batch = WorkUnitBatch.open();
+        try {
+            cached.create(correlation, "correlated");
+            assertThat(cached.find(correlation)).contains(instance);
+            verify(delegate, times(1)).find(correlation);
+            batch.flush();
+        } finally {
+            batch.close();
+        }
+        assertThat(cached.findByCorrelatedId("correlated")).contains(instance);
+        verify(delegate, times(0)).findByCorrelatedId("correlated");
+    }
+
+    @Test
+    void testCreateNotCachedWhenBatchDiscarded() {
+        try (WorkUnitBatch batch = WorkUnitBatch.open()) {
+            cached.create(correlation, "correlated");
+        }
+        assertThat(cached.findByCorrelatedId("correlated")).contains(instance);
+        verify(delegate, times(1)).findByCorrelatedId("correlated");
+    }
+
+    @Test
+    void testFindCachedUntilExpired() {
+        assertThat(cached.find(correlation)).contains(instance);
+        assertThat(cached.find(correlation)).contains(instance);
+        verify(delegate, times(1)).find(correlation);
+
+        clock.set(1001L * 1_000_000L);
+        assertThat(cached.find(correlation)).contains(instance);
+        verify(delegate, times(2)).find(correlation);
+    }
+
+    @Test
+    void testNotFoundCorrelationNotCached() {
+        Correlation<String> other = new SimpleCorrelation<>("key", "other");
+        when(delegate.find(other)).thenReturn(Optional.empty());
+        assertThat(cached.find(other)).isEmpty();
+        assertThat(cached.find(other)).isEmpty();
+        verify(delegate, times(2)).find(other);
+    }
+
+    @Test
+    void testNotFoundCorrelatedIdNotCached() {
+        when(delegate.findByCorrelatedId("other")).thenReturn(Optional.empty());
+        assertThat(cached.findByCorrelatedId("other")).isEmpty();
+        assertThat(cached.findByCorrelatedId("other")).isEmpty();
+        verify(delegate, times(2)).findByCorrelatedId("other");
+    }
+
+    @Test
+    void testDeleteInvalidates() {
+        cached.create(correlation, "correlated");
+        cached.delete(correlation);
+        verify(delegate).delete(correlation);
+
+        when(delegate.find(correlation)).thenReturn(Optional.empty());
+        when(delegate.findByCorrelatedId("correlated")).thenReturn(Optional.empty());
+        assertThat(cached.find(correlation)).isEmpty();
+        assertThat(cached.findByCorrelatedId("correlated")).isEmpty();
+    }
+
+    @Test
+    void testBounded() {
+        for (int i = 0; i < 3; i++) {
+            when(delegate.findByCorrelatedId("id" + i)).thenReturn(Optional.of(new CorrelationInstance("encoded" + i, "id" + i, correlation)));
+            cached.findByCorrelatedId("id" + i);
+        }
+        cached.findByCorrelatedId("id0");
+        verify(delegate, times(2)).findByCorrelatedId("id0");
+        cached.findByCorrelatedId("id2");
+        verify(delegate, times(1)).findByCorrelatedId("id2");
+    }
+}
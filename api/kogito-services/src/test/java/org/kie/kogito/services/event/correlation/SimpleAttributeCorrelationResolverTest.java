@@ -15,6 +15,8 @@
  */
 package org.kie.kogito.services.event.correlation;
 
+import java.util.Map;
+
 import org.junit.jupiter.api.Test;
 import org.kie.kogito.correlation.Correlation;
 import org.kie.kogito.event.cloudevents.CloudEventExtensionConstants;
@@ -58,6 +60,23 @@ class SimpleAttributeCorrelationResolverTest {
         assertThat(data.getValue()).isEqualTo(payload);
     }
 
+    @Test
+    void testResolveExtensionAttribute() {
+        DummyCloudEvent extended = new DummyCloudEvent(payload, "type", "source", "referenceId");
+        extended.addExtensionAttribute("custom", "value");
+        Correlation<?> custom = new SimpleAttributeCorrelationResolver("custom").resolve(extended);
+        assertThat(custom.getKey()).isEqualTo("custom");
+        assertThat(custom.getValue()).isEqualTo("value");
+        assertThat(new SimpleAttributeCorrelationResolver("missing").resolve(extended).getValue()).isNull();
+    }
+
+    @Test
+    void testResolveMapAttribute() {
+        Map<String, Object> data = Map.of(TYPE_KEY, "type", CloudEventExtensionConstants.EXTENSION_ATTRIBUTES, Map.of("custom", "value"));
+        assertThat(typeResolver.resolve(data).getValue()).isEqualTo("type");
+        assertThat(new SimpleAttributeCorrelationResolver("custom").resolve(data).getValue()).isEqualTo("value");
+    }
+
     @Test
     void testResolveNullAttribute() {
         Correlation<?> source = sourceResolver.resolve(null);
@@ -0,0 +1,222 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.services.event.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+import org.kie.kogito.event.EventEmitter;
+import org.kie.kogito.event.MessageOutboxStore;
+import org.kie.kogito.event.process.ProcessDataEvent;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MessageOutboxTest {
+
+    @Test
+    public void testEmitsEveryStoredMessage() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(10);
+        List<String> events = Collections.synchronizedList(new ArrayList<>());
+        InMemoryStore store = new InMemoryStore();
+        try (MessageOutbox outbox = new MessageOutbox(store, 3, 1, 10L, 1000L, 10L)) {
+            outbox.register("trigger", emitter(latch, events, 0));
+            for (int i = 0; i < 10; i++) {
+                outbox.store("trigger", event("data-" + i));
+            }
+            outbox.start();
+
+            assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(events).hasSize(10).contains("data-0", "data-9");
+            assertThat(outbox.failed()).isZero();
+            assertThat(waitUntilEmpty(store)).isTrue();
+        }
+    }
+
+    @Test
+    public void testRetriesFailedMessage() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        List<String> events = Collections.synchronizedList(new ArrayList<>());
+        InMemoryStore store = new InMemoryStore();
+        try (MessageOutbox outbox = new MessageOutbox(store, 10, 3, 10L, 1000L, 10L)) {
+            outbox.register("trigger", emitter(latch, events, 2));
+            outbox.store("trigger", event("data"));
+            outbox.start();
+
+            assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(events).containsExactly("data");
+            assertThat(outbox.retried()).isEqualTo(2);
+            assertThat(waitUntilEmpty(store)).isTrue();
+        }
+    }
+
+    @Test
+    public void testRetriesTimedOutMessage() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        AtomicInteger attempts = new AtomicInteger();
+        InMemoryStore store = new InMemoryStore();
+        try (MessageOutbox outbox = new MessageOutbox(store, 10, 3, 10L, 50L, 10L)) {
+            outbox.register("trigger", new EventEmitter() {
+                @Override
+                public <T> CompletionStage<Void> emit(T e, String type, Optional<Function<T, Object>> processDecorator) {
+                    if (attempts.incrementAndGet() == 1) {
+                        return new CompletableFuture<>();
+                    }
+                    latch.countDown();
+                    return CompletableFuture.completedFuture(null);
+                }
+            });
+            outbox.store("trigger", event("data"));
+            outbox.start();
+
+            assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(outbox.retried()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    public void testGivesUpAfterLastAttempt() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        InMemoryStore store = new InMemoryStore();
+        try (MessageOutbox outbox = new MessageOutbox(store, 10, 2, 10L, 1000L, 10L)) {
+            outbox.register("trigger", emitter(latch, new ArrayList<>(), 2));
+            outbox.store("trigger", event("data"));
+            outbox.start();
+
+            assertThat(waitUntilEmpty(store)).isTrue();
+            assertThat(outbox.retried()).isEqualTo(1);
+            assertThat(outbox.failed()).isEqualTo(1);
+            assertThat(outbox.emitted()).isZero();
+        }
+    }
+
+    @Test
+    public void testKeepsMessagesWithoutEmitter() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        List<String> events = Collections.synchronizedList(new ArrayList<>());
+        InMemoryStore store = new InMemoryStore();
+        try (MessageOutbox outbox = new MessageOutbox(store, 10, 1, 10L, 1000L, 10L)) {
+            outbox.register("trigger", emitter(latch, events, 0));
+            outbox.store("other", event("other-data"));
+            outbox.store("trigger", event("data"));
+            outbox.start();
+
+            assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(events).containsExactly("data");
+            assertThat(store.triggers()).containsExactly("other");
+        }
+    }
+
+    private static ProcessDataEvent<String> event(String data) {
+        return new ProcessDataEvent<>("source", data, "pi", "1.0", null, null, "process", null, "1", null, "BPMN");
+    }
+
+    private static boolean waitUntilEmpty(InMemoryStore store) throws InterruptedException {
+        for (int i = 0; i < 500; i++) {
+            if (store.triggers().isEmpty()) {
+                return true;
+            }
+            Thread.sleep(10);
+        }
+        return false;
+    }
+
+    private static EventEmitter emitter(CountDownLatch latch, List<String> events, int failures) {
+        AtomicInteger attempts = new AtomicInteger();
+        return new EventEmitter() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <T> CompletionStage<Void> emit(T e, String type, Optional<Function<T, Object>> processDecorator) {
+                if (attempts.incrementAndGet() <= failures) {
+                    CompletableFuture<Void> failed = new CompletableFuture<>();
+                    failed.completeExceptionally(new IllegalStateException("broker not available"));
+                    return failed;
+                }
+                events.add(((ProcessDataEvent<JsonNode>) processDecorator.get().apply(e)).getData().asText());
+                latch.countDown();
+                return CompletableFuture.completedFuture(null);
+            }
+        };
+    }
+
+    private static class InMemoryStore implements MessageOutboxStore {
+
+        private final Map<String, Row> rows = new LinkedHashMap<>();
+
+        @Override
+        public synchronized void store(String id, String trigger, byte[] payload) {
+            rows.put(id, new Row(trigger, payload));
+        }
+
+        @Override
+        public synchronized List<StoredMessage> claim(Collection<String> triggers, int limit, long leaseTime) {
+            long now = System.currentTimeMillis();
+            List<StoredMessage> claimed = new ArrayList<>();
+            for (Map.Entry<String, Row> entry : rows.entrySet()) {
+                Row row = entry.getValue();
+                if (claimed.size() < limit && triggers.contains(row.trigger) && row.leaseExpiration < now) {
+                    row.leaseExpiration = now + leaseTime;
+                    claimed.add(new StoredMessage(entry.getKey(), row.trigger, row.payload, row.attempts));
+                }
+            }
+            return claimed;
+        }
+
+        @Override
+        public synchronized void retry(String id, long delay) {
+            Row row = rows.get(id);
+            row.attempts++;
+            row.leaseExpiration = System.currentTimeMillis() + delay;
+        }
+
+        @Override
+        public synchronized void delete(Collection<String> ids) {
+            rows.keySet().removeAll(ids);
+        }
+
+        synchronized List<String> triggers() {
+            List<String> triggers = new ArrayList<>();
+            rows.values().forEach(r -> triggers.add(r.trigger));
+            return triggers;
+        }
+    }
+
+    private static class Row {
+
+        private final String trigger;
+        private final byte[] payload;
+        private int attempts;
+        private long leaseExpiration;
+
+        Row(String trigger, byte[] payload) {
+            this.trigger = trigger;
+            this.payload = payload;
+        }
+    }
+}
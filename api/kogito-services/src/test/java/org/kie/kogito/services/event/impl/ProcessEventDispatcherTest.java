@@ -87,7 +87,8 @@ class ProcessEventDispatcherTest {
         when(processInstances.findById("1")).thenReturn(Optional.of(processInstance));
         processService = mock(ProcessService.class);
         when(processService.createProcessInstance(eq(process), any(), any(), any(), any(), any(), any())).thenReturn(processInstance);
-        when(processService.signalProcessInstance(eq(process), any(), any(), any())).thenReturn(Optional.of(mock(DummyModel.class)));
+        when(processService.signalProcessInstanceIfPresent(eq(process), any(), any(), any())).thenReturn(Optional.empty());
+        when(processService.signalProcessInstanceIfPresent(eq(process), eq("1"), any(), any())).thenReturn(Optional.of(processInstance));
         executor = Executors.newSingleThreadExecutor();
     }
 
@@ -109,7 +110,7 @@ class ProcessEventDispatcherTest {
         ArgumentCaptor<String> signal = ArgumentCaptor.forClass(String.class);
         ArgumentCaptor<String> processInstanceId = ArgumentCaptor.forClass(String.class);
 
-        verify(processService, times(1)).signalProcessInstance(Mockito.any(Process.class), processInstanceId.capture(), Mockito.any(Object.class), signal.capture());
+        verify(processService, times(1)).signalProcessInstanceIfPresent(Mockito.any(Process.class), processInstanceId.capture(), Mockito.any(Object.class), signal.capture());
 
         assertEquals("Message-" + DUMMY_TOPIC, signal.getValue());
         assertEquals("1", processInstanceId.getValue());
@@ -125,7 +126,7 @@ class ProcessEventDispatcherTest {
         ArgumentCaptor<String> referenceId = ArgumentCaptor.forClass(String.class);
 
         verify(processInstances, never()).findById(any());
-        verify(processService, never()).signalProcessInstance(eq(process), any(), any(), signal.capture());
+        verify(processService, never()).signalProcessInstanceIfPresent(eq(process), any(), any(), signal.capture());
         verify(processService, times(1)).createProcessInstance(eq(process), any(), any(DummyModel.class), any(), signal.capture(), referenceId.capture(), isNull());
 
         assertEquals(DUMMY_TOPIC, signal.getValue());
@@ -141,8 +142,8 @@ class ProcessEventDispatcherTest {
         ArgumentCaptor<String> signal = ArgumentCaptor.forClass(String.class);
         ArgumentCaptor<String> referenceId = ArgumentCaptor.forClass(String.class);
 
-        verify(processInstances, times(1)).findById("invalidReference");
-        verify(processService, never()).signalProcessInstance(eq(process), any(), any(), signal.capture());
+        verify(processInstances, never()).findById(any());
+        verify(processService, times(1)).signalProcessInstanceIfPresent(eq(process), eq("invalidReference"), any(), any());
         verify(processService, times(1)).createProcessInstance(eq(process), any(), any(DummyModel.class), any(), signal.capture(), referenceId.capture(), isNull());
 
         assertEquals(DUMMY_TOPIC, signal.getValue());
@@ -178,7 +179,7 @@ class ProcessEventDispatcherTest {
         ArgumentCaptor<String> processInstanceId = ArgumentCaptor.forClass(String.class);
         ArgumentCaptor<Object> signalObject = ArgumentCaptor.forClass(Object.class);
 
-        verify(processService, times(1)).signalProcessInstance(Mockito.any(Process.class), processInstanceId.capture(), signalObject.capture(), signal.capture());
+        verify(processService, times(1)).signalProcessInstanceIfPresent(Mockito.any(Process.class), processInstanceId.capture(), signalObject.capture(), signal.capture());
 
         assertEquals("Message-" + DUMMY_TOPIC, signal.getValue());
         assertEquals("pepe", signalObject.getValue());
@@ -251,7 +252,7 @@ class ProcessEventDispatcherTest {
         ArgumentCaptor<String> processInstanceId = ArgumentCaptor.forClass(String.class);
 
         verify(correlationService).find(compositeCorrelation);
-        verify(processService).signalProcessInstance(Mockito.any(Process.class), processInstanceId.capture(), Mockito.any(Object.class), signal.capture());
+        verify(processService).signalProcessInstanceIfPresent(Mockito.any(Process.class), processInstanceId.capture(), Mockito.any(Object.class), signal.capture());
 
         assertEquals("Message-" + DUMMY_TOPIC, signal.getValue());
         assertEquals("1", processInstanceId.getValue());
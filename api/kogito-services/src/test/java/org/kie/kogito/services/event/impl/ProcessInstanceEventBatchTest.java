@@ -17,7 +17,11 @@
 package org.kie.kogito.services.event.impl;
 
 import org.junit.jupiter.api.Test;
+import org.kie.api.event.process.ProcessNodeTriggeredEvent;
+import org.kie.kogito.Addons;
 import org.kie.kogito.event.process.MilestoneEventBody;
+import org.kie.kogito.event.process.VariableInstanceDataEvent;
+import org.kie.kogito.internal.process.event.KogitoProcessVariableChangedEvent;
 import org.kie.kogito.internal.process.runtime.KogitoWorkflowProcessInstance;
 import org.kie.kogito.process.flexible.Milestone;
 
@@ -29,6 +33,9 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.kie.kogito.event.process.ProcessInstanceEventBody.PROCESS_ID_META_DATA;
 import static org.kie.kogito.process.flexible.ItemDescription.Status;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 public class ProcessInstanceEventBatchTest {
@@ -73,4 +80,38 @@ public class ProcessInstanceEventBatchTest {
         MilestoneEventBody milestoneEventBody = MilestoneEventBody.create().id("id").name("name").status(Status.AVAILABLE.name()).build();
         assertThat(batch.createMilestones(pi)).containsOnly(milestoneEventBody);
     }
+
+    @Test
+    public void testNotAcceptedEventsNotBuilt() {
+        ProcessInstanceEventBatch batch = new ProcessInstanceEventBatch("http://localhost:8080", Addons.EMTPY, type -> false);
+
+        KogitoWorkflowProcessInstance pi = mock(KogitoWorkflowProcessInstance.class);
+        batch.append(variableChanged(pi));
+        ProcessNodeTriggeredEvent nodeTriggered = mock(ProcessNodeTriggeredEvent.class);
+        when(nodeTriggered.getProcessInstance()).thenReturn(pi);
+        batch.append(nodeTriggered);
+
+        assertThat(batch.events()).isEmpty();
+        verifyNoInteractions(pi);
+    }
+
+    @Test
+    public void testOnlyAcceptedEventsBuilt() {
+        ProcessInstanceEventBatch batch = new ProcessInstanceEventBatch("http://localhost:8080", Addons.EMTPY, "VariableInstanceEvent"::equals);
+
+        KogitoWorkflowProcessInstance pi = mock(KogitoWorkflowProcessInstance.class);
+        when(pi.getStringId()).thenReturn("id");
+        batch.append(variableChanged(pi));
+
+        assertThat(batch.events()).hasSize(1).allMatch(VariableInstanceDataEvent.class::isInstance);
+        verify(pi, never()).getVariables();
+    }
+
+    private static KogitoProcessVariableChangedEvent variableChanged(KogitoWorkflowProcessInstance pi) {
+        KogitoProcessVariableChangedEvent event = mock(KogitoProcessVariableChangedEvent.class);
+        when(event.getProcessInstance()).thenReturn(pi);
+        when(event.getVariableId()).thenReturn("var");
+        return event;
+    }
 }
+
@@ -22,6 +22,7 @@ import org.junit.jupiter.api.Test;
 import org.kie.kogito.uow.UnitOfWork;
 import org.kie.kogito.uow.UnitOfWorkManager;
 import org.kie.kogito.uow.WorkUnit;
+import org.kie.kogito.uow.WorkUnitBatch;
 import org.kie.kogito.uow.events.UnitOfWorkEventListener;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -146,4 +147,53 @@ public class DefaultUnitOfWorkManagerTest {
         assertThat(counter.get()).isEqualTo(1);
         assertThat(picounter.get()).isEqualTo(0);
     }
+
+    @Test
+    public void testUnitOfWorkFlushesWritesBeforeLowerPriorityWork() {
+
+        UnitOfWork unit = unitOfWorkManager.newUnitOfWork();
+
+        final AtomicInteger flushed = new AtomicInteger(0);
+        final AtomicInteger flushedWhenPerformed = new AtomicInteger(-1);
+        final WorkUnitBatch.Participant participant = flushed::incrementAndGet;
+
+        BaseWorkUnit dummyWork = new BaseWorkUnit(flushed, (d) -> {
+            flushedWhenPerformed.set(flushed.get());
+            assertThat(WorkUnitBatch.current()).isEmpty();
+        });
+        ProcessInstanceWorkUnit<?> piWork = new ProcessInstanceWorkUnit<>(null,
+                (d) -> WorkUnitBatch.current().orElseThrow().participant(this, () -> participant));
+        unit.start();
+        unit.intercept(dummyWork);
+        unit.intercept(piWork);
+        unit.end();
+
+        assertThat(flushed.get()).isEqualTo(1);
+        assertThat(flushedWhenPerformed.get()).isEqualTo(1);
+        assertThat(WorkUnitBatch.current()).isEmpty();
+    }
+
+    @Test
+    public void testUnitOfWorkJoinsAsyncBatch() {
+
+        UnitOfWork unit = unitOfWorkManager.newUnitOfWork();
+
+        final AtomicInteger flushed = new AtomicInteger(0);
+        final WorkUnitBatch.Participant participant = flushed::incrementAndGet;
+
+        ProcessInstanceWorkUnit<?> piWork = new ProcessInstanceWorkUnit<>(null,
+                (d) -> WorkUnitBatch.current().orElseThrow().participant(this, () -> participant));
+        WorkUnitBatch writes = WorkUnitBatch.openAsync();
+        unit.start();
+        unit.intercept(piWork);
+        unit.end();
+
+        assertThat(flushed.get()).isZero();
+        assertThat(WorkUnitBatch.current()).containsSame(writes);
+
+        writes.flushAsync(Runnable::run).toCompletableFuture().join();
+
+        assertThat(flushed.get()).isEqualTo(1);
+        assertThat(WorkUnitBatch.current()).isEmpty();
+    }
 }
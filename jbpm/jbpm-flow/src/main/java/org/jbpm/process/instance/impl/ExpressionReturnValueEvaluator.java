@@ -30,6 +30,8 @@ public class ExpressionReturnValueEvaluator implements ReturnValueEvaluator {
 
     public ExpressionReturnValueEvaluator(String lang, String expression, String rootName, Class<?> returnType) {
         this.expression = ExpressionHandlerFactory.get(lang, expression);
+        // compiled when the process is built rather than on first evaluation
+        this.expression.isValid();
         this.rootName = rootName;
         this.returnType = returnType;
     }
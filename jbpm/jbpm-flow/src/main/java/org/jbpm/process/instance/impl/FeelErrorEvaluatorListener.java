@@ -34,7 +34,7 @@ public class FeelErrorEvaluatorListener implements FEELEventListener {
     public void onEvent(FEELEvent event) {
         switch (event.getSeverity()) {
             case ERROR:
-                errorEvents.add(event);
+                getErrorEvents().add(event);
                 LOG.error("{}", event);
                 break;
             case TRACE:
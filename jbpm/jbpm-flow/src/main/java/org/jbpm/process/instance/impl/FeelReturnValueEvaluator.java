@@ -19,18 +19,26 @@ import java.io.Externalizable;
 import java.io.IOException;
 import java.io.ObjectInput;
 import java.io.ObjectOutput;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
+import org.jbpm.process.core.context.variable.Variable;
 import org.jbpm.process.core.context.variable.VariableScope;
 import org.jbpm.process.instance.context.variable.VariableScopeInstance;
 import org.jbpm.workflow.instance.WorkflowProcessInstance;
 import org.kie.api.runtime.Globals;
 import org.kie.dmn.api.feel.runtime.events.FEELEvent;
 import org.kie.dmn.feel.FEEL;
+import org.kie.dmn.feel.lang.CompiledExpression;
+import org.kie.dmn.feel.lang.CompilerContext;
 import org.kie.dmn.feel.parser.feel11.profiles.KieExtendedFEELProfile;
 import org.kie.kogito.internal.process.runtime.KogitoProcessContext;
 import org.slf4j.Logger;
@@ -42,8 +50,20 @@ public class FeelReturnValueEvaluator implements ReturnValueEvaluator, Externali
 
     private static final long serialVersionUID = 630l;
 
+    private static final String KCONTEXT = "kcontext";
+
+    /*
+     * FEEL listeners are registered per engine, so the shared engine reports into a list owned by the
+     * evaluating thread, which keeps error events of concurrent evaluations apart.
+     */
+    private static final ThreadLocal<List<FEELEvent>> ERROR_EVENTS = ThreadLocal.withInitial(ArrayList::new);
+
+    private static final FEEL FEEL_ENGINE = createEngine();
+
     private String expr;
 
+    private transient volatile CompiledExpression compiled;
+
     public FeelReturnValueEvaluator() {
     }
 
@@ -60,31 +80,21 @@ public class FeelReturnValueEvaluator implements ReturnValueEvaluator, Externali
     }
 
     public Object evaluate(KogitoProcessContext context) throws Exception {
-        Map<String, Object> variables = new HashMap<>();
-        variables.put("kcontext", context);
-
-        // insert globals into context
         Globals globals = context.getKieRuntime().getGlobals();
-
-        if (globals != null && globals.getGlobalKeys() != null) {
-            for (String gKey : globals.getGlobalKeys()) {
-                variables.put(gKey, globals.get(gKey));
-            }
-        }
+        VariableScopeInstance variableScope = null;
         if (context.getProcessInstance() != null && context.getProcessInstance().getProcess() != null) {
-            // insert process variables
-            VariableScopeInstance variableScope = (VariableScopeInstance) ((WorkflowProcessInstance) context.getProcessInstance())
+            variableScope = (VariableScopeInstance) ((WorkflowProcessInstance) context.getProcessInstance())
                     .getContextInstance(VariableScope.VARIABLE_SCOPE);
-
-            variables.putAll(variableScope.getVariables());
         }
-        FEEL feel = FEEL.newInstance(Collections.singletonList(new KieExtendedFEELProfile()));
-        FeelErrorEvaluatorListener listener = new FeelErrorEvaluatorListener();
-        feel.addListener(listener);
-
-        Object value = feel.evaluate(expr, variables);
 
-        processErrorEvents(listener.getErrorEvents());
+        Object value;
+        try {
+            Map<String, Object> processVariables = variableScope == null ? Collections.emptyMap() : variableScope.getVariables();
+            value = FEEL_ENGINE.evaluate(compile(globals, variableScope), new VariablesView(context, globals, processVariables));
+            processErrorEvents(ERROR_EVENTS.get());
+        } finally {
+            ERROR_EVENTS.remove();
+        }
         if (!(value instanceof Boolean)) {
             throw new RuntimeException("Constraints must return boolean values: " +
                     expr + " returns " + value +
@@ -94,6 +104,119 @@ public class FeelReturnValueEvaluator implements ReturnValueEvaluator, Externali
         return ((Boolean) value).booleanValue();
     }
 
+    /**
+     * Compiles the expression the first time the node is evaluated, declaring the process variables and globals
+     * so multi word names are recognized.
+     */
+    private CompiledExpression compile(Globals globals, VariableScopeInstance variableScope) {
+        CompiledExpression current = compiled;
+        if (current == null) {
+            Set<String> names = new LinkedHashSet<>();
+            names.add(KCONTEXT);
+            if (globals != null && globals.getGlobalKeys() != null) {
+                names.addAll(globals.getGlobalKeys());
+            }
+            if (variableScope != null) {
+                for (Variable variable : variableScope.getVariableScope().getVariables()) {
+                    names.add(variable.getName());
+                }
+                names.addAll(variableScope.getVariables().keySet());
+            }
+            CompilerContext cc = FEEL_ENGINE.newCompilerContext();
+            for (String name : names) {
+                cc.addInputVariable(name, null);
+            }
+            current = FEEL_ENGINE.compile(expr, cc);
+            processErrorEvents(ERROR_EVENTS.get());
+            compiled = current;
+            LOG.debug("Compiled FEEL constraint {} declaring {}", expr, names);
+        }
+        return current;
+    }
+
+    private static FEEL createEngine() {
+        FEEL feel = FEEL.newInstance(Collections.singletonList(new KieExtendedFEELProfile()));
+        feel.addListener(new FeelErrorEvaluatorListener() {
+            @Override
+            public List<FEELEvent> getErrorEvents() {
+                return ERROR_EVENTS.get();
+            }
+        });
+        return feel;
+    }
+
+    /**
+     * Read only view of the names visible to the expression, resolved when FEEL reads them rather than copied upfront:
+     * process variables first, then kcontext and the globals. Variables set after the expression was compiled are
+     * visible too.
+     */
+    private static class VariablesView extends AbstractMap<String, Object> {
+
+        private final KogitoProcessContext context;
+        private final Globals globals;
+        private final Map<String, Object> processVariables;
+
+        private VariablesView(KogitoProcessContext context, Globals globals, Map<String, Object> processVariables) {
+            this.context = context;
+            this.globals = globals;
+            this.processVariables = processVariables;
+        }
+
+        @Override
+        public Object get(Object key) {
+            if (processVariables.containsKey(key)) {
+                return processVariables.get(key);
+            } else if (KCONTEXT.equals(key)) {
+                return context;
+            } else if (globals != null && key instanceof String) {
+                return globals.get((String) key);
+            }
+            return null;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return names().contains(key);
+        }
+
+        @Override
+        public Set<Entry<String, Object>> entrySet() {
+            Set<String> names = names();
+            return new AbstractSet<Entry<String, Object>>() {
+                @Override
+                public Iterator<Entry<String, Object>> iterator() {
+                    Iterator<String> iter = names.iterator();
+                    return new Iterator<Entry<String, Object>>() {
+                        @Override
+                        public boolean hasNext() {
+                            return iter.hasNext();
+                        }
+
+                        @Override
+                        public Entry<String, Object> next() {
+                            String name = iter.next();
+                            return new SimpleImmutableEntry<>(name, get(name));
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return names.size();
+                }
+            };
+        }
+
+        private Set<String> names() {
+            Set<String> names = new LinkedHashSet<>(processVariables.keySet());
+            names.add(KCONTEXT);
+            if (globals != null && globals.getGlobalKeys() != null) {
+                names.addAll(globals.getGlobalKeys());
+            }
+            return names;
+        }
+    }
+
     private void processErrorEvents(List<FEELEvent> errorEvents) {
         if (errorEvents.isEmpty()) {
             return;
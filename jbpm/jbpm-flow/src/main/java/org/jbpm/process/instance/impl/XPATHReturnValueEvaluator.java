@@ -22,13 +22,17 @@ import java.io.ObjectOutput;
 import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 import javax.xml.namespace.NamespaceContext;
 import javax.xml.namespace.QName;
-import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.xpath.XPath;
 import javax.xml.xpath.XPathConstants;
+import javax.xml.xpath.XPathExpression;
+import javax.xml.xpath.XPathExpressionException;
 import javax.xml.xpath.XPathFactory;
 import javax.xml.xpath.XPathFunction;
 import javax.xml.xpath.XPathFunctionException;
@@ -36,6 +40,7 @@ import javax.xml.xpath.XPathFunctionResolver;
 import javax.xml.xpath.XPathVariableResolver;
 
 import org.kie.kogito.internal.process.runtime.KogitoProcessContext;
+import org.w3c.dom.Document;
 
 public class XPATHReturnValueEvaluator
         implements
@@ -43,9 +48,42 @@ public class XPATHReturnValueEvaluator
         Externalizable {
     private static final long serialVersionUID = 510l;
 
+    private static final String DROOLS_NAMESPACE_URI = "http://www.jboss.org/drools";
+
+    private static final NamespaceContext NAMESPACE_CONTEXT = new NamespaceContext() {
+        private String[] prefixes = { "drools", "bpmn2" };
+
+        @Override
+        public Iterator getPrefixes(String namespaceURI) {
+            return Arrays.asList(prefixes).iterator();
+        }
+
+        @Override
+        public String getPrefix(String namespaceURI) {
+            if (DROOLS_NAMESPACE_URI.equalsIgnoreCase(namespaceURI)) {
+                return "bpmn2";
+            }
+            return null;
+        }
+
+        @Override
+        public String getNamespaceURI(String prefix) {
+            if ("bpmn2".equalsIgnoreCase(prefix)) {
+                return DROOLS_NAMESPACE_URI;
+            }
+            return null;
+        }
+    };
+
+    // factories are not thread safe, they are only used while compiling and guarded by XPATH_FACTORY
+    private static final XPathFactory XPATH_FACTORY = XPathFactory.newInstance();
+    private static final DocumentBuilderFactory DOCUMENT_BUILDER_FACTORY = DocumentBuilderFactory.newInstance();
+
     private String expression;
     private String id;
 
+    private final transient Queue<CompiledXPath> compiled = new ConcurrentLinkedQueue<>();
+
     public XPATHReturnValueEvaluator() {
     }
 
@@ -71,65 +109,73 @@ public class XPATHReturnValueEvaluator
     }
 
     public Object evaluate(final KogitoProcessContext context) throws Exception {
-        XPathFactory factory = XPathFactory.newInstance();
-        XPath xpathEvaluator = factory.newXPath();
-        xpathEvaluator.setXPathFunctionResolver(
-                new XPathFunctionResolver() {
-                    public XPathFunction resolveFunction(QName functionName, int arity) {
-                        String localName = functionName.getLocalPart();
-                        if ("getVariable".equals(localName)) {
-                            return new GetVariableData();
-                        } else {
-                            throw new IllegalArgumentException("Unknown BPMN function: " + functionName);
-                        }
-                    }
-
-                    class GetVariableData implements XPathFunction {
-                        public Object evaluate(List args) throws XPathFunctionException {
-                            String varname = (String) args.get(0);
-                            return context.getVariable(varname);
-                        }
-                    }
-                });
-        xpathEvaluator.setXPathVariableResolver(new XPathVariableResolver() {
-
-            public Object resolveVariable(QName variableName) {
-                return context.getVariable(variableName.getLocalPart());
-            }
-        });
+        CompiledXPath xpath = compiled.poll();
+        if (xpath == null) {
+            xpath = new CompiledXPath(expression);
+        }
+        try {
+            return xpath.evaluate(context);
+        } finally {
+            compiled.offer(xpath);
+        }
+    }
 
-        xpathEvaluator.setNamespaceContext(new NamespaceContext() {
-            private static final String DROOLS_NAMESPACE_URI = "http://www.jboss.org/drools";
-            private String[] prefixes = { "drools", "bpmn2" };
+    public String toString() {
+        return this.expression;
+    }
 
-            @Override
-            public Iterator getPrefixes(String namespaceURI) {
-                return Arrays.asList(prefixes).iterator();
+    /**
+     * XPath expressions and DOM documents are not thread safe, so each concurrent evaluation of the node borrows
+     * its own compiled expression from the pool. The resolvers read the process context of the evaluation in progress,
+     * variables that are already DOM nodes are therefore handed to the expression as they are.
+     */
+    private static class CompiledXPath implements XPathFunctionResolver, XPathVariableResolver {
+
+        private final XPathExpression xpathExpression;
+        private final Document document;
+        private KogitoProcessContext context;
+
+        private CompiledXPath(String expression) throws XPathExpressionException, ParserConfigurationException {
+            synchronized (XPATH_FACTORY) {
+                XPath xpathEvaluator = XPATH_FACTORY.newXPath();
+                xpathEvaluator.setXPathFunctionResolver(this);
+                xpathEvaluator.setXPathVariableResolver(this);
+                xpathEvaluator.setNamespaceContext(NAMESPACE_CONTEXT);
+                this.xpathExpression = xpathEvaluator.compile(expression);
+                this.document = DOCUMENT_BUILDER_FACTORY.newDocumentBuilder().newDocument();
             }
-
-            @Override
-            public String getPrefix(String namespaceURI) {
-                if (DROOLS_NAMESPACE_URI.equalsIgnoreCase(namespaceURI)) {
-                    return "bpmn2";
-                }
-                return null;
+        }
+
+        private Object evaluate(KogitoProcessContext context) throws XPathExpressionException {
+            this.context = context;
+            try {
+                return xpathExpression.evaluate(document, XPathConstants.BOOLEAN);
+            } finally {
+                this.context = null;
             }
-
-            @Override
-            public String getNamespaceURI(String prefix) {
-                if ("bpmn2".equalsIgnoreCase(prefix)) {
-                    return DROOLS_NAMESPACE_URI;
-                }
-                return null;
+        }
+
+        @Override
+        public XPathFunction resolveFunction(QName functionName, int arity) {
+            String localName = functionName.getLocalPart();
+            if ("getVariable".equals(localName)) {
+                return new GetVariableData();
+            } else {
+                throw new IllegalArgumentException("Unknown BPMN function: " + functionName);
             }
-        });
+        }
 
-        DocumentBuilder builder = DocumentBuilderFactory.newInstance().newDocumentBuilder();
-        return xpathEvaluator.evaluate(this.expression, builder.newDocument(), XPathConstants.BOOLEAN);
-    }
+        @Override
+        public Object resolveVariable(QName variableName) {
+            return context.getVariable(variableName.getLocalPart());
+        }
 
-    public String toString() {
-        return this.expression;
+        class GetVariableData implements XPathFunction {
+            public Object evaluate(List args) throws XPathFunctionException {
+                String varname = (String) args.get(0);
+                return context.getVariable(varname);
+            }
+        }
     }
 
 }
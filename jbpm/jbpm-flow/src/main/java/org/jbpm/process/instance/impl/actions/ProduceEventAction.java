@@ -46,7 +46,7 @@ public class ProduceEventAction<T> implements Action, Serializable {
         InternalKnowledgeRuntime runtime = (InternalKnowledgeRuntime) context.getKieRuntime();
         InternalProcessRuntime process = (InternalProcessRuntime) runtime.getProcessRuntime();
         process.getProcessEventSupport().fireOnMessage(pi, context.getNodeInstance(), runtime, triggerName, object);
-        supplier.get().produce(pi, getObject(object, context));
+        supplier.get().produce(pi, getObject(object, context), process.getUnitOfWorkManager().currentUnitOfWork());
     }
 
     protected T getObject(Object object, KogitoProcessContext context) {
@@ -0,0 +1,191 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jbpm.workflow.core.impl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+
+import org.jbpm.process.core.event.EventFilter;
+import org.jbpm.process.core.event.EventTypeFilter;
+import org.jbpm.util.PatternConstants;
+import org.jbpm.workflow.core.node.BoundaryEventNode;
+import org.jbpm.workflow.core.node.CompositeNode;
+import org.jbpm.workflow.core.node.EventNode;
+import org.jbpm.workflow.core.node.EventNodeInterface;
+import org.jbpm.workflow.core.node.EventSubProcessNode;
+import org.kie.api.definition.process.Node;
+
+/**
+ * Immutable lookup from event type to the top level nodes of a process that might accept it, so signalling
+ * a process instance does not need to go through every node of the definition.
+ * <p>
+ * Nodes only listening on literal event types are registered under those types. Nodes whose accepted types
+ * cannot be known upfront (expression based types, filters other than type filters) are candidates for every
+ * event type and are evaluated as before. Candidates keep the order they have in the process definition.
+ */
+public class EventTypeDispatchTable {
+
+    private final Map<String, List<Node>> eventNodesByType;
+    private final List<Node> expressionEventNodes;
+    private final Map<String, List<Node>> dynamicNodesByName;
+    private final List<Node> dynamicCompositeNodes;
+
+    public static EventTypeDispatchTable of(Node[] nodes) {
+        return new EventTypeDispatchTable(nodes);
+    }
+
+    private EventTypeDispatchTable(Node[] nodes) {
+        Map<Node, Set<String>> literalTypes = new HashMap<>();
+        Set<String> allTypes = new LinkedHashSet<>();
+        List<Node> expressionNodes = new ArrayList<>();
+        List<Node> compositeNodes = new ArrayList<>();
+        Set<String> names = new LinkedHashSet<>();
+
+        for (Node node : nodes) {
+            if (node instanceof EventNodeInterface) {
+                Set<String> types = new LinkedHashSet<>();
+                if (collectLiteralTypes(node, types)) {
+                    literalTypes.put(node, types);
+                    allTypes.addAll(types);
+                } else {
+                    expressionNodes.add(node);
+                }
+            }
+            if (node instanceof CompositeNode) {
+                compositeNodes.add(node);
+            }
+            if (node.getName() != null && node.getIncomingConnections().isEmpty()) {
+                names.add(node.getName());
+            }
+        }
+
+        Map<String, List<Node>> byType = new HashMap<>();
+        for (String type : allTypes) {
+            List<Node> candidates = new ArrayList<>();
+            for (Node node : nodes) {
+                Set<String> types = literalTypes.get(node);
+                if (types != null ? types.contains(type) : expressionNodes.contains(node)) {
+                    candidates.add(node);
+                }
+            }
+            byType.put(type, Collections.unmodifiableList(candidates));
+        }
+
+        Map<String, List<Node>> byName = new HashMap<>();
+        for (String name : names) {
+            List<Node> candidates = new ArrayList<>();
+            for (Node node : nodes) {
+                if (node instanceof CompositeNode || (name.equals(node.getName()) && node.getIncomingConnections().isEmpty())) {
+                    candidates.add(node);
+                }
+            }
+            byName.put(name, Collections.unmodifiableList(candidates));
+        }
+
+        this.eventNodesByType = Collections.unmodifiableMap(byType);
+        this.expressionEventNodes = Collections.unmodifiableList(expressionNodes);
+        this.dynamicNodesByName = Collections.unmodifiableMap(byName);
+        this.dynamicCompositeNodes = Collections.unmodifiableList(compositeNodes);
+    }
+
+    /**
+     * Returns the event nodes that might accept the given event type, they still need to be checked
+     * through {@link EventNodeInterface#acceptsEvent}
+     *
+     * @param type event type
+     * @return candidate nodes, in definition order
+     */
+    public List<Node> getEventNodes(String type) {
+        return eventNodesByType.getOrDefault(type, expressionEventNodes);
+    }
+
+    /**
+     * Returns the nodes to be looked at when the given event type is signalled to a dynamic process, that is
+     * the nodes named after the event type without incoming connections plus every composite node
+     *
+     * @param type event type
+     * @return candidate nodes, in definition order
+     */
+    public List<Node> getDynamicNodes(String type) {
+        return dynamicNodesByName.getOrDefault(type, dynamicCompositeNodes);
+    }
+
+    /*
+     * Collects the literal event types the node might accept, returning false if the accepted types
+     * depend on expressions or filters that can only be evaluated at runtime
+     */
+    private static boolean collectLiteralTypes(Node node, Set<String> types) {
+        if (node instanceof BoundaryEventNode) {
+            // accepts the event if any of the filters does, or any event when there are no filters at all
+            List<EventFilter> filters = ((BoundaryEventNode) node).getEventFilters();
+            if (filters.isEmpty()) {
+                return false;
+            }
+            for (EventFilter filter : filters) {
+                if (!addLiteralType(filter, types)) {
+                    return false;
+                }
+            }
+            return true;
+        } else if (node instanceof EventNode) {
+            // accepts the event only if all the filters do, so any literal type filter is enough to discard the rest
+            for (EventFilter filter : ((EventNode) node).getEventFilters()) {
+                if (addLiteralType(filter, types)) {
+                    return true;
+                }
+            }
+            return false;
+        } else if (node instanceof CompositeNode) {
+            if (node instanceof EventSubProcessNode) {
+                for (String type : ((EventSubProcessNode) node).getEvents()) {
+                    if (type == null || isExpression(type)) {
+                        return false;
+                    }
+                    types.add(type);
+                }
+            }
+            for (Node inner : ((CompositeNode) node).internalGetNodes()) {
+                if (inner instanceof EventNodeInterface && !collectLiteralTypes(inner, types)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    private static boolean addLiteralType(EventFilter filter, Set<String> types) {
+        if (filter instanceof EventTypeFilter) {
+            String type = ((EventTypeFilter) filter).getType();
+            if (type != null && !isExpression(type)) {
+                types.add(type);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isExpression(String type) {
+        Matcher matcher = PatternConstants.PARAMETER_MATCHER.matcher(type);
+        return matcher.find();
+    }
+}
@@ -134,6 +134,20 @@ public abstract class NodeImpl implements Node, ContextResolver, Mappable {
         return result;
     }
 
+    /**
+     * Discards the event type dispatch table of the process this node belongs to, to be called when a change
+     * of this node affects the event types it accepts
+     */
+    protected void invalidateEventTypeDispatchTable() {
+        NodeContainer nodeContainer = getParentContainer();
+        while (nodeContainer instanceof CompositeNode) {
+            nodeContainer = ((CompositeNode) nodeContainer).getParentContainer();
+        }
+        if (nodeContainer instanceof WorkflowProcessImpl) {
+            ((WorkflowProcessImpl) nodeContainer).invalidateEventTypeDispatchTable();
+        }
+    }
+
     public void setId(final long id) {
         this.id = id;
         String uniqueId = (String) getMetaData("UniqueId");
@@ -51,6 +51,7 @@ public class WorkflowProcessImpl extends ProcessImpl implements WorkflowProcess,
     private boolean dynamic = false;
     private WorkflowInputModelValidator validator;
     private org.jbpm.workflow.core.NodeContainer nodeContainer;
+    private transient volatile EventTypeDispatchTable eventTypeDispatchTable;
 
     private transient BiFunction<String, ProcessInstance, String> expressionEvaluator = (expression, p) -> {
 
@@ -123,12 +124,14 @@ public class WorkflowProcessImpl extends ProcessImpl implements WorkflowProcess,
     public void removeNode(final org.kie.api.definition.process.Node node) {
         nodeContainer.removeNode(node);
         ((Node) node).setParentContainer(null);
+        invalidateEventTypeDispatchTable();
     }
 
     @Override
     public void addNode(final org.kie.api.definition.process.Node node) {
         nodeContainer.addNode(node);
         ((Node) node).setParentContainer(this);
+        invalidateEventTypeDispatchTable();
     }
 
     @Override
@@ -193,6 +196,29 @@ public class WorkflowProcessImpl extends ProcessImpl implements WorkflowProcess,
         return getContainerNode(null, nodeContainer, nodeId);
     }
 
+    /**
+     * Returns the table used to find the nodes that might accept a given event type, built on first use
+     * and discarded whenever a node is added to or removed from the process
+     *
+     * @return event type dispatch table for the current nodes of the process
+     */
+    public EventTypeDispatchTable getEventTypeDispatchTable() {
+        EventTypeDispatchTable table = eventTypeDispatchTable;
+        if (table == null) {
+            table = EventTypeDispatchTable.of(getNodes());
+            eventTypeDispatchTable = table;
+        }
+        return table;
+    }
+
+    /**
+     * Discards the event type dispatch table, so it is built again on next use. Called whenever a node is added
+     * to or removed from the process or any of its composite nodes.
+     */
+    public void invalidateEventTypeDispatchTable() {
+        eventTypeDispatchTable = null;
+    }
+
     public List<StartNode> getTimerStart() {
         org.kie.api.definition.process.Node[] nodes = getNodes();
 
@@ -90,6 +90,7 @@ public class CompositeNode extends StateBasedNode implements NodeContainer, Even
         }
         nodeContainer.addNode(node);
         ((Node) node).setParentContainer(this);
+        invalidateEventTypeDispatchTable();
     }
 
     protected void internalAddNode(org.kie.api.definition.process.Node node) {
@@ -99,6 +100,7 @@ public class CompositeNode extends StateBasedNode implements NodeContainer, Even
     public void removeNode(org.kie.api.definition.process.Node node) {
         nodeContainer.removeNode(node);
         ((Node) node).setParentContainer(null);
+        invalidateEventTypeDispatchTable();
     }
 
     protected void internalRemoveNode(org.kie.api.definition.process.Node node) {
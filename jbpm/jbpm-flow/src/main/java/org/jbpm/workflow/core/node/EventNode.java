@@ -52,10 +52,12 @@ public class EventNode extends ExtendedNodeImpl implements EventNodeInterface {
 
     public void addEventFilter(EventFilter eventFilter) {
         filters.add(eventFilter);
+        invalidateEventTypeDispatchTable();
     }
 
     public void removeEventFilter(EventFilter eventFilter) {
         filters.remove(eventFilter);
+        invalidateEventTypeDispatchTable();
     }
 
     public List<EventFilter> getEventFilters() {
@@ -36,6 +36,7 @@ public class EventSubProcessNode extends CompositeContextNode {
         String type = filter.getType();
         this.events.add(type);
         this.eventTypeFilters.add(filter);
+        invalidateEventTypeDispatchTable();
     }
 
     public List<String> getEvents() {
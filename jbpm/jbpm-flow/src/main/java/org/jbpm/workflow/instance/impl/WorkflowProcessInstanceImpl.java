@@ -16,10 +16,12 @@
 package org.jbpm.workflow.instance.impl;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
@@ -39,6 +41,9 @@ import org.drools.mvel.util.MVELEvaluator;
 import org.jbpm.process.core.ContextContainer;
 import org.jbpm.process.core.context.variable.Variable;
 import org.jbpm.process.core.context.variable.VariableScope;
+import org.jbpm.process.core.event.EventFilter;
+import org.jbpm.process.core.event.EventTypeFilter;
+import org.jbpm.process.core.event.NonAcceptingEventTypeFilter;
 import org.jbpm.process.core.timer.BusinessCalendar;
 import org.jbpm.process.core.timer.DateTimeUtils;
 import org.jbpm.process.core.timer.Timer;
@@ -50,7 +55,9 @@ import org.jbpm.ruleflow.core.Metadata;
 import org.jbpm.util.PatternConstants;
 import org.jbpm.workflow.core.DroolsAction;
 import org.jbpm.workflow.core.Node;
+import org.jbpm.workflow.core.impl.EventTypeDispatchTable;
 import org.jbpm.workflow.core.impl.NodeImpl;
+import org.jbpm.workflow.core.impl.WorkflowProcessImpl;
 import org.jbpm.workflow.core.node.BoundaryEventNode;
 import org.jbpm.workflow.core.node.CompositeNode;
 import org.jbpm.workflow.core.node.DynamicNode;
@@ -114,6 +121,11 @@ public abstract class WorkflowProcessInstanceImpl extends ProcessInstanceImpl im
     private static final long serialVersionUID = 510l;
     private static final Logger logger = LoggerFactory.getLogger(WorkflowProcessInstanceImpl.class);
 
+    /**
+     * Event type returned by {@link #getListeningEventTypes()} when the process instance might accept any event type
+     */
+    public static final String ANY_EVENT_TYPE = "*";
+
     private final List<NodeInstance> nodeInstances = new ArrayList<>();
 
     private Map<String, List<KogitoEventListener>> eventListeners = new HashMap<>();
@@ -626,7 +638,8 @@ public abstract class WorkflowProcessInstanceImpl extends ProcessInstanceImpl im
                         listener.signalEvent(type, event);
                     }
                 }
-                for (org.kie.api.definition.process.Node node : getWorkflowProcess().getNodes()) {
+                EventTypeDispatchTable dispatchTable = getEventTypeDispatchTable();
+                for (org.kie.api.definition.process.Node node : dispatchTable.getEventNodes(type)) {
                     if (node instanceof EventNodeInterface
                             && ((EventNodeInterface) node).acceptsEvent(type, event, getResolver(node, currentView))) {
                         if (node instanceof EventNode && ((EventNode) node).getFrom() == null) {
@@ -649,7 +662,7 @@ public abstract class WorkflowProcessInstanceImpl extends ProcessInstanceImpl im
                 }
 
                 if (((org.jbpm.workflow.core.WorkflowProcess) getWorkflowProcess()).isDynamic()) {
-                    for (org.kie.api.definition.process.Node node : getWorkflowProcess().getNodes()) {
+                    for (org.kie.api.definition.process.Node node : dispatchTable.getDynamicNodes(type)) {
                         if (type.equals(node.getName()) && node.getIncomingConnections().isEmpty()) {
                             NodeInstance nodeInstance = getNodeInstance(node);
                             if (event != null) {
@@ -677,6 +690,13 @@ public abstract class WorkflowProcessInstanceImpl extends ProcessInstanceImpl im
         }
     }
 
+    private EventTypeDispatchTable getEventTypeDispatchTable() {
+        if (getWorkflowProcess() instanceof WorkflowProcessImpl) {
+            return ((WorkflowProcessImpl) getWorkflowProcess()).getEventTypeDispatchTable();
+        }
+        return EventTypeDispatchTable.of(getWorkflowProcess().getNodes());
+    }
+
     private Function<String, Object> getResolver(org.kie.api.definition.process.Node node, List<NodeInstance> currentView) {
         if (node instanceof DynamicNode) {
             // special handling for dynamic node to allow to resolve variables from individual node instances of the dynamic node
@@ -779,6 +799,82 @@ public abstract class WorkflowProcessInstanceImpl extends ProcessInstanceImpl im
         return externalEventListeners.keySet().stream().map(this::resolveVariable).collect(Collectors.toList()).toArray(new String[externalEventListeners.size()]);
     }
 
+    /**
+     * Returns the event types that might be accepted by this process instance when signalled, resolved against this
+     * process instance. Those are the types of the registered event listeners, of the active event node instances and
+     * of the event nodes that are always listening (boundary events, event sub processes and event nodes without
+     * incoming connections) in the process and in the active composite node instances.
+     * The set contains {@link #ANY_EVENT_TYPE} when the accepted types cannot be determined upfront, for instance for
+     * dynamic processes or event nodes without a type filter.
+     *
+     * @return event types this process instance is listening on
+     */
+    public Set<String> getListeningEventTypes() {
+        Set<String> types = new HashSet<>();
+        if (getState() != KogitoProcessInstance.STATE_ACTIVE) {
+            return types;
+        }
+        if (((org.jbpm.workflow.core.WorkflowProcess) getWorkflowProcess()).isDynamic()) {
+            types.add(ANY_EVENT_TYPE);
+            return types;
+        }
+        eventListeners.keySet().forEach(type -> addListeningEventType(type, types, true));
+        externalEventListeners.keySet().forEach(type -> addListeningEventType(type, types, true));
+        types.addAll(Arrays.asList(getEventTypes()));
+        collectListeningEventTypes(getWorkflowProcess().getNodes(), types, true);
+        for (NodeInstance nodeInstance : getNodeInstances(true)) {
+            org.kie.api.definition.process.Node node = nodeInstance.getNode();
+            if (nodeInstance instanceof EventNodeInstance) {
+                // waiting event node instances resolve their own event type
+                Arrays.stream(((EventNodeInstance) nodeInstance).getEventTypes()).filter(Objects::nonNull).forEach(types::add);
+                if (((EventNode) node).getType() == null) {
+                    types.add(ANY_EVENT_TYPE);
+                }
+            } else if (nodeInstance instanceof CompositeNodeInstance && node instanceof CompositeNode) {
+                // dynamic nodes resolve expressions against their node instances, not the process instance
+                collectListeningEventTypes(((CompositeNode) node).internalGetNodes(), types, !(node instanceof DynamicNode));
+            }
+        }
+        return types;
+    }
+
+    private void collectListeningEventTypes(org.kie.api.definition.process.Node[] nodes, Set<String> types, boolean resolvable) {
+        for (org.kie.api.definition.process.Node node : nodes) {
+            if (node instanceof EventSubProcessNode) {
+                ((EventSubProcessNode) node).getEvents().forEach(type -> addListeningEventType(type, types, resolvable));
+            } else if (node instanceof EventNode && ((EventNode) node).getFrom() == null) {
+                addEventFilterTypes((EventNode) node, types, resolvable);
+            }
+        }
+    }
+
+    private void addEventFilterTypes(EventNode node, Set<String> types, boolean resolvable) {
+        List<EventFilter> filters = node.getEventFilters();
+        if (filters.isEmpty()) {
+            types.add(ANY_EVENT_TYPE);
+        }
+        for (EventFilter filter : filters) {
+            if (filter instanceof NonAcceptingEventTypeFilter) {
+                continue;
+            }
+            if (filter instanceof EventTypeFilter) {
+                addListeningEventType(((EventTypeFilter) filter).getType(), types, resolvable);
+            } else {
+                types.add(ANY_EVENT_TYPE);
+            }
+        }
+    }
+
+    private void addListeningEventType(String type, Set<String> types, boolean resolvable) {
+        if (type == null) {
+            return;
+        }
+        types.add(type);
+        if (isVariableExpression(type)) {
+            types.add(resolvable ? resolveVariable(type) : ANY_EVENT_TYPE);
+        }
+    }
+
     @Override
     public Set<EventDescription<?>> getEventDescriptions() {
         if (getState() == KogitoProcessInstance.STATE_COMPLETED || getState() == KogitoProcessInstance.STATE_ABORTED) {
@@ -15,6 +15,8 @@
  */
 package org.kie.kogito.process.expr;
 
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
 import java.util.ServiceLoader;
 
@@ -23,7 +25,14 @@ public class ExpressionHandlerFactory {
     private ExpressionHandlerFactory() {
     }
 
-    private static final ServiceLoader<ExpressionHandler> serviceLoader = ServiceLoader.load(ExpressionHandler.class);
+    // handlers are instantiated once, so expressions cached by a handler are reused
+    private static final Map<String, ExpressionHandler> handlers = new HashMap<>();
+
+    static {
+        for (ExpressionHandler handler : ServiceLoader.load(ExpressionHandler.class)) {
+            handlers.putIfAbsent(handler.lang(), handler);
+        }
+    }
 
     public static Expression get(String lang, String expr) {
         return getExpressionHandler(lang).orElseThrow(
@@ -31,10 +40,10 @@ public class ExpressionHandlerFactory {
     }
 
     public static boolean isSupported(String lang) {
-        return serviceLoader.stream().anyMatch(p -> p.get().lang().equals(lang));
+        return handlers.containsKey(lang);
     }
 
     private static Optional<ExpressionHandler> getExpressionHandler(String lang) {
-        return serviceLoader.stream().filter(p -> p.get().lang().equals(lang)).findFirst().map(p -> p.get());
+        return Optional.ofNullable(handlers.get(lang));
     }
 }
@@ -74,6 +74,8 @@ import org.kie.kogito.services.uow.ProcessInstanceWorkUnit;
 
 public abstract class AbstractProcessInstance<T extends Model> implements ProcessInstance<T> {
 
+    public static final String ANY_EVENT_TYPE = WorkflowProcessInstanceImpl.ANY_EVENT_TYPE;
+
     private static final String KOGITO_PROCESS_INSTANCE = "KogitoProcessInstance";
 
     protected final T variables;
@@ -128,7 +130,8 @@ public abstract class AbstractProcessInstance<T extends Model> implements Proces
 
         if (Objects.nonNull(correlation)) {
             this.correlation = correlation;
-            this.correlationInstance = Optional.of(process.correlations().create(correlation, id()));
+            // created when the unit of work ends, so storages are able to write it along with the process instance
+            addToUnitOfWork(pi -> this.correlationInstance = Optional.of(process.correlations().create(correlation, pi.id())));
         }
     }
 
@@ -224,7 +227,7 @@ public abstract class AbstractProcessInstance<T extends Model> implements Proces
 
     @Override
     public Optional<Correlation<?>> correlation() {
-        return correlationInstance.map(CorrelationInstance::getCorrelation);
+        return correlationInstance.<Correlation<?>> map(CorrelationInstance::getCorrelation).or(() -> Optional.ofNullable(correlation));
     }
 
     public WorkflowProcessInstance internalGetProcessInstance() {
@@ -369,6 +372,16 @@ public abstract class AbstractProcessInstance<T extends Model> implements Proces
         this.version = version;
     }
 
+    /**
+     * Event types this process instance might accept when signalled, to be used by storages to index
+     * the process instances waiting for a given event type.
+     *
+     * @return event types, containing {@link #ANY_EVENT_TYPE} if any event type might be accepted
+     */
+    public Set<String> listeningEventTypes() {
+        return ((WorkflowProcessInstanceImpl) processInstance()).getListeningEventTypes();
+    }
+
     @Override
     public T updateVariables(T updates) {
         return updateVariables(bind(updates));
@@ -594,8 +607,7 @@ public abstract class AbstractProcessInstance<T extends Model> implements Proces
             //already removed
             return;
         }
-        correlationInstance.map(CorrelationInstance::getCorrelation)
-                .ifPresent(c -> addToUnitOfWork(pi -> process.correlations().delete(c)));
+        correlation().ifPresent(c -> addToUnitOfWork(pi -> process.correlations().delete(c)));
         addToUnitOfWork(pi -> {
             ((MutableProcessInstances<T>) process.instances()).remove(pi.id());
         });
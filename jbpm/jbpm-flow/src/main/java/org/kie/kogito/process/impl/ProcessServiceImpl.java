@@ -20,8 +20,15 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.jbpm.process.instance.impl.humantask.HumanTaskHelper;
 import org.jbpm.process.instance.impl.humantask.HumanTaskTransition;
@@ -34,11 +41,15 @@ import org.kie.kogito.MappableToModel;
 import org.kie.kogito.Model;
 import org.kie.kogito.auth.SecurityPolicy;
 import org.kie.kogito.correlation.CompositeCorrelation;
+import org.kie.kogito.event.KogitoThreadPoolFactory;
 import org.kie.kogito.internal.process.runtime.KogitoNode;
+import org.kie.kogito.process.AsyncMutableProcessInstances;
 import org.kie.kogito.process.Process;
 import org.kie.kogito.process.ProcessConfig;
 import org.kie.kogito.process.ProcessInstance;
+import org.kie.kogito.process.ProcessInstanceExecutionException;
 import org.kie.kogito.process.ProcessInstanceReadMode;
+import org.kie.kogito.process.ProcessInstances;
 import org.kie.kogito.process.ProcessService;
 import org.kie.kogito.process.WorkItem;
 import org.kie.kogito.process.workitem.Attachment;
@@ -47,13 +58,24 @@ import org.kie.kogito.process.workitem.Comment;
 import org.kie.kogito.process.workitem.HumanTaskWorkItem;
 import org.kie.kogito.process.workitem.Policy;
 import org.kie.kogito.services.uow.UnitOfWorkExecutor;
+import org.kie.kogito.uow.WorkUnitBatch;
 
 public class ProcessServiceImpl implements ProcessService {
 
     private final Application application;
+    private final Executor executor;
 
     public ProcessServiceImpl(Application application) {
+        this(application, DefaultExecutorHolder.EXECUTOR);
+    }
+
+    /**
+     * @param executor runs the blocking work of the asynchronous operations (storage access and units of work),
+     *        runtimes should pass their managed worker pool
+     */
+    public ProcessServiceImpl(Application application, Executor executor) {
         this.application = application;
+        this.executor = executor;
     }
 
     @Override
@@ -92,7 +114,17 @@ public class ProcessServiceImpl implements ProcessService {
 
     @Override
     public <T extends MappableToModel<R>, R> List<R> getProcessInstanceOutput(Process<T> process) {
-        return process.instances().values().stream()
+        try (Stream<ProcessInstance<T>> stream = process.instances().stream(ProcessInstanceReadMode.READ_ONLY)) {
+            return stream
+                    .map(ProcessInstance::variables)
+                    .map(MappableToModel::toModel)
+                    .collect(Collectors.toList());
+        }
+    }
+
+    @Override
+    public <T extends MappableToModel<R>, R> List<R> getProcessInstanceOutput(Process<T> process, int page, int size) {
+        return process.instances().values(ProcessInstanceReadMode.READ_ONLY, offset(page, size), size).stream()
                 .map(ProcessInstance::variables)
                 .map(MappableToModel::toModel)
                 .collect(Collectors.toList());
@@ -152,6 +184,106 @@ public class ProcessServiceImpl implements ProcessService {
                 .map(pi -> pi.workItems(HumanTaskNodeInstance.class::isInstance, policy));
     }
 
+    @Override
+    public <T extends MappableToModel<R>, R> CompletionStage<List<R>> getProcessInstanceOutputAsync(Process<T> process, int page, int size) {
+        int offset;
+        try {
+            offset = offset(page, size);
+        } catch (IllegalArgumentException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        ProcessInstances<T> instances = process.instances();
+        CompletionStage<Collection<ProcessInstance<T>>> values = instances instanceof AsyncMutableProcessInstances
+                ? ((AsyncMutableProcessInstances<T>) instances).valuesAsync(ProcessInstanceReadMode.READ_ONLY, offset, size)
+                : CompletableFuture.supplyAsync(() -> instances.values(ProcessInstanceReadMode.READ_ONLY, offset, size), executor);
+        return values.thenApply(pis -> pis.stream()
+                .map(ProcessInstance::variables)
+                .map(MappableToModel::toModel)
+                .collect(Collectors.toList()));
+    }
+
+    @Override
+    public <T extends MappableToModel<R>, R> CompletionStage<Optional<R>> findByIdAsync(Process<T> process, String id) {
+        return findByIdAsync(process, id, ProcessInstanceReadMode.READ_ONLY)
+                .thenApply(instance -> instance.map(ProcessInstance::variables).map(MappableToModel::toModel));
+    }
+
+    @Override
+    public <T extends MappableToModel<R>, R> CompletionStage<Optional<R>> deleteAsync(Process<T> process, String id) {
+        return findByIdAsync(process, id, ProcessInstanceReadMode.MUTABLE)
+                .thenComposeAsync(instance -> executeInUnitOfWorkAsync(process,
+                        () -> instance
+                                .map(pi -> {
+                                    pi.abort();
+                                    return pi;
+                                })
+                                .map(ProcessInstance::checkError)
+                                .map(ProcessInstance::variables)
+                                .map(MappableToModel::toModel)), executor);
+    }
+
+    @Override
+    public <T extends MappableToModel<R>, R> CompletionStage<Optional<R>> updateAsync(Process<T> process, String id, T resource) {
+        return findByIdAsync(process, id, ProcessInstanceReadMode.MUTABLE)
+                .thenComposeAsync(instance -> executeInUnitOfWorkAsync(process,
+                        () -> instance
+                                .map(pi -> pi.updateVariables(resource))
+                                .map(MappableToModel::toModel)), executor);
+    }
+
+    @Override
+    public <T extends Model> CompletionStage<Optional<List<WorkItem>>> getTasksAsync(Process<T> process, String id, SecurityPolicy policy) {
+        return findByIdAsync(process, id, ProcessInstanceReadMode.READ_ONLY)
+                .thenApply(instance -> instance.map(pi -> pi.workItems(HumanTaskNodeInstance.class::isInstance, policy)));
+    }
+
+    private static int offset(int page, int size) {
+        if (page < 0 || size <= 0) {
+            throw new IllegalArgumentException("Page must not be negative and size must be positive, got page " + page + " and size " + size);
+        }
+        try {
+            return Math.multiplyExact(page, size);
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Page " + page + " with size " + size + " is out of range", e);
+        }
+    }
+
+    /**
+     * Runs the given work in a unit of work. When the storage supports it, the process instances are written without
+     * blocking once the unit of work ended, through an asynchronous {@link WorkUnitBatch}, and the returned stage
+     * completes once they are written.
+     */
+    private <T, R> CompletionStage<R> executeInUnitOfWorkAsync(Process<T> process, Supplier<R> work) {
+        if (!(process.instances() instanceof AsyncMutableProcessInstances)) {
+            return CompletableFuture.completedFuture(UnitOfWorkExecutor.executeInUnitOfWork(application.unitOfWorkManager(), work));
+        }
+        WorkUnitBatch writes = WorkUnitBatch.openAsync();
+        R result;
+        try {
+            result = UnitOfWorkExecutor.executeInUnitOfWork(application.unitOfWorkManager(), work);
+        } catch (ProcessInstanceExecutionException e) {
+            // the unit of work ended, so the process instance in error is written as it would be otherwise
+            return writes.flushAsync(executor).thenApply(v -> {
+                throw e;
+            });
+        } catch (RuntimeException e) {
+            writes.close();
+            throw e;
+        }
+        return writes.flushAsync(executor).thenApply(v -> result);
+    }
+
+    /**
+     * Loads the process instance without blocking when the storage supports it, otherwise on the service executor
+     */
+    private <T> CompletionStage<Optional<ProcessInstance<T>>> findByIdAsync(Process<T> process, String id, ProcessInstanceReadMode mode) {
+        ProcessInstances<T> instances = process.instances();
+        if (instances instanceof AsyncMutableProcessInstances) {
+            return ((AsyncMutableProcessInstances<T>) instances).findByIdAsync(id, mode);
+        }
+        return CompletableFuture.supplyAsync(() -> instances.findById(id, mode), executor);
+    }
+
     @Override
     public <T extends Model> Optional<WorkItem> signalTask(Process<T> process, String id, String taskName) {
         return UnitOfWorkExecutor.executeInUnitOfWork(application.unitOfWorkManager(), () -> process
@@ -378,6 +510,16 @@ public class ProcessServiceImpl implements ProcessService {
                         }));
     }
 
+    @Override
+    public <T extends Model> Optional<ProcessInstance<T>> signalProcessInstanceIfPresent(Process<T> process, String id, Object data, String signalName) {
+        return UnitOfWorkExecutor.executeInUnitOfWork(application.unitOfWorkManager(),
+                () -> process.instances().findById(id)
+                        .map(pi -> {
+                            pi.send(Sig.of(signalName, data));
+                            return pi.checkError();
+                        }));
+    }
+
     //Schema
     @Override
     public <T extends Model> Map<String, Object> getSchemaAndPhases(Process<T> process,
@@ -394,4 +536,11 @@ public class ProcessServiceImpl implements ProcessService {
                 JsonSchemaUtil.load(Thread.currentThread().getContextClassLoader(), process.id(), taskName));
     }
 
+    /**
+     * Bounded pool used when the runtime does not provide an executor, created on first use
+     */
+    private static class DefaultExecutorHolder {
+        private static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(Math.max(4, Runtime.getRuntime().availableProcessors() * 2),
+                new KogitoThreadPoolFactory("kogito-process-service"));
+    }
 }
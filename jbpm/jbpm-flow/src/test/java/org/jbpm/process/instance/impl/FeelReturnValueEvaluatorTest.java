@@ -0,0 +1,152 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jbpm.process.instance.impl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.jbpm.process.core.context.variable.Variable;
+import org.jbpm.process.core.context.variable.VariableScope;
+import org.jbpm.process.instance.context.variable.VariableScopeInstance;
+import org.jbpm.workflow.core.impl.WorkflowProcessImpl;
+import org.jbpm.workflow.instance.WorkflowProcessInstance;
+import org.junit.jupiter.api.Test;
+import org.kie.api.runtime.Globals;
+import org.kie.api.runtime.KieRuntime;
+import org.kie.kogito.internal.process.runtime.KogitoProcessContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class FeelReturnValueEvaluatorTest {
+
+    @Test
+    public void testEvaluateConstraint() throws Exception {
+        FeelReturnValueEvaluator evaluator = new FeelReturnValueEvaluator("order total > 10 and approved");
+
+        assertThat(evaluator.evaluate(context(variables("order total", 20, "approved", true)))).isEqualTo(true);
+        assertThat(evaluator.evaluate(context(variables("order total", 5, "approved", true)))).isEqualTo(false);
+    }
+
+    @Test
+    public void testGlobalsResolved() throws Exception {
+        FeelReturnValueEvaluator evaluator = new FeelReturnValueEvaluator("amount > threshold");
+        Globals globals = mock(Globals.class);
+        when(globals.getGlobalKeys()).thenReturn(Collections.singletonList("threshold"));
+        when(globals.get("threshold")).thenReturn(100);
+
+        assertThat(evaluator.evaluate(context(variables("amount", 150), globals))).isEqualTo(true);
+        assertThat(evaluator.evaluate(context(variables("amount", 50), globals))).isEqualTo(false);
+    }
+
+    @Test
+    public void testCompiledExpressionReusedAcrossInstances() throws Exception {
+        FeelReturnValueEvaluator evaluator = new FeelReturnValueEvaluator("count < 3");
+
+        for (int i = 0; i < 6; i++) {
+            // every evaluation sees the variables of its own process instance, not the ones of the first compilation
+            assertThat(evaluator.evaluate(context(variables("count", i)))).isEqualTo(i < 3);
+        }
+    }
+
+    @Test
+    public void testNonBooleanResultRejected() {
+        FeelReturnValueEvaluator evaluator = new FeelReturnValueEvaluator("count + 1");
+
+        assertThatThrownBy(() -> evaluator.evaluate(context(variables("count", 1)))).hasMessageContaining("Constraints must return boolean values");
+    }
+
+    @Test
+    public void testInvalidExpressionReported() {
+        FeelReturnValueEvaluator evaluator = new FeelReturnValueEvaluator("count >");
+
+        assertThatThrownBy(() -> evaluator.evaluate(context(variables("count", 1)))).isInstanceOf(FeelReturnValueEvaluatorException.class);
+    }
+
+    @Test
+    public void testConcurrentEvaluationsOnSharedEngine() throws Exception {
+        FeelReturnValueEvaluator shared = new FeelReturnValueEvaluator("value >= 50");
+        FeelReturnValueEvaluator invalid = new FeelReturnValueEvaluator("value >");
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Callable<Boolean>> evaluations = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                int value = i % 100;
+                evaluations.add(() -> (Boolean) shared.evaluate(context(variables("value", value))) == value >= 50);
+                // errors of other evaluations must not leak into the ones sharing the engine
+                evaluations.add(() -> {
+                    try {
+                        invalid.evaluate(context(variables("value", value)));
+                        return false;
+                    } catch (FeelReturnValueEvaluatorException e) {
+                        return true;
+                    }
+                });
+            }
+            for (Future<Boolean> result : executor.invokeAll(evaluations)) {
+                assertThat(result.get()).isTrue();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static Map<String, Object> variables(Object... namesAndValues) {
+        Map<String, Object> variables = new HashMap<>();
+        for (int i = 0; i < namesAndValues.length; i += 2) {
+            variables.put((String) namesAndValues[i], namesAndValues[i + 1]);
+        }
+        return variables;
+    }
+
+    private static KogitoProcessContext context(Map<String, Object> variables) {
+        Globals globals = mock(Globals.class);
+        when(globals.getGlobalKeys()).thenReturn(Collections.emptyList());
+        return context(variables, globals);
+    }
+
+    private static KogitoProcessContext context(Map<String, Object> variables, Globals globals) {
+        VariableScope variableScope = new VariableScope();
+        for (String name : variables.keySet()) {
+            Variable variable = new Variable();
+            variable.setName(name);
+            variableScope.addVariable(variable);
+        }
+        VariableScopeInstance variableScopeInstance = mock(VariableScopeInstance.class);
+        when(variableScopeInstance.getVariableScope()).thenReturn(variableScope);
+        when(variableScopeInstance.getVariables()).thenReturn(variables);
+
+        WorkflowProcessInstance processInstance = mock(WorkflowProcessInstance.class);
+        when(processInstance.getProcess()).thenReturn(new WorkflowProcessImpl());
+        when(processInstance.getContextInstance(VariableScope.VARIABLE_SCOPE)).thenReturn(variableScopeInstance);
+
+        KieRuntime kieRuntime = mock(KieRuntime.class);
+        when(kieRuntime.getGlobals()).thenReturn(globals);
+        KogitoProcessContext context = mock(KogitoProcessContext.class);
+        when(context.getKieRuntime()).thenReturn(kieRuntime);
+        when(context.getProcessInstance()).thenReturn(processInstance);
+        return context;
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jbpm.process.instance.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+
+import org.junit.jupiter.api.Test;
+import org.kie.kogito.internal.process.runtime.KogitoProcessContext;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class XPATHReturnValueEvaluatorTest {
+
+    @Test
+    public void testVariableReference() throws Exception {
+        XPATHReturnValueEvaluator evaluator = new XPATHReturnValueEvaluator("$count > 2", null);
+
+        assertThat(evaluator.evaluate(context("count", 5))).isEqualTo(true);
+        assertThat(evaluator.evaluate(context("count", 1))).isEqualTo(false);
+    }
+
+    @Test
+    public void testGetVariableFunction() throws Exception {
+        XPATHReturnValueEvaluator evaluator = new XPATHReturnValueEvaluator("bpmn2:getVariable('count') > 2", null);
+
+        assertThat(evaluator.evaluate(context("count", 5))).isEqualTo(true);
+        assertThat(evaluator.evaluate(context("count", 1))).isEqualTo(false);
+    }
+
+    @Test
+    public void testDocumentVariable() throws Exception {
+        XPATHReturnValueEvaluator evaluator = new XPATHReturnValueEvaluator("$order/order/@total > 10", null);
+
+        assertThat(evaluator.evaluate(context("order", order(20)))).isEqualTo(true);
+        assertThat(evaluator.evaluate(context("order", order(5)))).isEqualTo(false);
+    }
+
+    @Test
+    public void testPooledExpressionReusedWithNewContext() throws Exception {
+        XPATHReturnValueEvaluator evaluator = new XPATHReturnValueEvaluator("$count mod 2 = 0", null);
+
+        for (int i = 0; i < 10; i++) {
+            // the pooled expression must resolve the variables of the evaluation in progress, not the previous one
+            assertThat(evaluator.evaluate(context("count", i))).isEqualTo(i % 2 == 0);
+        }
+    }
+
+    @Test
+    public void testConcurrentEvaluations() throws Exception {
+        XPATHReturnValueEvaluator evaluator = new XPATHReturnValueEvaluator("$order/order/@total > 50", null);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Callable<Boolean>> evaluations = new ArrayList<>();
+            for (int i = 0; i < 400; i++) {
+                int total = i % 100;
+                KogitoProcessContext context = context("order", order(total));
+                evaluations.add(() -> (Boolean) evaluator.evaluate(context) == total > 50);
+            }
+            for (Future<Boolean> result : executor.invokeAll(evaluations)) {
+                assertThat(result.get()).isTrue();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static KogitoProcessContext context(String name, Object value) {
+        KogitoProcessContext context = mock(KogitoProcessContext.class);
+        when(context.getVariable(name)).thenReturn(value);
+        return context;
+    }
+
+    private static Document order(int total) throws Exception {
+        Document document = DocumentBuilderFactory.newInstance().newDocumentBuilder().newDocument();
+        Element order = document.createElement("order");
+        order.setAttribute("total", String.valueOf(total));
+        document.appendChild(order);
+        return document;
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jbpm.workflow.core.impl;
+
+import org.jbpm.process.core.event.EventTypeFilter;
+import org.jbpm.ruleflow.core.RuleFlowProcess;
+import org.jbpm.workflow.core.node.ActionNode;
+import org.jbpm.workflow.core.node.BoundaryEventNode;
+import org.jbpm.workflow.core.node.CompositeNode;
+import org.jbpm.workflow.core.node.EventNode;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class EventTypeDispatchTableTest {
+
+    @Test
+    public void testEventNodesByType() {
+        RuleFlowProcess process = new RuleFlowProcess();
+        EventNode first = eventNode(1, "first");
+        EventNode expression = eventNode(2, "#{signalName}");
+        ActionNode action = new ActionNode();
+        action.setId(3);
+        EventNode second = eventNode(4, "second");
+        process.addNode(first);
+        process.addNode(expression);
+        process.addNode(action);
+        process.addNode(second);
+
+        EventTypeDispatchTable table = process.getEventTypeDispatchTable();
+
+        assertThat(table.getEventNodes("first")).containsExactly(first, expression);
+        assertThat(table.getEventNodes("second")).containsExactly(expression, second);
+        assertThat(table.getEventNodes("other")).containsExactly(expression);
+    }
+
+    @Test
+    public void testCompositeNodeByInnerTypes() {
+        RuleFlowProcess process = new RuleFlowProcess();
+        CompositeNode composite = new CompositeNode();
+        composite.setId(1);
+        composite.addNode(eventNode(2, "inner"));
+        process.addNode(composite);
+
+        EventTypeDispatchTable table = process.getEventTypeDispatchTable();
+
+        assertThat(table.getEventNodes("inner")).containsExactly(composite);
+        assertThat(table.getEventNodes("other")).isEmpty();
+        assertThat(table.getDynamicNodes("other")).containsExactly(composite);
+    }
+
+    @Test
+    public void testUntypedBoundaryEventAcceptsAnyType() {
+        RuleFlowProcess process = new RuleFlowProcess();
+        BoundaryEventNode untyped = new BoundaryEventNode();
+        untyped.setId(1);
+        EventNode typed = eventNode(2, "typed");
+        process.addNode(untyped);
+        process.addNode(typed);
+
+        EventTypeDispatchTable table = process.getEventTypeDispatchTable();
+
+        assertThat(table.getEventNodes("typed")).containsExactly(untyped, typed);
+        assertThat(table.getEventNodes("other")).containsExactly(untyped);
+    }
+
+    @Test
+    public void testTableRebuiltWhenCompositeNodesChange() {
+        RuleFlowProcess process = new RuleFlowProcess();
+        CompositeNode composite = new CompositeNode();
+        composite.setId(1);
+        CompositeNode nested = new CompositeNode();
+        nested.setId(2);
+        composite.addNode(nested);
+        process.addNode(composite);
+        assertThat(process.getEventTypeDispatchTable().getEventNodes("inner")).isEmpty();
+
+        EventNode inner = eventNode(3, "inner");
+        nested.addNode(inner);
+        assertThat(process.getEventTypeDispatchTable().getEventNodes("inner")).containsExactly(composite);
+
+        nested.removeNode(inner);
+        assertThat(process.getEventTypeDispatchTable().getEventNodes("inner")).isEmpty();
+    }
+
+    @Test
+    public void testTableRebuiltWhenNodesChange() {
+        RuleFlowProcess process = new RuleFlowProcess();
+        process.addNode(eventNode(1, "first"));
+        assertThat(process.getEventTypeDispatchTable().getEventNodes("second")).isEmpty();
+
+        EventNode second = eventNode(2, "second");
+        process.addNode(second);
+        assertThat(process.getEventTypeDispatchTable().getEventNodes("second")).containsExactly(second);
+    }
+
+    private static EventNode eventNode(long id, String type) {
+        EventNode node = new EventNode();
+        node.setId(id);
+        node.setName(type);
+        EventTypeFilter filter = new EventTypeFilter();
+        filter.setType(type);
+        node.addEventFilter(filter);
+        return node;
+    }
+}
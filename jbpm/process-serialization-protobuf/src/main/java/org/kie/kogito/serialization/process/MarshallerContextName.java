@@ -15,11 +15,14 @@
  */
 package org.kie.kogito.serialization.process;
 
+import java.util.Map;
+
 import org.kie.kogito.process.Process;
 
 public final class MarshallerContextName<T> {
 
     public static final MarshallerContextName<ObjectMarshallerStrategy[]> OBJECT_MARSHALLING_STRATEGIES = new MarshallerContextName<>("OBJECT_MARSHALLING_STRATEGIES");
+    public static final MarshallerContextName<Map<Class<?>, ObjectMarshallerStrategy>> OBJECT_MARSHALLING_STRATEGIES_BY_CLASS = new MarshallerContextName<>("OBJECT_MARSHALLING_STRATEGIES_BY_CLASS");
     public static final MarshallerContextName<String> MARSHALLER_FORMAT = new MarshallerContextName<>("FORMAT");
     public static final MarshallerContextName<Process<?>> MARSHALLER_PROCESS = new MarshallerContextName<>("PROCESS");
     public static final MarshallerContextName<Boolean> MARSHALLER_INSTANCE_READ_ONLY = new MarshallerContextName<>("READ_ONLY");
@@ -30,6 +30,9 @@ public interface ObjectMarshallerStrategy extends Comparable<ObjectMarshallerStr
         return that.order().compareTo(this.order());
     }
 
+    /**
+     * Decision must only depend on the class of the value, as the chosen strategy might be cached per class
+     */
     boolean acceptForMarshalling(Object value);
 
     Any marshall(Object unmarshalled);
@@ -15,10 +15,14 @@
  */
 package org.kie.kogito.serialization.process;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 
 import org.kie.kogito.process.ProcessInstance;
 
+import com.google.protobuf.Any;
+
 /**
  * A ProcessInstanceMarshaller must contain all the write/read logic for nodes
  * of a specific ProcessInstance. It colaborates with OutputMarshaller and
@@ -33,6 +37,42 @@ public interface ProcessInstanceMarshaller {
 
     void writeProcessInstance(MarshallerWriterContext context, ProcessInstance<?> processInstance) throws IOException;
 
+    /**
+     * Writes the process instance straight into a new array, without going through {@link MarshallerWriterContext#output()}.
+     * The context may be shared between calls, so implementations must not modify it. By default the process instance
+     * is written with {@link #writeProcessInstance} into a buffer that is returned as the array.
+     */
+    default byte[] marshallProcessInstance(MarshallerWriterContext context, ProcessInstance<?> processInstance) throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        writeProcessInstance(new MarshallerWriterContext() {
+            @Override
+            public OutputStream output() {
+                return baos;
+            }
+
+            @Override
+            public ObjectMarshallerStrategy findObjectMarshallerStrategyFor(Object value) {
+                return context.findObjectMarshallerStrategyFor(value);
+            }
+
+            @Override
+            public ObjectMarshallerStrategy findObjectUnmarshallerStrategyFor(Any value) {
+                return context.findObjectUnmarshallerStrategyFor(value);
+            }
+
+            @Override
+            public <T> T get(MarshallerContextName<T> key) {
+                return context.get(key);
+            }
+
+            @Override
+            public <T> void set(MarshallerContextName<T> key, T value) {
+                context.set(key, value);
+            }
+        }, processInstance);
+        return baos.toByteArray();
+    }
+
     ProcessInstance<?> readProcessInstance(MarshallerReaderContext context) throws IOException;
 
     void reloadProcessInstance(MarshallerReaderContext context, ProcessInstance<?> processInstance) throws IOException;
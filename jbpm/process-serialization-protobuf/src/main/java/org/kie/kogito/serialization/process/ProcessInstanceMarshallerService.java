@@ -17,31 +17,51 @@ package org.kie.kogito.serialization.process;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.ServiceLoader;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 
 import org.kie.kogito.process.Process;
 import org.kie.kogito.process.ProcessInstance;
 import org.kie.kogito.process.impl.AbstractProcessInstance;
+import org.kie.kogito.serialization.process.impl.ProtobufProcessInstanceDeltas;
 import org.kie.kogito.serialization.process.impl.ProtobufProcessInstanceMarshallerFactory;
+import org.kie.kogito.serialization.process.impl.marshallers.ProtobufBinaryJsonNodeMessageMarshaller;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 public class ProcessInstanceMarshallerService {
     private static final Logger LOGGER = LoggerFactory.getLogger(ProcessInstanceMarshallerService.class);
 
+    private static final int DEFAULT_BUFFER_SIZE = 1024;
+
     private List<ObjectMarshallerStrategy> strats;
 
     private Map<MarshallerContextName<Object>, Object> contextEntries;
 
     private ProcessInstanceMarshallerFactory processInstanceMarshallerFactory;
 
+    private ObjectMarshallerStrategy[] strategies;
+
+    private Map<Class<?>, ObjectMarshallerStrategy> strategiesByClass;
+
+    private ProcessInstanceMarshaller marshaller;
+
+    private Map<String, Integer> payloadSizes;
+
+    private boolean directWrite;
+
+    private MarshallerWriterContext directWriteContext;
+
+    private Boolean binaryJsonNodes;
+
     public class Builder {
 
         public Builder() {
@@ -76,8 +96,40 @@ public class ProcessInstanceMarshallerService {
             return this;
         }
 
+        /**
+         * Writes process instances straight into an array of the payload size instead of going through an output stream,
+         * see {@link ProcessInstanceMarshaller#marshallProcessInstance}.
+         */
+        public Builder withDirectWrite() {
+            ProcessInstanceMarshallerService.this.directWrite = true;
+            return this;
+        }
+
+        /**
+         * Json nodes are written as Smile when enabled and as text otherwise, persistence addons enable it through the
+         * <code>kogito.persistence.json.binary</code> property. Smile is never written when the json format is used, as bytes
+         * would be base64 encoded.
+         */
+        public Builder withBinaryJsonNodes(boolean enabled) {
+            ProcessInstanceMarshallerService.this.binaryJsonNodes = enabled;
+            return this;
+        }
+
         public ProcessInstanceMarshallerService build() {
+            if (MarshallerContextName.MARSHALLER_FORMAT_JSON.equals(contextEntries.get(MarshallerContextName.MARSHALLER_FORMAT))) {
+                binaryJsonNodes = false;
+            }
+            if (binaryJsonNodes != null) {
+                strats.replaceAll(s -> s instanceof ProtobufBinaryJsonNodeMessageMarshaller ? new ProtobufBinaryJsonNodeMessageMarshaller(binaryJsonNodes) : s);
+            }
             Collections.sort(ProcessInstanceMarshallerService.this.strats);
+            ProcessInstanceMarshallerService.this.strategies = strats.toArray(new ObjectMarshallerStrategy[strats.size()]);
+            ProcessInstanceMarshallerService.this.marshaller = processInstanceMarshallerFactory.newKogitoProcessInstanceMarshaller();
+            if (directWrite) {
+                // direct writes never use the output stream and writers only read the context, so a single one is shared
+                directWriteContext = processInstanceMarshallerFactory.newWriterContext(OutputStream.nullOutputStream());
+                setupEnvironment(directWriteContext);
+            }
             return ProcessInstanceMarshallerService.this;
         }
 
@@ -90,10 +142,13 @@ public class ProcessInstanceMarshallerService {
     private ProcessInstanceMarshallerService() {
         this.strats = new ArrayList<>();
         this.contextEntries = new HashMap<>();
+        this.strategiesByClass = new ConcurrentHashMap<>();
+        this.payloadSizes = new ConcurrentHashMap<>();
     }
 
     protected void setupEnvironment(MarshallerContext env) {
-        env.set(MarshallerContextName.OBJECT_MARSHALLING_STRATEGIES, strats.toArray(new ObjectMarshallerStrategy[strats.size()]));
+        env.set(MarshallerContextName.OBJECT_MARSHALLING_STRATEGIES, strategies);
+        env.set(MarshallerContextName.OBJECT_MARSHALLING_STRATEGIES_BY_CLASS, strategiesByClass);
 
         for (Map.Entry<MarshallerContextName<Object>, Object> entry : contextEntries.entrySet()) {
             env.set(entry.getKey(), entry.getValue());
@@ -101,12 +156,22 @@ public class ProcessInstanceMarshallerService {
     }
 
     public byte[] marshallProcessInstance(ProcessInstance<?> processInstance) {
-        try (ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
+        if (directWrite) {
+            try {
+                return marshaller.marshallProcessInstance(directWriteContext, processInstance);
+            } catch (Exception e) {
+                throw new ProcessInstanceMarshallerException("Error while marshalling process instance", e);
+            }
+        }
+        // the buffer is sized after the last payload of the same process so it rarely needs to grow
+        String processId = processInstance.process().id();
+        try (ByteArrayOutputStream baos = new ByteArrayOutputStream(payloadSizes.getOrDefault(processId, DEFAULT_BUFFER_SIZE))) {
             MarshallerWriterContext context = processInstanceMarshallerFactory.newWriterContext(baos);
             setupEnvironment(context);
-            org.kie.kogito.serialization.process.ProcessInstanceMarshaller marshaller = processInstanceMarshallerFactory.newKogitoProcessInstanceMarshaller();
             marshaller.writeProcessInstance(context, processInstance);
-            return baos.toByteArray();
+            byte[] data = baos.toByteArray();
+            payloadSizes.put(processId, Math.max(data.length, DEFAULT_BUFFER_SIZE));
+            return data;
         } catch (Exception e) {
             throw new ProcessInstanceMarshallerException("Error while marshalling process instance", e);
         }
@@ -118,7 +183,6 @@ public class ProcessInstanceMarshallerService {
             context.set(MarshallerContextName.MARSHALLER_PROCESS, process);
             context.set(MarshallerContextName.MARSHALLER_INSTANCE_READ_ONLY, readOnly);
             setupEnvironment(context);
-            org.kie.kogito.serialization.process.ProcessInstanceMarshaller marshaller = processInstanceMarshallerFactory.newKogitoProcessInstanceMarshaller();
             return marshaller.readProcessInstance(context);
         } catch (Exception e) {
             throw new ProcessInstanceMarshallerException("Error while unmarshalling process instance", e);
@@ -133,6 +197,28 @@ public class ProcessInstanceMarshallerService {
         return unmarshallProcessInstance(data, process, true);
     }
 
+    /**
+     * Computes the delta to be applied to <code>base</code> to get <code>current</code>, both binary process instance payloads
+     */
+    public byte[] diffProcessInstance(byte[] base, byte[] current) {
+        try {
+            return ProtobufProcessInstanceDeltas.diff(base, current);
+        } catch (Exception e) {
+            throw new ProcessInstanceMarshallerException("Error while computing process instance delta", e);
+        }
+    }
+
+    /**
+     * Applies, in order, the deltas computed by {@link #diffProcessInstance(byte[], byte[])} to a binary process instance payload
+     */
+    public byte[] applyProcessInstanceDeltas(byte[] snapshot, List<byte[]> deltas) {
+        try {
+            return ProtobufProcessInstanceDeltas.apply(snapshot, deltas);
+        } catch (Exception e) {
+            throw new ProcessInstanceMarshallerException("Error while applying process instance deltas", e);
+        }
+    }
+
     public Consumer<AbstractProcessInstance<?>> createdReloadFunction(Supplier<byte[]> dataSupplier) {
         return (processInstance) -> {
             byte[] data = dataSupplier.get();
@@ -143,12 +229,23 @@ public class ProcessInstanceMarshallerService {
                 MarshallerReaderContext context = processInstanceMarshallerFactory.newReaderContext(bais);
                 context.set(MarshallerContextName.MARSHALLER_PROCESS, processInstance.process());
                 setupEnvironment(context);
-                org.kie.kogito.serialization.process.ProcessInstanceMarshaller marshaller =
-                        processInstanceMarshallerFactory.newKogitoProcessInstanceMarshaller();
                 marshaller.reloadProcessInstance(context, processInstance);
             } catch (Exception e) {
                 LOGGER.warn("Process Instance {} cannot be reloaded", processInstance.id(), e);
             }
         };
     }
+
+    /**
+     * Creates a reload function that rehydrates the process instance from the payload that was just written
+     * by the caller, without reading it back from the storage. Every write installs a new reload function,
+     * so the payload is always the one of the version the process instance carries. The caller is responsible
+     * for setting that version (if any) before disconnecting the instance.
+     *
+     * @param writtenData payload that was written to the storage
+     * @return reload function to be installed in the process instance
+     */
+    public Consumer<AbstractProcessInstance<?>> createdReloadFunction(byte[] writtenData) {
+        return createdReloadFunction(() -> writtenData);
+    }
 }
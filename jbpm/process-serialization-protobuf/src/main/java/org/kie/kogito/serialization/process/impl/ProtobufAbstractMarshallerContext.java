@@ -47,7 +47,11 @@ public abstract class ProtobufAbstractMarshallerContext implements MarshallerCon
 
     @Override
     public ObjectMarshallerStrategy findObjectMarshallerStrategyFor(Object value) {
-        return findMarshaller(value, (s, v) -> s.acceptForMarshalling(v));
+        Map<Class<?>, ObjectMarshallerStrategy> strategiesByClass = get(MarshallerContextName.OBJECT_MARSHALLING_STRATEGIES_BY_CLASS);
+        if (strategiesByClass == null) {
+            return findMarshaller(value, (s, v) -> s.acceptForMarshalling(v));
+        }
+        return strategiesByClass.computeIfAbsent(value.getClass(), c -> findMarshaller(value, (s, v) -> s.acceptForMarshalling(v)));
     }
 
     @Override
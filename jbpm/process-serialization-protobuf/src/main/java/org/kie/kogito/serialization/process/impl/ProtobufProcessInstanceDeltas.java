@@ -0,0 +1,155 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.serialization.process.impl;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.kie.kogito.serialization.process.protobuf.KogitoProcessInstanceProtobuf;
+import org.kie.kogito.serialization.process.protobuf.KogitoTypesProtobuf;
+
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.WireFormat;
+
+/**
+ * Computes and applies the difference between two binary process instance payloads. A delta is encoded as
+ *
+ * <pre>
+ * message ProcessInstanceDelta {
+ *     ProcessInstance header = 1;
+ *     repeated Variable variable = 2;
+ *     repeated string removed_variable = 3;
+ *     repeated NodeInstance node_instance = 4;
+ *     repeated string removed_node_instance = 5;
+ * }
+ * </pre>
+ *
+ * where the header is the new process instance without the variables and node instances of its context, that
+ * are only carried when added or changed. Nested node instances (sub processes, composite nodes) are part of the
+ * content of their container, so they are carried along with it.
+ */
+public class ProtobufProcessInstanceDeltas {
+
+    private static final int HEADER = 1;
+    private static final int VARIABLE = 2;
+    private static final int REMOVED_VARIABLE = 3;
+    private static final int NODE_INSTANCE = 4;
+    private static final int REMOVED_NODE_INSTANCE = 5;
+
+    private ProtobufProcessInstanceDeltas() {
+    }
+
+    public static byte[] diff(byte[] base, byte[] current) throws IOException {
+        KogitoProcessInstanceProtobuf.ProcessInstance baseInstance = KogitoProcessInstanceProtobuf.ProcessInstance.parseFrom(base);
+        KogitoProcessInstanceProtobuf.ProcessInstance currentInstance = KogitoProcessInstanceProtobuf.ProcessInstance.parseFrom(current);
+        KogitoTypesProtobuf.WorkflowContext baseContext = baseInstance.getContext();
+        KogitoTypesProtobuf.WorkflowContext currentContext = currentInstance.getContext();
+
+        KogitoProcessInstanceProtobuf.ProcessInstance.Builder header = currentInstance.toBuilder();
+        if (currentInstance.hasContext()) {
+            header.setContext(currentContext.toBuilder().clearVariable().clearNodeInstance());
+        }
+
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        CodedOutputStream output = CodedOutputStream.newInstance(baos);
+        output.writeMessage(HEADER, header.build());
+
+        Map<String, KogitoTypesProtobuf.Variable> baseVariables = index(baseContext.getVariableList(), KogitoTypesProtobuf.Variable::getName);
+        for (KogitoTypesProtobuf.Variable variable : currentContext.getVariableList()) {
+            if (!variable.equals(baseVariables.remove(variable.getName()))) {
+                output.writeMessage(VARIABLE, variable);
+            }
+        }
+        for (String removed : baseVariables.keySet()) {
+            output.writeString(REMOVED_VARIABLE, removed);
+        }
+
+        Map<String, KogitoTypesProtobuf.NodeInstance> baseNodeInstances = index(baseContext.getNodeInstanceList(), KogitoTypesProtobuf.NodeInstance::getId);
+        for (KogitoTypesProtobuf.NodeInstance nodeInstance : currentContext.getNodeInstanceList()) {
+            if (!nodeInstance.equals(baseNodeInstances.remove(nodeInstance.getId()))) {
+                output.writeMessage(NODE_INSTANCE, nodeInstance);
+            }
+        }
+        for (String removed : baseNodeInstances.keySet()) {
+            output.writeString(REMOVED_NODE_INSTANCE, removed);
+        }
+
+        output.flush();
+        return baos.toByteArray();
+    }
+
+    public static byte[] apply(byte[] snapshot, List<byte[]> deltas) throws IOException {
+        if (deltas.isEmpty()) {
+            return snapshot;
+        }
+        KogitoProcessInstanceProtobuf.ProcessInstance instance = KogitoProcessInstanceProtobuf.ProcessInstance.parseFrom(snapshot);
+        Map<String, KogitoTypesProtobuf.Variable> variables = index(instance.getContext().getVariableList(), KogitoTypesProtobuf.Variable::getName);
+        Map<String, KogitoTypesProtobuf.NodeInstance> nodeInstances = index(instance.getContext().getNodeInstanceList(), KogitoTypesProtobuf.NodeInstance::getId);
+
+        for (byte[] delta : deltas) {
+            CodedInputStream input = CodedInputStream.newInstance(delta);
+            int tag;
+            while ((tag = input.readTag()) != 0) {
+                switch (WireFormat.getTagFieldNumber(tag)) {
+                    case HEADER:
+                        instance = KogitoProcessInstanceProtobuf.ProcessInstance.parseFrom(input.readBytes());
+                        break;
+                    case VARIABLE:
+                        KogitoTypesProtobuf.Variable variable = KogitoTypesProtobuf.Variable.parseFrom(input.readBytes());
+                        variables.put(variable.getName(), variable);
+                        break;
+                    case REMOVED_VARIABLE:
+                        variables.remove(input.readString());
+                        break;
+                    case NODE_INSTANCE:
+                        KogitoTypesProtobuf.NodeInstance nodeInstance = KogitoTypesProtobuf.NodeInstance.parseFrom(input.readBytes());
+                        nodeInstances.put(nodeInstance.getId(), nodeInstance);
+                        break;
+                    case REMOVED_NODE_INSTANCE:
+                        nodeInstances.remove(input.readString());
+                        break;
+                    default:
+                        input.skipField(tag);
+                }
+            }
+        }
+
+        if (!instance.hasContext()) {
+            return instance.toByteArray();
+        }
+        return instance.toBuilder()
+                .setContext(instance.getContext().toBuilder()
+                        .clearVariable()
+                        .addAllVariable(variables.values())
+                        .clearNodeInstance()
+                        .addAllNodeInstance(nodeInstances.values()))
+                .build()
+                .toByteArray();
+    }
+
+    private static <T> Map<String, T> index(List<T> items, Function<T, String> key) {
+        Map<String, T> index = new LinkedHashMap<>();
+        for (T item : items) {
+            index.put(key.apply(item), item);
+        }
+        return index;
+    }
+}
@@ -39,6 +39,13 @@ public class ProtobufProcessInstanceMarshaller implements ProcessInstanceMarshal
         writer.writeProcessInstance(pi, context.output());
     }
 
+    @Override
+    public byte[] marshallProcessInstance(MarshallerWriterContext context, ProcessInstance<?> processInstance) throws IOException {
+        RuleFlowProcessInstance pi = (RuleFlowProcessInstance) ((AbstractProcessInstance<?>) processInstance).internalGetProcessInstance();
+        ProtobufProcessInstanceWriter writer = new ProtobufProcessInstanceWriter(context);
+        return writer.writeProcessInstance(pi);
+    }
+
     @Override
     public ProcessInstance<?> readProcessInstance(MarshallerReaderContext context) throws IOException {
         ProtobufProcessInstanceReader reader = new ProtobufProcessInstanceReader(context);
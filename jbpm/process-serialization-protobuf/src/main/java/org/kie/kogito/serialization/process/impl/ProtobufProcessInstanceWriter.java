@@ -81,6 +81,7 @@ import org.kie.kogito.serialization.process.protobuf.KogitoWorkItemsProtobuf;
 import org.kie.kogito.serialization.process.protobuf.KogitoWorkItemsProtobuf.HumanTaskWorkItemData;
 
 import com.google.protobuf.Any;
+import com.google.protobuf.CodedOutputStream;
 import com.google.protobuf.util.JsonFormat;
 
 import static org.kie.kogito.serialization.process.MarshallerContextName.MARSHALLER_FORMAT;
@@ -98,7 +99,37 @@ public class ProtobufProcessInstanceWriter {
     }
 
     public void writeProcessInstance(WorkflowProcessInstanceImpl workFlow, OutputStream os) throws IOException {
+        KogitoProcessInstanceProtobuf.ProcessInstance piProtobuf = buildProcessInstance(workFlow);
 
+        if (isJsonFormat()) {
+            os.write(JsonFormat.printer().usingTypeRegistry(protobufTypeRegistryFactoryInstance().create()).print(piProtobuf).getBytes());
+        } else {
+            piProtobuf.writeTo(os);
+        }
+    }
+
+    /**
+     * Writes the process instance into an array sized after the serialized message, so no intermediate buffer is used
+     */
+    public byte[] writeProcessInstance(WorkflowProcessInstanceImpl workFlow) throws IOException {
+        KogitoProcessInstanceProtobuf.ProcessInstance piProtobuf = buildProcessInstance(workFlow);
+
+        if (isJsonFormat()) {
+            return JsonFormat.printer().usingTypeRegistry(protobufTypeRegistryFactoryInstance().create()).print(piProtobuf).getBytes();
+        }
+        byte[] data = new byte[piProtobuf.getSerializedSize()];
+        CodedOutputStream output = CodedOutputStream.newInstance(data);
+        piProtobuf.writeTo(output);
+        output.checkNoSpaceLeft();
+        return data;
+    }
+
+    private boolean isJsonFormat() {
+        String format = this.context.get(MARSHALLER_FORMAT);
+        return format != null && MARSHALLER_FORMAT_JSON.equals(format);
+    }
+
+    private KogitoProcessInstanceProtobuf.ProcessInstance buildProcessInstance(WorkflowProcessInstanceImpl workFlow) {
         KogitoProcessInstanceProtobuf.ProcessInstance.Builder instance = KogitoProcessInstanceProtobuf.ProcessInstance.newBuilder()
                 .setId(workFlow.getStringId())
                 .setProcessId(workFlow.getProcessId())
@@ -150,14 +181,7 @@ public class ProtobufProcessInstanceWriter {
         List<Map.Entry<String, Integer>> iterationlevels = new ArrayList<>(workFlow.getIterationLevels().entrySet());
         instance.setContext(buildWorkflowContext(nodeInstances, exclusiveGroupInstances, variables, iterationlevels));
 
-        KogitoProcessInstanceProtobuf.ProcessInstance piProtobuf = instance.build();
-
-        String format = this.context.get(MARSHALLER_FORMAT);
-        if (format != null && MARSHALLER_FORMAT_JSON.equals(format)) {
-            os.write(JsonFormat.printer().usingTypeRegistry(protobufTypeRegistryFactoryInstance().create()).print(piProtobuf).getBytes());
-        } else {
-            piProtobuf.writeTo(os);
-        }
+        return instance.build();
     }
 
     private KogitoTypesProtobuf.SLAContext buildSLAContext(int slaCompliance, Date slaDueDate, String slaTimerId) {
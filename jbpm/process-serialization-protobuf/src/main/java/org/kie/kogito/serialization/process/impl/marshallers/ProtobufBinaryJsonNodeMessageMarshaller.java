@@ -0,0 +1,95 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.serialization.process.impl.marshallers;
+
+import java.io.IOException;
+
+import org.kie.kogito.serialization.process.ObjectMarshallerStrategy;
+import org.kie.kogito.serialization.process.ProcessInstanceMarshallerException;
+import org.kie.kogito.serialization.process.protobuf.BinaryJsonNodeTypeProvider;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.google.protobuf.Any;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.Descriptors;
+import com.google.protobuf.DynamicMessage;
+
+/**
+ * Stores json nodes as Smile, a binary json encoding, avoiding to write and parse back the text representation.
+ * Json nodes stored as text by {@link ProtobufJsonNodeMessageMarshaller} are still read by that strategy.
+ * <p>
+ * Writing Smile is disabled by default and enabled through
+ * {@link org.kie.kogito.serialization.process.ProcessInstanceMarshallerService.Builder#withBinaryJsonNodes(boolean)},
+ * json nodes already stored as Smile are always read.
+ */
+public class ProtobufBinaryJsonNodeMessageMarshaller implements ObjectMarshallerStrategy {
+
+    private static final String TYPE_URL_PREFIX = "type.googleapis.com/";
+
+    private static final ObjectMapper SMILE_MAPPER = new SmileMapper();
+
+    private final Descriptors.Descriptor descriptor = BinaryJsonNodeTypeProvider.descriptor();
+    private final Descriptors.FieldDescriptor contentField = descriptor.findFieldByName(BinaryJsonNodeTypeProvider.CONTENT);
+    private final String typeUrl = TYPE_URL_PREFIX + descriptor.getFullName();
+    private final boolean marshalling;
+
+    public ProtobufBinaryJsonNodeMessageMarshaller() {
+        this(false);
+    }
+
+    public ProtobufBinaryJsonNodeMessageMarshaller(boolean marshalling) {
+        this.marshalling = marshalling;
+    }
+
+    @Override
+    public Integer order() {
+        return DEFAULT_ORDER + 1;
+    }
+
+    @Override
+    public boolean acceptForMarshalling(Object value) {
+        return marshalling && value instanceof JsonNode;
+    }
+
+    @Override
+    public boolean acceptForUnmarshalling(Any value) {
+        return typeUrl.equals(value.getTypeUrl());
+    }
+
+    @Override
+    public Any marshall(Object unmarshalled) {
+        try {
+            DynamicMessage message = DynamicMessage.newBuilder(descriptor)
+                    .setField(contentField, ByteString.copyFrom(SMILE_MAPPER.writeValueAsBytes(unmarshalled)))
+                    .build();
+            return Any.newBuilder().setTypeUrl(typeUrl).setValue(message.toByteString()).build();
+        } catch (IOException e) {
+            throw new ProcessInstanceMarshallerException("Error trying to marshalling a Json Node value", e);
+        }
+    }
+
+    @Override
+    public Object unmarshall(Any data) {
+        try {
+            DynamicMessage message = DynamicMessage.parseFrom(descriptor, data.getValue());
+            return SMILE_MAPPER.readTree(((ByteString) message.getField(contentField)).toByteArray());
+        } catch (IOException e) {
+            throw new ProcessInstanceMarshallerException("Error trying to unmarshalling a Json Node value", e);
+        }
+    }
+}
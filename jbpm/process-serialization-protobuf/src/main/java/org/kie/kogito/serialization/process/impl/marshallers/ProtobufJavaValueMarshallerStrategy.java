@@ -0,0 +1,130 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.serialization.process.impl.marshallers;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.DateTimeException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.MonthDay;
+import java.time.OffsetDateTime;
+import java.time.OffsetTime;
+import java.time.Period;
+import java.time.Year;
+import java.time.YearMonth;
+import java.time.ZonedDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+
+import org.kie.kogito.serialization.process.ObjectMarshallerStrategy;
+import org.kie.kogito.serialization.process.ProcessInstanceMarshallerException;
+
+import com.google.protobuf.Any;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.StringValue;
+
+/**
+ * Stores the JDK value types commonly used as process variables (java.time types, big numbers, uuids,
+ * the small primitive wrappers and enums) through their text representation instead of java serialization.
+ * The type url carries the java class name, values stored by java serialization are still read by
+ * {@link ProtobufObjectMarshallerStrategy}.
+ */
+public class ProtobufJavaValueMarshallerStrategy implements ObjectMarshallerStrategy {
+
+    private static final String TYPE_URL_PREFIX = "type.kie.org/java/";
+
+    private static final Map<String, Function<String, Object>> PARSERS = new HashMap<>();
+
+    static {
+        register(Instant.class, Instant::parse);
+        register(LocalDate.class, LocalDate::parse);
+        register(LocalDateTime.class, LocalDateTime::parse);
+        register(LocalTime.class, LocalTime::parse);
+        register(OffsetDateTime.class, OffsetDateTime::parse);
+        register(OffsetTime.class, OffsetTime::parse);
+        register(ZonedDateTime.class, ZonedDateTime::parse);
+        register(Year.class, Year::parse);
+        register(YearMonth.class, YearMonth::parse);
+        register(MonthDay.class, MonthDay::parse);
+        register(Duration.class, Duration::parse);
+        register(Period.class, Period::parse);
+        register(BigDecimal.class, BigDecimal::new);
+        register(BigInteger.class, BigInteger::new);
+        register(UUID.class, UUID::fromString);
+        register(Short.class, Short::valueOf);
+        register(Byte.class, Byte::valueOf);
+        register(Character.class, s -> s.charAt(0));
+    }
+
+    private static void register(Class<?> type, Function<String, Object> parser) {
+        PARSERS.put(type.getName(), parser);
+    }
+
+    @Override
+    public boolean acceptForMarshalling(Object value) {
+        return value instanceof Enum || PARSERS.containsKey(value.getClass().getName());
+    }
+
+    @Override
+    public boolean acceptForUnmarshalling(Any value) {
+        return value.getTypeUrl().startsWith(TYPE_URL_PREFIX);
+    }
+
+    @Override
+    public Any marshall(Object unmarshalled) {
+        String typeName;
+        String text;
+        if (unmarshalled instanceof Enum) {
+            typeName = ((Enum<?>) unmarshalled).getDeclaringClass().getName();
+            text = ((Enum<?>) unmarshalled).name();
+        } else {
+            typeName = unmarshalled.getClass().getName();
+            text = unmarshalled.toString();
+        }
+        return Any.newBuilder().setTypeUrl(TYPE_URL_PREFIX + typeName).setValue(StringValue.of(text).toByteString()).build();
+    }
+
+    @Override
+    public Object unmarshall(Any data) {
+        String typeName = data.getTypeUrl().substring(TYPE_URL_PREFIX.length());
+        try {
+            String text = StringValue.parseFrom(data.getValue()).getValue();
+            Function<String, Object> parser = PARSERS.get(typeName);
+            return parser != null ? parser.apply(text) : enumValue(typeName, text);
+        } catch (InvalidProtocolBufferException | DateTimeException | IllegalArgumentException e) {
+            throw new ProcessInstanceMarshallerException("Error trying to unmarshalling a value of type " + typeName, e);
+        }
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static Object enumValue(String typeName, String name) {
+        try {
+            Class<?> type = Class.forName(typeName, false, Thread.currentThread().getContextClassLoader());
+            if (!type.isEnum()) {
+                throw new ProcessInstanceMarshallerException("Type " + typeName + " is not an enum");
+            }
+            return Enum.valueOf((Class<Enum>) type, name);
+        } catch (ClassNotFoundException e) {
+            throw new ProcessInstanceMarshallerException("Enum type " + typeName + " not found", e);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.serialization.process.protobuf;
+
+import java.util.Collection;
+import java.util.Collections;
+
+import com.google.protobuf.DescriptorProtos.DescriptorProto;
+import com.google.protobuf.DescriptorProtos.FieldDescriptorProto;
+import com.google.protobuf.DescriptorProtos.FileDescriptorProto;
+import com.google.protobuf.Descriptors;
+import com.google.protobuf.Descriptors.DescriptorValidationException;
+
+/**
+ * Provides the descriptor of the message holding binary encoded json nodes:
+ *
+ * <pre>
+ * message BinaryJsonNode {
+ *     bytes content = 1;
+ * }
+ * </pre>
+ *
+ * The descriptor is built at runtime, the same way protostream types are bridged, so it can be registered
+ * in the type registry used for json format without regenerating the protobuf classes.
+ */
+public class BinaryJsonNodeTypeProvider implements ProtobufTypeProvider {
+
+    public static final String BINARY_JSON_NODE = "BinaryJsonNode";
+    public static final String CONTENT = "content";
+
+    private static final Descriptors.Descriptor DESCRIPTOR = buildDescriptor();
+
+    public static Descriptors.Descriptor descriptor() {
+        return DESCRIPTOR;
+    }
+
+    @Override
+    public Collection<Descriptors.Descriptor> descriptors() {
+        return Collections.singletonList(DESCRIPTOR);
+    }
+
+    private static Descriptors.Descriptor buildDescriptor() {
+        FileDescriptorProto file = FileDescriptorProto.newBuilder()
+                .setName("org/kie/kogito/serialization/process/protobuf/kogito_binary_types.proto")
+                .setPackage(KogitoTypesProtobuf.getDescriptor().getPackage())
+                .setSyntax("proto3")
+                .addMessageType(DescriptorProto.newBuilder()
+                        .setName(BINARY_JSON_NODE)
+                        .addField(FieldDescriptorProto.newBuilder()
+                                .setName(CONTENT)
+                                .setJsonName(CONTENT)
+                                .setNumber(1)
+                                .setLabel(FieldDescriptorProto.Label.LABEL_OPTIONAL)
+                                .setType(FieldDescriptorProto.Type.TYPE_BYTES)))
+                .build();
+        try {
+            return Descriptors.FileDescriptor.buildFrom(file, new Descriptors.FileDescriptor[0]).findMessageTypeByName(BINARY_JSON_NODE);
+        } catch (DescriptorValidationException e) {
+            throw new IllegalStateException("Invalid binary json node descriptor", e);
+        }
+    }
+}
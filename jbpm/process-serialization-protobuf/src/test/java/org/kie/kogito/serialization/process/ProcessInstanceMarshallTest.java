@@ -20,22 +20,32 @@ import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.Serializable;
 import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.sql.Timestamp;
+import java.time.DayOfWeek;
 import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
 import java.time.OffsetDateTime;
+import java.time.OffsetTime;
+import java.time.Period;
+import java.time.YearMonth;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 import java.util.ServiceLoader;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import org.jbpm.process.core.context.variable.Variable;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
@@ -44,9 +54,16 @@ import org.kie.kogito.serialization.process.impl.ProtobufMarshallerReaderContext
 import org.kie.kogito.serialization.process.impl.ProtobufProcessMarshallerWriteContext;
 import org.kie.kogito.serialization.process.impl.ProtobufVariableReader;
 import org.kie.kogito.serialization.process.impl.ProtobufVariableWriter;
+import org.kie.kogito.serialization.process.impl.marshallers.ProtobufBinaryJsonNodeMessageMarshaller;
+import org.kie.kogito.serialization.process.impl.marshallers.ProtobufJavaValueMarshallerStrategy;
+import org.kie.kogito.serialization.process.impl.marshallers.ProtobufJsonNodeMessageMarshaller;
+import org.kie.kogito.serialization.process.impl.marshallers.ProtobufObjectMarshallerStrategy;
 import org.kie.kogito.serialization.process.protobuf.KogitoTypesProtobuf;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.protobuf.Any;
+import com.google.protobuf.BytesValue;
 
 import static java.util.Collections.singletonMap;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -83,6 +100,26 @@ public class ProcessInstanceMarshallTest {
         }
     }
 
+    public enum Color {
+        RED,
+        GREEN {
+            @Override
+            public String toString() {
+                return "green";
+            }
+        }
+    }
+
+    private static Stream<Arguments> testJavaValuesNotSerialized() {
+        return Stream.of(
+                Arguments.of(BigDecimal.valueOf(10l)),
+                Arguments.of(LocalDate.now()),
+                Arguments.of(ZonedDateTime.now()),
+                Arguments.of(Duration.ofDays(1)),
+                Arguments.of(UUID.randomUUID()),
+                Arguments.of(Color.GREEN));
+    }
+
     private static Stream<Arguments> testRoundTrip() throws Exception {
         return Stream.of(
                 Arguments.of(1),
@@ -102,7 +139,18 @@ public class ProcessInstanceMarshallTest {
                 Arguments.of(LocalDate.now()),
                 Arguments.of(ZonedDateTime.now()),
                 Arguments.of(new Timestamp(System.currentTimeMillis())),
-                Arguments.of(Duration.ofDays(1))
+                Arguments.of(Duration.ofDays(1)),
+                Arguments.of(LocalTime.now()),
+                Arguments.of(OffsetTime.now()),
+                Arguments.of(YearMonth.now()),
+                Arguments.of(Period.ofWeeks(2)),
+                Arguments.of(BigInteger.TEN.pow(30)),
+                Arguments.of(UUID.randomUUID()),
+                Arguments.of((short) 7),
+                Arguments.of((byte) 8),
+                Arguments.of('c'),
+                Arguments.of(DayOfWeek.FRIDAY),
+                Arguments.of(Color.GREEN)
 
         );
     }
@@ -126,6 +174,65 @@ public class ProcessInstanceMarshallTest {
         assertThat(unmarshalledVars.get(0).getValue()).isEqualTo(toMarshall);
     }
 
+    @ParameterizedTest
+    @MethodSource
+    public void testJavaValuesNotSerialized(Object value) {
+        ObjectMarshallerStrategy strategy = Stream.of(defaultStrategies()).filter(s -> s.acceptForMarshalling(value)).findFirst().orElseThrow();
+        assertThat(strategy).isInstanceOf(ProtobufJavaValueMarshallerStrategy.class);
+        assertThat(strategy.marshall(value).is(BytesValue.class)).isFalse();
+    }
+
+    @Test
+    public void testJavaSerializedValueStillRead() {
+        BigDecimal value = BigDecimal.valueOf(10l);
+        Any stored = new ProtobufObjectMarshallerStrategy().marshall(value);
+        ObjectMarshallerStrategy strategy = Stream.of(defaultStrategies()).filter(s -> s.acceptForUnmarshalling(stored)).findFirst().orElseThrow();
+        assertThat(strategy).isInstanceOf(ProtobufObjectMarshallerStrategy.class);
+        assertThat(strategy.unmarshall(stored)).isEqualTo(value);
+    }
+
+    @Test
+    public void testStrategiesCachedByClass() {
+        Map<Class<?>, ObjectMarshallerStrategy> strategiesByClass = new ConcurrentHashMap<>();
+        ProtobufProcessMarshallerWriteContext ctxOut = new ProtobufProcessMarshallerWriteContext(new ByteArrayOutputStream());
+        ctxOut.set(MarshallerContextName.OBJECT_MARSHALLING_STRATEGIES, defaultStrategies());
+        ctxOut.set(MarshallerContextName.OBJECT_MARSHALLING_STRATEGIES_BY_CLASS, strategiesByClass);
+
+        ObjectMarshallerStrategy strategy = ctxOut.findObjectMarshallerStrategyFor("hello");
+        assertThat(strategiesByClass).containsEntry(String.class, strategy);
+        assertThat(ctxOut.findObjectMarshallerStrategyFor("world")).isSameAs(strategy);
+    }
+
+    @Test
+    public void testJsonNodeStoredAsTextByDefault() throws Exception {
+        JsonNode node = new ObjectMapper().readTree("{ \"key\" : \"value\" }");
+        ObjectMarshallerStrategy strategy = Stream.of(defaultStrategies()).filter(s -> s.acceptForMarshalling(node)).findFirst().orElseThrow();
+        assertThat(strategy).isInstanceOf(ProtobufJsonNodeMessageMarshaller.class);
+    }
+
+    @Test
+    public void testJsonNodeStoredAsBinary() throws Exception {
+        JsonNode node = new ObjectMapper().readTree("{ \"key\" : \"value\", \"list\" : [ 1, 2.5, true ] }");
+        ObjectMarshallerStrategy strategy = new ProtobufBinaryJsonNodeMessageMarshaller(true);
+        assertThat(strategy.acceptForMarshalling(node)).isTrue();
+
+        Any marshalled = strategy.marshall(node);
+        assertThat(marshalled.is(KogitoTypesProtobuf.JsonNode.class)).isFalse();
+        // binary json nodes are read even if writing them is disabled
+        ObjectMarshallerStrategy reader = Stream.of(defaultStrategies()).filter(s -> s.acceptForUnmarshalling(marshalled)).findFirst().orElseThrow();
+        assertThat(reader).isInstanceOf(ProtobufBinaryJsonNodeMessageMarshaller.class);
+        assertThat(reader.unmarshall(marshalled)).isEqualTo(node);
+    }
+
+    @Test
+    public void testJsonNodeStoredAsText() throws Exception {
+        JsonNode node = new ObjectMapper().readTree("{ \"key\" : \"value\" }");
+        Any stored = Any.pack(KogitoTypesProtobuf.JsonNode.newBuilder().setContent(node.toPrettyString()).build());
+        ObjectMarshallerStrategy strategy = Stream.of(defaultStrategies()).filter(s -> s.acceptForUnmarshalling(stored)).findFirst().orElseThrow();
+        assertThat(strategy).isInstanceOf(ProtobufJsonNodeMessageMarshaller.class);
+        assertThat(strategy.unmarshall(stored)).isEqualTo(node);
+    }
+
     private ObjectMarshallerStrategy[] defaultStrategies() {
         List<ObjectMarshallerStrategy> strats = new ArrayList<>();
         ServiceLoader<ObjectMarshallerStrategy> loader = ServiceLoader.load(ObjectMarshallerStrategy.class);
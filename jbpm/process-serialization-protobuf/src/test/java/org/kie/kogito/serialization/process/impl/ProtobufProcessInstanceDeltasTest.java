@@ -0,0 +1,81 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.serialization.process.impl;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.jupiter.api.Test;
+import org.kie.kogito.serialization.process.protobuf.KogitoProcessInstanceProtobuf;
+import org.kie.kogito.serialization.process.protobuf.KogitoTypesProtobuf;
+
+import com.google.protobuf.Any;
+import com.google.protobuf.StringValue;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ProtobufProcessInstanceDeltasTest {
+
+    @Test
+    public void testDeltaCarriesOnlyChanges() throws Exception {
+        byte[] base = processInstance(1, variable("unchanged", "a"), variable("changed", "b"), variable("removed", "c")).toByteArray();
+        KogitoProcessInstanceProtobuf.ProcessInstance current = processInstance(1, variable("unchanged", "a"), variable("changed", "B"), variable("added", "d"));
+
+        byte[] delta = ProtobufProcessInstanceDeltas.diff(base, current.toByteArray());
+        assertThat(delta.length).isLessThan(current.getSerializedSize());
+
+        KogitoProcessInstanceProtobuf.ProcessInstance applied =
+                KogitoProcessInstanceProtobuf.ProcessInstance.parseFrom(ProtobufProcessInstanceDeltas.apply(base, Collections.singletonList(delta)));
+        assertThat(applied.getContext().getVariableList()).containsExactlyInAnyOrderElementsOf(current.getContext().getVariableList());
+        assertThat(applied.getState()).isEqualTo(current.getState());
+    }
+
+    @Test
+    public void testDeltasAppliedInOrder() throws Exception {
+        KogitoProcessInstanceProtobuf.ProcessInstance first = processInstance(1, variable("var", "a"));
+        KogitoProcessInstanceProtobuf.ProcessInstance second = processInstance(1, variable("var", "b")).toBuilder()
+                .setContext(processInstance(1, variable("var", "b")).getContext().toBuilder().addNodeInstance(nodeInstance("node-1")))
+                .build();
+        KogitoProcessInstanceProtobuf.ProcessInstance third = processInstance(2, variable("var", "c"));
+
+        byte[] firstToSecond = ProtobufProcessInstanceDeltas.diff(first.toByteArray(), second.toByteArray());
+        byte[] secondToThird = ProtobufProcessInstanceDeltas.diff(second.toByteArray(), third.toByteArray());
+
+        byte[] applied = ProtobufProcessInstanceDeltas.apply(first.toByteArray(), Arrays.asList(firstToSecond, secondToThird));
+        assertThat(KogitoProcessInstanceProtobuf.ProcessInstance.parseFrom(applied)).isEqualTo(third);
+    }
+
+    private static KogitoProcessInstanceProtobuf.ProcessInstance processInstance(int state, KogitoTypesProtobuf.Variable... variables) {
+        return KogitoProcessInstanceProtobuf.ProcessInstance.newBuilder()
+                .setId("id")
+                .setProcessId("process")
+                .setState(state)
+                .setContext(KogitoTypesProtobuf.WorkflowContext.newBuilder().addAllVariable(Arrays.asList(variables)))
+                .build();
+    }
+
+    private static KogitoTypesProtobuf.Variable variable(String name, String value) {
+        return KogitoTypesProtobuf.Variable.newBuilder()
+                .setName(name)
+                .setDataType(String.class.getName())
+                .setValue(Any.pack(StringValue.of(value)))
+                .build();
+    }
+
+    private static KogitoTypesProtobuf.NodeInstance nodeInstance(String id) {
+        return KogitoTypesProtobuf.NodeInstance.newBuilder().setId(id).setNodeId(1).build();
+    }
+}
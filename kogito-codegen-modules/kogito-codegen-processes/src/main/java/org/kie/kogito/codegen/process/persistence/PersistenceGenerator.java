@@ -35,6 +35,7 @@ import org.kie.kogito.codegen.api.template.InvalidTemplateException;
 import org.kie.kogito.codegen.api.template.TemplatedGenerator;
 import org.kie.kogito.codegen.core.AbstractGenerator;
 import org.kie.kogito.codegen.process.persistence.marshaller.MarshallerGenerator;
+import org.kie.kogito.codegen.process.persistence.marshaller.ObjectMarshallerStrategyGenerator;
 import org.kie.kogito.codegen.process.persistence.proto.Proto;
 import org.kie.kogito.codegen.process.persistence.proto.ProtoGenerator;
 import org.slf4j.Logger;
@@ -254,6 +255,19 @@ public class PersistenceGenerator extends AbstractGenerator {
             }
             objectMarshallerStrategyServiceDescriptor += "\n" + fqnProtoStreamMarshaller + "\n";
 
+            // model specific strategies, taking precedence over the generic protostream one
+            for (CompilationUnit unit : new ObjectMarshallerStrategyGenerator(context()).generate(marshallers)) {
+                String strategyPackageName = unit.getPackageDeclaration().map(pd -> pd.getName().toString()).orElse("");
+                Optional<ClassOrInterfaceDeclaration> strategyClazz = unit.findFirst(ClassOrInterfaceDeclaration.class);
+                if (strategyClazz.isPresent()) {
+                    String strategyClazzName = strategyPackageName + "." + strategyClazz.get().getName().toString();
+                    generatedFiles.add(new GeneratedFile(GeneratedFileType.SOURCE,
+                            strategyClazzName.replace('.', '/') + JAVA,
+                            unit.toString()));
+                    objectMarshallerStrategyServiceDescriptor += strategyClazzName + "\n";
+                }
+            }
+
             generatedFiles.add(new GeneratedFile(GeneratedFileType.INTERNAL_RESOURCE,
                     "META-INF/services/org.kie.kogito.serialization.process.ObjectMarshallerStrategy",
                     objectMarshallerStrategyServiceDescriptor));
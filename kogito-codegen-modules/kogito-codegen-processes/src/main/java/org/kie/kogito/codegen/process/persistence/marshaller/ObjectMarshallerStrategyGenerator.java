@@ -0,0 +1,94 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.codegen.process.persistence.marshaller;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.infinispan.protostream.MessageMarshaller;
+import org.kie.kogito.codegen.api.context.KogitoBuildContext;
+import org.kie.kogito.codegen.api.context.impl.JavaKogitoBuildContext;
+import org.kie.kogito.codegen.api.template.InvalidTemplateException;
+import org.kie.kogito.codegen.api.template.TemplatedGenerator;
+
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
+import com.github.javaparser.ast.body.MethodDeclaration;
+import com.github.javaparser.ast.expr.StringLiteralExpr;
+import com.github.javaparser.ast.stmt.ReturnStmt;
+import com.github.javaparser.ast.type.ClassOrInterfaceType;
+import com.github.javaparser.ast.type.Type;
+
+/**
+ * Generates, for every message marshaller of a model class, an ObjectMarshallerStrategy bound to that class,
+ * so process variables of model types are written through protostream without looking up the marshaller
+ * by class nor resolving the class by name when read back.
+ */
+public class ObjectMarshallerStrategyGenerator {
+
+    private static final String TEMPLATE_NAME = "ProtostreamModelObjectMarshaller";
+    private static final String TYPE_PLACEHOLDER = "$Type$";
+    private static final String TYPE_NAME_PLACEHOLDER = "$TypeName$";
+
+    private final KogitoBuildContext context;
+
+    public ObjectMarshallerStrategyGenerator(KogitoBuildContext context) {
+        this.context = context;
+    }
+
+    public List<CompilationUnit> generate(Collection<CompilationUnit> messageMarshallers) {
+        TemplatedGenerator generator = TemplatedGenerator.builder()
+                .withFallbackContext(JavaKogitoBuildContext.CONTEXT_NAME)
+                .withTemplateBasePath(AbstractMarshallerGenerator.TEMPLATE_PERSISTENCE_FOLDER)
+                .build(context, TEMPLATE_NAME);
+        CompilationUnit template = generator.compilationUnitOrThrow();
+
+        List<CompilationUnit> units = new ArrayList<>();
+        for (CompilationUnit messageMarshaller : messageMarshallers) {
+            Optional<ClassOrInterfaceDeclaration> marshallerClass = messageMarshaller.findFirst(ClassOrInterfaceDeclaration.class,
+                    c -> c.getImplementedTypes().stream().anyMatch(t -> t.getNameAsString().equals(MessageMarshaller.class.getSimpleName())));
+            if (marshallerClass.isEmpty()) {
+                continue;
+            }
+            ClassOrInterfaceDeclaration marshaller = marshallerClass.get();
+            Optional<Type> javaType = marshaller.getImplementedTypes(0).getTypeArguments().flatMap(args -> args.getFirst());
+            Optional<String> typeName = marshaller.getMethodsByName("getTypeName").stream()
+                    .findFirst()
+                    .flatMap(MethodDeclaration::getBody)
+                    .flatMap(b -> b.findFirst(ReturnStmt.class))
+                    .flatMap(ReturnStmt::getExpression)
+                    .filter(StringLiteralExpr.class::isInstance)
+                    .map(e -> e.asStringLiteralExpr().getValue());
+            if (javaType.isEmpty() || typeName.isEmpty()) {
+                continue;
+            }
+
+            CompilationUnit unit = template.clone();
+            messageMarshaller.getPackageDeclaration().ifPresent(unit::setPackageDeclaration);
+            ClassOrInterfaceDeclaration clazz = unit.findFirst(ClassOrInterfaceDeclaration.class)
+                    .orElseThrow(() -> new InvalidTemplateException(generator, "No class found"));
+            clazz.setName(marshaller.getNameAsString().replace("MessageMarshaller", "") + "ObjectMarshallerStrategy");
+            clazz.findAll(ClassOrInterfaceType.class, t -> t.getNameAsString().equals(TYPE_PLACEHOLDER))
+                    .forEach(t -> t.replace(javaType.get().clone()));
+            clazz.findAll(StringLiteralExpr.class, s -> s.getValue().equals(TYPE_NAME_PLACEHOLDER))
+                    .forEach(s -> s.setString(typeName.get()));
+            units.add(unit);
+        }
+        return units;
+    }
+}
@@ -85,11 +85,6 @@ public class $Type$MessageConsumer extends AbstractMessageConsumer<$Type$, $Data
              correlation);
     }
 
-    @javax.annotation.PreDestroy
-    public void close() {
-        executor.shutdownNow();
-    }
-
 
     private $Type$ eventToModel(Object event) {
         $Type$ model = new $Type$();
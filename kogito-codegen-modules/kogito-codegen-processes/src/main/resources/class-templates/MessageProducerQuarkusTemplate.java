@@ -26,8 +26,14 @@ public class MessageProducer extends AbstractMessageProducer<$DataType$> {
     @Inject
     EventEmitter emitter;
 
+    @org.eclipse.microprofile.config.inject.ConfigProperty(name = "kogito.messaging.outbox", defaultValue = "false")
+    boolean outbox;
+
+    @Inject
+    javax.enterprise.inject.Instance<org.kie.kogito.services.event.impl.MessageOutbox> messageOutbox;
+
     @javax.annotation.PostConstruct
     public void init() {
-        setParams(emitter,"$Trigger$");
+        setParams(emitter,"$Trigger$", outbox ? messageOutbox.get() : null);
     }
 }
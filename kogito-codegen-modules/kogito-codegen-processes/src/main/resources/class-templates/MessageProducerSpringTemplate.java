@@ -24,7 +24,8 @@ import org.kie.kogito.services.event.impl.AbstractMessageProducer;
 public class MessageProducer extends AbstractMessageProducer<$DataType$> {
 
     @org.springframework.beans.factory.annotation.Autowired()
-    MessageProducer(EventEmitter emitter) {
-        super(emitter,"$Trigger$");
+    MessageProducer(EventEmitter emitter, @org.springframework.beans.factory.annotation.Value("${kogito.messaging.outbox:false}") boolean outbox,
+            org.springframework.beans.factory.ObjectProvider<org.kie.kogito.services.event.impl.MessageOutbox> messageOutbox) {
+        super(emitter,"$Trigger$", outbox ? messageOutbox.getObject() : null);
     }
 }
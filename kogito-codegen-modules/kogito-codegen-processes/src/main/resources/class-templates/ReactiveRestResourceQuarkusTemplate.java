@@ -22,6 +22,7 @@ import java.util.stream.Collectors;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 
+import javax.inject.Inject;
 import javax.ws.rs.Consumes;
 import javax.ws.rs.DELETE;
 import javax.ws.rs.GET;
@@ -29,7 +30,6 @@ import javax.ws.rs.NotFoundException;
 import javax.ws.rs.POST;
 import javax.ws.rs.PUT;
 import javax.ws.rs.Path;
-import javax.ws.rs.DefaultValue;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.QueryParam;
 import javax.ws.rs.Produces;
@@ -37,6 +37,7 @@ import javax.ws.rs.core.Context;
 import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 
+import org.eclipse.microprofile.context.ManagedExecutor;
 import org.jbpm.util.JsonSchemaUtil;
 import org.kie.kogito.process.Process;
 import org.kie.kogito.process.ProcessInstance;
@@ -58,6 +59,9 @@ public class $Type$ReactiveResource {
 
     Application application;
 
+    @Inject
+    ManagedExecutor executor;
+
     @POST
     @Produces(MediaType.APPLICATION_JSON)
     @Consumes(MediaType.APPLICATION_JSON)
@@ -74,27 +78,34 @@ public class $Type$ReactiveResource {
                             return Response.created(uriInfo.getAbsolutePathBuilder().path(pi.id()).build())
                                     .entity(pi.checkError().variables().toModel())
                                     .build();
-                        });
+                        }, executor);
     }
 
     @GET()
     @Produces(MediaType.APPLICATION_JSON)
-    public CompletionStage<List<$Type$Output>> getResources_$name$() {
-        return CompletableFuture.supplyAsync(() -> processService.getProcessInstanceOutput(process));
+    public CompletionStage<List<$Type$Output>> getResources_$name$(@QueryParam("page") Integer page,
+                                                                   @QueryParam("size") Integer size) {
+        if (size == null) {
+            if (page != null) {
+                return CompletableFuture.failedFuture(new IllegalArgumentException("Parameter page requires parameter size"));
+            }
+            return CompletableFuture.supplyAsync(() -> processService.getProcessInstanceOutput(process), executor);
+        }
+        return processService.getProcessInstanceOutputAsync(process, page == null ? 0 : page, size);
     }
 
     @GET()
     @Path("/{id}")
     @Produces(MediaType.APPLICATION_JSON)
     public CompletionStage<$Type$Output> getResource_$name$(@PathParam("id") String id) {
-        return CompletableFuture.supplyAsync(() -> processService.findById(process, id).orElseThrow(NotFoundException::new));
+        return processService.findByIdAsync(process, id).thenApply(output -> output.orElseThrow(NotFoundException::new));
     }
 
     @DELETE()
     @Path("/{id}")
     @Produces(MediaType.APPLICATION_JSON)
     public CompletionStage<$Type$Output> deleteResource_$name$(@PathParam("id") final String id) {
-        return CompletableFuture.supplyAsync(() -> processService.delete(process, id).orElseThrow(NotFoundException::new));
+        return processService.deleteAsync(process, id).thenApply(output -> output.orElseThrow(NotFoundException::new));
     }
 
     @PUT()
@@ -102,7 +113,7 @@ public class $Type$ReactiveResource {
     @Consumes(MediaType.APPLICATION_JSON)
     @Produces(MediaType.APPLICATION_JSON)
     public CompletionStage<$Type$Output> updateModel_$name$(@PathParam("id") String id, $Type$ resource) {
-        return CompletableFuture.supplyAsync(() -> processService.update(process, id, resource).orElseThrow(NotFoundException::new));
+        return processService.updateAsync(process, id, resource).thenApply(output -> output.orElseThrow(NotFoundException::new));
     }
 
     @GET()
@@ -111,8 +122,8 @@ public class $Type$ReactiveResource {
     public CompletionStage<List<TaskModel>> getTasks_$name$(@PathParam("id") String id,
                                                            @QueryParam("user") final String user,
                                                            @QueryParam("group") final List<String> groups) {
-        return CompletableFuture.supplyAsync(
-                () -> processService.getTasks(process, id, user, groups)
+        return processService.getTasksAsync(process, id, SecurityPolicy.of(IdentityProviders.of(user, groups)))
+                .thenApply(tasks -> tasks
                         .orElseThrow(NotFoundException::new)
                         .stream()
                         .map($TaskModelFactory$::from)
@@ -87,8 +87,15 @@ public class $Type$Resource {
     @GET
     @Produces(MediaType.APPLICATION_JSON)
     @Operation(summary = "$documentation$", description = "$processInstanceDescription$")
-    public List<$Type$Output> getResources_$name$() {
-        return processService.getProcessInstanceOutput(process);
+    public List<$Type$Output> getResources_$name$(@QueryParam("page") Integer page,
+                                                  @QueryParam("size") Integer size) {
+        if (size == null) {
+            if (page != null) {
+                throw new IllegalArgumentException("Parameter page requires parameter size");
+            }
+            return processService.getProcessInstanceOutput(process);
+        }
+        return processService.getProcessInstanceOutput(process, page == null ? 0 : page, size);
     }
 
     @GET
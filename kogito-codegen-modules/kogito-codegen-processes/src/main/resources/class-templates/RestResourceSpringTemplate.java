@@ -85,8 +85,15 @@ public class $Type$Resource {
 
     @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
     @Operation(summary = "$documentation$", description = "$processInstanceDescription$")
-    public List<$Type$Output> getResources_$name$() {
-        return processService.getProcessInstanceOutput(process);
+    public List<$Type$Output> getResources_$name$(@RequestParam(value = "page", required = false) Integer page,
+                                                  @RequestParam(value = "size", required = false) Integer size) {
+        if (size == null) {
+            if (page != null) {
+                throw new IllegalArgumentException("Parameter page requires parameter size");
+            }
+            return processService.getProcessInstanceOutput(process);
+        }
+        return processService.getProcessInstanceOutput(process, page == null ? 0 : page, size);
     }
 
     @GetMapping(value = "/schema", produces = MediaType.APPLICATION_JSON_VALUE)
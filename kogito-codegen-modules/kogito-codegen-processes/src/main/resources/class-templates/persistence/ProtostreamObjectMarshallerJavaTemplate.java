@@ -30,14 +30,25 @@ import com.google.protobuf.ByteString;
 
 public class ProtostreamObjectMarshaller implements ObjectMarshallerStrategy {
 
-    private static final String NAMESPACE = "org.kie.kogito/";
+    public static final String NAMESPACE = "org.kie.kogito/";
     private SerializationContext context;
 
+    private static class SharedContextHolder {
+        private static final SerializationContext INSTANCE = new ProtostreamObjectMarshaller().context;
+    }
+
     public ProtostreamObjectMarshaller() {
         context = new SerializationContextImpl(Configuration.builder().build());
 
     }
 
+    /**
+     * Serialization context with the application types registered, shared by the model specific strategies
+     */
+    public static SerializationContext sharedContext() {
+        return SharedContextHolder.INSTANCE;
+    }
+
     @Override
     public Integer order() {
         return 2;
@@ -68,10 +79,10 @@ public class ProtostreamObjectMarshaller implements ObjectMarshallerStrategy {
     @Override
     public Object unmarshall(Any data) {
         try {
-            String fqn = context.getMarshaller(removeNamespace(data.getTypeUrl())).getJavaClass().getCanonicalName();
+            Class<?> javaClass = context.getMarshaller(removeNamespace(data.getTypeUrl())).getJavaClass();
             byte[] bytes = data.getValue().toByteArray();
-            return ProtobufUtil.fromByteArray(context, bytes, 0, bytes.length, Class.forName(fqn));
-        } catch (IOException | ClassNotFoundException e) {
+            return ProtobufUtil.fromByteArray(context, bytes, 0, bytes.length, javaClass);
+        } catch (IOException e) {
             throw new ProcessInstanceMarshallerException("cannot unmarshall protobuf stream", e);
         }
     }
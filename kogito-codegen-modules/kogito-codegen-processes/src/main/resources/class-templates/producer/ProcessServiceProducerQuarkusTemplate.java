@@ -18,6 +18,7 @@ package $Package$;
 import javax.enterprise.context.ApplicationScoped;
 import javax.enterprise.inject.Produces;
 
+import org.eclipse.microprofile.context.ManagedExecutor;
 import org.kie.kogito.Application;
 import org.kie.kogito.process.ProcessService;
 import org.kie.kogito.process.impl.ProcessServiceImpl;
@@ -28,7 +29,7 @@ import org.kie.kogito.process.impl.ProcessServiceImpl;
 public class ProcessServiceProducer {
 
     @Produces
-    public ProcessService processService(Application application){
-        return new ProcessServiceImpl(application);
+    public ProcessService processService(Application application, ManagedExecutor executor){
+        return new ProcessServiceImpl(application, executor);
     }
 }
@@ -18,14 +18,17 @@ package $Package$;
 import org.kie.kogito.Application;
 import org.kie.kogito.process.ProcessService;
 import org.kie.kogito.process.impl.ProcessServiceImpl;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskExecutor;
 
 @Configuration
 public class ProcessServiceProducer {
 
     @Bean
-    public ProcessService processService(Application application){
-        return new ProcessServiceImpl(application);
+    public ProcessService processService(Application application, ObjectProvider<TaskExecutor> taskExecutor){
+        TaskExecutor executor = taskExecutor.getIfUnique();
+        return executor != null ? new ProcessServiceImpl(application, executor) : new ProcessServiceImpl(application);
     }
 }
@@ -57,7 +57,7 @@ class InfinispanPersistenceGeneratorTest extends AbstractPersistenceGeneratorTes
                 assertThat(marshallerFiles.get(0).relativePath()).endsWith(expectedMarshaller + ".java");
             }
         }
-        int marshallerFiles = hasProtoMarshaller(context) ? 14 : 0;
+        int marshallerFiles = hasProtoMarshaller(context) ? 15 : 0;
         int dataIndexFiles = hasDataIndexProto(context) ? 2 : 0;
         int expectedNumberOfFiles = marshallerFiles + dataIndexFiles;
         assertThat(generatedFiles).hasSize(expectedNumberOfFiles);
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.codegen.process.persistence;
+
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.ServiceLoader;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+
+import org.drools.codegen.common.GeneratedFile;
+import org.drools.codegen.common.GeneratedFileType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.kie.kogito.codegen.api.AddonsConfig;
+import org.kie.kogito.codegen.api.context.KogitoBuildContext;
+import org.kie.kogito.codegen.api.context.impl.JavaKogitoBuildContext;
+import org.kie.kogito.codegen.data.GeneratedPOJO;
+import org.kie.kogito.codegen.data.Person;
+import org.kie.kogito.codegen.process.persistence.marshaller.ReflectionMarshallerGenerator;
+import org.kie.kogito.codegen.process.persistence.proto.ReflectionProtoGenerator;
+import org.kie.kogito.serialization.process.ObjectMarshallerStrategy;
+
+import com.google.protobuf.Any;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.kie.kogito.codegen.process.persistence.PersistenceGenerator.KOGITO_PERSISTENCE_PROTO_MARSHALLER;
+
+class ObjectMarshallerStrategyRoundTripTest {
+
+    private static final String JAVA = ".java";
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testPersonRoundTrip() throws Exception {
+        KogitoBuildContext context = JavaKogitoBuildContext.builder()
+                .withPackageName(ObjectMarshallerStrategyRoundTripTest.class.getPackage().getName())
+                .withAddonsConfig(AddonsConfig.builder().withPersistence(true).build())
+                .build();
+        context.setApplicationProperty(KOGITO_PERSISTENCE_PROTO_MARSHALLER, "true");
+
+        PersistenceGenerator persistenceGenerator = new PersistenceGenerator(
+                context,
+                ReflectionProtoGenerator.builder().build(Collections.singleton(GeneratedPOJO.class)),
+                new ReflectionMarshallerGenerator(context));
+
+        try (URLClassLoader classLoader = compile(persistenceGenerator.generateProtoMarshaller())) {
+            List<ObjectMarshallerStrategy> strategies = new ArrayList<>();
+            ServiceLoader.load(ObjectMarshallerStrategy.class, classLoader).forEach(strategies::add);
+            Collections.sort(strategies);
+
+            Person person = new Person();
+            person.setName("john");
+            person.setAge(42);
+            person.setAdult(true);
+
+            ObjectMarshallerStrategy strategy = strategies.stream().filter(s -> s.acceptForMarshalling(person)).findFirst().orElseThrow();
+            assertThat(strategy.getClass().getSimpleName()).isEqualTo("PersonObjectMarshallerStrategy");
+
+            Any marshalled = strategy.marshall(person);
+            assertThat(strategies.stream().filter(s -> s.acceptForUnmarshalling(marshalled)).findFirst()).containsSame(strategy);
+            assertThat(strategy.unmarshall(marshalled)).isEqualTo(person);
+
+            // payloads stay readable by the generic protostream strategy
+            ObjectMarshallerStrategy generic = (ObjectMarshallerStrategy) classLoader.loadClass(PersistenceGenerator.KOGITO_PROCESS_INSTANCE_PACKAGE + ".ProtostreamObjectMarshaller")
+                    .getConstructor().newInstance();
+            assertThat(generic.acceptForUnmarshalling(marshalled)).isTrue();
+            assertThat(generic.unmarshall(marshalled)).isEqualTo(person);
+        }
+    }
+
+    private URLClassLoader compile(Collection<GeneratedFile> generatedFiles) throws IOException {
+        Path sources = Files.createDirectories(tempDir.resolve("sources"));
+        Path classes = Files.createDirectories(tempDir.resolve("classes"));
+        List<String> arguments = new ArrayList<>(List.of("-d", classes.toString(), "-classpath", System.getProperty("java.class.path")));
+        for (GeneratedFile generatedFile : generatedFiles) {
+            boolean source = generatedFile.type().equals(GeneratedFileType.SOURCE);
+            Path path = (source ? sources : classes).resolve(generatedFile.relativePath());
+            Files.createDirectories(path.getParent());
+            Files.write(path, generatedFile.contents());
+            if (source && generatedFile.relativePath().endsWith(JAVA)) {
+                arguments.add(path.toString());
+            }
+        }
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        assertThat(compiler.run(null, null, null, arguments.toArray(String[]::new))).as("generated sources compile").isZero();
+        return new URLClassLoader(new URL[] { classes.toUri().toURL() }, getClass().getClassLoader());
+    }
+}
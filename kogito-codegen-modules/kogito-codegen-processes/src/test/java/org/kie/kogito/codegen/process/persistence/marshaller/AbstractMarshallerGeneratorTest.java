@@ -80,6 +80,25 @@ public abstract class AbstractMarshallerGeneratorTest<T> {
         assertThat(marshallerClass).isPresent();
     }
 
+    @Test
+    void testPersonObjectMarshallerStrategy() throws Exception {
+        ProtoGenerator generator = protoGeneratorBuilder().withDataClasses(convertTypes(Person.class)).build(null);
+        Proto proto = generator.protoOfDataClasses("org.kie.kogito.test", "import \"kogito-types.proto\";");
+
+        List<CompilationUnit> marshallers = withGenerator(Person.class).generate(proto.serialize());
+        List<CompilationUnit> strategies = new ObjectMarshallerStrategyGenerator(context).generate(marshallers);
+        assertThat(strategies).hasSize(1);
+
+        Optional<ClassOrInterfaceDeclaration> strategyClass = strategies.get(0).getClassByName("PersonObjectMarshallerStrategy");
+        assertThat(strategyClass).isPresent();
+        assertThat(strategies.get(0).getPackageDeclaration()).isEqualTo(marshallers.get(0).getPackageDeclaration());
+        assertThat(strategyClass.get().toString())
+                .contains(Person.class.getName() + ".class")
+                .contains("\"org.kie.kogito.test.Person\"")
+                .doesNotContain("$Type$")
+                .doesNotContain("$TypeName$");
+    }
+
     @Test
     void testPersonWithListMarshallers() throws Exception {
         ProtoGenerator generator = protoGeneratorBuilder().withDataClasses(convertTypes(PersonWithList.class)).build(null);
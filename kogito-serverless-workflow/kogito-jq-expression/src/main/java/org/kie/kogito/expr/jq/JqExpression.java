@@ -17,6 +17,8 @@ package org.kie.kogito.expr.jq;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Supplier;
 
 import org.kie.kogito.internal.process.runtime.KogitoProcessContext;
@@ -36,13 +38,19 @@ import net.thisptr.jackson.jq.exception.JsonQueryException;
 
 public class JqExpression implements Expression {
 
+    private static final JsonNode SECRET_NODE = new FunctionJsonNode(ExpressionHandlerUtils::getSecret);
+
     private final Supplier<Scope> scope;
     private final String expr;
-    private JsonQuery query;
+    private final boolean usesContext;
+    private final Map<String, RootScope> rootScopes = new ConcurrentHashMap<>();
+    private volatile JsonQuery query;
+    private volatile JsonQueryException compileError;
 
     public JqExpression(Supplier<Scope> scope, String expr) {
         this.expr = expr;
         this.scope = scope;
+        this.usesContext = expr.contains("$" + ExpressionHandlerUtils.CONTEXT_MAGIC);
     }
 
     private interface TypedOutput extends Output {
@@ -136,13 +144,45 @@ public class JqExpression implements Expression {
     }
 
     private Scope getScope(KogitoProcessContext processInfo) {
-        Scope childScope = Scope.newChildScope(scope.get());
-        childScope.setValue(ExpressionHandlerUtils.SECRET_MAGIC, new FunctionJsonNode(ExpressionHandlerUtils::getSecret));
-        childScope.setValue(ExpressionHandlerUtils.CONTEXT_MAGIC, new FunctionJsonNode(ExpressionHandlerUtils.getContextFunction(processInfo)));
-        childScope.setValue(ExpressionHandlerUtils.CONST_MAGIC, ExpressionHandlerUtils.getConstants(processInfo));
+        Scope childScope = Scope.newChildScope(getRootScope(processInfo));
+        if (usesContext) {
+            childScope.setValue(ExpressionHandlerUtils.CONTEXT_MAGIC, new FunctionJsonNode(ExpressionHandlerUtils.getContextFunction(processInfo)));
+        }
         return childScope;
     }
 
+    /**
+     * Secrets and constants are the same for every instance of a workflow, so they are bound once in a scope shared by
+     * the evaluations of this expression for the same workflow, only the process context being bound per evaluation.
+     * An expression can be shared by several workflows, hence the root scopes are kept by process id.
+     */
+    private Scope getRootScope(KogitoProcessContext processInfo) {
+        Scope parent = scope.get();
+        JsonNode constants = ExpressionHandlerUtils.getConstants(processInfo);
+        String processId = processInfo.getProcessInstance().getProcessId();
+        RootScope current = rootScopes.get(processId);
+        if (current == null || current.parent != parent || current.constants != constants) {
+            current = new RootScope(parent, constants);
+            rootScopes.put(processId, current);
+        }
+        return current.scope;
+    }
+
+    private static class RootScope {
+
+        private final Scope parent;
+        private final JsonNode constants;
+        private final Scope scope;
+
+        RootScope(Scope parent, JsonNode constants) {
+            this.parent = parent;
+            this.constants = constants;
+            this.scope = Scope.newChildScope(parent);
+            scope.setValue(ExpressionHandlerUtils.SECRET_MAGIC, SECRET_NODE);
+            scope.setValue(ExpressionHandlerUtils.CONST_MAGIC, constants);
+        }
+    }
+
     private <T> T eval(JsonNode context, Class<T> returnClass, KogitoProcessContext processInfo) {
         try {
             TypedOutput output = output(returnClass);
@@ -156,7 +196,16 @@ public class JqExpression implements Expression {
 
     private void compile() throws JsonQueryException {
         if (this.query == null) {
-            this.query = JsonQuery.compile(expr, Versions.JQ_1_6);
+            // invalid expressions are remembered too, since isValid is used to tell expressions from plain text
+            if (compileError != null) {
+                throw compileError;
+            }
+            try {
+                this.query = JsonQuery.compile(expr, Versions.JQ_1_6);
+            } catch (JsonQueryException e) {
+                compileError = e;
+                throw e;
+            }
         }
     }
 
@@ -44,6 +44,7 @@ import com.fasterxml.jackson.databind.node.TextNode;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -71,6 +72,12 @@ class JqExpressionHandlerTest {
         assertEquals("string", parsedExpression.eval(getObjectNode(), String.class, getContext()));
     }
 
+    @Test
+    void testExpressionCached() {
+        Expression parsedExpression = ExpressionHandlerFactory.get("jq", ".propertyString");
+        assertSame(parsedExpression, ExpressionHandlerFactory.get("jq", "${ .propertyString }"));
+    }
+
     @Test
     void testBooleanExpression() {
         Expression parsedExpression = ExpressionHandlerFactory.get("jq", ".propertyBoolean");
@@ -239,6 +246,19 @@ class JqExpressionHandlerTest {
         assertEquals(new TextNode("1111-2222-3333"), parsedExpression.eval(ObjectMapperFactory.get().createObjectNode(), JsonNode.class, getContext()));
     }
 
+    @Test
+    void testConstantsOfEachWorkflow() {
+        Expression parsedExpression = ExpressionHandlerFactory.get("jq", "$CONST.someconstant");
+        KogitoProcessContext otherContext = MockBuilder.kogitoProcessContext()
+                .withProcessInstanceMock(p -> Mockito.when(p.getProcessId()).thenReturn("otherWorkflow"))
+                .withConstants(Collections.singletonMap("someconstant", "other"))
+                .build();
+        KogitoProcessContext context = getContext();
+        assertEquals("value", parsedExpression.eval(getObjectNode(), String.class, context));
+        assertEquals("other", parsedExpression.eval(getObjectNode(), String.class, otherContext));
+        assertEquals("value", parsedExpression.eval(getObjectNode(), String.class, context));
+    }
+
     @Test
     void testConstPropertyFromJsonAccessible() {
         Expression parsedExpression = ExpressionHandlerFactory.get("jq", ".CONST.property1");
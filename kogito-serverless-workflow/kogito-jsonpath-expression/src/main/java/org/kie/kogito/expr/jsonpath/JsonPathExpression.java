@@ -34,6 +34,8 @@ public class JsonPathExpression implements Expression {
 
     private final String expr;
     private Boolean isValid;
+    private volatile JsonPath path;
+    private volatile JsonPath[] parts;
 
     public JsonPathExpression(String expr) {
         expr = replaceMagic(expr, ExpressionHandlerUtils.CONST_MAGIC);
@@ -60,14 +62,13 @@ public class JsonPathExpression implements Expression {
         DocumentContext parsedContext = JsonPath.using(jsonPathConfig).parse(context);
         if (String.class.isAssignableFrom(returnClass)) {
             StringBuilder sb = new StringBuilder();
-            // valid json path is $. or $[
-            for (String part : expr.split("((?=\\$\\.|\\$\\[))")) {
+            for (JsonPath part : parts()) {
                 JsonNode partResult = parsedContext.read(part, JsonNode.class);
                 sb.append(partResult.isTextual() ? partResult.asText() : partResult.toPrettyString());
             }
             return (T) sb.toString();
         } else {
-            Object result = parsedContext.read(expr);
+            Object result = parsedContext.read(path());
             return Boolean.class.isAssignableFrom(returnClass) && result instanceof ArrayNode ? (T) Boolean.valueOf(!((ArrayNode) result).isEmpty())
                     : JsonObjectUtils.convertValue(jsonPathConfig.mappingProvider().map(result, returnClass, jsonPathConfig), returnClass);
         }
@@ -83,11 +84,31 @@ public class JsonPathExpression implements Expression {
         ExpressionHandlerUtils.assign(context, target, (JsonNode) value, expr);
     }
 
+    private JsonPath path() {
+        if (path == null) {
+            path = JsonPath.compile(expr);
+        }
+        return path;
+    }
+
+    private JsonPath[] parts() {
+        if (parts == null) {
+            // valid json path is $. or $[
+            String[] split = expr.split("((?=\\$\\.|\\$\\[))");
+            JsonPath[] compiled = new JsonPath[split.length];
+            for (int i = 0; i < split.length; i++) {
+                compiled[i] = JsonPath.compile(split[i]);
+            }
+            parts = compiled;
+        }
+        return parts;
+    }
+
     @Override
     public boolean isValid() {
         if (isValid == null) {
             try {
-                JsonPath.compile(expr);
+                path();
                 isValid = true;
             } catch (JsonPathException ex) {
                 isValid = false;
@@ -34,6 +34,8 @@ public abstract class BaseExpressionAction implements Action {
 
     public BaseExpressionAction(String lang, String expr, String inputVar, String... addVars) {
         this.expr = ExpressionHandlerFactory.get(lang, expr);
+        // compiled when the workflow is built rather than on first evaluation
+        this.expr.isValid();
         this.modelVar = inputVar;
         this.addInputVars = addVars;
     }
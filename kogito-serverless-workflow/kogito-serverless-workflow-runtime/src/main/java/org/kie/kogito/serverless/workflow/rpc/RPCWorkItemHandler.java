@@ -17,23 +17,44 @@ package org.kie.kogito.serverless.workflow.rpc;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.function.Function;
 import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
 
+import org.jbpm.process.instance.InternalProcessRuntime;
+import org.jbpm.process.instance.ProcessInstance;
+import org.jbpm.workflow.instance.NodeInstance;
+import org.jbpm.workflow.instance.impl.WorkflowProcessInstanceImpl;
+import org.kie.kogito.Application;
 import org.kie.kogito.internal.process.runtime.KogitoWorkItem;
+import org.kie.kogito.internal.process.runtime.KogitoWorkItemManager;
 import org.kie.kogito.jackson.utils.JsonObjectUtils;
+import org.kie.kogito.process.Process;
+import org.kie.kogito.process.Processes;
+import org.kie.kogito.process.impl.AbstractProcessInstance;
+import org.kie.kogito.serverless.workflow.SWFConstants;
 import org.kie.kogito.serverless.workflow.WorkflowWorkItemHandler;
+import org.kie.kogito.services.uow.BaseWorkUnit;
+import org.kie.kogito.services.uow.UnitOfWorkExecutor;
+import org.kie.kogito.uow.WorkUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import com.google.common.util.concurrent.ListenableFuture;
 import com.google.protobuf.DescriptorProtos.FileDescriptorSet;
 import com.google.protobuf.DescriptorProtos.MethodDescriptorProto;
 import com.google.protobuf.Descriptors.DescriptorValidationException;
@@ -63,67 +84,160 @@ public abstract class RPCWorkItemHandler extends WorkflowWorkItemHandler {
 
     public static final String GRPC_ENUM_DEFAULT_PROPERTY = "kogito.grpc.enum.includeDefault";
     public static final String GRPC_STREAM_TIMEOUT_PROPERTY = "kogito.grpc.stream.timeout";
+    public static final String GRPC_UNARY_ASYNC_PROPERTY = "kogito.grpc.unary.async";
     public static final boolean GRPC_ENUM_DEFAULT_VALUE = false;
     public static final int GRPC_STREAM_TIMEOUT_VALUE = 20;
+    public static final boolean GRPC_UNARY_ASYNC_VALUE = false;
+
+    private static final Logger logger = LoggerFactory.getLogger(RPCWorkItemHandler.class);
+
+    private static final Map<String, FileDescriptor> fileDescriptors = new ConcurrentHashMap<>();
+    private static final Map<String, RPCMethod> methods = new ConcurrentHashMap<>();
 
     private final Collection<RPCDecorator> decorators = new ArrayList<>();
     private final int streamTimeout;
+    private final boolean unaryAsync;
+    private final Executor completionExecutor;
 
     public RPCWorkItemHandler() {
         this(GRPC_ENUM_DEFAULT_VALUE, GRPC_STREAM_TIMEOUT_VALUE);
     }
 
     public RPCWorkItemHandler(boolean enumDefault, int streamTimeout) {
+        this(enumDefault, streamTimeout, GRPC_UNARY_ASYNC_VALUE);
+    }
+
+    public RPCWorkItemHandler(boolean enumDefault, int streamTimeout, boolean unaryAsync) {
+        this(enumDefault, streamTimeout, unaryAsync, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param completionExecutor executor completing the work items of asynchronous unary calls. gRPC notifies responses
+     *        on its transport threads, which may be event loops, so the blocking completion is handed to it.
+     */
+    public RPCWorkItemHandler(boolean enumDefault, int streamTimeout, boolean unaryAsync, Executor completionExecutor) {
         this.streamTimeout = streamTimeout;
+        this.unaryAsync = unaryAsync;
+        this.completionExecutor = completionExecutor;
         if (enumDefault) {
             decorators.add(new DefaultEnumRpcDecorator());
         }
     }
 
+    @Override
+    public void executeWorkItem(KogitoWorkItem workItem, KogitoWorkItemManager manager) {
+        if (unaryAsync) {
+            RPCMethod method = getMethod(workItem);
+            if (method.methodType == MethodType.UNARY) {
+                Map<String, Object> parameters = new HashMap<>(workItem.getParameters());
+                parameters.remove(SWFConstants.MODEL_WORKFLOW_VAR);
+                Message request = RPCConverterFactory.get().buildMessage(parameters, DynamicMessage.newBuilder(method.methodDesc.getInputType())).build();
+                Channel channel = getChannel(method.fileName, method.serviceName);
+                InternalProcessRuntime processRuntime = (InternalProcessRuntime) ((ProcessInstance) workItem.getProcessInstance()).getKnowledgeRuntime().getProcessRuntime();
+                // the call is started once the current unit of work is over, so its response always finds the work item persisted
+                processRuntime.getUnitOfWorkManager().currentUnitOfWork().intercept(
+                        new BaseWorkUnit<>(workItem, item -> futureUnaryCall(processRuntime.getApplication(), item, channel, method, request), i -> {
+                        }, WorkUnit.LOW_PRIORITY));
+                return;
+            }
+        }
+        super.executeWorkItem(workItem, manager);
+    }
+
     @Override
     protected Object internalExecute(KogitoWorkItem workItem, Map<String, Object> parameters) {
+        RPCMethod method = getMethod(workItem);
+        return doCall(parameters, getChannel(method.fileName, method.serviceName), method);
+    }
+
+    protected abstract Channel getChannel(String file, String service);
+
+    private static RPCMethod getMethod(KogitoWorkItem workItem) {
         Map<String, Object> metadata = workItem.getNodeInstance().getNode().getMetaData();
         String file = (String) metadata.get(FILE_PROP);
         String service = (String) metadata.get(SERVICE_PROP);
         String method = (String) metadata.get(METHOD_PROP);
-        return doCall(FileDescriptorHolder.get().descriptor().orElseThrow(() -> new IllegalStateException("Descriptor " + FileDescriptorHolder.DESCRIPTOR_PATH + " is not present")),
-                parameters, getChannel(file, service), file, service, method);
+        return methods.computeIfAbsent(file + '/' + service + '/' + method, k -> new RPCMethod(getFileDescriptor(file), file, service, method));
     }
 
-    protected abstract Channel getChannel(String file, String service);
+    private static FileDescriptor getFileDescriptor(String fileName) {
+        return fileDescriptors.computeIfAbsent(fileName, k -> {
+            FileDescriptorSet fdSet = FileDescriptorHolder.get().descriptor()
+                    .orElseThrow(() -> new IllegalStateException("Descriptor " + FileDescriptorHolder.DESCRIPTOR_PATH + " is not present"));
+            try {
+                return FileDescriptor.buildFrom(fdSet.getFileList().stream().filter(f -> f.getName().equals(fileName))
+                        .findFirst().orElseThrow(() -> new IllegalArgumentException("Cannot find file name " + fileName)), new FileDescriptor[0], true);
+            } catch (DescriptorValidationException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
 
-    private JsonNode doCall(FileDescriptorSet fdSet, Map<String, Object> parameters, Channel channel, String fileName, String serviceName, String methodName) {
-        try {
-            FileDescriptor descriptor = FileDescriptor.buildFrom(fdSet.getFileList().stream().filter(f -> f.getName().equals(fileName))
-                    .findFirst().orElseThrow(() -> new IllegalArgumentException("Cannot find file name " + fileName)), new FileDescriptor[0], true);
-            ServiceDescriptor serviceDesc = Objects.requireNonNull(descriptor.findServiceByName(serviceName), "Cannot find service name " + serviceName);
-            MethodDescriptor methodDesc = Objects.requireNonNull(serviceDesc.findMethodByName(methodName), "Cannot find method name " + methodName);
-            MethodType methodType = getMethodType(methodDesc);
-            ClientCall<Message, Message> call = channel.newCall(io.grpc.MethodDescriptor.<Message, Message> newBuilder()
-                    .setType(methodType)
-                    .setFullMethodName(io.grpc.MethodDescriptor.generateFullMethodName(
-                            serviceDesc.getFullName(), methodDesc.getName()))
-                    .setRequestMarshaller(ProtoUtils.marshaller(
-                            DynamicMessage.newBuilder(methodDesc.getInputType()).buildPartial()))
-                    .setResponseMarshaller(ProtoUtils.marshaller(
-                            DynamicMessage.newBuilder(methodDesc.getOutputType()).buildPartial()))
-                    .build(), CallOptions.DEFAULT.withWaitForReady());
-
-            if (methodType == MethodType.CLIENT_STREAMING) {
-                return asyncStreamingCall(parameters, methodDesc, responseObserver -> ClientCalls.asyncClientStreamingCall(call, responseObserver),
-                        nodes -> nodes.isEmpty() ? JsonObjectUtils.fromValue(null) : nodes.get(0));
-            } else if (methodType == MethodType.BIDI_STREAMING) {
-                return asyncStreamingCall(parameters, methodDesc, responseObserver -> ClientCalls.asyncBidiStreamingCall(call, responseObserver), JsonObjectUtils::fromValue);
-            } else if (methodType == MethodType.SERVER_STREAMING) {
-                List<JsonNode> nodes = new ArrayList<>();
-                ClientCalls.blockingServerStreamingCall(call, RPCConverterFactory.get().buildMessage(parameters, DynamicMessage.newBuilder(methodDesc.getInputType())).build())
-                        .forEachRemaining(m -> nodes.add(convert(m, methodDesc)));
-                return JsonObjectUtils.fromValue(nodes);
+    private JsonNode doCall(Map<String, Object> parameters, Channel channel, RPCMethod method) {
+        MethodDescriptor methodDesc = method.methodDesc;
+        MethodType methodType = method.methodType;
+        ClientCall<Message, Message> call = channel.newCall(method.grpcMethod, CallOptions.DEFAULT.withWaitForReady());
+
+        if (methodType == MethodType.CLIENT_STREAMING) {
+            return asyncStreamingCall(parameters, methodDesc, responseObserver -> ClientCalls.asyncClientStreamingCall(call, responseObserver),
+                    nodes -> nodes.isEmpty() ? JsonObjectUtils.fromValue(null) : nodes.get(0));
+        } else if (methodType == MethodType.BIDI_STREAMING) {
+            return asyncStreamingCall(parameters, methodDesc, responseObserver -> ClientCalls.asyncBidiStreamingCall(call, responseObserver), JsonObjectUtils::fromValue);
+        } else if (methodType == MethodType.SERVER_STREAMING) {
+            List<JsonNode> nodes = new ArrayList<>();
+            ClientCalls.blockingServerStreamingCall(call, RPCConverterFactory.get().buildMessage(parameters, DynamicMessage.newBuilder(methodDesc.getInputType())).build())
+                    .forEachRemaining(m -> nodes.add(convert(m, methodDesc)));
+            return JsonObjectUtils.fromValue(nodes);
+        } else {
+            return convert(ClientCalls.blockingUnaryCall(call, RPCConverterFactory.get().buildMessage(parameters, DynamicMessage.newBuilder(methodDesc.getInputType())).build()), methodDesc);
+        }
+    }
+
+    private void futureUnaryCall(Application application, KogitoWorkItem workItem, Channel channel, RPCMethod method, Message request) {
+        String processId = workItem.getProcessInstance().getProcessId();
+        String processInstanceId = workItem.getProcessInstanceStringId();
+        String workItemId = workItem.getStringId();
+        String nodeInstanceId = workItem.getNodeInstance().getStringId();
+        ListenableFuture<Message> future = ClientCalls.futureUnaryCall(channel.newCall(method.grpcMethod, CallOptions.DEFAULT.withWaitForReady()), request);
+        future.addListener(() -> {
+            JsonNode result = null;
+            Exception error = null;
+            try {
+                result = convert(future.get(), method.methodDesc);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                error = e;
+            } catch (ExecutionException e) {
+                error = new IllegalStateException(String.format("gRPC call %s failed with status: %s", method.grpcMethod.getFullMethodName(), Status.fromThrowable(e.getCause())), e.getCause());
+            } catch (RuntimeException e) {
+                error = e;
+            }
+            completeWorkItem(application, processId, processInstanceId, workItemId, nodeInstanceId, result, error);
+        }, completionExecutor);
+    }
+
+    private static void completeWorkItem(Application application, String processId, String processInstanceId, String workItemId, String nodeInstanceId, JsonNode result, Exception error) {
+        Process<?> process = application.get(Processes.class).processById(processId);
+        if (process == null) {
+            logger.error("Cannot find process {} to complete gRPC work item {}", processId, workItemId);
+            return;
+        }
+        boolean found = UnitOfWorkExecutor.executeInUnitOfWork(application.unitOfWorkManager(), () -> process.instances().findById(processInstanceId).map(pi -> {
+            if (error == null) {
+                pi.completeWorkItem(workItemId, Collections.singletonMap("Result", result));
             } else {
-                return convert(ClientCalls.blockingUnaryCall(call, RPCConverterFactory.get().buildMessage(parameters, DynamicMessage.newBuilder(methodDesc.getInputType())).build()), methodDesc);
+                WorkflowProcessInstanceImpl processInstance = (WorkflowProcessInstanceImpl) ((AbstractProcessInstance<?>) pi).internalGetProcessInstance();
+                NodeInstance nodeInstance = processInstance.getNodeInstance(nodeInstanceId, true);
+                if (nodeInstance == null) {
+                    logger.error("Node instance {} of process instance {} is no longer active", nodeInstanceId, processInstanceId, error);
+                } else {
+                    processInstance.setErrorState(nodeInstance, error);
+                }
             }
-        } catch (DescriptorValidationException e) {
-            throw new IllegalStateException(e);
+            return true;
+        }).orElse(false));
+        if (!found) {
+            logger.warn("Process instance {} of process {} not found, discarding gRPC result for work item {}", processInstanceId, processId, workItemId);
         }
     }
 
@@ -169,6 +283,31 @@ public abstract class RPCWorkItemHandler extends WorkflowWorkItemHandler {
         }
     }
 
+    private static class RPCMethod {
+        private final String fileName;
+        private final String serviceName;
+        private final MethodDescriptor methodDesc;
+        private final MethodType methodType;
+        private final io.grpc.MethodDescriptor<Message, Message> grpcMethod;
+
+        private RPCMethod(FileDescriptor descriptor, String fileName, String serviceName, String methodName) {
+            ServiceDescriptor serviceDesc = Objects.requireNonNull(descriptor.findServiceByName(serviceName), "Cannot find service name " + serviceName);
+            this.fileName = fileName;
+            this.serviceName = serviceName;
+            this.methodDesc = Objects.requireNonNull(serviceDesc.findMethodByName(methodName), "Cannot find method name " + methodName);
+            this.methodType = getMethodType(methodDesc);
+            this.grpcMethod = io.grpc.MethodDescriptor.<Message, Message> newBuilder()
+                    .setType(methodType)
+                    .setFullMethodName(io.grpc.MethodDescriptor.generateFullMethodName(
+                            serviceDesc.getFullName(), methodDesc.getName()))
+                    .setRequestMarshaller(ProtoUtils.marshaller(
+                            DynamicMessage.newBuilder(methodDesc.getInputType()).buildPartial()))
+                    .setResponseMarshaller(ProtoUtils.marshaller(
+                            DynamicMessage.newBuilder(methodDesc.getOutputType()).buildPartial()))
+                    .build();
+        }
+    }
+
     private static class WaitingStreamObserver implements StreamObserver<Message> {
         List<Message> responses = new ArrayList<>();
         CompletableFuture<List<Message>> responsesFuture = new CompletableFuture<>();
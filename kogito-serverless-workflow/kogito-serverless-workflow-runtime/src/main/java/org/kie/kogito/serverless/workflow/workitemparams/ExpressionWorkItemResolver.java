@@ -40,6 +40,11 @@ public abstract class ExpressionWorkItemResolver<T> implements WorkItemParamReso
         this.language = language;
         this.expression = expression;
         this.paramName = paramName;
+        // compiles the expressions when the workflow is built rather than on first evaluation
+        JsonNodeVisitor.transformTextNode(JsonObjectUtils.fromValue(expression), node -> {
+            ExpressionHandlerFactory.get(language, node.asText()).isValid();
+            return node;
+        });
     }
 
     protected final JsonNode evalExpression(KogitoWorkItem workItem) {
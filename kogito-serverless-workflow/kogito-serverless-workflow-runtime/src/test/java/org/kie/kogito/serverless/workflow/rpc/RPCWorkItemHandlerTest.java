@@ -0,0 +1,361 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.serverless.workflow.rpc;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.drools.core.common.InternalKnowledgeRuntime;
+import org.jbpm.process.instance.InternalProcessRuntime;
+import org.jbpm.process.instance.ProcessInstance;
+import org.jbpm.workflow.instance.NodeInstance;
+import org.jbpm.workflow.instance.impl.WorkflowProcessInstanceImpl;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.kie.api.definition.process.Node;
+import org.kie.kogito.Application;
+import org.kie.kogito.internal.process.runtime.KogitoNodeInstance;
+import org.kie.kogito.internal.process.runtime.KogitoWorkItem;
+import org.kie.kogito.internal.process.runtime.KogitoWorkItemManager;
+import org.kie.kogito.jackson.utils.ObjectMapperFactory;
+import org.kie.kogito.process.Process;
+import org.kie.kogito.process.ProcessInstances;
+import org.kie.kogito.process.Processes;
+import org.kie.kogito.process.impl.AbstractProcessInstance;
+import org.kie.kogito.uow.UnitOfWork;
+import org.kie.kogito.uow.UnitOfWorkManager;
+import org.kie.kogito.uow.WorkUnit;
+import org.mockito.ArgumentCaptor;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.protobuf.DescriptorProtos.DescriptorProto;
+import com.google.protobuf.DescriptorProtos.FieldDescriptorProto;
+import com.google.protobuf.DescriptorProtos.FileDescriptorProto;
+import com.google.protobuf.DescriptorProtos.FileDescriptorSet;
+import com.google.protobuf.DescriptorProtos.MethodDescriptorProto;
+import com.google.protobuf.DescriptorProtos.ServiceDescriptorProto;
+import com.google.protobuf.Descriptors.Descriptor;
+import com.google.protobuf.Descriptors.DescriptorValidationException;
+import com.google.protobuf.Descriptors.FileDescriptor;
+import com.google.protobuf.DynamicMessage;
+import com.google.protobuf.Message;
+
+import io.grpc.CallOptions;
+import io.grpc.Channel;
+import io.grpc.ClientCall;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.MethodDescriptor.MethodType;
+import io.grpc.Status;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RPCWorkItemHandlerTest {
+
+    private static final String FILE = "greeting.proto";
+    private static final String SERVICE = "Greeter";
+    private static final String PROCESS_ID = "greeting";
+    private static final String PROCESS_INSTANCE_ID = "pi-1";
+    private static final String NODE_INSTANCE_ID = "ni-1";
+    private static final String WORK_ITEM_ID = "wi-1";
+
+    private TestChannel channel;
+    private KogitoWorkItemManager manager;
+    private UnitOfWork currentUnitOfWork;
+    private org.kie.kogito.process.ProcessInstance<?> processInstance;
+    private WorkflowProcessInstanceImpl internalProcessInstance;
+    private NodeInstance nodeInstance;
+    private ProcessInstance jbpmProcessInstance;
+    private List<Runnable> completions;
+
+    @BeforeAll
+    static void loadDescriptor(@TempDir Path tempDir) throws IOException {
+        Path descriptorPath = tempDir.resolve(FileDescriptorHolder.DESCRIPTOR_PATH);
+        Files.createDirectories(descriptorPath.getParent());
+        try (OutputStream out = Files.newOutputStream(descriptorPath)) {
+            FileDescriptorSet.newBuilder().addFile(greetingProto()).build().writeTo(out);
+        }
+        Thread thread = Thread.currentThread();
+        ClassLoader previous = thread.getContextClassLoader();
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[] { tempDir.toUri().toURL() }, previous)) {
+            thread.setContextClassLoader(classLoader);
+            FileDescriptorHolder.get();
+        } finally {
+            thread.setContextClassLoader(previous);
+        }
+    }
+
+    @BeforeEach
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    void setup() {
+        channel = new TestChannel();
+        completions = new ArrayList<>();
+        manager = mock(KogitoWorkItemManager.class);
+        currentUnitOfWork = mock(UnitOfWork.class);
+
+        internalProcessInstance = mock(WorkflowProcessInstanceImpl.class);
+        nodeInstance = mock(NodeInstance.class);
+        when(internalProcessInstance.getNodeInstance(NODE_INSTANCE_ID, true)).thenReturn(nodeInstance);
+        AbstractProcessInstance abstractProcessInstance = mock(AbstractProcessInstance.class);
+        when(abstractProcessInstance.internalGetProcessInstance()).thenReturn(internalProcessInstance);
+        processInstance = abstractProcessInstance;
+
+        ProcessInstances instances = mock(ProcessInstances.class);
+        when(instances.findById(PROCESS_INSTANCE_ID)).thenReturn(Optional.of(processInstance));
+        Process process = mock(Process.class);
+        when(process.instances()).thenReturn(instances);
+        Processes processes = mock(Processes.class);
+        when(processes.processById(PROCESS_ID)).thenReturn(process);
+        UnitOfWorkManager unitOfWorkManager = mock(UnitOfWorkManager.class);
+        when(unitOfWorkManager.newUnitOfWork()).thenReturn(mock(UnitOfWork.class));
+        Application application = mock(Application.class);
+        when(application.get(Processes.class)).thenReturn(processes);
+        when(application.unitOfWorkManager()).thenReturn(unitOfWorkManager);
+
+        InternalProcessRuntime processRuntime = mock(InternalProcessRuntime.class);
+        UnitOfWorkManager currentUnitOfWorkManager = mock(UnitOfWorkManager.class);
+        when(currentUnitOfWorkManager.currentUnitOfWork()).thenReturn(currentUnitOfWork);
+        when(processRuntime.getUnitOfWorkManager()).thenReturn(currentUnitOfWorkManager);
+        when(processRuntime.getApplication()).thenReturn(application);
+        InternalKnowledgeRuntime knowledgeRuntime = mock(InternalKnowledgeRuntime.class);
+        doReturn(processRuntime).when(knowledgeRuntime).getProcessRuntime();
+        jbpmProcessInstance = mock(ProcessInstance.class);
+        when(jbpmProcessInstance.getProcessId()).thenReturn(PROCESS_ID);
+        when(jbpmProcessInstance.getKnowledgeRuntime()).thenReturn(knowledgeRuntime);
+    }
+
+    @Test
+    void testCachedMethodsResolveTheirOwnDescriptor() {
+        RPCWorkItemHandler handler = handler(false);
+
+        handler.executeWorkItem(workItem("SayHello"), manager);
+        handler.executeWorkItem(workItem("SayGoodbye"), manager);
+        handler.executeWorkItem(workItem("SayHello"), manager);
+
+        assertEquals(3, channel.methods.size());
+        MethodDescriptor<?, ?> hello = channel.methods.get(0);
+        MethodDescriptor<?, ?> goodbye = channel.methods.get(1);
+        assertEquals("greeting.Greeter/SayHello", hello.getFullMethodName());
+        assertEquals(MethodType.UNARY, hello.getType());
+        assertEquals("greeting.Greeter/SayGoodbye", goodbye.getFullMethodName());
+        assertNotSame(hello, goodbye);
+        assertSame(hello, channel.methods.get(2));
+
+        verify(manager, times(2)).completeWorkItem(WORK_ITEM_ID, result("Hello john"));
+        verify(manager).completeWorkItem(WORK_ITEM_ID, result("Goodbye john"));
+    }
+
+    @Test
+    void testAsyncUnaryCallCompletesWorkItem() {
+        handler(true).executeWorkItem(workItem("SayHello"), manager);
+
+        // nothing is sent until the unit of work the work item belongs to is over
+        assertTrue(channel.methods.isEmpty());
+        verify(manager, never()).completeWorkItem(anyString(), anyMap());
+        interceptedWorkUnit().perform();
+
+        assertEquals("greeting.Greeter/SayHello", channel.methods.get(0).getFullMethodName());
+        // the response is not processed on the thread notifying it
+        verify(processInstance, never()).completeWorkItem(anyString(), anyMap());
+        runCompletions();
+        verify(processInstance).completeWorkItem(WORK_ITEM_ID, result("Hello john"));
+        verify(internalProcessInstance, never()).setErrorState(any(), any());
+        verify(manager, never()).completeWorkItem(anyString(), anyMap());
+    }
+
+    @Test
+    void testAsyncUnaryCallPropagatesError() {
+        channel.status = Status.UNAVAILABLE.withDescription("server down");
+        handler(true).executeWorkItem(workItem("SayHello"), manager);
+        interceptedWorkUnit().perform();
+        runCompletions();
+
+        ArgumentCaptor<Exception> error = ArgumentCaptor.forClass(Exception.class);
+        verify(internalProcessInstance).setErrorState(eq(nodeInstance), error.capture());
+        assertTrue(error.getValue().getMessage().contains("greeting.Greeter/SayHello"));
+        assertEquals(Status.Code.UNAVAILABLE, Status.fromThrowable(error.getValue().getCause()).getCode());
+        verify(processInstance, never()).completeWorkItem(anyString(), anyMap());
+    }
+
+    private RPCWorkItemHandler handler(boolean unaryAsync) {
+        return new RPCWorkItemHandler(false, 1, unaryAsync, completions::add) {
+            @Override
+            protected Channel getChannel(String file, String service) {
+                assertEquals(FILE, file);
+                assertEquals(SERVICE, service);
+                return channel;
+            }
+        };
+    }
+
+    private void runCompletions() {
+        assertEquals(1, completions.size());
+        completions.remove(0).run();
+    }
+
+    private KogitoWorkItem workItem(String method) {
+        Node node = mock(Node.class);
+        when(node.getMetaData()).thenReturn(Map.of(RPCWorkItemHandler.FILE_PROP, FILE, RPCWorkItemHandler.SERVICE_PROP, SERVICE, RPCWorkItemHandler.METHOD_PROP, method));
+        KogitoNodeInstance kogitoNodeInstance = mock(KogitoNodeInstance.class);
+        when(kogitoNodeInstance.getNode()).thenReturn(node);
+        when(kogitoNodeInstance.getStringId()).thenReturn(NODE_INSTANCE_ID);
+        KogitoWorkItem workItem = mock(KogitoWorkItem.class);
+        when(workItem.getStringId()).thenReturn(WORK_ITEM_ID);
+        when(workItem.getProcessInstanceStringId()).thenReturn(PROCESS_INSTANCE_ID);
+        when(workItem.getParameters()).thenReturn(Map.of("name", "john"));
+        when(workItem.getNodeInstance()).thenReturn(kogitoNodeInstance);
+        when(workItem.getProcessInstance()).thenReturn(jbpmProcessInstance);
+        return workItem;
+    }
+
+    @SuppressWarnings("unchecked")
+    private WorkUnit<KogitoWorkItem> interceptedWorkUnit() {
+        ArgumentCaptor<WorkUnit<KogitoWorkItem>> workUnit = ArgumentCaptor.forClass(WorkUnit.class);
+        verify(currentUnitOfWork).intercept(workUnit.capture());
+        return workUnit.getValue();
+    }
+
+    private static Map<String, Object> result(String message) {
+        JsonNode node = ObjectMapperFactory.get().createObjectNode().put("message", message);
+        return Collections.singletonMap("Result", node);
+    }
+
+    private static FileDescriptorProto greetingProto() {
+        DescriptorProto request = DescriptorProto.newBuilder().setName("HelloRequest")
+                .addField(stringField("name")).build();
+        DescriptorProto reply = DescriptorProto.newBuilder().setName("HelloReply")
+                .addField(stringField("message")).build();
+        ServiceDescriptorProto service = ServiceDescriptorProto.newBuilder().setName(SERVICE)
+                .addMethod(unaryMethod("SayHello"))
+                .addMethod(unaryMethod("SayGoodbye"))
+                .build();
+        return FileDescriptorProto.newBuilder().setName(FILE).setPackage("greeting").setSyntax("proto3")
+                .addMessageType(request).addMessageType(reply).addService(service).build();
+    }
+
+    private static FieldDescriptorProto stringField(String name) {
+        return FieldDescriptorProto.newBuilder().setName(name).setNumber(1)
+                .setType(FieldDescriptorProto.Type.TYPE_STRING).setLabel(FieldDescriptorProto.Label.LABEL_OPTIONAL).build();
+    }
+
+    private static MethodDescriptorProto unaryMethod(String name) {
+        return MethodDescriptorProto.newBuilder().setName(name)
+                .setInputType(".greeting.HelloRequest").setOutputType(".greeting.HelloReply").build();
+    }
+
+    private static class TestChannel extends Channel {
+
+        private final List<MethodDescriptor<?, ?>> methods = new ArrayList<>();
+        private Status status = Status.OK;
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <ReqT, RespT> ClientCall<ReqT, RespT> newCall(MethodDescriptor<ReqT, RespT> method, CallOptions callOptions) {
+            methods.add(method);
+            return (ClientCall<ReqT, RespT>) new TestCall((MethodDescriptor<Message, Message>) method, status);
+        }
+
+        @Override
+        public String authority() {
+            return "localhost";
+        }
+    }
+
+    /**
+     * Answers unary calls synchronously, greeting or saying goodbye depending on the method invoked.
+     */
+    private static class TestCall extends ClientCall<Message, Message> {
+
+        private final MethodDescriptor<Message, Message> method;
+        private final Status status;
+        private Listener<Message> listener;
+        private Message request;
+
+        private TestCall(MethodDescriptor<Message, Message> method, Status status) {
+            this.method = method;
+            this.status = status;
+        }
+
+        @Override
+        public void start(Listener<Message> responseListener, Metadata headers) {
+            this.listener = responseListener;
+        }
+
+        @Override
+        public void request(int numMessages) {
+            // responses are pushed on half close
+        }
+
+        @Override
+        public void cancel(String message, Throwable cause) {
+            listener.onClose(Status.CANCELLED.withDescription(message).withCause(cause), new Metadata());
+        }
+
+        @Override
+        public void sendMessage(Message message) {
+            this.request = message;
+        }
+
+        @Override
+        public void halfClose() {
+            if (status.isOk()) {
+                listener.onHeaders(new Metadata());
+                listener.onMessage(method.parseResponse(new ByteArrayInputStream(reply().toByteArray())));
+            }
+            listener.onClose(status, new Metadata());
+        }
+
+        private Message reply() {
+            String name = (String) request.getField(request.getDescriptorForType().findFieldByName("name"));
+            String greeting = method.getBareMethodName().equals("SayHello") ? "Hello " : "Goodbye ";
+            Descriptor replyType = replyType();
+            return DynamicMessage.newBuilder(replyType).setField(replyType.findFieldByName("message"), greeting + name).build();
+        }
+
+        private static Descriptor replyType() {
+            try {
+                return FileDescriptor.buildFrom(greetingProto(), new FileDescriptor[0]).findMessageTypeByName("HelloReply");
+            } catch (DescriptorValidationException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.serverless.workflow.utils;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Size bounded cache whose reads do not lock.
+ * <p>
+ * Once the cache is full, adding an entry evicts others following a second chance policy: entries read since the last
+ * eviction are spared once, so frequently used entries stay cached, approximating a least recently used cache.
+ */
+public class BoundedCache<K, V> {
+
+    private final ConcurrentMap<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final int maxSize;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public BoundedCache(int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Cache max size should be positive but it is " + maxSize);
+        }
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Returns the cached value of the key, loading it if it is not cached
+     */
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        Entry<V> entry = entries.get(key);
+        if (entry != null) {
+            entry.used = true;
+            hits.increment();
+            return entry.value;
+        }
+        misses.increment();
+        if (entries.size() >= maxSize) {
+            evict();
+        }
+        return entries.computeIfAbsent(key, k -> new Entry<>(loader.apply(k))).value;
+    }
+
+    private synchronized void evict() {
+        int toEvict = entries.size() - maxSize + 1;
+        Iterator<Entry<V>> iter = entries.values().iterator();
+        while (toEvict > 0 && iter.hasNext()) {
+            Entry<V> entry = iter.next();
+            if (entry.used) {
+                entry.used = false;
+            } else {
+                iter.remove();
+                toEvict--;
+            }
+        }
+        // every entry was used, evict in iteration order
+        iter = entries.values().iterator();
+        while (toEvict > 0 && iter.hasNext()) {
+            iter.next();
+            iter.remove();
+            toEvict--;
+        }
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long hits() {
+        return hits.sum();
+    }
+
+    public long misses() {
+        return misses.sum();
+    }
+
+    private static class Entry<V> {
+
+        private final V value;
+        private volatile boolean used;
+
+        Entry(V value) {
+            this.value = value;
+        }
+    }
+}
@@ -15,20 +15,29 @@
  */
 package org.kie.kogito.serverless.workflow.utils;
 
-import java.util.Collections;
-import java.util.Map;
-import java.util.WeakHashMap;
-
 import org.kie.kogito.process.expr.Expression;
 import org.kie.kogito.process.expr.ExpressionHandler;
 
+/**
+ * Expression handler caching the expressions it builds, so they are parsed once.
+ * <p>
+ * The cache is shared by all the handlers and bounded by the <code>kogito.sw.expression.cache.maxSize</code> system
+ * property. Its hits and misses are exposed through {@link #cache()} for the monitoring addons.
+ */
 public abstract class CachedExpressionHandler implements ExpressionHandler {
 
-    private Map<String, Expression> expressions = Collections.synchronizedMap(new WeakHashMap<>());
+    public static final String CACHE_MAX_SIZE_PROPERTY = "kogito.sw.expression.cache.maxSize";
+
+    private static final BoundedCache<String, Expression> expressions = new BoundedCache<>(Integer.parseInt(System.getProperty(CACHE_MAX_SIZE_PROPERTY, "1000")));
+
+    public static BoundedCache<String, Expression> cache() {
+        return expressions;
+    }
 
     @Override
     public Expression get(String expr) {
-        return expressions.computeIfAbsent(ExpressionHandlerUtils.trimExpr(expr), this::buildExpression);
+        String trimmed = ExpressionHandlerUtils.trimExpr(expr);
+        return expressions.get(lang() + ':' + trimmed, k -> buildExpression(trimmed));
     }
 
     protected abstract Expression buildExpression(String expr);
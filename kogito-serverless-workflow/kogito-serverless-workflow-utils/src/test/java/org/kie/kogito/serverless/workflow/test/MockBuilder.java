@@ -103,6 +103,7 @@ public class MockBuilder {
             when(context.getProcessInstance()).thenReturn(kogitoProcessInstanceMock);
             Process processMock = mock(Process.class);
             when(kogitoProcessInstanceMock.getProcess()).thenReturn(processMock);
+            when(kogitoProcessInstanceMock.getProcessId()).thenReturn("workflow");
             if (processInstanceMockManipulation != null) {
                 processInstanceMockManipulation.accept(kogitoProcessInstanceMock);
             }
@@ -26,6 +26,7 @@ import org.eclipse.microprofile.reactive.messaging.Channel;
 import org.eclipse.microprofile.reactive.messaging.Emitter;
 import org.kie.kogito.event.DataEvent;
 import org.kie.kogito.event.EventPublisher;
+import org.kie.kogito.event.EventPublisherListeners;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -36,6 +37,7 @@ public class ReactiveMessagingEventPublisher implements EventPublisher {
     private static final String PI_TOPIC_NAME = "kogito-processinstances-events";
     private static final String UI_TOPIC_NAME = "kogito-usertaskinstances-events";
     private static final String VI_TOPIC_NAME = "kogito-variables-events";
+    private static final String PUBLISHER = "reactive-messaging";
 
     private static final Logger logger = LoggerFactory.getLogger(ReactiveMessagingEventPublisher.class);
 
@@ -68,32 +70,61 @@ public class ReactiveMessagingEventPublisher implements EventPublisher {
 
     @Override
     public void publish(DataEvent<?> event) {
+        publishEvent(event);
+    }
+
+    /**
+     * Sends every event without waiting for the previous one to be acknowledged, so the connector can batch them
+     */
+    @Override
+    public void publish(Collection<DataEvent<?>> events) {
+        int published = 0;
+        for (DataEvent<?> event : events) {
+            if (publishEvent(event)) {
+                published++;
+            }
+        }
+        EventPublisherListeners.batchPublished(PUBLISHER, published);
+    }
+
+    @Override
+    public boolean accept(String type) {
+        switch (type) {
+            case "ProcessInstanceEvent":
+                return processInstancesEvents.orElse(true);
+            case "UserTaskInstanceEvent":
+                return userTasksEvents.orElse(true);
+            case "VariableInstanceEvent":
+                return variablesEvents.orElse(true);
+            default:
+                return false;
+        }
+    }
+
+    private boolean publishEvent(DataEvent<?> event) {
         switch (event.getType()) {
             case "ProcessInstanceEvent":
                 if (processInstancesEvents.orElse(true)) {
                     publishToTopic(event, processInstancesEventsEmitter, PI_TOPIC_NAME);
+                    return true;
                 }
                 break;
             case "UserTaskInstanceEvent":
                 if (userTasksEvents.orElse(true)) {
                     publishToTopic(event, userTasksEventsEmitter, UI_TOPIC_NAME);
+                    return true;
                 }
                 break;
             case "VariableInstanceEvent":
                 if (variablesEvents.orElse(true)) {
                     publishToTopic(event, variablesEventsEmitter, VI_TOPIC_NAME);
+                    return true;
                 }
                 break;
             default:
                 logger.debug("Unknown type of event '{}', ignoring for this publisher", event.getType());
         }
-    }
-
-    @Override
-    public void publish(Collection<DataEvent<?>> events) {
-        for (DataEvent<?> event : events) {
-            publish(event);
-        }
+        return false;
     }
 
     protected void publishToTopic(DataEvent<?> event, Emitter<String> emitter, String topic) {
@@ -106,8 +137,15 @@ public class ReactiveMessagingEventPublisher implements EventPublisher {
             String eventString = json.writeValueAsString(event);
             logger.debug("Event payload '{}'", eventString);
 
-            emitter.send(eventString);
-            logger.debug("Successfully published event {} to topic {}", event, topic);
+            long start = System.nanoTime();
+            emitter.send(eventString).whenComplete((v, e) -> {
+                EventPublisherListeners.published(PUBLISHER, event.getType(), System.nanoTime() - start);
+                if (e == null) {
+                    logger.debug("Successfully published event {} to topic {}", event, topic);
+                } else {
+                    logger.error("Error while publishing event to topic {} for event {}", topic, event, e);
+                }
+            });
         } catch (Exception e) {
             logger.error("Error while publishing event to topic {} for event {}", topic, event, e);
         }
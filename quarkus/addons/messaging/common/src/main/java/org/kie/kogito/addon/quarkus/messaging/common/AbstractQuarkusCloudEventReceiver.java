@@ -15,16 +15,15 @@
  */
 package org.kie.kogito.addon.quarkus.messaging.common;
 
-import java.io.IOException;
-import java.util.Collection;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
-import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.BiConsumer;
 import java.util.function.Function;
 
 import org.eclipse.microprofile.reactive.messaging.Message;
 import org.kie.kogito.addon.cloudevents.Subscription;
+import org.kie.kogito.addon.cloudevents.SubscriptionIndex;
 import org.kie.kogito.event.EventReceiver;
 import org.kie.kogito.event.SubscriptionInfo;
 import org.slf4j.Logger;
@@ -34,7 +33,7 @@ public abstract class AbstractQuarkusCloudEventReceiver implements EventReceiver
 
     private static final Logger LOGGER = LoggerFactory.getLogger(AbstractQuarkusCloudEventReceiver.class);
 
-    private Collection<Subscription<Object>> consumers = new CopyOnWriteArrayList<>();
+    private final SubscriptionIndex consumers = new SubscriptionIndex();
 
     public CompletionStage<?> produce(final String message) {
         return produce(message, null);
@@ -54,15 +53,8 @@ public abstract class AbstractQuarkusCloudEventReceiver implements EventReceiver
     private CompletionStage<?> produce(final Object message, BiConsumer<Object, Throwable> callback) {
         CompletionStage<?> result = CompletableFuture.completedFuture(null);
         CompletionStage<?> future = result;
-        for (Subscription<Object> subscription : consumers) {
-            Object object;
-            try {
-                object = subscription.getInfo().getConverter().unmarshall(message, subscription.getInfo().getOutputClass(), subscription.getInfo().getParametrizedClasses());
-                future = future.thenCompose(f -> subscription.getConsumer().apply(object));
-            } catch (IOException e) {
-                LOGGER.info("Cannot convert to {} from {}, ignoring type {}, exception message is {}", subscription.getInfo().getOutputClass(), message,
-                        subscription.getInfo().getType(), e.getMessage());
-            }
+        for (Map.Entry<Subscription<Object>, Object> binding : consumers.bind(message).entrySet()) {
+            future = future.thenCompose(f -> binding.getKey().getConsumer().apply(binding.getValue()));
         }
         if (callback != null) {
             future.whenComplete(callback);
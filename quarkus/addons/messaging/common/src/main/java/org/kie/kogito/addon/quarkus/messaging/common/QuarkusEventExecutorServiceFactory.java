@@ -15,14 +15,24 @@
  */
 package org.kie.kogito.addon.quarkus.messaging.common;
 
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadFactory;
 
+import javax.annotation.PreDestroy;
 import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
 
 import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.kie.kogito.event.BoundedExecutorService;
 import org.kie.kogito.event.EventExecutorServiceFactory;
+import org.kie.kogito.event.KeyedExecutorService;
 import org.kie.kogito.event.KogitoEventStreams;
+import org.kie.kogito.event.KogitoThreadPoolFactory;
+import org.kie.kogito.event.VirtualThreads;
 
 import io.quarkus.arc.DefaultBean;
 
@@ -36,11 +46,69 @@ public class QuarkusEventExecutorServiceFactory implements EventExecutorServiceF
     @ConfigProperty(name = KogitoEventStreams.QUEUE_SIZE_PROPERTY, defaultValue = KogitoEventStreams.DEFAULT_QUEUE_SIZE)
     int queueSize;
 
+    @ConfigProperty(name = KogitoEventStreams.KEYED_PROPERTY, defaultValue = KogitoEventStreams.DEFAULT_KEYED)
+    boolean keyed;
+
+    @ConfigProperty(name = KogitoEventStreams.MAX_OVERFLOW_PROPERTY, defaultValue = KogitoEventStreams.DEFAULT_MAX_OVERFLOW)
+    int maxOverflow;
+
+    @ConfigProperty(name = KogitoEventStreams.VIRTUAL_PROPERTY, defaultValue = KogitoEventStreams.DEFAULT_VIRTUAL)
+    boolean virtual;
+
+    @ConfigProperty(name = KogitoEventStreams.TRACE_PINNED_PROPERTY, defaultValue = KogitoEventStreams.DEFAULT_TRACE_PINNED)
+    boolean tracePinned;
+
     @Inject
     QuarkusEmitterController emitterStatus;
 
+    private final List<ExecutorService> executors = new CopyOnWriteArrayList<>();
+    private final Set<String> keyedChannels = new CopyOnWriteArraySet<>();
+    private KeyedExecutorService keyedExecutor;
+
     @Override
     public ExecutorService getExecutorService(String channelName) {
-        return new QuarkusEventThreadPool(numThreads, queueSize, emitterStatus, channelName);
+        if (virtual && tracePinned) {
+            VirtualThreads.tracePinnedThreads();
+        }
+        if (keyed) {
+            keyedChannels.add(channelName);
+            return keyedExecutor();
+        }
+        ExecutorService executor = virtual ? VirtualThreads.newThreadPerTaskExecutor(KogitoEventStreams.THREAD_NAME) : null;
+        if (executor != null) {
+            return register(virtualExecutor(executor, channelName));
+        }
+        return register(new QuarkusEventThreadPool(numThreads, queueSize, emitterStatus, channelName));
+    }
+
+    /**
+     * Virtual threads are not pooled, so the number of dispatches running at once is bounded by the configured number
+     * of threads. Dispatches beyond it are buffered and pause the channel until they are started.
+     */
+    private ExecutorService virtualExecutor(ExecutorService executor, String channelName) {
+        return new BoundedExecutorService(executor, numThreads, maxOverflow, () -> emitterStatus.stop(channelName), () -> emitterStatus.resume(channelName));
+    }
+
+    /**
+     * Lanes are shared by every channel, so they are bounded by the configured number of threads as a whole.
+     * Any lane overflowing pauses all the channels feeding them.
+     */
+    private synchronized KeyedExecutorService keyedExecutor() {
+        if (keyedExecutor == null) {
+            ThreadFactory threadFactory = virtual ? VirtualThreads.threadFactory(KogitoEventStreams.THREAD_NAME) : new KogitoThreadPoolFactory(KogitoEventStreams.THREAD_NAME);
+            keyedExecutor = register(new KeyedExecutorService(numThreads, queueSize, maxOverflow, threadFactory,
+                    () -> keyedChannels.forEach(emitterStatus::stop), () -> keyedChannels.forEach(emitterStatus::resume)));
+        }
+        return keyedExecutor;
+    }
+
+    private <T extends ExecutorService> T register(T executor) {
+        executors.add(executor);
+        return executor;
+    }
+
+    @PreDestroy
+    void close() {
+        executors.forEach(ExecutorService::shutdownNow);
     }
 }
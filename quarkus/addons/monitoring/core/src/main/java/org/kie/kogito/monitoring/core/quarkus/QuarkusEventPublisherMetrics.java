@@ -0,0 +1,43 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.monitoring.core.quarkus;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.inject.Singleton;
+
+import org.kie.kogito.event.EventPublisherListeners;
+import org.kie.kogito.monitoring.core.common.process.EventPublisherMetrics;
+
+import io.micrometer.core.instrument.Metrics;
+import io.quarkus.runtime.Startup;
+
+@Singleton
+@Startup
+public class QuarkusEventPublisherMetrics {
+
+    private final EventPublisherMetrics metrics = new EventPublisherMetrics(Metrics.globalRegistry);
+
+    @PostConstruct
+    public void init() {
+        EventPublisherListeners.register(metrics);
+    }
+
+    @PreDestroy
+    public void destroy() {
+        EventPublisherListeners.unregister(metrics);
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.monitoring.core.quarkus;
+
+import javax.annotation.PostConstruct;
+import javax.inject.Singleton;
+
+import org.kie.kogito.monitoring.core.common.process.ExpressionCacheMetrics;
+
+import io.micrometer.core.instrument.Metrics;
+import io.quarkus.runtime.Startup;
+
+@Singleton
+@Startup
+public class QuarkusExpressionCacheMetrics {
+
+    private static final String CACHED_EXPRESSION_HANDLER = "org.kie.kogito.serverless.workflow.utils.CachedExpressionHandler";
+
+    @PostConstruct
+    public void init() {
+        // the expression cache is only on the classpath of serverless workflow applications
+        if (isPresent(CACHED_EXPRESSION_HANDLER)) {
+            new ExpressionCacheMetrics().bindTo(Metrics.globalRegistry);
+        }
+    }
+
+    private static boolean isPresent(String className) {
+        try {
+            Class.forName(className, false, QuarkusExpressionCacheMetrics.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+}
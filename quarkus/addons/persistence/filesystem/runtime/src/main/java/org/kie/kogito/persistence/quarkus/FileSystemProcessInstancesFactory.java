@@ -30,7 +30,9 @@ public class FileSystemProcessInstancesFactory extends AbstractProcessInstancesF
     }
 
     @Inject
-    public FileSystemProcessInstancesFactory(@ConfigProperty(name = "kogito.persistence.filesystem.path", defaultValue = "/tmp") String path) {
-        super(path);
+    public FileSystemProcessInstancesFactory(@ConfigProperty(name = "kogito.persistence.filesystem.path", defaultValue = "/tmp") String path,
+            @ConfigProperty(name = "kogito.persistence.trusted.write", defaultValue = "false") Boolean trustedWrite,
+            @ConfigProperty(name = "kogito.persistence.json.binary", defaultValue = "false") Boolean binaryJson) {
+        super(path, trustedWrite, binaryJson);
     }
 }
@@ -35,8 +35,10 @@ public class InfinispanProcessInstancesFactory extends AbstractProcessInstancesF
     @Inject
     public InfinispanProcessInstancesFactory(RemoteCacheManager cacheManager,
             @ConfigProperty(name = "kogito.persistence.optimistic.lock", defaultValue = "false") Boolean lock,
-            @ConfigProperty(name = "kogito.persistence.infinispan.template") Optional<String> templateName) {
-        super(cacheManager, lock, templateName.orElse(null));
+            @ConfigProperty(name = "kogito.persistence.infinispan.template") Optional<String> templateName,
+            @ConfigProperty(name = "kogito.persistence.trusted.write", defaultValue = "false") Boolean trustedWrite,
+            @ConfigProperty(name = "kogito.persistence.json.binary", defaultValue = "false") Boolean binaryJson) {
+        super(cacheManager, lock, templateName.orElse(null), trustedWrite, binaryJson);
     }
 
 }
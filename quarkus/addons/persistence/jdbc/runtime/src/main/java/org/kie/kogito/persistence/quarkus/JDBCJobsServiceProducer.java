@@ -0,0 +1,51 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.persistence.quarkus;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.inject.Disposes;
+import javax.enterprise.inject.Instance;
+import javax.enterprise.inject.Produces;
+import javax.sql.DataSource;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.kie.kogito.Application;
+import org.kie.kogito.jobs.JobsService;
+import org.kie.kogito.persistence.jdbc.jobs.JDBCJobsService;
+
+import io.quarkus.arc.properties.IfBuildProperty;
+import io.quarkus.runtime.Startup;
+
+public class JDBCJobsServiceProducer {
+
+    @Produces
+    @Startup
+    @ApplicationScoped
+    @IfBuildProperty(name = "kogito.persistence.jobs.enabled", stringValue = "true")
+    public JobsService jdbcJobsService(DataSource dataSource, Instance<Application> application,
+            @ConfigProperty(name = "kogito.persistence.jobs.poll.interval", defaultValue = "1000") Long pollInterval,
+            @ConfigProperty(name = "kogito.persistence.jobs.batch.size", defaultValue = "100") Integer batchSize,
+            @ConfigProperty(name = "kogito.persistence.jobs.lease.time", defaultValue = "300000") Long leaseTime,
+            @ConfigProperty(name = "kogito.persistence.jobs.pool.size", defaultValue = "10") Integer poolSize) {
+        JDBCJobsService jobsService = new JDBCJobsService(dataSource, application::get, pollInterval, batchSize, leaseTime, poolSize);
+        jobsService.start();
+        return jobsService;
+    }
+
+    public void close(@Disposes JobsService jobsService) {
+        ((JDBCJobsService) jobsService).close();
+    }
+}
@@ -29,8 +29,16 @@ public class JDBCProcessInstancesFactory extends AbstractProcessInstancesFactory
     @Inject
     public JDBCProcessInstancesFactory(DataSource dataSource,
             @ConfigProperty(name = "kogito.persistence.auto.ddl", defaultValue = "true") Boolean autoDDL,
-            @ConfigProperty(name = "kogito.persistence.optimistic.lock", defaultValue = "false") Boolean lock) {
-        super(dataSource, autoDDL, lock);
+            @ConfigProperty(name = "kogito.persistence.optimistic.lock", defaultValue = "false") Boolean lock,
+            @ConfigProperty(name = "kogito.persistence.trusted.write", defaultValue = "false") Boolean trustedWrite,
+            @ConfigProperty(name = "kogito.persistence.delta.enabled", defaultValue = "false") Boolean deltas,
+            @ConfigProperty(name = "kogito.persistence.delta.max.count", defaultValue = "20") Integer maxDeltas,
+            @ConfigProperty(name = "kogito.persistence.delta.max.size", defaultValue = "65536") Integer maxDeltasSize,
+            @ConfigProperty(name = "kogito.persistence.delta.bases.max.size", defaultValue = "16777216") Long maxDeltaBasesSize,
+            @ConfigProperty(name = "kogito.persistence.batch.writes", defaultValue = "false") Boolean batchWrites,
+            @ConfigProperty(name = "kogito.persistence.event.types.index", defaultValue = "false") Boolean indexEventTypes,
+            @ConfigProperty(name = "kogito.persistence.json.binary", defaultValue = "false") Boolean binaryJson) {
+        super(dataSource, autoDDL, lock, trustedWrite, deltas, maxDeltas, maxDeltasSize, batchWrites, indexEventTypes, binaryJson, maxDeltaBasesSize);
     }
 
     public JDBCProcessInstancesFactory() {
@@ -15,32 +15,24 @@
  */
 package org.kie.kogito.persistence.quarkus;
 
-import java.sql.Connection;
-import java.sql.SQLException;
-
+import javax.enterprise.context.ApplicationScoped;
 import javax.enterprise.inject.Produces;
 import javax.sql.DataSource;
 
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.kie.kogito.correlation.CorrelationService;
-import org.kie.kogito.persistence.jdbc.DatabaseType;
 import org.kie.kogito.persistence.jdbc.correlation.JDBCCorrelationService;
-import org.kie.kogito.services.event.correlation.DefaultCorrelationService;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import org.kie.kogito.services.event.correlation.CachedCorrelationService;
 
 public class JDBCorrelationServiceProducer {
 
-    private static final Logger LOGGER = LoggerFactory.getLogger(JDBCorrelationServiceProducer.class);
-
     @Produces
-    public CorrelationService jdbcCorrelationService(DataSource dataSource) {
-        try (Connection connection = dataSource.getConnection()) {
-            if (!DatabaseType.POSTGRES.equals(DatabaseType.getDataBaseType(connection))) {
-                return new DefaultCorrelationService();
-            }
-        } catch (SQLException e) {
-            LOGGER.error("Error getting connection for {}", dataSource);
-        }
-        return new JDBCCorrelationService(dataSource);
+    @ApplicationScoped
+    public CorrelationService jdbcCorrelationService(DataSource dataSource,
+            @ConfigProperty(name = "kogito.persistence.batch.writes", defaultValue = "false") Boolean batchWrites,
+            @ConfigProperty(name = "kogito.persistence.correlation.cache.max.size", defaultValue = "0") Integer cacheMaxSize,
+            @ConfigProperty(name = "kogito.persistence.correlation.cache.ttl", defaultValue = "60000") Long cacheTimeToLiveMillis) {
+        CorrelationService correlationService = new JDBCCorrelationService(dataSource, batchWrites);
+        return cacheMaxSize > 0 ? new CachedCorrelationService(correlationService, cacheMaxSize, cacheTimeToLiveMillis) : correlationService;
     }
 }
@@ -24,6 +24,7 @@ import javax.inject.Inject;
 import org.apache.kafka.clients.producer.KafkaProducer;
 import org.apache.kafka.common.serialization.ByteArraySerializer;
 import org.apache.kafka.common.serialization.StringSerializer;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.kie.kogito.persistence.kafka.KafkaProcessInstances;
 import org.kie.kogito.persistence.kafka.KafkaStreamsStateListener;
 import org.kie.kogito.process.Process;
@@ -41,6 +42,14 @@ public class KafkaProcessInstancesFactory implements ProcessInstancesFactory {
     KafkaStreamsStateListener stateListener;
     KafkaProducer<String, byte[]> producer;
 
+    @Inject
+    @ConfigProperty(name = "kogito.persistence.trusted.write", defaultValue = "false")
+    Boolean trustedWrite;
+
+    @Inject
+    @ConfigProperty(name = "kogito.persistence.json.binary", defaultValue = "false")
+    Boolean binaryJson;
+
     @Inject
     public void setStateListener(KafkaStreamsStateListener stateListener) {
         this.stateListener = stateListener;
@@ -63,7 +72,7 @@ public class KafkaProcessInstancesFactory implements ProcessInstancesFactory {
             if (LOGGER.isInfoEnabled()) {
                 LOGGER.info("Creating KafkaProcessInstances for process: {}", process.id());
             }
-            KafkaProcessInstances pi = new KafkaProcessInstances(process, producer);
+            KafkaProcessInstances pi = new KafkaProcessInstances(process, producer, Boolean.TRUE.equals(trustedWrite), Boolean.TRUE.equals(binaryJson));
             stateListener.addProcessInstances(pi);
             return pi;
         } catch (Exception ex) {
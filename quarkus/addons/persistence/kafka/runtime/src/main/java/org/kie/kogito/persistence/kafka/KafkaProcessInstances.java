@@ -19,10 +19,14 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import org.apache.kafka.clients.producer.KafkaProducer;
 import org.apache.kafka.clients.producer.ProducerRecord;
@@ -43,6 +47,11 @@ import static java.lang.String.format;
 import static org.kie.kogito.persistence.kafka.KafkaPersistenceUtils.topicName;
 import static org.kie.kogito.process.ProcessInstanceReadMode.MUTABLE;
 
+/**
+ * Process instances stored in a Kafka Streams key value store keyed by id. The store offers no secondary index,
+ * so {@link #waitingForEventType(String, ProcessInstanceReadMode)} keeps the default full scan and broadcast signals
+ * still unmarshal every process instance.
+ */
 public class KafkaProcessInstances implements MutableProcessInstances {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(KafkaProcessInstances.class);
@@ -53,12 +62,22 @@ public class KafkaProcessInstances implements MutableProcessInstances {
     private ReadOnlyKeyValueStore<String, byte[]> store;
     private ProcessInstanceMarshallerService marshaller;
     private CountDownLatch latch = new CountDownLatch(1);
+    private boolean trustedWrite;
 
     public KafkaProcessInstances(Process<?> process, KafkaProducer<String, byte[]> producer) {
+        this(process, producer, false);
+    }
+
+    public KafkaProcessInstances(Process<?> process, KafkaProducer<String, byte[]> producer, boolean trustedWrite) {
+        this(process, producer, trustedWrite, false);
+    }
+
+    public KafkaProcessInstances(Process<?> process, KafkaProducer<String, byte[]> producer, boolean trustedWrite, boolean binaryJson) {
         this.process = process;
         this.topic = topicName();
         this.producer = producer;
-        setMarshaller(ProcessInstanceMarshallerService.newBuilder().withDefaultObjectMarshallerStrategies().build());
+        this.trustedWrite = trustedWrite;
+        setMarshaller(ProcessInstanceMarshallerService.newBuilder().withDefaultObjectMarshallerStrategies().withBinaryJsonNodes(binaryJson).build());
     }
 
     protected Process<?> getProcess() {
@@ -136,7 +155,11 @@ public class KafkaProcessInstances implements MutableProcessInstances {
             byte[] data = marshaller.marshallProcessInstance(instance);
             try {
                 sendKafkaRecord(id, data);
-                disconnect(instance);
+                if (trustedWrite) {
+                    disconnect(instance, data);
+                } else {
+                    disconnect(instance);
+                }
             } catch (Exception e) {
                 throw new RuntimeException("Unable to update process instance id: " + id, e);
             }
@@ -175,6 +198,14 @@ public class KafkaProcessInstances implements MutableProcessInstances {
         }
     }
 
+    @Override
+    public Stream<ProcessInstance> stream(ProcessInstanceReadMode mode) {
+        final KeyValueIterator<String, byte[]> iterator = getStore().prefixScan(getProcess().id(), Serdes.String().serializer());
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .map(entry -> mode == MUTABLE ? marshaller.unmarshallProcessInstance(entry.value, process) : marshaller.unmarshallReadOnlyProcessInstance(entry.value, process))
+                .onClose(iterator::close);
+    }
+
     @Override
     public Integer size() {
         int size = 0;
@@ -191,4 +222,8 @@ public class KafkaProcessInstances implements MutableProcessInstances {
         Supplier<byte[]> supplier = () -> getProcessInstanceById(instance.id());
         ((AbstractProcessInstance<?>) instance).internalRemoveProcessInstance(marshaller.createdReloadFunction(supplier));
     }
+
+    protected void disconnect(ProcessInstance instance, byte[] written) {
+        ((AbstractProcessInstance<?>) instance).internalRemoveProcessInstance(marshaller.createdReloadFunction(written));
+    }
 }
@@ -20,6 +20,7 @@ import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Future;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 import org.apache.kafka.clients.producer.KafkaProducer;
 import org.apache.kafka.clients.producer.ProducerRecord;
@@ -188,7 +189,7 @@ public class KafkaProcessInstancesTest {
         assertThat(captor.getValue().topic()).isEqualTo(topicName());
 
         verify(instance).internalRemoveProcessInstance(any());
-        verify(marshaller).createdReloadFunction(any());
+        verify(marshaller).createdReloadFunction(any(Supplier.class));
     }
 
     @Test
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.persistence.quarkus;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.inject.Disposes;
+import javax.enterprise.inject.Produces;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.kie.kogito.mongodb.outbox.MongoDBMessageOutboxStore;
+import org.kie.kogito.mongodb.transaction.AbstractTransactionManager;
+import org.kie.kogito.services.event.impl.MessageOutbox;
+
+import com.mongodb.client.MongoClient;
+
+import io.quarkus.arc.properties.IfBuildProperty;
+import io.quarkus.runtime.Startup;
+
+public class MongoDBMessageOutboxProducer {
+
+    @Produces
+    @Startup
+    @ApplicationScoped
+    @IfBuildProperty(name = "kogito.messaging.outbox", stringValue = "true")
+    public MessageOutbox mongoDBMessageOutbox(MongoClient mongoClient, AbstractTransactionManager transactionManager,
+            @ConfigProperty(name = "quarkus.mongodb.database", defaultValue = "kogito") String dbName,
+            @ConfigProperty(name = "kogito.messaging.outbox.batch.size", defaultValue = "100") Integer batchSize,
+            @ConfigProperty(name = "kogito.messaging.outbox.max.attempts", defaultValue = "10") Integer maxAttempts,
+            @ConfigProperty(name = "kogito.messaging.outbox.retry.delay", defaultValue = "1000") Long retryDelay,
+            @ConfigProperty(name = "kogito.messaging.outbox.emit.timeout", defaultValue = "30000") Long emitTimeout,
+            @ConfigProperty(name = "kogito.messaging.outbox.poll.interval", defaultValue = "1000") Long pollInterval) {
+        MessageOutbox outbox = new MessageOutbox(new MongoDBMessageOutboxStore(mongoClient, dbName, transactionManager), batchSize, maxAttempts, retryDelay, emitTimeout,
+                pollInterval);
+        outbox.start();
+        return outbox;
+    }
+
+    public void close(@Disposes MessageOutbox outbox) {
+        outbox.close();
+    }
+}
@@ -36,8 +36,9 @@ public class MongoDBProcessInstancesFactory extends AbstractProcessInstancesFact
     public MongoDBProcessInstancesFactory(MongoClient mongoClient,
             AbstractTransactionManager transactionManager,
             @ConfigProperty(name = "quarkus.mongodb.database", defaultValue = "kogito") String dbName,
-            @ConfigProperty(name = "kogito.persistence.optimistic.lock", defaultValue = "false") Boolean lock) {
-        super(mongoClient, dbName, lock, transactionManager);
+            @ConfigProperty(name = "kogito.persistence.optimistic.lock", defaultValue = "false") Boolean lock,
+            @ConfigProperty(name = "kogito.persistence.trusted.write", defaultValue = "false") Boolean trustedWrite) {
+        super(mongoClient, dbName, lock, trustedWrite, transactionManager);
     }
 
 }
@@ -31,8 +31,12 @@ public class PostgresqlProcessInstancesFactory extends AbstractProcessInstancesF
     public PostgresqlProcessInstancesFactory(PgPool client,
             @ConfigProperty(name = "kogito.persistence.auto.ddl", defaultValue = "true") Boolean autoDDL,
             @ConfigProperty(name = "kogito.persistence.query.timeout.millis", defaultValue = "10000") Long queryTimeout,
-            @ConfigProperty(name = "kogito.persistence.optimistic.lock", defaultValue = "false") Boolean lock) {
-        super(client, autoDDL, queryTimeout, lock);
+            @ConfigProperty(name = "kogito.persistence.optimistic.lock", defaultValue = "false") Boolean lock,
+            @ConfigProperty(name = "kogito.persistence.batch.writes", defaultValue = "false") Boolean batchWrites,
+            @ConfigProperty(name = "kogito.persistence.trusted.write", defaultValue = "false") Boolean trustedWrite,
+            @ConfigProperty(name = "kogito.persistence.event.types.index", defaultValue = "false") Boolean indexEventTypes,
+            @ConfigProperty(name = "kogito.persistence.json.binary", defaultValue = "false") Boolean binaryJson) {
+        super(client, autoDDL, queryTimeout, lock, batchWrites, trustedWrite, indexEventTypes, binaryJson);
     }
 
     protected PostgresqlProcessInstancesFactory() {
@@ -37,9 +37,14 @@ public class NotificationEventPublisher implements EventPublisher {
     @Channel(CHANNEL_NAME)
     Emitter<DataEvent<?>> emitter;
 
+    @Override
+    public boolean accept(String type) {
+        return type.startsWith("UserTaskDeadline");
+    }
+
     @Override
     public void publish(DataEvent<?> event) {
-        if (event.getType().startsWith("UserTaskDeadline")) {
+        if (accept(event.getType())) {
             logger.debug("About to publish event {} to topic {}", event, CHANNEL_NAME);
             try {
                 emitter.send(event);
@@ -21,6 +21,7 @@ import javax.enterprise.context.ApplicationScoped;
 import javax.enterprise.inject.Instance;
 import javax.inject.Inject;
 
+import org.eclipse.microprofile.context.ManagedExecutor;
 import org.kie.kogito.Application;
 import org.kie.kogito.incubation.common.DataContext;
 import org.kie.kogito.incubation.common.ExtendedDataContext;
@@ -36,11 +37,13 @@ public class QuarkusHumanTaskService implements HumanTaskService {
     Instance<Processes> processesInstance;
     @Inject
     Application application;
+    @Inject
+    ManagedExecutor executor;
     HumanTaskServiceImpl delegate;
 
     @PostConstruct
     void startup() {
-        this.delegate = new HumanTaskServiceImpl(application, new ProcessServiceImpl(application), processesInstance.get());
+        this.delegate = new HumanTaskServiceImpl(application, new ProcessServiceImpl(application, executor), processesInstance.get());
     }
 
     @Override
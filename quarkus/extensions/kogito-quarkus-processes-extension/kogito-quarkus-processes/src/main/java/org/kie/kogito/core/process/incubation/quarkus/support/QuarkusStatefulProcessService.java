@@ -21,6 +21,7 @@ import javax.enterprise.context.ApplicationScoped;
 import javax.enterprise.inject.Instance;
 import javax.inject.Inject;
 
+import org.eclipse.microprofile.context.ManagedExecutor;
 import org.kie.kogito.Application;
 import org.kie.kogito.incubation.common.DataContext;
 import org.kie.kogito.incubation.common.ExtendedDataContext;
@@ -35,11 +36,13 @@ public class QuarkusStatefulProcessService implements StatefulProcessService {
     Instance<Processes> processesInstance;
     @Inject
     Application application;
+    @Inject
+    ManagedExecutor executor;
     StatefulProcessServiceImpl delegate;
 
     @PostConstruct
     void startup() {
-        this.delegate = new StatefulProcessServiceImpl(new ProcessServiceImpl(application), processesInstance.get());
+        this.delegate = new StatefulProcessServiceImpl(new ProcessServiceImpl(application, executor), processesInstance.get());
     }
 
     @Override
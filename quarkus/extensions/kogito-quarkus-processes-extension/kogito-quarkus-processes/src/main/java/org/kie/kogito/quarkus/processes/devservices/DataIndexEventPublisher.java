@@ -52,6 +52,11 @@ public class DataIndexEventPublisher implements EventPublisher {
         webClient = WebClient.create(vertx);
     }
 
+    @Override
+    public boolean accept(String type) {
+        return dataIndexUrl.isPresent() && ("ProcessInstanceEvent".equals(type) || "UserTaskInstanceEvent".equals(type));
+    }
+
     @Override
     public void publish(DataEvent<?> event) {
         if (dataIndexUrl.isEmpty()) {
@@ -24,6 +24,7 @@ import javax.inject.Inject;
 
 import org.drools.codegen.common.GeneratedFile;
 import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.eclipse.microprofile.context.ManagedExecutor;
 import org.jboss.jandex.IndexView;
 import org.kie.kogito.codegen.api.context.KogitoBuildContext;
 import org.kie.kogito.quarkus.serverless.workflow.WorkflowCodeGenUtils;
@@ -70,7 +71,11 @@ public class WorkflowRPCHandlerGenerator implements WorkflowHandlerGenerator {
         constructor.addAnnotation(Inject.class);
         addAnnotation(constructor, boolean.class, "enumDefault", RPCWorkItemHandler.GRPC_ENUM_DEFAULT_PROPERTY, Boolean.toString(RPCWorkItemHandler.GRPC_ENUM_DEFAULT_VALUE));
         addAnnotation(constructor, int.class, "streamTimeout", RPCWorkItemHandler.GRPC_STREAM_TIMEOUT_PROPERTY, Integer.toString(RPCWorkItemHandler.GRPC_STREAM_TIMEOUT_VALUE));
-        constructor.setBody(new BlockStmt().addStatement(new MethodCallExpr(null, "super").addArgument("enumDefault").addArgument("streamTimeout")));
+        addAnnotation(constructor, boolean.class, "unaryAsync", RPCWorkItemHandler.GRPC_UNARY_ASYNC_PROPERTY, Boolean.toString(RPCWorkItemHandler.GRPC_UNARY_ASYNC_VALUE));
+        // completions of asynchronous unary calls run on the worker pool rather than on the gRPC event loop
+        constructor.addParameter(ManagedExecutor.class, "completionExecutor");
+        constructor.setBody(new BlockStmt().addStatement(new MethodCallExpr(null, "super").addArgument("enumDefault").addArgument("streamTimeout").addArgument("unaryAsync")
+                .addArgument("completionExecutor")));
         clazz.addMethod("getName", Keyword.PUBLIC).setType(parseClassOrInterfaceType(String.class.getCanonicalName()))
                 .setBody(new BlockStmt().addStatement(new ReturnStmt(new StringLiteralExpr(className))));
         return WorkflowCodeGenUtils.fromCompilationUnit(context, unit, className);
@@ -17,8 +17,10 @@ package org.kie.kogito.events.spring;
 
 import java.util.Collection;
 
+import org.kie.kogito.event.AbstractDataEvent;
 import org.kie.kogito.event.DataEvent;
 import org.kie.kogito.event.EventPublisher;
+import org.kie.kogito.event.EventPublisherListeners;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -35,6 +37,7 @@ public class KafkaEventPublisher implements EventPublisher {
     private static final String PI_TOPIC_NAME = "kogito-processinstances-events";
     private static final String UI_TOPIC_NAME = "kogito-usertaskinstances-events";
     private static final String VI_TOPIC_NAME = "kogito-variables-events";
+    private static final String PUBLISHER = "kafka";
 
     private static final Logger logger = LoggerFactory.getLogger(KafkaEventPublisher.class);
 
@@ -56,33 +59,54 @@ public class KafkaEventPublisher implements EventPublisher {
     @Value("${kogito.events.variables.enabled:true}")
     private boolean variablesEvents;
 
+    @Override
+    public boolean accept(String type) {
+        return topicOf(type) != null;
+    }
+
     @Override
     public void publish(DataEvent<?> event) {
-        switch (event.getType()) {
-            case "ProcessInstanceEvent":
-                if (processInstancesEvents) {
-                    publishToTopic(event, PI_TOPIC_NAME);
-                }
-                break;
-            case "UserTaskInstanceEvent":
-                if (userTasksEvents) {
-                    publishToTopic(event, UI_TOPIC_NAME);
-                }
-                break;
-            case "VariableInstanceEvent":
-                if (variablesEvents) {
-                    publishToTopic(event, VI_TOPIC_NAME);
-                }
-                break;
-            default:
-                logger.debug("Unknown type of event '{}', ignoring for this publisher", event.getType());
+        String topic = topicOf(event);
+        if (topic != null) {
+            publishToTopic(event, topic);
         }
     }
 
+    /**
+     * Sends every event without waiting for the previous one to be acknowledged, so the producer batches them.
+     * Events of the same process instance share the record key and keep their order.
+     */
     @Override
     public void publish(Collection<DataEvent<?>> events) {
+        int published = 0;
         for (DataEvent<?> event : events) {
-            publish(event);
+            String topic = topicOf(event);
+            if (topic != null) {
+                publishToTopic(event, topic);
+                published++;
+            }
+        }
+        EventPublisherListeners.batchPublished(PUBLISHER, published);
+    }
+
+    private String topicOf(DataEvent<?> event) {
+        String topic = topicOf(event.getType());
+        if (topic == null) {
+            logger.debug("Unknown type of event '{}', ignoring for this publisher", event.getType());
+        }
+        return topic;
+    }
+
+    private String topicOf(String type) {
+        switch (type) {
+            case "ProcessInstanceEvent":
+                return processInstancesEvents ? PI_TOPIC_NAME : null;
+            case "UserTaskInstanceEvent":
+                return userTasksEvents ? UI_TOPIC_NAME : null;
+            case "VariableInstanceEvent":
+                return variablesEvents ? VI_TOPIC_NAME : null;
+            default:
+                return null;
         }
     }
 
@@ -91,10 +115,22 @@ public class KafkaEventPublisher implements EventPublisher {
         try {
             String eventString = json.writeValueAsString(event);
             logger.debug("Event payload '{}'", eventString);
-            eventsEmitter.send(env.getProperty("kogito.addon.events.process.kafka." + topic + ".topic", topic), eventString);
-            logger.debug("Successfully published event {} to topic {}", event, topic);
+            long start = System.nanoTime();
+            eventsEmitter.send(env.getProperty("kogito.addon.events.process.kafka." + topic + ".topic", topic), keyOf(event), eventString).completable()
+                    .whenComplete((r, e) -> {
+                        EventPublisherListeners.published(PUBLISHER, event.getType(), System.nanoTime() - start);
+                        if (e == null) {
+                            logger.debug("Successfully published event {} to topic {}", event, topic);
+                        } else {
+                            logger.error("Error while publishing event to Kafka topic {} for event {}", topic, event, e);
+                        }
+                    });
         } catch (Exception e) {
             logger.error("Error while publishing event to Kafka topic {} for event {}", topic, event, e);
         }
     }
+
+    private static String keyOf(DataEvent<?> event) {
+        return event instanceof AbstractDataEvent ? ((AbstractDataEvent<?>) event).getKogitoProcessInstanceId() : null;
+    }
 }
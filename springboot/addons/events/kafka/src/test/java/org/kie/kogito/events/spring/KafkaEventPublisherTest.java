@@ -0,0 +1,116 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.events.spring;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.kie.kogito.event.AbstractDataEvent;
+import org.kie.kogito.event.DataEvent;
+import org.kie.kogito.event.EventPublisherListener;
+import org.kie.kogito.event.EventPublisherListeners;
+import org.kie.kogito.event.process.ProcessInstanceDataEvent;
+import org.kie.kogito.event.process.VariableInstanceDataEvent;
+import org.springframework.core.env.Environment;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.concurrent.SettableListenableFuture;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class KafkaEventPublisherTest {
+
+    private final List<Integer> batchSizes = new ArrayList<>();
+    private final List<String> publishedTypes = new ArrayList<>();
+    private final EventPublisherListener listener = new EventPublisherListener() {
+        @Override
+        public void onPublished(String publisher, String eventType, long durationNanos) {
+            publishedTypes.add(eventType);
+        }
+
+        @Override
+        public void onBatchPublished(String publisher, int size) {
+            assertThat(publisher).isEqualTo("kafka");
+            batchSizes.add(size);
+        }
+    };
+
+    private KafkaTemplate<String, String> template;
+    private KafkaEventPublisher publisher;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setup() throws Exception {
+        template = mock(KafkaTemplate.class);
+        SettableListenableFuture<SendResult<String, String>> sent = new SettableListenableFuture<>();
+        sent.set(null);
+        when(template.send(anyString(), any(), anyString())).thenReturn(sent);
+        Environment env = mock(Environment.class);
+        when(env.getProperty(anyString(), anyString())).then(invocation -> invocation.getArgument(1));
+        ObjectMapper json = mock(ObjectMapper.class);
+        when(json.writeValueAsString(any())).thenReturn("{}");
+
+        publisher = new KafkaEventPublisher();
+        ReflectionTestUtils.setField(publisher, "json", json);
+        ReflectionTestUtils.setField(publisher, "env", env);
+        ReflectionTestUtils.setField(publisher, "eventsEmitter", template);
+        ReflectionTestUtils.setField(publisher, "processInstancesEvents", true);
+        ReflectionTestUtils.setField(publisher, "userTasksEvents", true);
+        ReflectionTestUtils.setField(publisher, "variablesEvents", false);
+        EventPublisherListeners.register(listener);
+    }
+
+    @AfterEach
+    void cleanup() {
+        EventPublisherListeners.unregister(listener);
+    }
+
+    @Test
+    void testBatchKeyedByProcessInstance() {
+        ProcessInstanceDataEvent first = event(ProcessInstanceDataEvent.class, "ProcessInstanceEvent", "pi-1");
+        ProcessInstanceDataEvent second = event(ProcessInstanceDataEvent.class, "ProcessInstanceEvent", "pi-2");
+        VariableInstanceDataEvent disabled = event(VariableInstanceDataEvent.class, "VariableInstanceEvent", "pi-1");
+
+        publisher.publish(Arrays.<DataEvent<?>> asList(first, second, disabled));
+
+        verify(template).send("kogito-processinstances-events", "pi-1", "{}");
+        verify(template).send("kogito-processinstances-events", "pi-2", "{}");
+        verify(template, never()).send(eq("kogito-variables-events"), any(), anyString());
+        assertThat(batchSizes).containsExactly(2);
+        assertThat(publishedTypes).containsExactly("ProcessInstanceEvent", "ProcessInstanceEvent");
+    }
+
+    private static <T extends AbstractDataEvent<?>> T event(Class<T> type, String eventType, String processInstanceId) {
+        T event = mock(type);
+        when(event.getType()).thenReturn(eventType);
+        when(event.getKogitoProcessInstanceId()).thenReturn(processInstanceId);
+        return event;
+    }
+}
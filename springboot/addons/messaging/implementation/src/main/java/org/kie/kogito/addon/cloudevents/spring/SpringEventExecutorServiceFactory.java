@@ -15,14 +15,22 @@
  */
 package org.kie.kogito.addon.cloudevents.spring;
 
+import java.util.List;
 import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 
+import javax.annotation.PreDestroy;
+
+import org.kie.kogito.event.BoundedExecutorService;
 import org.kie.kogito.event.EventExecutorServiceFactory;
+import org.kie.kogito.event.KeyedExecutorService;
 import org.kie.kogito.event.KogitoEventStreams;
 import org.kie.kogito.event.KogitoThreadPoolFactory;
+import org.kie.kogito.event.VirtualThreads;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 
@@ -35,9 +43,62 @@ public class SpringEventExecutorServiceFactory implements EventExecutorServiceFa
     @Value("${" + KogitoEventStreams.QUEUE_SIZE_PROPERTY + ":#{" + KogitoEventStreams.DEFAULT_QUEUE_SIZE + "}}")
     int queueSize;
 
+    @Value("${" + KogitoEventStreams.KEYED_PROPERTY + ":#{" + KogitoEventStreams.DEFAULT_KEYED + "}}")
+    boolean keyed;
+
+    @Value("${" + KogitoEventStreams.MAX_OVERFLOW_PROPERTY + ":#{" + KogitoEventStreams.DEFAULT_MAX_OVERFLOW + "}}")
+    int maxOverflow;
+
+    @Value("${" + KogitoEventStreams.VIRTUAL_PROPERTY + ":#{" + KogitoEventStreams.DEFAULT_VIRTUAL + "}}")
+    boolean virtual;
+
+    @Value("${" + KogitoEventStreams.TRACE_PINNED_PROPERTY + ":#{" + KogitoEventStreams.DEFAULT_TRACE_PINNED + "}}")
+    boolean tracePinned;
+
+    private final List<ExecutorService> executors = new CopyOnWriteArrayList<>();
+    private KeyedExecutorService keyedExecutor;
+
     @Override
     public ExecutorService getExecutorService(String channelName) {
-        return new ThreadPoolExecutor(1, numThreads, 1L, TimeUnit.MINUTES, new ArrayBlockingQueue<>(queueSize), new KogitoThreadPoolFactory(KogitoEventStreams.THREAD_NAME),
-                new ThreadPoolExecutor.CallerRunsPolicy());
+        if (virtual && tracePinned) {
+            VirtualThreads.tracePinnedThreads();
+        }
+        if (keyed) {
+            return keyedExecutor();
+        }
+        ExecutorService executor = virtual ? VirtualThreads.newThreadPerTaskExecutor(KogitoEventStreams.THREAD_NAME) : null;
+        if (executor != null) {
+            // virtual threads are not pooled, the bound blocks the listener once the overflow buffer is full
+            return register(new BoundedExecutorService(executor, numThreads, maxOverflow, () -> {
+            }, () -> {
+            }));
+        }
+        return register(new ThreadPoolExecutor(1, numThreads, 1L, TimeUnit.MINUTES, new ArrayBlockingQueue<>(queueSize), new KogitoThreadPoolFactory(KogitoEventStreams.THREAD_NAME),
+                new ThreadPoolExecutor.CallerRunsPolicy()));
+    }
+
+    /**
+     * Lanes are shared by every channel, so they are bounded by the configured number of threads as a whole.
+     * The kafka listener waits for the messages of a poll to be processed, which already holds the consumer back,
+     * the lane overflow bound blocks it otherwise.
+     */
+    private synchronized KeyedExecutorService keyedExecutor() {
+        if (keyedExecutor == null) {
+            ThreadFactory threadFactory = virtual ? VirtualThreads.threadFactory(KogitoEventStreams.THREAD_NAME) : new KogitoThreadPoolFactory(KogitoEventStreams.THREAD_NAME);
+            keyedExecutor = register(new KeyedExecutorService(numThreads, queueSize, maxOverflow, threadFactory, () -> {
+            }, () -> {
+            }));
+        }
+        return keyedExecutor;
+    }
+
+    private <T extends ExecutorService> T register(T executor) {
+        executors.add(executor);
+        return executor;
+    }
+
+    @PreDestroy
+    void close() {
+        executors.forEach(ExecutorService::shutdownNow);
     }
 }
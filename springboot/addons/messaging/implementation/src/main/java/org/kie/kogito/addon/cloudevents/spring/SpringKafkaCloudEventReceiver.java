@@ -15,17 +15,17 @@
  */
 package org.kie.kogito.addon.cloudevents.spring;
 
-import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Map;
 import java.util.concurrent.CompletionStage;
-import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutionException;
 import java.util.function.Function;
 
 import javax.annotation.PostConstruct;
 
 import org.kie.kogito.addon.cloudevents.Subscription;
+import org.kie.kogito.addon.cloudevents.SubscriptionIndex;
 import org.kie.kogito.event.EventReceiver;
 import org.kie.kogito.event.KogitoEventStreams;
 import org.kie.kogito.event.SubscriptionInfo;
@@ -39,11 +39,11 @@ import org.springframework.stereotype.Component;
 public class SpringKafkaCloudEventReceiver implements EventReceiver {
 
     private static final Logger log = LoggerFactory.getLogger(SpringKafkaCloudEventReceiver.class);
-    private Collection<Subscription<Object>> consumers;
+    private SubscriptionIndex consumers;
 
     @PostConstruct
     private void init() {
-        consumers = new CopyOnWriteArrayList<>();
+        consumers = new SubscriptionIndex();
     }
 
     @SuppressWarnings({ "rawtypes", "unchecked" })
@@ -58,13 +58,8 @@ public class SpringKafkaCloudEventReceiver implements EventReceiver {
         log.debug("Received {} events", messages.size());
         Collection<CompletionStage<?>> futures = new ArrayList<>();
         for (String message : messages) {
-            for (Subscription<Object> consumer : consumers) {
-                try {
-                    futures.add(consumer.getConsumer().apply(consumer.getInfo().getConverter().unmarshall(message, consumer.getInfo().getOutputClass(), consumer.getInfo().getParametrizedClasses())));
-                } catch (IOException e) {
-                    log.info("Cannot convert to {} from {}, ignoring type {}, exception message is {}", consumer.getInfo().getOutputClass(), message, consumer.getInfo().getType(),
-                            e.getMessage());
-                }
+            for (Map.Entry<Subscription<Object>, Object> binding : consumers.bind(message).entrySet()) {
+                futures.add(binding.getKey().getConsumer().apply(binding.getValue()));
             }
         }
         // wait for this batch to complete
@@ -23,8 +23,10 @@ import org.springframework.stereotype.Component;
 @Component
 public class FileSystemProcessInstancesFactory extends AbstractProcessInstancesFactory {
 
-    public FileSystemProcessInstancesFactory(@Value("${kogito.persistence.filesystem.path:/tmp}") String path) {
-        super(path);
+    public FileSystemProcessInstancesFactory(@Value("${kogito.persistence.filesystem.path:/tmp}") String path,
+            @Value("${kogito.persistence.trusted.write:false}") Boolean trustedWrite,
+            @Value("${kogito.persistence.json.binary:false}") Boolean binaryJson) {
+        super(path, trustedWrite, binaryJson);
     }
 
 }
@@ -0,0 +1,40 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.persistence.springboot;
+
+import javax.sql.DataSource;
+
+import org.kie.kogito.correlation.CorrelationService;
+import org.kie.kogito.persistence.jdbc.correlation.JDBCCorrelationService;
+import org.kie.kogito.services.event.correlation.CachedCorrelationService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+@Configuration
+public class JDBCCorrelationServiceProducer {
+
+    @Bean
+    @Primary //takes precedence over the in memory correlation service of the processes starter
+    public CorrelationService jdbcCorrelationService(DataSource dataSource,
+            @Value("${kogito.persistence.batch.writes:false}") Boolean batchWrites,
+            @Value("${kogito.persistence.correlation.cache.max.size:0}") Integer cacheMaxSize,
+            @Value("${kogito.persistence.correlation.cache.ttl:60000}") Long cacheTimeToLiveMillis) {
+        CorrelationService correlationService = new JDBCCorrelationService(dataSource, batchWrites);
+        return cacheMaxSize > 0 ? new CachedCorrelationService(correlationService, cacheMaxSize, cacheTimeToLiveMillis) : correlationService;
+    }
+}
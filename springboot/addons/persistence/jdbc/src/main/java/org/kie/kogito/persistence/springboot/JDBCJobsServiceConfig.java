@@ -0,0 +1,43 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.persistence.springboot;
+
+import javax.sql.DataSource;
+
+import org.kie.kogito.Application;
+import org.kie.kogito.jobs.JobsService;
+import org.kie.kogito.persistence.jdbc.jobs.JDBCJobsService;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConditionalOnProperty(name = "kogito.persistence.jobs.enabled", havingValue = "true")
+public class JDBCJobsServiceConfig {
+
+    @Bean(destroyMethod = "close")
+    public JobsService jdbcJobsService(DataSource dataSource, ObjectProvider<Application> application,
+            @Value("${kogito.persistence.jobs.poll.interval:1000}") Long pollInterval,
+            @Value("${kogito.persistence.jobs.batch.size:100}") Integer batchSize,
+            @Value("${kogito.persistence.jobs.lease.time:300000}") Long leaseTime,
+            @Value("${kogito.persistence.jobs.pool.size:10}") Integer poolSize) {
+        JDBCJobsService jobsService = new JDBCJobsService(dataSource, application::getObject, pollInterval, batchSize, leaseTime, poolSize);
+        jobsService.start();
+        return jobsService;
+    }
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.persistence.springboot;
+
+import javax.sql.DataSource;
+
+import org.kie.kogito.persistence.jdbc.outbox.JDBCMessageOutboxStore;
+import org.kie.kogito.services.event.impl.MessageOutbox;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConditionalOnProperty(name = "kogito.messaging.outbox", havingValue = "true")
+public class JDBCMessageOutboxConfig {
+
+    @Bean(destroyMethod = "close")
+    public MessageOutbox jdbcMessageOutbox(DataSource dataSource,
+            @Value("${kogito.messaging.outbox.batch.size:100}") Integer batchSize,
+            @Value("${kogito.messaging.outbox.max.attempts:10}") Integer maxAttempts,
+            @Value("${kogito.messaging.outbox.retry.delay:1000}") Long retryDelay,
+            @Value("${kogito.messaging.outbox.emit.timeout:30000}") Long emitTimeout,
+            @Value("${kogito.messaging.outbox.poll.interval:1000}") Long pollInterval) {
+        MessageOutbox outbox = new MessageOutbox(new JDBCMessageOutboxStore(dataSource), batchSize, maxAttempts, retryDelay, emitTimeout, pollInterval);
+        outbox.start();
+        return outbox;
+    }
+}
@@ -29,8 +29,16 @@ public class JDBCProcessInstancesFactory extends AbstractProcessInstancesFactory
     @Autowired
     public JDBCProcessInstancesFactory(DataSource dataSource,
             @Value("${kogito.persistence.auto.ddl:true}") Boolean autoDDL,
-            @Value("${kogito.persistence.optimistic.lock:false}") Boolean lock) {
-        super(dataSource, autoDDL, lock);
+            @Value("${kogito.persistence.optimistic.lock:false}") Boolean lock,
+            @Value("${kogito.persistence.trusted.write:false}") Boolean trustedWrite,
+            @Value("${kogito.persistence.delta.enabled:false}") Boolean deltas,
+            @Value("${kogito.persistence.delta.max.count:20}") Integer maxDeltas,
+            @Value("${kogito.persistence.delta.max.size:65536}") Integer maxDeltasSize,
+            @Value("${kogito.persistence.delta.bases.max.size:16777216}") Long maxDeltaBasesSize,
+            @Value("${kogito.persistence.batch.writes:false}") Boolean batchWrites,
+            @Value("${kogito.persistence.event.types.index:false}") Boolean indexEventTypes,
+            @Value("${kogito.persistence.json.binary:false}") Boolean binaryJson) {
+        super(dataSource, autoDDL, lock, trustedWrite, deltas, maxDeltas, maxDeltasSize, batchWrites, indexEventTypes, binaryJson, maxDeltaBasesSize);
     }
 
 }
@@ -31,8 +31,12 @@ public class PostgresqlProcessInstancesFactory extends AbstractProcessInstancesF
     public PostgresqlProcessInstancesFactory(@Qualifier("kogito") PgPool client,
             @Value("${kogito.persistence.auto.ddl:true}") Boolean autoDDL,
             @Value("${kogito.persistence.query.timeout.millis:10000}") Long queryTimeout,
-            @Value("${kogito.persistence.optimistic.lock:false}") Boolean lock) {
-        super(client, autoDDL, queryTimeout, lock);
+            @Value("${kogito.persistence.optimistic.lock:false}") Boolean lock,
+            @Value("${kogito.persistence.batch.writes:false}") Boolean batchWrites,
+            @Value("${kogito.persistence.trusted.write:false}") Boolean trustedWrite,
+            @Value("${kogito.persistence.event.types.index:false}") Boolean indexEventTypes,
+            @Value("${kogito.persistence.json.binary:false}") Boolean binaryJson) {
+        super(client, autoDDL, queryTimeout, lock, batchWrites, trustedWrite, indexEventTypes, binaryJson);
     }
 
     protected PostgresqlProcessInstancesFactory() {
@@ -37,9 +37,14 @@ public class SpringNotificationEventPublisher implements EventPublisher {
     @Value("${kogito.events.deadline.topic:kogito-deadline-events}")
     private String topic;
 
+    @Override
+    public boolean accept(String type) {
+        return type.startsWith("UserTaskDeadline");
+    }
+
     @Override
     public void publish(DataEvent<?> event) {
-        if (event.getType().startsWith("UserTaskDeadline")) {
+        if (accept(event.getType())) {
             logger.debug("About to publish event {} to Kafka topic {}", event, topic);
             try {
                 emitter.send(topic, event);